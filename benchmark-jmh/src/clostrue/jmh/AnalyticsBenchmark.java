@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.jmh;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the survivors analysis (Analytics.analyzeSurvivors).
+ * The analysis collects it's results in the analytics object, so it is
+ * measured once per iteration on a freshly simulated population, grown
+ * from a small initial population till the given size.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class AnalyticsBenchmark {
+    
+    @Param({"100"})
+    public int initialCells;            //initial population size
+    
+    @Param({"5000", "20000"})
+    public int populationSize;          //population size at which the simulation ends
+    
+    private SyntheticPopulation population;
+    
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, InterruptedException {
+        population = new SyntheticPopulation(initialCells, populationSize, false);
+        population.runToEnd();
+        population.prepareAnalytics();
+        population.getSimulation().getStatistics().removeShadowPredecessorsFromInternalClones();
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        population.delete();
+    }
+    
+    @Benchmark
+    public void analyzeSurvivors(){
+        population.getSimulation().getAnalytics().analyzeSurvivors();
+    }
+    
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.jmh;
+
+import clostrue.CellWriter;
+import clostrue.biology.cell.Cell;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of writing the cell rows to the cell files. The private
+ * CellWriter.writeCellData is measured through writeToCSV, which adds
+ * only the check for opening the next file. The cells are taken in turn
+ * from a population simulated for a few cycles, so they carry mutations.
+ * The written files are removed after each iteration.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class CellWriterBenchmark {
+    
+    @Param({"10000"})
+    public int populationSize;          //initial population size
+    
+    @Param({"20"})
+    public int cyclesBefore;            //cycles simulated before the cells are written
+    
+    private SyntheticPopulation population;
+    private List<Cell>          cells;
+    private CellWriter          writer;
+    private int                 next;
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException {
+        population  = new SyntheticPopulation(populationSize, Integer.MAX_VALUE, true);
+        population.doCycles(cyclesBefore);
+        cells       = population.getCells();
+    }
+    
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        writer      = new CellWriter(population.getTask());
+        next        = 0;
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        writer.closeFile(false, 0);
+        population.deleteCellFiles();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        population.delete();
+    }
+    
+    @Benchmark
+    public void writeCellData(){
+        //cycle 0 opens the first file, then the files are switched by row count
+        writer.writeToCSV(cells.get(next), 0, populationSize);
+        next = (next + 1) % cells.size();
+    }
+    
+}
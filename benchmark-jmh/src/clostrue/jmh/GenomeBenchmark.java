@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.jmh;
+
+import clostrue.biology.genome.Genome;
+import clostrue.biology.genome.GenomePart;
+import clostrue.collections.GenomeCollection;
+import clostrue.collections.GenomeSynchronizedCollection;
+import clostrue.model.SimModel;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the genome store: creating the genome with new mutation
+ * (cell division with mutation) and walking the lineage of genome parts
+ * to collect the mutations (used by analytics, fishplot and graph).
+ * The lineage has the given depth, each level adds one driver mutation.
+ * The genome collection used for creating genomes is recreated each
+ * iteration, as it grows with each created genome.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class GenomeBenchmark {
+    
+    @Param({"16", "256", "4096"})
+    public int lineageDepth;                        //driver mutations in the walked lineage
+    
+    private SyntheticPopulation             population;
+    private SimModel                        model;
+    private Random                          random;
+    private GenomeSynchronizedCollection    genomes;            //collection for created genomes
+    private int                             parentIndex;        //parent of the created genomes
+    private GenomeSynchronizedCollection    lineageGenomes;     //collection of the walked lineage
+    private GenomeCollection                frozenLineageGenomes;//the same as postprocessing copy
+    private GenomePart                      leafDrivers;        //last driver part of the lineage
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException {
+        population  = new SyntheticPopulation(1, Integer.MAX_VALUE, false);
+        model       = population.getSimulation().getSimModel();
+        random      = new Random(SyntheticPopulation.randomSeed);
+        
+        lineageGenomes = new GenomeSynchronizedCollection();
+        int index = lineageGenomes.addAndReturnIndex(new Genome(lineageGenomes));
+        for (int i = 0; i < lineageDepth; i++){
+            index = lineageGenomes.addAndReturnIndex(new Genome(index, lineageGenomes, true, false, model, random));
+        }
+        leafDrivers             = lineageGenomes.getByIndex(index).getDrivers(lineageGenomes);
+        frozenLineageGenomes    = new GenomeCollection(lineageGenomes);
+    }
+    
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        genomes     = new GenomeSynchronizedCollection();
+        parentIndex = genomes.addAndReturnIndex(new Genome(genomes));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        population.delete();
+    }
+    
+    @Benchmark
+    public int createGenomeWithDriverMutation(){
+        return genomes.addAndReturnIndex(new Genome(parentIndex, genomes, true, false, model, random));
+    }
+    
+    @Benchmark
+    public int createGenomeWithBothMutations(){
+        return genomes.addAndReturnIndex(new Genome(parentIndex, genomes, true, true, model, random));
+    }
+    
+    @Benchmark
+    public ArrayList<Integer> walkDriverLineage(){
+        return leafDrivers.getDrivMutations(lineageGenomes);
+    }
+    
+    @Benchmark
+    public ArrayList<Integer> walkDriverLineageFrozen(){
+        return leafDrivers.getDrivMutations(frozenLineageGenomes);
+    }
+    
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.jmh;
+
+import clostrue.biology.cell.Cell;
+import clostrue.collections.CellCollection;
+import clostrue.collections.GenomeCollection;
+import clostrue.postprocessing.visualization.GraphToFile;
+import clostrue.postprocessing.visualization.NodeCollection;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of rasterizing the population graph to PNG file
+ * (GraphToFile.saveGraphToPngFile). Each cell of the finished simulation
+ * is one node, placed in the row of it's cycle in the order of the cells
+ * of the cycle and colored by it's driver mutation count (heat map).
+ * 
+ * @author Krzysztof Szymiczek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class GraphToFileBenchmark {
+    
+    @Param({"100"})
+    public int initialCells;            //initial population size
+    
+    @Param({"20000"})
+    public int populationSize;          //population size at which the simulation ends
+    
+    @Param({"true"})
+    public boolean drawBorders;         //clone borders are drawn
+    
+    private SyntheticPopulation population;
+    private CellCollection      cells;
+    private GenomeCollection    genomes;
+    private NodeCollection      nodes;
+    private int                 canvasXSize;
+    private int                 canvasYSize;
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException, InterruptedException {
+        population = new SyntheticPopulation(initialCells, populationSize, false);
+        population.runToEnd();
+        population.prepareAnalytics();
+        
+        cells   = population.getSimulation().getStatistics().getCellCollection();
+        genomes = new GenomeCollection(population.getSimulation().getGenomes());
+        List<Integer> cellIndexes = population.getCellIndexes();
+        nodes   = new NodeCollection(genomes, cells, cellIndexes.size());
+        
+        Map<Integer, Integer> cellsInCycle = new HashMap<>();
+        int maxDrivers = 0;
+        for (Integer index : cellIndexes){
+            Cell cell   = cells.getByIndex(index);
+            int node    = nodes.put(index);
+            int order   = cellsInCycle.merge(cell.getModelCycle(), 1, Integer::sum) - 1;
+            nodes.setOrder(node, order);
+            maxDrivers  = Math.max(maxDrivers, nodes.getDrivers(node));
+            canvasXSize = Math.max(canvasXSize, order + 1);
+            canvasYSize = Math.max(canvasYSize, nodes.getLevel(node) + 1);
+        }
+        nodes.setHeatMapColorDrivers(maxDrivers);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        population.delete();
+    }
+    
+    @Benchmark
+    public String saveGraphToPngFile() throws IOException {
+        return GraphToFile.saveGraphToPngFile(
+                cells, 
+                genomes, 
+                canvasXSize, 
+                canvasYSize, 
+                population.getWorkDir(), 
+                nodes, 
+                population.getSettings(), 
+                "_jmh", 
+                drawBorders, 
+                false);
+    }
+    
+}
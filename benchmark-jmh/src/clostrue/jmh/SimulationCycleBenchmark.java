@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.jmh;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of one simulation cycle (CellPopulation.doNextCycle):
+ * saving the cells of the previous cycle to memory, the life tick of each
+ * cell and the barrier action. Each iteration starts from a new population
+ * stepped through the given count of cycles, so the population has
+ * some mutations and shadow history before the measured cycle.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class SimulationCycleBenchmark {
+    
+    @Param({"10000", "100000"})
+    public int populationSize;          //initial population size
+    
+    @Param({"5"})
+    public int cyclesBefore;            //cycles simulated before the measured one
+    
+    @Param({"false"})
+    public boolean prepareCells;        //cell files are written too
+    
+    private SyntheticPopulation population;
+    
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        population = new SyntheticPopulation(populationSize, Integer.MAX_VALUE, prepareCells);
+        population.doCycles(cyclesBefore);
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        population.getTask().getWriter().closeFile(false, 0);
+        population.delete();
+    }
+    
+    @Benchmark
+    public boolean doNextCycle(){
+        return population.getTask().getPopulation().doNextCycle();
+    }
+    
+}
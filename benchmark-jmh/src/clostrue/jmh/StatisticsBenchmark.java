@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.jmh;
+
+import clostrue.biology.cell.Cell;
+import clostrue.collections.CellCollection;
+import clostrue.postprocessing.analysis.Statistics;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of adding the cell to the histogram statistics
+ * (Statistics.addCellToHistogramStats). The cells of the finished
+ * simulation are added in turn to the statistics recreated each iteration.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class StatisticsBenchmark {
+    
+    @Param({"100"})
+    public int initialCells;            //initial population size
+    
+    @Param({"20000"})
+    public int populationSize;          //population size at which the simulation ends
+    
+    private SyntheticPopulation population;
+    private List<Cell>          cells;
+    private Statistics          statistics;
+    private int                 next;
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException, InterruptedException {
+        population = new SyntheticPopulation(initialCells, populationSize, false);
+        population.runToEnd();
+        population.prepareAnalytics();
+        
+        CellCollection cellCollection = population.getSimulation().getStatistics().getCellCollection();
+        cells = new ArrayList<>();
+        population.getCellIndexes().forEach((index) -> {
+            cells.add(cellCollection.getByIndex(index));
+        });
+    }
+    
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        statistics  = new Statistics(population.getSimulation(), population.getSettings());
+        next        = 0;
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        population.delete();
+    }
+    
+    @Benchmark
+    public void addCellToHistogramStats(){
+        statistics.addCellToHistogramStats(cells.get(next));
+        next = (next + 1) % cells.size();
+    }
+    
+}
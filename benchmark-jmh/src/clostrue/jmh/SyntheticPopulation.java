@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.jmh;
+
+import clostrue.CalcTask;
+import clostrue.GuiController;
+import clostrue.HeadlessRunner;
+import clostrue.Settings;
+import clostrue.Simulation;
+import clostrue.biology.cell.Cell;
+import clostrue.collections.CellIndexHolder;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.EvtProperty;
+import clostrue.hardcodes.Param;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic population used by the benchmarks.
+ * 
+ * Creates a real simulation with one calculation task and the given initial
+ * population size in a temporary output directory. The random seed is fixed,
+ * so each benchmark iteration works on the same population. The simulation
+ * can be stepped cycle by cycle on the calling thread, or run to the end
+ * and prepared for the postprocessing like in IterationPostProcessor.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SyntheticPopulation implements PropertyChangeListener {
+    
+    public static final long    randomSeed          = 20190101;     //fixed seed of the synthetic populations
+    public static final String  mutationRate        = "0.01";       //high rate gives deep lineages quickly
+    public static final int     maxCycles           = 10000;        //not reached, the history tables are sized by it
+    
+    private final Path              workDir;        //temporary output directory
+    private final Settings          settings;       //simulation settings
+    private final Simulation        sim;            //simulation
+    private final CountDownLatch    finished;       //released when the simulation finishes
+    
+    /**
+     * Creates the simulation, the calculation task and the initial population
+     * @param initialCells initial population size
+     * @param maxCells population size at which the simulation ends
+     * @param prepareCells cell files are written
+     * @throws IOException 
+     */
+    public SyntheticPopulation(int initialCells, int maxCells, boolean prepareCells) throws IOException {
+        
+        StaticConsoleLogger.setLogToConsole(false);
+        
+        workDir     = Files.createTempDirectory("clostrue-jmh");
+        finished    = new CountDownLatch(1);
+        
+        settings = new Settings((GuiController) null);
+        settings.setMissingToDefaults();
+        settings.setValue(Param.teWorkDir,                  workDir.toString());
+        settings.setValue(Param.inIterations,               "1");
+        settings.setValue(Param.inInitialCellCount,         String.valueOf(initialCells));
+        settings.setValue(Param.inMaxCells,                 String.valueOf(maxCells));
+        settings.setValue(Param.inMaxCycles,                String.valueOf(maxCycles));
+        settings.setValue(Param.inMutationRate,             mutationRate);
+        settings.setValue(Param.teParallelSimTasksCount,    "1");
+        settings.setValue(Param.teEnsembleSize,             "1");
+        settings.setValue(Param.teRandomSeed,               String.valueOf(randomSeed));
+        settings.setValue(Param.teCheckpointEveryCycles,    "0");
+        settings.setValue(Param.cbPrepareCells,             String.valueOf(prepareCells));
+        settings.setValue(Param.cbTeGenerateGraph,          Constant.techStringFalse);
+        settings.setValue(Param.cbTeGenerateFishplot,       Constant.techStringFalse);
+        settings.setValue(Param.cbTeCollectMetrics,         Constant.techStringFalse);
+        settings.setRunWorkDir("");
+        
+        sim = new Simulation(1, HeadlessRunner.createMutationAdvModel(settings), this, settings);
+        sim.tasksPrepare();
+    }
+    
+    /**
+     * Simulates the given count of cycles on the calling thread
+     * (with one calculation task the barrier action runs on the same thread)
+     * @param cycles cycles to simulate
+     * @return false if the simulation has ended
+     */
+    public boolean doCycles(int cycles){
+        boolean running = true;
+        for (int i = 0; i < cycles && running; i++){
+            running = getTask().getPopulation().doNextCycle();
+        }
+        return running;
+    }
+    
+    /**
+     * Runs the simulation in background till it's end and waits for it
+     * @throws InterruptedException 
+     */
+    public void runToEnd() throws InterruptedException {
+        sim.tasksExecute();
+        finished.await();
+    }
+    
+    /**
+     * Moves the cells of the finished simulation to the analytics,
+     * the same way as the postprocessing does
+     */
+    public void prepareAnalytics(){
+        sim.getStatistics().addSimulationToHistogramPopulationSize(sim);
+        sim.getStatistics().convertClonesToInternalClones();
+        sim.getAnalytics().importCellCollection(sim.getStatistics().getCellCollection());
+        sim.getAnalytics().importInternalClones(sim.getStatistics().getInternalClones());
+        sim.getAnalytics().importGenomeCollection(sim.getGenomes());
+    }
+    
+    /**
+     * Returns the indexes of all the cells in the cell collection
+     * of the finished simulation (after prepareAnalytics)
+     * @return cell indexes
+     */
+    public List<Integer> getCellIndexes(){
+        List<Integer> indexes = new ArrayList<>();
+        for (CellIndexHolder holder : sim.getStatistics().getInternalClones().values()){
+            for (int i = 0; i < holder.size(); i++){
+                indexes.add(holder.get(i));
+            }
+        }
+        return indexes;
+    }
+    
+    /**
+     * Returns the cells of the population handled by the calculation task
+     * @return cells
+     */
+    public List<Cell> getCells(){
+        return getTask().getPopulation().getCells();
+    }
+    
+    public CalcTask getTask(){
+        return sim.getCalcTasks().get(0);
+    }
+
+    public Simulation getSimulation() {
+        return sim;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+    
+    public String getWorkDir() {
+        return workDir.toString();
+    }
+    
+    /**
+     * Removes the written cell files
+     */
+    public void deleteCellFiles(){
+        File[] cellFiles = new File(sim.getSimModel().getFilePaths().getWorkDirCellFiles()).listFiles();
+        if (cellFiles != null){
+            for (File cellFile : cellFiles){
+                cellFile.delete();
+            }
+        }
+    }
+    
+    /**
+     * Removes the temporary output directory
+     * @throws IOException 
+     */
+    public void delete() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    /**
+     * Only the finish of the simulation is handled
+     * @param evt 
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (EvtProperty.epFinishCurrentIteration.equals(evt.getPropertyName())){
+            finished.countDown();
+        }
+    }
+    
+}
@@ -23,6 +23,8 @@ import clostrue.biology.cell.Cell;
 import clostrue.benchmark.BenchmarkEntry;
 import clostrue.hardcodes.Activity;
 import clostrue.toolbox.StaticConsoleLogger;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
@@ -243,6 +245,29 @@ public class CalcTask extends SwingWorker<Void,Void> {
         return population.getCells().size();
     }    
 
+    /**
+     * Writes the task state to simulation checkpoint
+     * @param out checkpoint output
+     * @throws IOException 
+     */
+    public void writeStateTo(DataOutput out) throws IOException {
+        out.writeInt(lastProcCycle);
+        population.writeStateTo(out);
+        writer.writeStateTo(out);
+    }
+
+    /**
+     * Restores the task state from simulation checkpoint
+     * @param in checkpoint input
+     * @param branch state is restored into the branch of forked simulation
+     * @throws IOException 
+     */
+    public void readStateFrom(DataInput in, boolean branch) throws IOException {
+        lastProcCycle = in.readInt();
+        population.readStateFrom(in, branch);
+        writer.readStateFrom(in, branch);
+    }
+    
     /**
      * get cell population
      * @return cell population
@@ -21,9 +21,15 @@ import clostrue.model.mam.RegionTossMap;
 import clostrue.biology.cell.Cell;
 import clostrue.biology.genome.Genome;
 import clostrue.collections.GenomeSynchronizedCollection;
+import clostrue.benchmark.IterationMetrics;
 import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Metric;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import clostrue.hardcodes.Constant;
 import clostrue.hardcodes.file.Artifact;
 import clostrue.hardcodes.file.HeaderPart;
@@ -51,6 +57,8 @@ public class CellWriter {
     private int lastFileEnd;
     private int savedCellsInFile;
     private final String simulationFileName;
+    private String currentFileName;
+    private long currentFileStart;                      //length of the current file when opened (appended after resume)
     private FileWriter fileWriter;
     private BufferedWriter bufferedWriter;
     private final List<Cell> memCells;
@@ -59,6 +67,7 @@ public class CellWriter {
     private final MutationAdvantageData[] mamDrivers;
     private final MutationAdvantageData[] mamPassengers;
     private final int taskID;
+    private final IterationMetrics metrics;             //iteration metrics (bytes written)
     private final double              _noMutationProb;    //Division with no mutation probability in next cycle
     private final double              _drivMutationProb;  //Division with Driver Mutation probability in next cycle
     private final double              _passMutationProb;  //Division with Passenger Mutation probability in next cycle
@@ -71,7 +80,9 @@ public class CellWriter {
     public CellWriter(CalcTask inCalcTask) {
        
         lastFileEnd             = 0;
+        currentFileName         = "";
         taskID                  = inCalcTask.getId();
+        metrics                 = inCalcTask.getSim().getMetrics();
         memCells                = Collections.synchronizedList(new ArrayList<> ());
         prepareCells            = inCalcTask.getSim().isCbPrepareCells();
         genomes                 = inCalcTask.getSim().getGenomes();
@@ -208,6 +219,8 @@ public class CellWriter {
         fileWriter = new FileWriter(fullFileName);
         bufferedWriter = new BufferedWriter(fileWriter, Constant.fileBufferSize);
         savedCellsInFile = 0;        
+        currentFileName = fullFileName;
+        currentFileStart = 0;
     }
     
     /**
@@ -256,8 +269,12 @@ public class CellWriter {
         if (log)
             StaticConsoleLogger.consoleLogActivity(cycle, taskID, Activity.closingCellWriters, Activity.started);
         try {
-            bufferedWriter.flush();
-            bufferedWriter.close();
+            if (bufferedWriter != null){
+                bufferedWriter.flush();
+                bufferedWriter.close();
+                bufferedWriter = null;
+                metrics.addToCounter(Metric.bytesWritten, new File(currentFileName).length() - currentFileStart);
+            }
             lastFileEnd = 0;
         } catch (IOException ex) {
             Logger.getLogger(CellWriter.class.getName()).log(Level.SEVERE, null, ex);
@@ -277,6 +294,65 @@ public class CellWriter {
         memCells.add(cellToWrite);
     }
 
+    /**
+     * Writes the writer state to simulation checkpoint: the position in the
+     * current cell file and the cells already written to memory.
+     * The current cell file is flushed, so it's length is the position
+     * @param out checkpoint output
+     * @throws IOException 
+     */
+    public void writeStateTo(DataOutput out) throws IOException {
+        long fileLength = 0;
+        if (lastFileEnd > 0 && bufferedWriter != null){
+            bufferedWriter.flush();
+            fileLength = new File(currentFileName).length();
+        }
+        out.writeInt(lastFileEnd);
+        out.writeInt(savedCellsInFile);
+        out.writeUTF(currentFileName);
+        out.writeLong(fileLength);
+        
+        synchronized (memCells){
+            out.writeInt(memCells.size());
+            for (Cell cell : memCells){
+                cell.writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Restores the writer state from simulation checkpoint. The current cell
+     * file is cut to the checkpoint position (rows written after the checkpoint
+     * are dropped) and opened for appending. The branch of forked simulation
+     * leaves the trunk files untouched and starts a new file in it's own directory
+     * @param in checkpoint input
+     * @param branch state is restored into the branch of forked simulation
+     * @throws IOException 
+     */
+    public void readStateFrom(DataInput in, boolean branch) throws IOException {
+        lastFileEnd         = in.readInt();
+        savedCellsInFile    = in.readInt();
+        currentFileName     = in.readUTF();
+        long fileLength     = in.readLong();
+        
+        if (branch){
+            savedCellsInFile    = maxRowsPerFile;
+            currentFileName     = "";
+        } else if (lastFileEnd > 0 && prepareCells){
+            try (RandomAccessFile file = new RandomAccessFile(currentFileName, "rw")) {
+                file.setLength(fileLength);
+            }
+            fileWriter = new FileWriter(currentFileName, true);
+            bufferedWriter = new BufferedWriter(fileWriter, Constant.fileBufferSize);
+            currentFileStart = fileLength;
+        }
+        
+        int count = in.readInt();
+        for (int i = 0; i < count; i++){
+            memCells.add(new Cell(in));
+        }
+    }
+    
     /**
      * Transfer all the cells to clones Collection for statistical analysis
      * @param calcTask
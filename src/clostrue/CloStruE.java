@@ -17,16 +17,8 @@
  */
 package clostrue;
 
-import clostrue.model.mam.MutationAdvModel;
-import clostrue.hardcodes.Activity;
 import clostrue.hardcodes.Constant;
-import clostrue.hardcodes.file.Extension;
-import clostrue.hardcodes.file.Name;
-import clostrue.toolbox.StaticConsoleLogger;
-import java.beans.PropertyChangeListener;
-import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -38,7 +30,7 @@ import javafx.stage.Stage;
  * NetBeans generated main class.
  * 
  * Loads Gui components and launches the application
- * This class starts has the method for starting the simulation
+ * The simulation itself is started by the SimulationLauncher
  * 
  * @author Krzysztof Szymiczek
  */
@@ -47,12 +39,7 @@ public class CloStruE extends Application {
     public static Stage intStage;           //NetBeans insert
     public static Parent intRoot;           //NetBeans insert
     public static Scene intScene;           //NetBeans insert
-    public static Simulation simulation;    //The main simulation object
 
-    public static Simulation getSimulation() {
-        return simulation;
-    }
-    
     @Override
     public void start(Stage stage) throws Exception {
         stage.setTitle(Constant.appN + Constant.appV);
@@ -91,55 +78,4 @@ public class CloStruE extends Application {
         launch(args);
     }
 
-    /**
-     * Creates the simulation and starts the background tasks.
-     * This is called when the user pushes the "Start" button.
-     * 
-     * @param iterationID ID of the iteration
-     * @param mutationAdvantageModel mutation advantage model
-     * @param pl property change listener
-     * @param settings settings
-     * @return simulation object
-     * @throws InterruptedException         //Thrown exception
-     * @throws ExecutionException           //Thrown exception
-     * @throws IOException                  //Thrown exception
-     */
-    public static Simulation startSimulation(
-            Integer iterationID,
-            MutationAdvModel mutationAdvantageModel,
-            PropertyChangeListener pl,
-            Settings settings
-    ) throws InterruptedException, ExecutionException, IOException {
-
-        // start new Background Task for Simulation and Pass parameters
-        simulation = new Simulation(
-                iterationID,
-                mutationAdvantageModel,
-                pl,
-                settings
-        );
-
-        if (iterationID == 1){
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.programRun, Activity.started);
-            
-            StaticConsoleLogger.setLogToFile(true);
-            StaticConsoleLogger.createLogFile(simulation.getSimModel().getFilePaths().getRunWorkDir() + java.io.File.separator + Name.consoleLog + Extension.dotTxt);
-            StaticConsoleLogger.openLogFileBuffer();
-        }
-        
-        // Prepare and execute the background calculation tasks
-        StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.preparingTasks, Activity.started);
-        simulation.tasksPrepare();
-        StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.preparingTasks, Activity.finished);
-        simulation.tasksExecute();
-        
-        StaticConsoleLogger.flushLogFileBuffer();
-        
-        return simulation;
-    }
-
-    public static void stopSimulation(){
-        simulation.setStopped(true);
-    }
-
 }
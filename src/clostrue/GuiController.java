@@ -22,10 +22,9 @@ import clostrue.model.mam.MutationAdvModel;
 import eu.hansolo.medusa.Gauge;
 import clostrue.hardcodes.EvtProperty;
 import clostrue.hardcodes.Constant;
-import clostrue.postprocessing.visualization.GraphGenerator;
+import clostrue.hardcodes.DefConf;
 import clostrue.hardcodes.Activity;
 import clostrue.hardcodes.Param;
-import clostrue.model.FilePaths;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
@@ -56,7 +55,6 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
-import clostrue.postprocessing.plotter.Plotter;
 import clostrue.toolbox.StaticConsoleLogger;
 
 /**
@@ -240,6 +238,8 @@ public class GuiController
     
     String pathToCfg;
     boolean humanOperator;
+    private IterationScheduler iterationScheduler;      //postprocessing of finished iterations
+    private IterationPostProcessor postProcessor;       //postprocessing logic
     
     public GuiController(String inPathToCfg, boolean inHumanOperator){
         pathToCfg = inPathToCfg;
@@ -307,9 +307,8 @@ public class GuiController
         setGUIcomponentProperties();
        
         if ( humanOperator == false){
-            iterationsLeft = settings.getIntValue(Param.inIterations);
             try {            
-                startSimulationIteration();
+                startIterations();
             } catch (InterruptedException | ExecutionException | IOException ex) {
                 Logger.getLogger(GuiController.class.getName()).log(Level.SEVERE, null, ex);
             }
@@ -345,8 +344,30 @@ public class GuiController
      */
     private void handleButtonStart(ActionEvent event) throws InterruptedException, ExecutionException, IOException {
         
+        startIterations();
+        
+    }
+
+    /**
+     * Starts the first iteration of the simulation run.
+     * In ensemble mode as many iterations are started at once
+     * as set by the ensemble size
+     * @throws InterruptedException
+     * @throws ExecutionException
+     * @throws IOException 
+     */
+    private void startIterations() throws InterruptedException, ExecutionException, IOException{
+        
         iterationsLeft = settings.getIntValue(Param.inIterations);
-        startSimulationIteration();
+        StaticConsoleLogger.setIterationsCount(iterationsLeft);
+        StaticConsoleLogger.setLogToConsole(settings.getBooleanValue(Param.cbTeDebugLog, DefConf.cbTeDebugLog));
+        settings.setRunWorkDir("");
+        iterationScheduler = new IterationScheduler(settings);
+        postProcessor = new IterationPostProcessor(this, progressGraph);
+        int ensembleSize = Math.max(1, settings.getIntValue(Param.teEnsembleSize, DefConf.teEnsembleSize));
+        for (int i = 0; i < ensembleSize; i++){
+            startSimulationIteration();
+        }
         
     }
 
@@ -356,7 +377,7 @@ public class GuiController
      * @throws ExecutionException
      * @throws IOException 
      */
-    private void startSimulationIteration() throws InterruptedException, ExecutionException, IOException{
+    private synchronized void startSimulationIteration() throws InterruptedException, ExecutionException, IOException{
 
         int currentIteration = settings.getIntValue(Param.inIterations) - iterationsLeft + 1;        
         StaticConsoleLogger.logActivity(currentIteration, Activity.garbageCollection, Activity.started);
@@ -394,7 +415,7 @@ public class GuiController
         setGUIcomponentProperties();       
         
         //Start the simulation from the main CloStruE Class
-        simulation = CloStruE.startSimulation(
+        simulation = SimulationLauncher.startSimulation(
                 currentIteration,
                 mutationAdvantageModel,
                 this,
@@ -408,43 +429,6 @@ public class GuiController
         });        
         
     }
-    /**
-     * Calls creating of Gexf graf
-     */
-    private void callDrawGexf(){
-        
-        try { 
-
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.createPopulationGraphic, Activity.started);
-
-            GraphGenerator gen = new GraphGenerator(
-                    CloStruE.getSimulation(),
-                    progressGraph
-            );
-
-            gen.run();
-            gen = null;
-            System.gc();
-
-        } catch (IOException | InterruptedException ex) {
-            Logger.getLogger(GuiController.class.getName()).log(Level.SEVERE, null, ex);
-        }
-
-        StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.createPopulationGraphic, Activity.finished);
-
-    }      
-    
-    /**
-     * Call creation of plotters
-     * @param updateGui 
-     */
-    private void plot(boolean updateGui) {
-        if (CloStruE.simulation != null){
-            Plotter plotter = new Plotter(this);
-            plotter.handleAllPlots(updateGui);
-        }
-    }
-
     @FXML
     /**
      * Button handler for LOAD MAM.
@@ -528,85 +512,25 @@ public class GuiController
             this.progressBar.setProgress((double)progress / (double)simulation.cCurrFullProgress);
         }
         if (EvtProperty.epFinishCurrentIteration.equals(evt.getPropertyName())){      
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.simulation, Activity.finished);
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.copyMem, Activity.started);
-            
-            CloStruE.getSimulation().getStatistics().addSimulationToHistogramPopulationSize(CloStruE.getSimulation());
-            CloStruE.getSimulation().getStatistics().convertClonesToInternalClones();
-            CloStruE.getSimulation().getAnalytics().importCellCollection(CloStruE.getSimulation().getStatistics().getCellCollection());
-            CloStruE.getSimulation().getAnalytics().importInternalClones(CloStruE.getSimulation().getStatistics().getInternalClones());
-            CloStruE.getSimulation().getAnalytics().importGenomeCollection(CloStruE.getSimulation().getGenomes());
-            
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.copyMem, Activity.finished);
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.postProcessing, Activity.started);
-                    
-            //generate Gephi Graph file (if applicable)
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.graphEntryPoint, Activity.started);
-            if ( cbTeGenerateGraph.isSelected() ) {
-                StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.graphCall, Activity.started);
-                callDrawGexf();
+            //in ensemble mode the finished simulation is not the last started one
+            final Simulation finishedSimulation = ((CalcTask) evt.getSource()).getSim();
+            SimulationLauncher.simulationFinished(finishedSimulation);
+            StaticConsoleLogger.logActivity(finishedSimulation.getIteration(), Activity.simulation, Activity.finished);
+
+            //the next iteration is started before the postprocessing of the finished one
+            //if the memory budget allows it, otherwise it is started after the postprocessing
+            final boolean overlapNextIteration = iterationsLeft > 0 
+                    && iterationScheduler.canOverlapNextIteration(finishedSimulation);
+            iterationScheduler.submitPostProcessing(
+                    (lastIteration) -> postProcessIteration(finishedSimulation, lastIteration),
+                    (lastIteration) -> {
+                        if (!overlapNextIteration){
+                            continueIterations(finishedSimulation, lastIteration);
+                        }
+                    });
+            if (overlapNextIteration){
+                continueIterations(finishedSimulation, false);
             }
- 
-            //this has to be done after plotting, as plotting (Gexf and Fishplot)
-            //requires shadow predecessors  
-            CloStruE.getSimulation().getStatistics().removeShadowPredecessorsFromInternalClones();
-            int lastCycle = CloStruE.getSimulation().getLastCycle();
-            if ( cbGenerateAnalyticsPNG.isSelected()){
-                CloStruE.getSimulation().getStatistics().calculateHistogramShadowDriverMutations();
-                CloStruE.getSimulation().getStatistics().calculateHistogramShadowPassengerMutations();
-                CloStruE.getSimulation().getStatistics().calculateHistogramSurvivorsDriverMutations(lastCycle);
-                CloStruE.getSimulation().getStatistics().calculateHistogramSurvivorsPassengerMutations(lastCycle);
-            }
-            if ( cbPrepareClones.isSelected()){
-                CloStruE.getSimulation().getAnalytics().analyzeShadowSignificantClones();
-                CloStruE.getSimulation().getAnalytics().analyzeShadowAllClones();                
-                CloStruE.getSimulation().getAnalytics().analyzeSurvivorsSignificantClones(lastCycle);
-                CloStruE.getSimulation().getAnalytics().analyzeSurvivorsAllClones(lastCycle);            
-                CloStruE.getSimulation().getAnalytics().analyzeSurvivors();
-            }
-
-            if (cbTeGenerateFishplot.isSelected()){
-                CloStruE.getSimulation().getFishplot().prepareFishplot();
-                CloStruE.getSimulation().getFishplot().saveToFile();
-                CloStruE.getSimulation().destroyFishplot();                
-            }       
-            
-            if (simulation.getIteration() == settings.getIntValue(Param.inIterations)){
-                plot(true);
-                
-                simulation.getRepSimAnalysis().readTechDataFromIterations(FilePaths.getRunWorkDir());
-                simulation.getRepSimAnalysis().createCSVs();
-                simulation.getRepSimAnalysis().createCharts();
-                
-                guiSetDisable(false);    
-                Platform.runLater(() -> {
-                    StaticConsoleLogger.closeLogFileBuffer();
-                    if ( humanOperator == true ){
-                        JOptionPane.showMessageDialog(null, Constant.dialogSimulationFinish);                                     
-                    } else {
-                        Platform.exit();
-                        System.exit(0);
-                    }
-
-                });
-            } else {
-                plot(false);
-            }
-
-        
-            
-            StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.postProcessing, Activity.finished);
-
-            //if there are not processed simulation iterations -> start a new one
-            if (iterationsLeft > 0){
-                try {
-                    startSimulationIteration();
-                } catch (InterruptedException | ExecutionException | IOException ex) {
-                    Logger.getLogger(GuiController.class.getName()).log(Level.SEVERE, null, ex);
-                }
-            } else {
-                StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.programRun, Activity.finished);
-            }        
         }
             
         if (EvtProperty.epCurentDriverMutations.equals(evt.getPropertyName())) {
@@ -672,6 +596,51 @@ public class GuiController
 
     }
 
+    /**
+     * Postprocessing of the finished simulation iteration.
+     * After the last iteration the GUI is released (or the program 
+     * is closed when not run by a human operator)
+     * @param sim finished simulation
+     * @param lastIteration it is the last postprocessed iteration of the run
+     */
+    private void postProcessIteration(Simulation sim, boolean lastIteration){
+        
+        postProcessor.postProcess(sim, lastIteration);
+        
+        if (lastIteration){
+            Platform.runLater(() -> {
+                guiSetDisable(false);
+                StaticConsoleLogger.closeLogFileBuffer();
+                if ( humanOperator == true ){
+                    JOptionPane.showMessageDialog(null, Constant.dialogSimulationFinish);                                     
+                } else {
+                    Platform.exit();
+                    System.exit(0);
+                }
+
+            });
+        }
+    }
+
+    /**
+     * Starts the next simulation iteration if there are not processed iterations,
+     * otherwise finishes the program run after the last postprocessing
+     * @param sim last finished simulation
+     * @param lastIteration it was the last postprocessed iteration of the run
+     */
+    private void continueIterations(Simulation sim, boolean lastIteration){
+        if (iterationsLeft > 0){
+            try {
+                startSimulationIteration();
+            } catch (InterruptedException | ExecutionException | IOException ex) {
+                Logger.getLogger(GuiController.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        } else if (lastIteration) {
+            iterationScheduler.shutdown();
+            StaticConsoleLogger.logActivity(sim.getIteration(), Activity.programRun, Activity.finished);
+        }
+    }
+
     /**
      * Calculates mean acceleration of population size for the gauges
      * @param populationSize population size
@@ -817,7 +786,7 @@ public class GuiController
      * Handles the button which should stop the curent simulation
      */
     private void handleButtonStopSimulation(KeyEvent event) {
-        CloStruE.stopSimulation();
+        SimulationLauncher.stopSimulation();
     }
 
 
@@ -827,7 +796,7 @@ public class GuiController
     }
 
     private void handleOMRButtonStopSimulation(MouseEvent event) {
-        CloStruE.stopSimulation();        
+        SimulationLauncher.stopSimulation();        
     }
 
 }
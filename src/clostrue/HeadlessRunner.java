@@ -0,0 +1,296 @@
+/* 
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *
+ */
+
+package clostrue;
+
+import clostrue.model.mam.MutationAdvModel;
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DefConf;
+import clostrue.hardcodes.EvtProperty;
+import clostrue.hardcodes.Param;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless (batch) runner of the simulation.
+ * 
+ * Runs all the iterations defined in the settings file through simulation,
+ * analytics, plotting and cross iteration analysis without the GUI
+ * and without starting the JavaFX toolkit. Intended for compute nodes
+ * without display. Usage:
+ * java -cp CloStruE.jar clostrue.HeadlessRunner [path to settings file]
+ * or to continue a broken run from the simulation checkpoint:
+ * java -cp CloStruE.jar clostrue.HeadlessRunner --resume [path to checkpoint file]
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class HeadlessRunner implements PropertyChangeListener {
+    
+    private final Settings                  settings;               //simulation settings
+    private final MutationAdvModel          mutationAdvantageModel; //model shared by all iterations
+    private final IterationScheduler        iterationScheduler;     //postprocessing of finished iterations
+    private final IterationPostProcessor    postProcessor;          //postprocessing logic
+    private final CountDownLatch            runFinished;            //released after the last postprocessing
+    private final SimulationCheckpoint      resumeCheckpoint;       //checkpoint to resume from, null for new run
+    private final int                       firstIteration;         //first iteration of this run
+    private int                             iterationsLeft;         //iterations not started yet
+    
+    /**
+     * Headless launcher method.
+     * @param args the command line arguments, first one is the path to settings file,
+     *             or --resume followed by the path to checkpoint file
+     */
+    public static void main(String[] args) {
+        
+        System.setProperty("java.awt.headless", Constant.techStringTrue);
+        
+        if (args.length == 1 && Constant.argResume.equals(args[0])){
+            Logger.getLogger(HeadlessRunner.class.getName()).log(Level.SEVERE, 
+                    "Usage: HeadlessRunner [settings file] | " + Constant.argResume + " <checkpoint file>");
+            System.exit(1);
+        }
+        
+        String pathToCfg = Constant.getTeWorkDir() + Constant.settingFileDefaultName;
+        if (args.length > 0){
+            pathToCfg = args[0];
+        }
+        
+        try {
+            HeadlessRunner runner;
+            if (args.length > 1 && Constant.argResume.equals(args[0])){
+                runner = resume(new SimulationCheckpoint(args[1]));
+            } else {
+                runner = new HeadlessRunner(loadSettings(pathToCfg));
+            }
+            runner.run();
+        } catch (InterruptedException | ExecutionException | IOException ex) {
+            Logger.getLogger(HeadlessRunner.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        StaticConsoleLogger.closeLogFileBuffer();
+        System.exit(0);
+    }
+    
+    /**
+     * Loads the settings file, the settings missing in the file
+     * get the default values
+     * @param pathToCfg path to settings file
+     * @return settings
+     */
+    public static Settings loadSettings(String pathToCfg){
+        Settings loadedSettings = new Settings((GuiController) null);
+        loadedSettings.setFileName(pathToCfg);
+        loadedSettings.loadFromFile();
+        loadedSettings.setMissingToDefaults();
+        return loadedSettings;
+    }
+
+    /**
+     * Default constructor
+     * @param inSettings simulation settings
+     */
+    public HeadlessRunner(Settings inSettings) {
+        this(inSettings, createMutationAdvModel(inSettings));
+    }
+
+    /**
+     * Constructor with already created Mutation Advantage Model,
+     * used when one model is shared by many runs (parameter sweep)
+     * @param inSettings simulation settings
+     * @param inMutationAdvantageModel mutation advantage model
+     */
+    public HeadlessRunner(Settings inSettings, MutationAdvModel inMutationAdvantageModel) {
+        this(inSettings, inMutationAdvantageModel, null);
+    }
+
+    /**
+     * Creates the runner continuing the run from the simulation checkpoint.
+     * The checkpointed iteration is resumed, the next iterations are started new
+     * @param checkpoint simulation checkpoint
+     * @return runner
+     */
+    public static HeadlessRunner resume(SimulationCheckpoint checkpoint){
+        Settings checkpointSettings = checkpoint.createSettings();
+        return new HeadlessRunner(checkpointSettings, createMutationAdvModel(checkpointSettings), checkpoint);
+    }
+    
+    /**
+     * Constructor
+     * @param inSettings simulation settings
+     * @param inMutationAdvantageModel mutation advantage model
+     * @param inResumeCheckpoint checkpoint to resume from, null for new run
+     */
+    private HeadlessRunner(Settings inSettings, MutationAdvModel inMutationAdvantageModel, SimulationCheckpoint inResumeCheckpoint) {
+        settings                = inSettings;
+        mutationAdvantageModel  = inMutationAdvantageModel;
+        resumeCheckpoint        = inResumeCheckpoint;
+        firstIteration          = (resumeCheckpoint == null) ? 1 : resumeCheckpoint.getIteration();
+        iterationScheduler      = new IterationScheduler(settings, settings.getIntValue(Param.inIterations) - firstIteration + 1);
+        postProcessor           = new IterationPostProcessor(null, null);
+        runFinished             = new CountDownLatch(1);
+        iterationsLeft          = 0;
+    }
+    
+    /**
+     * Creates Mutation Advantage Model from the file pointed in settings,
+     * or from the simple model parameters if there is no file or the
+     * file is not correct
+     * @param settings simulation settings
+     * @return mutation advantage model
+     */
+    public static MutationAdvModel createMutationAdvModel(Settings settings){
+        
+        String mamPath = settings.getStringValue(Param.mamPath);
+        if (mamPath != null && !mamPath.equals(Constant.techStringEmpty)){
+            MutationAdvModel loadedMAM = new MutationAdvModel(mamPath);
+            if (loadedMAM.isModelOK()){
+                return loadedMAM;
+            }
+        }
+        
+        return new MutationAdvModel(
+                settings.getDoubleValue(Param.inDriverFitAdvantageTda),
+                settings.getIntValue(Param.inDriverGenesTdg),
+                settings.getIntValue(Param.inDmSize),
+                settings.getDoubleValue(Param.inPassengerFitAdvantageTpa),
+                settings.getIntValue(Param.inPassengerGenesTpg),
+                settings.getIntValue(Param.inPmSize));
+    }
+    
+    /**
+     * Runs all the iterations and waits till the last one is postprocessed
+     * @throws InterruptedException
+     * @throws ExecutionException
+     * @throws IOException 
+     */
+    public void run() throws InterruptedException, ExecutionException, IOException{
+        
+        StaticConsoleLogger.setIterationsCount(settings.getIntValue(Param.inIterations));
+        StaticConsoleLogger.setLogToConsole(settings.getBooleanValue(Param.cbTeDebugLog, DefConf.cbTeDebugLog));
+        iterationsLeft = settings.getIntValue(Param.inIterations) - firstIteration + 1;
+        if (iterationsLeft <= 0){
+            return;
+        }
+        
+        int ensembleSize = Math.max(1, settings.getIntValue(Param.teEnsembleSize, DefConf.teEnsembleSize));
+        int started = 0;
+        if (resumeCheckpoint == null){
+            settings.setRunWorkDir("");
+        } else {
+            resumeSimulationIteration();
+            started++;
+        }
+        for (int i = started; i < ensembleSize; i++){
+            startSimulationIteration();
+        }
+        
+        runFinished.await();
+        StaticConsoleLogger.flushLogFileBuffer();
+    }
+    
+    /**
+     * Starts new iteration of simulation
+     * @throws InterruptedException
+     * @throws ExecutionException
+     * @throws IOException 
+     */
+    private synchronized void startSimulationIteration() throws InterruptedException, ExecutionException, IOException{
+        
+        if (iterationsLeft <= 0){
+            return;            
+        }
+
+        int currentIteration = settings.getIntValue(Param.inIterations) - iterationsLeft + 1;        
+        iterationsLeft--;
+        SimulationLauncher.startSimulation(
+                currentIteration,
+                mutationAdvantageModel,
+                this,
+                settings
+                );
+        
+    }
+    
+    /**
+     * Resumes the checkpointed iteration of simulation
+     * @throws IOException 
+     */
+    private synchronized void resumeSimulationIteration() throws IOException{
+        iterationsLeft--;
+        SimulationLauncher.resumeSimulation(
+                resumeCheckpoint,
+                mutationAdvantageModel,
+                this,
+                settings
+                );
+    }
+    
+    /**
+     * Starts the next simulation iteration if there are not processed iterations,
+     * otherwise finishes the run after the last postprocessing
+     * @param sim last finished simulation
+     * @param lastIteration it was the last postprocessed iteration of the run
+     */
+    private void continueIterations(Simulation sim, boolean lastIteration){
+        if (iterationsLeft > 0){
+            try {
+                startSimulationIteration();
+            } catch (InterruptedException | ExecutionException | IOException ex) {
+                Logger.getLogger(HeadlessRunner.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        } else if (lastIteration) {
+            iterationScheduler.shutdown();
+            StaticConsoleLogger.logActivity(sim.getIteration(), Activity.programRun, Activity.finished);
+            runFinished.countDown();
+        }
+    }
+    
+    /**
+     * Event handler for properity change.
+     * Only the finish of the iteration is handled, as there is no GUI
+     * @param evt 
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (EvtProperty.epFinishCurrentIteration.equals(evt.getPropertyName())){      
+            final Simulation finishedSimulation = ((CalcTask) evt.getSource()).getSim();
+            SimulationLauncher.simulationFinished(finishedSimulation);
+            StaticConsoleLogger.logActivity(finishedSimulation.getIteration(), Activity.simulation, Activity.finished);
+
+            final boolean overlapNextIteration = iterationsLeft > 0 
+                    && iterationScheduler.canOverlapNextIteration(finishedSimulation);
+            iterationScheduler.submitPostProcessing(
+                    (lastIteration) -> postProcessor.postProcess(finishedSimulation, lastIteration),
+                    (lastIteration) -> {
+                        if (!overlapNextIteration){
+                            continueIterations(finishedSimulation, lastIteration);
+                        }
+                    });
+            if (overlapNextIteration){
+                continueIterations(finishedSimulation, false);
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,203 @@
+/* 
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *
+ */
+
+package clostrue;
+
+import clostrue.benchmark.IterationMetrics;
+import clostrue.crossIterationAnalysis.QuotedTable;
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Metric;
+import clostrue.hardcodes.Param;
+import clostrue.postprocessing.plotter.Plotter;
+import clostrue.postprocessing.visualization.GraphGenerator;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.scene.control.ProgressBar;
+
+/**
+ * Postprocessing of a finished simulation iteration.
+ * 
+ * Copies the simulation memory and creates graph, analytics, fishplot
+ * and plots. After the last iteration of the run the cross iteration 
+ * analysis is done. Used by the GUI and by the headless runner, 
+ * in the latter case there is no GUI controller and no progress bar.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class IterationPostProcessor {
+    
+    private final GuiController guiController;      //GUI controller, null in headless mode
+    private final ProgressBar   progressGraph;      //progress bar for graph creation, null in headless mode
+    private final HashMap<Integer, QuotedTable> quotedClones;       //quoted clones of the postprocessed iterations
+    private final HashMap<Integer, QuotedTable> quotedDrivers;      //quoted drivers of the postprocessed iterations
+    private final HashMap<Integer, QuotedTable> quotedPassengers;   //quoted passengers of the postprocessed iterations
+
+    /**
+     * Default constructor
+     * @param inGuiController GUI controller (null in headless mode)
+     * @param inProgressGraph progress bar for graph creation (null in headless mode)
+     */
+    public IterationPostProcessor(GuiController inGuiController, ProgressBar inProgressGraph) {
+        guiController   = inGuiController;
+        progressGraph   = inProgressGraph;
+        quotedClones    = new HashMap<>();
+        quotedDrivers   = new HashMap<>();
+        quotedPassengers= new HashMap<>();
+    }
+    
+    /**
+     * Postprocessing of the finished simulation iteration.
+     * @param sim finished simulation
+     * @param lastIteration it is the last postprocessed iteration of the run
+     */
+    public void postProcess(Simulation sim, boolean lastIteration){
+        IterationMetrics metrics = sim.getMetrics();
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.copyMem, Activity.started);
+        metrics.startPhase(Metric.phasePostprocessing);
+        metrics.startPhase(Metric.phaseCopyMemory);
+        
+        sim.getStatistics().addSimulationToHistogramPopulationSize(sim);
+        sim.getStatistics().convertClonesToInternalClones();
+        sim.getAnalytics().importCellCollection(sim.getStatistics().getCellCollection());
+        sim.getAnalytics().importInternalClones(sim.getStatistics().getInternalClones());
+        sim.getAnalytics().importGenomeCollection(sim.getGenomes());
+        
+        metrics.finishPhase(Metric.phaseCopyMemory);
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.copyMem, Activity.finished);
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.postProcessing, Activity.started);
+                
+        //generate Gephi Graph file (if applicable)
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.graphEntryPoint, Activity.started);
+        if ( sim.getSettings().getBooleanValue(Param.cbTeGenerateGraph) ) {
+            StaticConsoleLogger.logActivity(sim.getIteration(), Activity.graphCall, Activity.started);
+            metrics.startPhase(Metric.phaseGraph);
+            callDrawGexf(sim);
+            metrics.finishPhase(Metric.phaseGraph);
+        }
+ 
+        //this has to be done after plotting, as plotting (Gexf and Fishplot)
+        //requires shadow predecessors  
+        sim.getStatistics().removeShadowPredecessorsFromInternalClones();
+        int lastCycle = sim.getLastCycle();
+        if ( sim.getSettings().getBooleanValue(Param.cbGenerateAnalyticsPNG)){
+            metrics.startPhase(Metric.phaseHistograms);
+            sim.getStatistics().calculateHistogramShadowDriverMutations();
+            sim.getStatistics().calculateHistogramShadowPassengerMutations();
+            sim.getStatistics().calculateHistogramSurvivorsDriverMutations(lastCycle);
+            sim.getStatistics().calculateHistogramSurvivorsPassengerMutations(lastCycle);
+            metrics.finishPhase(Metric.phaseHistograms);
+        }
+        if ( sim.getSettings().getBooleanValue(Param.cbPrepareClones)){
+            metrics.startPhase(Metric.phaseClones);
+            sim.getAnalytics().analyzeShadowSignificantClones();
+            sim.getAnalytics().analyzeShadowAllClones();                
+            sim.getAnalytics().analyzeSurvivorsSignificantClones(lastCycle);
+            sim.getAnalytics().analyzeSurvivorsAllClones(lastCycle);            
+            sim.getAnalytics().analyzeSurvivors();
+            metrics.finishPhase(Metric.phaseClones);
+        }
+
+        if (sim.getSettings().getBooleanValue(Param.cbTeGenerateFishplot)){
+            metrics.startPhase(Metric.phaseFishplot);
+            sim.getFishplot().prepareFishplot();
+            sim.getFishplot().saveToFile();
+            sim.destroyFishplot();                
+            metrics.finishPhase(Metric.phaseFishplot);
+        }       
+        
+        //the plots are displayed in the GUI only after the last iteration
+        metrics.startPhase(Metric.phasePlots);
+        plot(sim, lastIteration && guiController != null);
+        metrics.finishPhase(Metric.phasePlots);
+        
+        collectQuotedTables(sim);
+        if (lastIteration){
+            metrics.startPhase(Metric.phaseCrossIteration);
+            sim.getRepSimAnalysis().importQuotedTables(quotedClones, quotedDrivers, quotedPassengers);
+            sim.getRepSimAnalysis().readTechDataFromIterations(sim.getSimModel().getFilePaths().getRunWorkDir());
+            sim.getRepSimAnalysis().createCSVs();
+            sim.getRepSimAnalysis().createCharts();
+            metrics.finishPhase(Metric.phaseCrossIteration);
+        }
+        
+        metrics.finishPhase(Metric.phasePostprocessing);
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.postProcessing, Activity.finished);
+        sim.saveMetrics();
+    }
+    
+    /**
+     * Keeps the quoted tables of the iteration for the cross iteration
+     * analysis, so they are not read back from the csv files
+     * @param sim postprocessed simulation
+     */
+    private void collectQuotedTables(Simulation sim){
+        if (sim.getAnalytics().getQuotedClones() != null)
+            quotedClones.put(sim.getIteration(), sim.getAnalytics().getQuotedClones());
+        if (sim.getAnalytics().getQuotedDrivers() != null)
+            quotedDrivers.put(sim.getIteration(), sim.getAnalytics().getQuotedDrivers());
+        if (sim.getAnalytics().getQuotedPassengers() != null)
+            quotedPassengers.put(sim.getIteration(), sim.getAnalytics().getQuotedPassengers());
+    }
+    
+    /**
+     * Calls creating of Gexf graf
+     * @param sim simulation to draw
+     */
+    private void callDrawGexf(Simulation sim){
+        
+        try { 
+
+            StaticConsoleLogger.logActivity(sim.getIteration(), Activity.createPopulationGraphic, Activity.started);
+
+            //graph generator keeps its nodes state in static fields,
+            //so runs postprocessed in parallel (sweep) draw one at a time
+            synchronized (GraphGenerator.class){
+                GraphGenerator gen = new GraphGenerator(
+                        sim,
+                        progressGraph
+                );
+
+                gen.run();
+                gen = null;
+            }
+            System.gc();
+
+        } catch (IOException | InterruptedException ex) {
+            Logger.getLogger(IterationPostProcessor.class.getName()).log(Level.SEVERE, null, ex);
+        }
+
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.createPopulationGraphic, Activity.finished);
+
+    }      
+    
+    /**
+     * Call creation of plotters
+     * @param sim simulation to plot
+     * @param updateGui 
+     */
+    private void plot(Simulation sim, boolean updateGui) {
+        if (sim != null){
+            Plotter plotter = new Plotter(guiController, sim);
+            plotter.handleAllPlots(updateGui);
+        }
+    }
+    
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue;
+
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DefConf;
+import clostrue.hardcodes.Param;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Schedules the postprocessing of finished simulation iterations.
+ *
+ * The postprocessing (graph, analytics, fishplot, plots) of iteration N
+ * is executed in background, one iteration after another, so the simulation
+ * of iteration N+1 can be started while iteration N is still postprocessed.
+ * The next iteration is started in overlapped mode only when no other
+ * postprocessing is pending and the projected heap usage fits into
+ * the configured memory budget. Otherwise the next iteration waits
+ * for the postprocessing to finish.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class IterationScheduler {
+
+    private final ExecutorService postProcessingPool;   //single thread -> postprocessing in iteration order
+    private final AtomicInteger   pendingPostProcessing;//iterations handed over and not yet postprocessed
+    private final boolean         pipelineEnabled;      //overlapping of iterations allowed
+    private final long            memoryBudget;         //heap budget in bytes
+    private final int             iterationsCount;      //all iterations of the run
+    private final AtomicInteger   postProcessedCount;   //iterations which postprocessing has started
+
+    /**
+     * Default constructor
+     * @param settings settings
+     */
+    public IterationScheduler(Settings settings) {
+        this(settings, settings.getIntValue(Param.inIterations));
+    }
+
+    /**
+     * Constructor for a run which does not start with the first
+     * iteration (resumed from checkpoint)
+     * @param settings settings
+     * @param inIterationsCount iterations to be run
+     */
+    public IterationScheduler(Settings settings, int inIterationsCount) {
+
+        postProcessingPool      = Executors.newSingleThreadExecutor();
+        pendingPostProcessing   = new AtomicInteger(0);
+        postProcessedCount      = new AtomicInteger(0);
+        iterationsCount         = inIterationsCount;
+        pipelineEnabled         = settings.getBooleanValue(Param.cbTePipelineIterations, DefConf.cbTePipelineIterations);
+
+        long budgetMB           = settings.getIntValue(Param.tePipelineMemoryBudgetMB, DefConf.tePipelineMemoryBudgetMB);
+        if (budgetMB <= 0){
+            memoryBudget        = Runtime.getRuntime().maxMemory();
+        } else {
+            memoryBudget        = Math.min(budgetMB * Constant.bytesPerMByte, Runtime.getRuntime().maxMemory());
+        }
+
+    }
+
+    /**
+     * Decides if the next iteration can be started while the finished
+     * one is postprocessed. The memory footprint of the next iteration
+     * is assumed to be equal to the one of the finished iteration.
+     * @param finishedSimulation simulation which has just finished
+     * @return true if the next iteration can be started immediately
+     */
+    public boolean canOverlapNextIteration(Simulation finishedSimulation){
+
+        boolean overlap = false;
+
+        if (pipelineEnabled && pendingPostProcessing.get() == 0){
+            Runtime runtime = Runtime.getRuntime();
+            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+            long projected  = (long) ((double) usedMemory * Constant.pipelineFootprintFactor);
+            overlap         = (projected <= memoryBudget);
+        }
+
+        if (overlap){
+            StaticConsoleLogger.logActivity(finishedSimulation.getIteration(), Activity.pipelineOverlap, Activity.scheduled);
+        } else {
+            StaticConsoleLogger.logActivity(finishedSimulation.getIteration(), Activity.pipelineSerial, Activity.scheduled);
+        }
+
+        return overlap;
+    }
+
+    /**
+     * Hands over the postprocessing of the finished simulation
+     * to the background postprocessing thread. As iterations can finish
+     * in any order (ensemble mode), the postprocessing logic is told
+     * if it is the last one of the whole run.
+     * A failed postprocessing is logged and the iteration is still counted
+     * as postprocessed, so the run continues or finishes.
+     * @param postProcessing postprocessing logic to execute,
+     *                       accepts flag of the last iteration of the run
+     * @param continuation   executed after the postprocessing (also the failed one),
+     *                       accepts flag of the last iteration of the run
+     */
+    public void submitPostProcessing(Consumer<Boolean> postProcessing, Consumer<Boolean> continuation){
+
+        pendingPostProcessing.incrementAndGet();
+        postProcessingPool.execute(() -> {
+            try {
+                boolean lastIteration = (postProcessedCount.incrementAndGet() == iterationsCount);
+                try {
+                    postProcessing.accept(lastIteration);
+                } catch (RuntimeException ex) {
+                    Logger.getLogger(IterationScheduler.class.getName()).log(Level.SEVERE, null, ex);
+                }
+                continuation.accept(lastIteration);
+            } finally {
+                pendingPostProcessing.decrementAndGet();
+            }
+        });
+
+    }
+
+    /**
+     * Returns the count of iterations waiting for or under postprocessing
+     * @return pending postprocessing count
+     */
+    public int getPendingPostProcessing() {
+        return pendingPostProcessing.get();
+    }
+
+    /**
+     * Releases the postprocessing thread, already submitted work is finished
+     */
+    public void shutdown(){
+        postProcessingPool.shutdown();
+    }
+
+}
@@ -23,6 +23,7 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.Set;
 import clostrue.hardcodes.Param;
 import clostrue.hardcodes.Constant;
 import clostrue.hardcodes.DefConf;
@@ -37,9 +38,10 @@ import clostrue.hardcodes.ModelParam;
  */
 public final class Settings {
    
-    private static Properties properties;           //properties (all)
+    private final Properties properties;            //properties (all)
     private String fileName;                        //file name for storing
-    private static GuiController applController;    //GUI Controller 
+    private final GuiController applController;     //GUI Controller 
+    private String runWorkDir;                      //output directory of the current run (not stored in file)
 
     /**
      * Default constructir
@@ -48,6 +50,20 @@ public final class Settings {
     public Settings(GuiController inController) {
         applController = inController;
         properties = new Properties();
+        runWorkDir = "";
+    }
+
+    /**
+     * Copy constructor. The copy is not bound to any GUI controller,
+     * used for running several differently parametrized runs (sweep)
+     * @param source settings to copy
+     */
+    public Settings(Settings source) {
+        applController = null;
+        properties = new Properties();
+        properties.putAll(source.properties);
+        fileName = source.fileName;
+        runWorkDir = "";
     }
 
     /**
@@ -201,6 +217,59 @@ public final class Settings {
         applController.teQuota.setText(properties.getProperty(Param.teQuota,DefConf.teQuota));
     }
     
+    /**
+     * Sets the default values for all settings missing in the loaded file.
+     * Used when no GUI is available (headless mode), the defaults are
+     * the same as the ones displayed in the GUI
+     */
+    public void setMissingToDefaults(){
+        
+        setDefaultIfMissing(Param.inIterations, ModelParam.inIterations);
+        setDefaultIfMissing(Param.inInitialCellCount, ModelParam.inInitialCellCount);
+        setDefaultIfMissing(Param.inMutationRate, ModelParam.inMutationRate);
+        setDefaultIfMissing(Param.inDriverFitAdvantageTda, ModelParam.inDriverFitAdvantageTda);
+        setDefaultIfMissing(Param.inDriverGenesTdg, ModelParam.inDriverGenesTdg);
+        setDefaultIfMissing(Param.inDmSize, ModelParam.inDmSize);
+        setDefaultIfMissing(Param.inPassengerFitAdvantageTpa, ModelParam.inPassengerFitAdvantageTpa);
+        setDefaultIfMissing(Param.inPassengerGenesTpg, ModelParam.inPassengerGenesTpg);
+        setDefaultIfMissing(Param.inPmSize, ModelParam.inPmSize);
+        setDefaultIfMissing(Param.inMaxCycles, ModelParam.inMaxCycles);
+        setDefaultIfMissing(Param.inMaxCells, ModelParam.inMaxCells);
+        setDefaultIfMissing(Param.teParallelSimTasksCount, DefConf.teParallelSimTasksCount);
+        setDefaultIfMissing(Param.teParallelProcTasksCount, DefConf.teParallelProcTasksCount);
+        setDefaultIfMissing(Param.teWorkDir, Constant.getTeWorkDir());
+        setDefaultIfMissing(Param.cbTeGenerateGraph, DefConf.cbTeGenerateGraph);
+        setDefaultIfMissing(Param.cbTeGenerateFishplot, DefConf.cbTeGenerateFishplot);
+        setDefaultIfMissing(Param.mamPath, ModelParam.mamPath);
+        setDefaultIfMissing(Param.cbPrepareClones, DefConf.cbPrepareClones);
+        setDefaultIfMissing(Param.teCellListerCutOff, DefConf.teCellListerCutOff);
+        setDefaultIfMissing(Param.teCloneMinSize, DefConf.teCloneMinSize);
+        setDefaultIfMissing(Param.teCloneMinLifespan, DefConf.teCloneMinLifespan);
+        setDefaultIfMissing(Param.ggRectangeScale, DefConf.ggRectangeScale);
+        setDefaultIfMissing(Param.teResUseGroupping, DefConf.teResUseGroupping);
+        setDefaultIfMissing(Param.cbPrepareCells, DefConf.cbPrepareCells);
+        setDefaultIfMissing(Param.cbGenerateSimulationPNG, DefConf.cbGenerateSimulationPNG);
+        setDefaultIfMissing(Param.cbGenerateAnalyticsPNG, DefConf.cbGenerateAnalyticsPNG);
+        setDefaultIfMissing(Param.cbGenerateSurvivorsAnalytics, DefConf.cbGenerateSurvivorsAnalytics);
+        setDefaultIfMissing(Param.ggScaleToMaxSize, DefConf.ggScaleToMaxSize);
+        setDefaultIfMissing(Param.ggMaxSize, DefConf.ggMaxSize);
+        setDefaultIfMissing(Param.cbClonesScatter, DefConf.cbClonesScatter);
+        setDefaultIfMissing(Param.cbDriversSactter, DefConf.cbDriversSactter);
+        setDefaultIfMissing(Param.cbPassengersScatter, DefConf.cbPassengersScatter);
+        setDefaultIfMissing(Param.teQuota, DefConf.teQuota);
+    }
+
+    /**
+     * Sets the configuration setting if it is not set yet
+     * @param name name of the setting
+     * @param defaultValue default value of the setting as String
+     */
+    private void setDefaultIfMissing(String name, String defaultValue){
+        if (properties.getProperty(name) == null){
+            properties.setProperty(name, defaultValue);
+        }
+    }
+    
     /**
      * Sets default configuration
      */
@@ -217,6 +286,17 @@ public final class Settings {
         return properties.getProperty(name);
     }
     
+    /**
+     * Retrieve configuration setting as String. Used for settings
+     * which have no GUI controll and may be missing in the settings file
+     * @param name name of the setting
+     * @param defaultValue value used when the setting is missing
+     * @return value of the setting as String
+     */
+    public String getStringValue(String name, String defaultValue){
+        return properties.getProperty(name, defaultValue);
+    }
+    
     /**
      * Retrieve configuration setting as Integer
      * @param name name of the setting
@@ -225,6 +305,16 @@ public final class Settings {
     public Integer getIntValue(String name){
         return Integer.valueOf(getStringValue(name));
     }
+
+    /**
+     * Retrieve configuration setting as Integer
+     * @param name name of the setting
+     * @param defaultValue value used when the setting is missing
+     * @return value of the setting as Integer
+     */
+    public Integer getIntValue(String name, String defaultValue){
+        return Integer.valueOf(getStringValue(name, defaultValue));
+    }
     
     /**
      * Retrieve configuration setting as boolean
@@ -235,6 +325,16 @@ public final class Settings {
         return Boolean.valueOf(getStringValue(name));
     }
 
+    /**
+     * Retrieve configuration setting as boolean
+     * @param name name of the setting
+     * @param defaultValue value used when the setting is missing
+     * @return  value of the setting as Boolean
+     */
+    public Boolean getBooleanValue(String name, String defaultValue){
+        return Boolean.valueOf(getStringValue(name, defaultValue));
+    }
+
     /**
      * Retrieve configuration setting as Double
      * @param name name of the setting
@@ -244,6 +344,31 @@ public final class Settings {
         return Double.valueOf(getStringValue(name));
     }
 
+    /**
+     * Returns names of all the settings
+     * @return names of the settings
+     */
+    public Set<String> getNames(){
+        return properties.stringPropertyNames();
+    }
+
+    /**
+     * Returns the output directory of the current run, it is set when
+     * the first iteration is created and shared by all the iterations
+     * @return run output directory
+     */
+    public String getRunWorkDir() {
+        return runWorkDir;
+    }
+
+    /**
+     * Sets the output directory of the current run
+     * @param inRunWorkDir run output directory
+     */
+    public void setRunWorkDir(String inRunWorkDir) {
+        runWorkDir = inRunWorkDir;
+    }
+
     /**
      * Sets the configuration setting as String
      * @param name name of the setting
@@ -20,12 +20,15 @@ package clostrue;
 import clostrue.model.mam.MutationAdvModel;
 import clostrue.biology.genome.GenomePart;
 import clostrue.biology.cell.Cell;
+import clostrue.benchmark.IterationMetrics;
 import clostrue.benchmark.ParallelBenchmark;
 import clostrue.collections.GenomeSynchronizedCollection;
 import clostrue.hardcodes.Activity;
 import clostrue.postprocessing.analysis.Statistics;
 import clostrue.hardcodes.EvtProperty;
 import java.beans.PropertyChangeListener;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +36,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import clostrue.hardcodes.Param;
 import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DefConf;
+import clostrue.hardcodes.LogText;
+import clostrue.hardcodes.Metric;
 import clostrue.loadballancer.LoadBallancer;
 import clostrue.loadballancer.LoadBallancerDefault;
 import clostrue.loadballancer.LoadBallancerEmpty;
@@ -67,11 +73,14 @@ public class Simulation {
     private long  loadBalancerTotalTime = 0;            //load ballancer total time
     private final LoadBallancer loadBallancer;          //load ballancer
     private final ParallelBenchmark benchmark;          //parallel benchmark
+    private final IterationMetrics metrics;             //phase timers and counters
     public int cCurrFullProgress;                       //full progress
     private ExecutorService threadPool;                 //the pool of all calculation tasks              
     int currentCycle;                                   //current cycle of the simulation
     private int lastProgess;                            //last notified progress value
     private final boolean cbPrepareCells;               //Prepare Cell Files
+    private final boolean cbCellTrace;                  //Write binary trace of cell events
+    private final boolean cbFishplot;                   //Generate fishplot (accumulated during simulation)
     private final PropertyChangeListener pl;            //Reference to calling application
     private final List<CalcTask> calcTasks;             //All the calculation tasks used in simulation
     private final Settings settings;                    //settings object
@@ -81,8 +90,10 @@ public class Simulation {
     private final int iteration;                        //current iteration
     private boolean stopped = false;                    //simulation is stopped
     private final CrossIterationAnalysis repSimAnalysis;
+    private final int checkpointEveryCycles;            //checkpoint interval in cycles, 0 -> no checkpoints
+    private int forkAtCycle = 0;                        //cycle of the fork into branches, 0 -> no fork
+    private SimulationFork fork = null;                 //snapshot taken at the fork cycle
     int lastCycle       = 0;
-    static public int currentIteration = 0;             //the number of current iteration
 
     private final GenomePart dummyGenomePart = new GenomePart();
 
@@ -152,6 +163,23 @@ public class Simulation {
         this.stopped = stopped;
     }
 
+    /**
+     * Sets the cycle at which the simulation is forked into branches
+     * (see SimulationFork). Has to be set before the tasks are executed
+     * @param inForkAtCycle fork cycle, 0 -> no fork
+     */
+    public void setForkAtCycle(int inForkAtCycle) {
+        this.forkAtCycle = inForkAtCycle;
+    }
+
+    public boolean isForked() {
+        return fork != null;
+    }
+
+    public SimulationFork getFork() {
+        return fork;
+    }
+
     /**
      * Simulation constructor.
      *
@@ -167,8 +195,33 @@ public class Simulation {
             MutationAdvModel mutationAdvantageModel,
             PropertyChangeListener pl,
             Settings inSettings) {
+        this(inIteration, mutationAdvantageModel, pl, inSettings, null);
+    }
+
+    /**
+     * Simulation constructor.
+     *
+     * This constructor is called for the branch of forked simulation,
+     * the genomes created before the fork are shared with the trunk.
+     *
+     * @param inIteration            Curent Iteration
+     * @param mutationAdvantageModel Mutation Advantage Model (Control Paramter)
+     * @param pl                     Property change listener (GUI)
+     * @param inSettings             Simulation settings
+     * @param sharedGenomes          Frozen genomes of the trunk, null -> no sharing
+     */
+    public Simulation(
+            Integer inIteration,
+            MutationAdvModel mutationAdvantageModel,
+            PropertyChangeListener pl,
+            Settings inSettings,
+            GenomeSynchronizedCollection sharedGenomes) {
         
-        genomes                     = new GenomeSynchronizedCollection();
+        if (sharedGenomes == null){
+            genomes                 = new GenomeSynchronizedCollection();
+        } else {
+            genomes                 = new GenomeSynchronizedCollection(sharedGenomes);
+        }
         technicalLastSaveCycle      = new AtomicBoolean(false);
         currentCycle                = 0;
         iteration                   = inIteration;
@@ -176,9 +229,13 @@ public class Simulation {
         lastProgess                 = 0;
         settings                    = inSettings;
         stopped                     = false;
+        metrics                     = new IterationMetrics(iteration, settings);
         simModel                    = new SimModel(settings, mutationAdvantageModel, iteration);
         liveStats                   = new LiveStats(simModel);
         cbPrepareCells              = settings.getBooleanValue(Param.cbPrepareCells);
+        cbCellTrace                 = settings.getBooleanValue(Param.cbTeCellTrace, DefConf.cbTeCellTrace);
+        cbFishplot                  = settings.getBooleanValue(Param.cbTeGenerateFishplot, DefConf.cbTeGenerateFishplot);
+        checkpointEveryCycles       = settings.getIntValue(Param.teCheckpointEveryCycles, DefConf.teCheckpointEveryCycles);
         statistics                  = new Statistics(this, settings);
         analytics                   = new Analytics(this);
         fishplot                    = new Fishplot(analytics, FishPlot.fractionDecimalPlaces);
@@ -193,9 +250,6 @@ public class Simulation {
                     }
                 });
         
-        currentIteration++;
-        Cell.clearLastCellID();
-        GenomePart.clearLastCloneGroupID();
         this.settings.saveUnderLocation(simModel.getFilePaths().getWorkDir() + java.io.File.separator + "Simulation_Setup.txt");
 
 
@@ -221,12 +275,32 @@ public class Simulation {
     What to do on barrier to synchronize work ?
     */
     private void doOnBarrier(){
+        long barrierBegin       = System.nanoTime();
+        long balancingBefore    = loadBalancerTotalTime;
+        int  benchmarkCycle     = calcTasks.get(0).getBenchmarkEntry().getCycle();
         if (!technicalLastSaveCycle.get()){
             determineTechnicalLastSaveCycle();
             updateHistoryStats();
             setNextCycle();
+            if (checkpointEveryCycles > 0 && currentCycle % checkpointEveryCycles == 0){
+                SimulationCheckpoint.save(this);
+            }
+            benchmark.addBarrierAction(benchmarkCycle, 
+                    System.nanoTime() - barrierBegin, 
+                    loadBalancerTotalTime - balancingBefore);
+            if (forkAtCycle > 0 && currentCycle == forkAtCycle){
+                fork = new SimulationFork(this);
+                metrics.finishPhase(Metric.phaseSimulation);
+                calcTasks.get(0).doFirePropertyChange(EvtProperty.epForkReached, 0, 1);
+                shutdownThreadPool();
+            }
         } else {
             updateHistoryStats();
+            benchmark.addBarrierAction(benchmarkCycle, System.nanoTime() - barrierBegin, 0);
+            if (checkpointEveryCycles > 0){
+                SimulationCheckpoint.delete(this);
+            }
+            metrics.finishPhase(Metric.phaseSimulation);
             calcTasks.get(0).doFirePropertyChange(EvtProperty.epFinishCurrentIteration, 0, 1);
             shutdownThreadPool();
         }        
@@ -260,6 +334,20 @@ public class Simulation {
         return benchmark;
     }
 
+    public IterationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the final counters and saves the iteration metrics
+     * next to the parallel benchmark outputs
+     */
+    public void saveMetrics(){
+        metrics.setCounter(Metric.genomesCreated, genomes.size() - genomes.sharedSize());
+        metrics.setCounter(Metric.cycles, currentCycle);
+        metrics.saveToFiles(simModel.getFilePaths().getWorkDirBenchmark());
+    }
+
     public Analytics getAnalytics() {
         return analytics;
     }
@@ -272,6 +360,14 @@ public class Simulation {
         return cbPrepareCells;
     }
 
+    public boolean isCbCellTrace() {
+        return cbCellTrace;
+    }
+
+    public boolean isCbFishplot() {
+        return cbFishplot;
+    }
+
     public int getIteration() {
         return iteration;
     }
@@ -325,12 +421,99 @@ public class Simulation {
 
     }
 
+    /**
+     * Writes the simulation state to checkpoint. Called on the barrier,
+     * when all the calculation tasks have finished the cycle
+     * @param out checkpoint output
+     * @throws IOException 
+     */
+    void writeStateTo(DataOutput out) throws IOException {
+        writeStateTo(out, true);
+    }
+    
+    /**
+     * Writes the simulation state to checkpoint or fork snapshot
+     * @param out checkpoint output
+     * @param withGenomes genome store is written (not for the fork, where it is shared)
+     * @throws IOException 
+     */
+    void writeStateTo(DataOutput out, boolean withGenomes) throws IOException {
+        
+        out.writeInt(currentCycle);
+        out.writeInt(lastProgess);
+        out.writeInt(lastCycle);
+        out.writeLong(loadBalancerTotalTime);
+        out.writeBoolean(technicalLastSaveCycle.get());
+        out.writeInt(simModel.getIdGenerator().getLastCellID());
+        out.writeInt(simModel.getIdGenerator().getLastCloneGroupID());
+        out.writeInt(liveStats.getLiDriverMutations());
+        out.writeInt(liveStats.getLiPassengerMutations());
+        out.writeInt(liveStats.getPrevPopulationSize());
+        out.writeInt(liveStats.getShadowSize());
+        statistics.writeHistoryTo(out);
+        if (withGenomes){
+            genomes.writeTo(out);
+        }
+        
+        out.writeInt(calcTasks.size());
+        for (CalcTask task : calcTasks){
+            task.writeStateTo(out);
+        }
+    }
+    
+    /**
+     * Creates the calculation tasks from the checkpoint, instead of
+     * creating the initial population (see tasksPrepare)
+     * @param in checkpoint input
+     * @param branch the simulation is the branch of forked simulation,
+     *               the genome store is shared and not read
+     * @throws IOException 
+     */
+    void tasksRestore(DataInput in, boolean branch) throws IOException {
+        
+        currentCycle            = in.readInt();
+        lastProgess             = in.readInt();
+        lastCycle               = in.readInt();
+        loadBalancerTotalTime   = in.readLong();
+        technicalLastSaveCycle.set(in.readBoolean());
+        simModel.getIdGenerator().restore(in.readInt(), in.readInt());
+        liveStats.setLiDriverMutations(in.readInt());
+        liveStats.setLiPassengerMutations(in.readInt());
+        liveStats.setPrevPopulationSize(in.readInt());
+        liveStats.incrementShadowSize(in.readInt());
+        statistics.readHistoryFrom(in);
+        if (!branch){
+            genomes.readFrom(in);
+        }
+        
+        int tasksCount = in.readInt();
+        if (tasksCount != simModel.getTechParams().getSimTasksCount()){
+            throw new IOException(LogText.checkpointTasksMismatch + String.valueOf(tasksCount));
+        }
+        for (int i = 0; i < tasksCount; i++) {
+            CalcTask task = new CalcTask(this, i, 0, null);
+            task.readStateFrom(in, branch);
+            task.addPropertyChangeListener(pl);
+            calcTasks.add(task);
+        }
+        
+        //the changes of the last cycle are added to the statistics
+        //by the tasks after the barrier, which they have not passed yet
+        calcTasks.forEach((task) -> {
+            updateLiveModeVariables(
+                    task.getPopulation().getDeltaCellCount(), 
+                    task.getPopulation().getDeltaDrivers(), 
+                    task.getPopulation().getDeltaPassengers());
+        });
+    }
+
     /**
      * Executes all the calculation tasks at once in the background.
      */
     public void tasksExecute() {
         
         StaticConsoleLogger.logActivity(iteration, Activity.simulation, Activity.started);
+        metrics.startPhase(Metric.phaseSimulation);
         threadPool = Executors.newFixedThreadPool(simModel.getTechParams().getSimTasksCount() + 1);
         calcTasks.stream().forEach((task) -> {
             threadPool.submit(task);
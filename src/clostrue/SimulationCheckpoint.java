@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue;
+
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.LogText;
+import clostrue.hardcodes.file.Extension;
+import clostrue.hardcodes.file.Name;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary checkpoint of a running simulation iteration.
+ * 
+ * The checkpoint is written on the barrier at the end of a simulation cycle,
+ * when all the calculation tasks wait. It contains the settings of the run,
+ * the genome store, the history statistics, and for each calculation task
+ * the cell population, the random generator state and the cell writer position.
+ * The checkpoint is first written to a temporary file and then moved,
+ * so a crash during the writing keeps the previous checkpoint.
+ * Resuming: java -cp CloStruE.jar clostrue.HeadlessRunner --resume [checkpoint file]
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SimulationCheckpoint {
+    
+    private final String                checkpointFile; //path to checkpoint file
+    private final int                   iteration;      //iteration of the simulation
+    private final int                   cycle;          //cycle the simulation continues with
+    private final String                runWorkDir;     //output directory of the run
+    private final Map<String, String>   settingsValues; //settings of the run
+    
+    /**
+     * Returns the path to the checkpoint file of the simulation
+     * @param sim simulation
+     * @return checkpoint file path
+     */
+    public static String getCheckpointFile(Simulation sim){
+        return sim.getSimModel().getFilePaths().getWorkDirCheckpoint() 
+                + File.separator 
+                + Name.checkpoint 
+                + Extension.dotCkpt;
+    }
+    
+    /**
+     * Writes the checkpoint of the simulation, replacing the previous one
+     * @param sim simulation waiting on the barrier
+     */
+    public static void save(Simulation sim){
+        
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.checkpointSave, Activity.started, String.valueOf(sim.getCurrentCycle()));
+        
+        String targetFile   = getCheckpointFile(sim);
+        String tempFile     = targetFile + Extension.dotTmp;
+        
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(tempFile), Constant.fileBufferSize))) {
+                out.writeInt(Constant.checkpointMagic);
+                out.writeInt(Constant.checkpointVersion);
+                out.writeInt(sim.getIteration());
+                out.writeInt(sim.getCurrentCycle());
+                out.writeUTF(sim.getSimModel().getFilePaths().getRunWorkDir());
+                out.writeInt(sim.getSettings().getNames().size());
+                for (String name : sim.getSettings().getNames()){
+                    out.writeUTF(name);
+                    out.writeUTF(sim.getSettings().getStringValue(name));
+                }
+                sim.writeStateTo(out);
+            }
+            Files.move(Paths.get(tempFile), Paths.get(targetFile), 
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            Logger.getLogger(SimulationCheckpoint.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        
+        StaticConsoleLogger.logActivity(sim.getIteration(), Activity.checkpointSave, Activity.finished, String.valueOf(sim.getCurrentCycle()));
+    }
+    
+    /**
+     * Deletes the checkpoint of the finished simulation
+     * @param sim finished simulation
+     */
+    public static void delete(Simulation sim){
+        File checkpoint = new File(getCheckpointFile(sim));
+        if (checkpoint.exists()){
+            checkpoint.delete();
+        }
+    }
+    
+    /**
+     * Opens the checkpoint, only the header (settings) is read
+     * @param inCheckpointFile path to checkpoint file
+     * @throws IOException 
+     */
+    public SimulationCheckpoint(String inCheckpointFile) throws IOException {
+        
+        checkpointFile  = inCheckpointFile;
+        settingsValues  = new LinkedHashMap<>();
+        
+        try (DataInputStream in = openAndCheck()) {
+            iteration   = in.readInt();
+            cycle       = in.readInt();
+            runWorkDir  = in.readUTF();
+            int count   = in.readInt();
+            for (int i = 0; i < count; i++){
+                settingsValues.put(in.readUTF(), in.readUTF());
+            }
+        }
+    }
+    
+    /**
+     * Opens the checkpoint file and checks it's format
+     * @return checkpoint input positioned after the format information
+     * @throws IOException 
+     */
+    private DataInputStream openAndCheck() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(checkpointFile), Constant.fileBufferSize));
+        if (in.readInt() != Constant.checkpointMagic || in.readInt() != Constant.checkpointVersion){
+            in.close();
+            throw new IOException(LogText.checkpointNotRecognized + checkpointFile);
+        }
+        return in;
+    }
+    
+    /**
+     * Creates the settings of the checkpointed run, the run output
+     * directory is the one of the checkpointed run
+     * @return settings
+     */
+    public Settings createSettings(){
+        Settings settings = new Settings((GuiController) null);
+        settingsValues.forEach((name, value) -> {
+            settings.setValue(name, value);
+        });
+        settings.setRunWorkDir(runWorkDir);
+        return settings;
+    }
+    
+    /**
+     * Restores the state of the simulation created for the checkpointed iteration
+     * @param sim simulation without calculation tasks
+     * @throws IOException 
+     */
+    public void restore(Simulation sim) throws IOException {
+        
+        StaticConsoleLogger.logActivity(iteration, Activity.checkpointRestore, Activity.started, String.valueOf(cycle));
+        
+        try (DataInputStream in = openAndCheck()) {
+            in.readInt();   //iteration
+            in.readInt();   //cycle
+            in.readUTF();   //run directory
+            int count = in.readInt();
+            for (int i = 0; i < count; i++){
+                in.readUTF();
+                in.readUTF();
+            }
+            sim.tasksRestore(in, false);
+        }
+        
+        StaticConsoleLogger.logActivity(iteration, Activity.checkpointRestore, Activity.finished, String.valueOf(cycle));
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public int getCycle() {
+        return cycle;
+    }
+
+    public String getRunWorkDir() {
+        return runWorkDir;
+    }
+    
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue;
+
+import clostrue.collections.GenomeSynchronizedCollection;
+import clostrue.hardcodes.Activity;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In memory snapshot of the simulation (trunk) at the fork cycle.
+ * 
+ * The snapshot is taken on the barrier, when all the calculation tasks wait,
+ * in the same format as the simulation checkpoint but without the genome store.
+ * The genomes and genome parts created till the fork are never changed later,
+ * so instead of being copied they are frozen once and shared by all
+ * the branches (copy on write: each branch stores only the genomes it creates
+ * after the fork). Each branch restores the cells, statistics and identifiers
+ * of the trunk and continues with it's own settings and random generator.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SimulationFork {
+    
+    private final int                           iteration;      //iteration of the trunk
+    private final int                           cycle;          //cycle the branches continue with
+    private final GenomeSynchronizedCollection  sharedGenomes;  //frozen genome store of the trunk
+    private final byte[]                        state;          //state of the trunk without genomes
+    
+    /**
+     * Takes the snapshot of the simulation waiting on the barrier
+     * @param trunk simulation to be forked
+     */
+    SimulationFork(Simulation trunk) {
+        
+        iteration   = trunk.getIteration();
+        cycle       = trunk.getCurrentCycle();
+        StaticConsoleLogger.logActivity(iteration, Activity.branchFork, Activity.started, String.valueOf(cycle));
+        
+        sharedGenomes = trunk.getGenomes().freeze();
+        
+        ByteArrayOutputStream stateBytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(stateBytes)) {
+            trunk.writeStateTo(out, false);
+        } catch (IOException ex) {
+            Logger.getLogger(SimulationFork.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        state = stateBytes.toByteArray();
+        
+        StaticConsoleLogger.logActivity(iteration, Activity.branchFork, Activity.finished, String.valueOf(cycle));
+    }
+    
+    /**
+     * Restores the trunk state into the branch simulation
+     * @param branch simulation created with the shared genomes, without calculation tasks
+     * @throws IOException 
+     */
+    public void restore(Simulation branch) throws IOException {
+        
+        StaticConsoleLogger.logActivity(branch.getIteration(), Activity.branchStart, Activity.started, String.valueOf(cycle));
+        
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            branch.tasksRestore(in, true);
+        }
+        
+        StaticConsoleLogger.logActivity(branch.getIteration(), Activity.branchStart, Activity.finished, String.valueOf(cycle));
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public int getCycle() {
+        return cycle;
+    }
+
+    public GenomeSynchronizedCollection getSharedGenomes() {
+        return sharedGenomes;
+    }
+    
+}
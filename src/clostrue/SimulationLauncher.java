@@ -0,0 +1,249 @@
+/* 
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *
+ */
+package clostrue;
+
+import clostrue.model.mam.MutationAdvModel;
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Metric;
+import clostrue.hardcodes.file.Extension;
+import clostrue.hardcodes.file.Name;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.beans.PropertyChangeListener;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Starts and keeps track of the running simulations.
+ * 
+ * Moved out of the JavaFX main class, so the simulation can be started
+ * also without the JavaFX toolkit (headless mode)
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SimulationLauncher {
+
+    private static Simulation simulation;   //The main (last started) simulation object
+    private static final List<Simulation> runningSimulations = new CopyOnWriteArrayList<>(); //all running simulations (ensemble mode)
+
+    public static Simulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Returns all the simulations which are currently running.
+     * In ensemble mode more than one iteration is simulated at once.
+     * @return running simulations
+     */
+    public static List<Simulation> getRunningSimulations() {
+        return runningSimulations;
+    }
+
+    /**
+     * Removes the finished simulation from the list of running simulations
+     * @param finishedSimulation finished simulation
+     */
+    public static void simulationFinished(Simulation finishedSimulation) {
+        runningSimulations.remove(finishedSimulation);
+    }
+    
+    /**
+     * Creates the simulation and starts the background tasks.
+     * This is called for each iteration by the GUI or the headless runner.
+     * 
+     * @param iterationID ID of the iteration
+     * @param mutationAdvantageModel mutation advantage model
+     * @param pl property change listener
+     * @param settings settings
+     * @return simulation object
+     * @throws InterruptedException         //Thrown exception
+     * @throws ExecutionException           //Thrown exception
+     * @throws IOException                  //Thrown exception
+     */
+    public static Simulation startSimulation(
+            Integer iterationID,
+            MutationAdvModel mutationAdvantageModel,
+            PropertyChangeListener pl,
+            Settings settings
+    ) throws InterruptedException, ExecutionException, IOException {
+
+        // start new Background Task for Simulation and Pass parameters
+        Simulation newSimulation = new Simulation(
+                iterationID,
+                mutationAdvantageModel,
+                pl,
+                settings
+        );
+        runningSimulations.add(newSimulation);
+        simulation = newSimulation;
+
+        if (iterationID == 1){
+            StaticConsoleLogger.logActivity(newSimulation.getIteration(), Activity.programRun, Activity.started);
+            
+            //parameter sweep keeps one log file for all the runs
+            if (!StaticConsoleLogger.isLogFileOpen()){
+                StaticConsoleLogger.setLogToFile(true);
+                StaticConsoleLogger.createLogFile(newSimulation.getSimModel().getFilePaths().getRunWorkDir() + java.io.File.separator + Name.consoleLog + Extension.dotTxt);
+                StaticConsoleLogger.openLogFileBuffer();
+            }
+        }
+        
+        // Prepare and execute the background calculation tasks
+        StaticConsoleLogger.logActivity(newSimulation.getIteration(), Activity.preparingTasks, Activity.started);
+        newSimulation.getMetrics().startPhase(Metric.phasePreparingTasks);
+        newSimulation.tasksPrepare();
+        newSimulation.getMetrics().finishPhase(Metric.phasePreparingTasks);
+        StaticConsoleLogger.logActivity(newSimulation.getIteration(), Activity.preparingTasks, Activity.finished);
+        newSimulation.tasksExecute();
+        
+        StaticConsoleLogger.flushLogFileBuffer();
+        
+        return newSimulation;
+    }
+
+    /**
+     * Creates the simulation of the checkpointed iteration, restores
+     * it's state and continues the background tasks.
+     * 
+     * @param checkpoint simulation checkpoint
+     * @param mutationAdvantageModel mutation advantage model
+     * @param pl property change listener
+     * @param settings settings created from the checkpoint
+     * @return simulation object
+     * @throws IOException                  //Thrown exception
+     */
+    public static Simulation resumeSimulation(
+            SimulationCheckpoint checkpoint,
+            MutationAdvModel mutationAdvantageModel,
+            PropertyChangeListener pl,
+            Settings settings
+    ) throws IOException {
+
+        Simulation newSimulation = new Simulation(
+                checkpoint.getIteration(),
+                mutationAdvantageModel,
+                pl,
+                settings
+        );
+        runningSimulations.add(newSimulation);
+        simulation = newSimulation;
+
+        StaticConsoleLogger.logActivity(newSimulation.getIteration(), Activity.programRun, Activity.started);
+        if (!StaticConsoleLogger.isLogFileOpen()){
+            StaticConsoleLogger.setLogToFile(true);
+            StaticConsoleLogger.createLogFile(checkpoint.getRunWorkDir() + java.io.File.separator + Name.consoleLogResumed + Extension.dotTxt);
+            StaticConsoleLogger.openLogFileBuffer();
+        }
+        
+        checkpoint.restore(newSimulation);
+        newSimulation.tasksExecute();
+        
+        StaticConsoleLogger.flushLogFileBuffer();
+        
+        return newSimulation;
+    }
+
+    /**
+     * Creates the trunk simulation of the branched run and starts
+     * the background tasks. The trunk stops at the fork cycle,
+     * where the snapshot for the branches is taken.
+     * 
+     * @param iterationID ID of the iteration
+     * @param forkAtCycle cycle of the fork
+     * @param mutationAdvantageModel mutation advantage model
+     * @param pl property change listener
+     * @param settings settings
+     * @return simulation object
+     * @throws IOException                  //Thrown exception
+     */
+    public static Simulation startForkingSimulation(
+            Integer iterationID,
+            int forkAtCycle,
+            MutationAdvModel mutationAdvantageModel,
+            PropertyChangeListener pl,
+            Settings settings
+    ) throws IOException {
+
+        Simulation newSimulation = new Simulation(
+                iterationID,
+                mutationAdvantageModel,
+                pl,
+                settings
+        );
+        newSimulation.setForkAtCycle(forkAtCycle);
+        runningSimulations.add(newSimulation);
+        simulation = newSimulation;
+
+        StaticConsoleLogger.logActivity(newSimulation.getIteration(), Activity.preparingTasks, Activity.started);
+        newSimulation.getMetrics().startPhase(Metric.phasePreparingTasks);
+        newSimulation.tasksPrepare();
+        newSimulation.getMetrics().finishPhase(Metric.phasePreparingTasks);
+        StaticConsoleLogger.logActivity(newSimulation.getIteration(), Activity.preparingTasks, Activity.finished);
+        newSimulation.tasksExecute();
+        
+        StaticConsoleLogger.flushLogFileBuffer();
+        
+        return newSimulation;
+    }
+
+    /**
+     * Creates the branch simulation sharing the genomes of the forked trunk,
+     * restores the trunk state and continues the background tasks.
+     * 
+     * @param fork snapshot of the trunk simulation
+     * @param iterationID ID of the iteration (branch)
+     * @param mutationAdvantageModel mutation advantage model
+     * @param pl property change listener
+     * @param settings settings of the branch
+     * @return simulation object
+     * @throws IOException                  //Thrown exception
+     */
+    public static Simulation startBranchSimulation(
+            SimulationFork fork,
+            Integer iterationID,
+            MutationAdvModel mutationAdvantageModel,
+            PropertyChangeListener pl,
+            Settings settings
+    ) throws IOException {
+
+        Simulation newSimulation = new Simulation(
+                iterationID,
+                mutationAdvantageModel,
+                pl,
+                settings,
+                fork.getSharedGenomes()
+        );
+        runningSimulations.add(newSimulation);
+        simulation = newSimulation;
+
+        fork.restore(newSimulation);
+        newSimulation.tasksExecute();
+        
+        StaticConsoleLogger.flushLogFileBuffer();
+        
+        return newSimulation;
+    }
+
+    public static void stopSimulation(){
+        runningSimulations.forEach((runningSimulation) -> {
+            runningSimulation.setStopped(true);
+        });
+    }
+
+}
@@ -40,6 +40,10 @@ public class BenchmarkEntry {
     private double dutyCycle;               //duty cycle
     private double fillRatio;               //fill ration
     private final CalcTask _calcTask;       //calculation task
+    private long saveDuration;              //saving of the cells of the previous cycle
+    private long lifeTickBegin;             //start time of the life-tick loop
+    private long lifeTickDuration;          //life-tick loop over all the cells
+    private long barrierWait;               //waiting on the barrier (includes the barrier action)
     
     /**
      * Constructor
@@ -87,6 +91,36 @@ public class BenchmarkEntry {
 
     }
 
+    /**
+     * Marks the end of saving the cells of the previous cycle,
+     * which is the first step of the cycle
+     */
+    public void saveFinished(){
+        saveDuration = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Marks the start of the life-tick loop
+     */
+    public void lifeTickStarted(){
+        lifeTickBegin = System.nanoTime();
+    }
+    
+    /**
+     * Marks the end of the life-tick loop
+     */
+    public void lifeTickFinished(){
+        lifeTickDuration = System.nanoTime() - lifeTickBegin;
+    }
+    
+    /**
+     * Sets the time the task waited on the barrier for the other tasks
+     * @param inBarrierWait waiting time in nanoseconds
+     */
+    public void setBarrierWait(long inBarrierWait){
+        barrierWait = inBarrierWait;
+    }
+    
     /**
      * Calculates calculation task duty cycle
      * @param maxDurationPerCycle 
@@ -131,6 +165,30 @@ public class BenchmarkEntry {
         return duration;
     }
 
+    /**
+     * get duration of saving the cells of the previous cycle
+     * @return save duration in nanoseconds
+     */
+    public long getSaveDuration() {
+        return saveDuration;
+    }
+
+    /**
+     * get duration of the life-tick loop
+     * @return life-tick duration in nanoseconds
+     */
+    public long getLifeTickDuration() {
+        return lifeTickDuration;
+    }
+
+    /**
+     * get time waited on the barrier
+     * @return barrier wait in nanoseconds
+     */
+    public long getBarrierWait() {
+        return barrierWait;
+    }
+    
     /**
      * returns cell count gain
      * @return cell count gain
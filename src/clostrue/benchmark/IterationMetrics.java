@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.benchmark;
+
+import clostrue.Settings;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DefConf;
+import clostrue.hardcodes.Metric;
+import clostrue.hardcodes.Param;
+import clostrue.hardcodes.file.Artifact;
+import clostrue.hardcodes.file.Extension;
+import clostrue.hardcodes.file.HeaderPart;
+import clostrue.hardcodes.file.Name;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Metrics of one simulation iteration: phase timers, counters and 
+ * JVM figures (garbage collection, heap).
+ * 
+ * The phases (see Metric) are started and finished by the owner 
+ * of the metrics: the simulation, the launcher and the postprocessor.
+ * The counters are fed by the simulation (cells simulated, bytes written)
+ * and set when the metrics are saved (genomes created, cycles).
+ * The metrics are saved as JSON and CSV next to the parallel benchmark 
+ * outputs of the iteration.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class IterationMetrics {
+
+    private final int                                   iteration;  //simulation iteration
+    private final boolean                               enabled;    //metrics collected
+    private final ConcurrentHashMap<String, PhaseTimer> phases;     //phase timers by phase name
+    private final ConcurrentHashMap<String, LongAdder>  counters;   //counters by name
+    private final long                                  begin;      //creation time
+    private final long                                  gcCountAtBegin;     //collections at creation
+    private final long                                  gcTimeAtBegin;      //collection time at creation
+    
+    /**
+     * Default constructor
+     * @param inIteration simulation iteration
+     * @param settings settings
+     */
+    public IterationMetrics(int inIteration, Settings settings) {
+        iteration       = inIteration;
+        enabled         = settings.getBooleanValue(Param.cbTeCollectMetrics, DefConf.cbTeCollectMetrics);
+        phases          = new ConcurrentHashMap<>();
+        counters        = new ConcurrentHashMap<>();
+        begin           = System.nanoTime();
+        gcCountAtBegin  = PhaseTimer.getJvmGcCount();
+        gcTimeAtBegin   = PhaseTimer.getJvmGcTimeMillis();
+    }
+    
+    /**
+     * Starts an execution of the phase
+     * @param phase phase name (see Metric)
+     */
+    public void startPhase(String phase){
+        if (enabled){
+            phases.computeIfAbsent(phase, PhaseTimer::new).start();
+        }
+    }
+    
+    /**
+     * Finishes the last started execution of the phase.
+     * Finish without start is ignored
+     * @param phase phase name (see Metric)
+     */
+    public void finishPhase(String phase){
+        if (enabled){
+            PhaseTimer timer = phases.get(phase);
+            if (timer != null){
+                timer.finish();
+            }
+        }
+    }
+    
+    /**
+     * Adds to the counter
+     * @param name counter name
+     * @param delta value to add
+     */
+    public void addToCounter(String name, long delta){
+        if (enabled){
+            counters.computeIfAbsent(name, (key) -> new LongAdder()).add(delta);
+        }
+    }
+    
+    /**
+     * Sets the counter
+     * @param name counter name
+     * @param value counter value
+     */
+    public void setCounter(String name, long value){
+        if (enabled){
+            LongAdder counter = new LongAdder();
+            counter.add(value);
+            counters.put(name, counter);
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Saves the metrics as JSON and CSV file to the given directory
+     * @param directory output directory (benchmark directory of the iteration)
+     */
+    public void saveToFiles(String directory){
+        
+        if (!enabled){
+            return;
+        }
+        
+        //phases started and never finished (e.g. skipped) are not saved
+        List<PhaseTimer> sortedPhases = new ArrayList<>();
+        phases.values().stream().filter((phase) -> phase.getCount() > 0).forEach(sortedPhases::add);
+        sortedPhases.sort(Comparator.comparingLong(PhaseTimer::getFirstStart));
+        Map<String, Long> sortedCounters = new TreeMap<>();
+        counters.forEach((name, counter) -> sortedCounters.put(name, counter.sum()));
+        Map<String, Long> jvm = getJvmFigures();
+        
+        String fileName = directory + java.io.File.separator + Name.iterationMetrics;
+        saveToJson(fileName + Extension.dotJson, sortedPhases, sortedCounters, jvm);
+        saveToCsv(fileName + Extension.dotCsv, sortedPhases, sortedCounters, jvm);
+    }
+    
+    /**
+     * Returns the JVM figures since the creation of the metrics
+     * @return figures by name
+     */
+    private Map<String, Long> getJvmFigures(){
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        Map<String, Long> jvm = new TreeMap<>();
+        jvm.put(Metric.wallNanos,       System.nanoTime() - begin);
+        jvm.put(Metric.gcCount,         PhaseTimer.getJvmGcCount() - gcCountAtBegin);
+        jvm.put(Metric.gcTimeMillis,    PhaseTimer.getJvmGcTimeMillis() - gcTimeAtBegin);
+        jvm.put(Metric.heapUsedBytes,   heap.getUsed());
+        jvm.put(Metric.heapMaxBytes,    heap.getMax());
+        return jvm;
+    }
+    
+    private void saveToJson(String fileName, List<PhaseTimer> sortedPhases, Map<String, Long> sortedCounters, Map<String, Long> jvm){
+        
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName), Constant.fileBufferSize)) {
+            
+            writer.write("{" + Artifact.outCSVeol);
+            writer.write("  " + jsonString(Metric.jsonIteration) + ": " + iteration + "," + Artifact.outCSVeol);
+            
+            writer.write("  " + jsonString(Metric.jsonPhases) + ": [");
+            for (int i = 0; i < sortedPhases.size(); i++){
+                PhaseTimer phase = sortedPhases.get(i);
+                writer.write((i > 0 ? "," : "") + Artifact.outCSVeol + "    {");
+                writer.write(jsonString(Metric.jsonName) + ": " + jsonString(phase.getName()));
+                writer.write(", " + jsonString(Metric.jsonCount) + ": " + phase.getCount());
+                writer.write(", " + jsonString(Metric.jsonTotalNanos) + ": " + phase.getTotalNanos());
+                writer.write(", " + jsonString(Metric.jsonMinNanos) + ": " + phase.getMinNanos());
+                writer.write(", " + jsonString(Metric.jsonMaxNanos) + ": " + phase.getMaxNanos());
+                writer.write(", " + jsonString(Metric.jsonCpuNanos) + ": " + phase.getCpuNanos());
+                writer.write(", " + jsonString(Metric.jsonAllocated) + ": " + phase.getAllocatedBytes());
+                writer.write(", " + jsonString(Metric.gcCount) + ": " + phase.getGcCount());
+                writer.write(", " + jsonString(Metric.gcTimeMillis) + ": " + phase.getGcTimeMillis());
+                writer.write("}");
+            }
+            writer.write(Artifact.outCSVeol + "  ]," + Artifact.outCSVeol);
+            
+            writer.write("  " + jsonString(Metric.jsonCounters) + ": ");
+            writeJsonObject(writer, sortedCounters);
+            writer.write("," + Artifact.outCSVeol);
+            
+            writer.write("  " + jsonString(Metric.jsonJvm) + ": ");
+            writeJsonObject(writer, jvm);
+            writer.write(Artifact.outCSVeol + "}" + Artifact.outCSVeol);
+            
+        } catch (IOException ex) {
+            Logger.getLogger(IterationMetrics.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        
+    }
+    
+    private static void writeJsonObject(BufferedWriter writer, Map<String, Long> values) throws IOException {
+        writer.write("{");
+        boolean first = true;
+        for (Map.Entry<String, Long> value : values.entrySet()){
+            writer.write((first ? "" : ", ") + jsonString(value.getKey()) + ": " + value.getValue());
+            first = false;
+        }
+        writer.write("}");
+    }
+    
+    private static String jsonString(String text){
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+    
+    private void saveToCsv(String fileName, List<PhaseTimer> sortedPhases, Map<String, Long> sortedCounters, Map<String, Long> jvm){
+        
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName), Constant.fileBufferSize)) {
+
+            writer.write(HeaderPart.metricsFileHeadKind             + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadName             + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadCount            + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadTotalNs          + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadMinNs            + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadMaxNs            + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadCpuNs            + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadAllocatedBytes   + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadGcCount          + Artifact.csvColumnSeparator);
+            writer.write(HeaderPart.metricsFileHeadGcTimeMs         + Artifact.outCSVeol);
+            
+            for (PhaseTimer phase : sortedPhases){
+                writer.write(Metric.kindPhase + Artifact.csvColumnSeparator);
+                writer.write(phase.getName() + Artifact.csvColumnSeparator);
+                writer.write(phase.getCount() + Artifact.csvColumnSeparator);
+                writer.write(phase.getTotalNanos() + Artifact.csvColumnSeparator);
+                writer.write(phase.getMinNanos() + Artifact.csvColumnSeparator);
+                writer.write(phase.getMaxNanos() + Artifact.csvColumnSeparator);
+                writer.write(phase.getCpuNanos() + Artifact.csvColumnSeparator);
+                writer.write(phase.getAllocatedBytes() + Artifact.csvColumnSeparator);
+                writer.write(phase.getGcCount() + Artifact.csvColumnSeparator);
+                writer.write(phase.getGcTimeMillis() + Artifact.outCSVeol);
+            }
+            writeCsvValues(writer, Metric.kindCounter, sortedCounters);
+            writeCsvValues(writer, Metric.kindJvm, jvm);
+            
+        } catch (IOException ex) {
+            Logger.getLogger(IterationMetrics.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        
+    }
+    
+    /**
+     * Writes single values as CSV rows, the value is in the count column
+     */
+    private static void writeCsvValues(BufferedWriter writer, String kind, Map<String, Long> values) throws IOException {
+        for (Map.Entry<String, Long> value : values.entrySet()){
+            writer.write(kind + Artifact.csvColumnSeparator);
+            writer.write(value.getKey() + Artifact.csvColumnSeparator);
+            writer.write(value.getValue() + Artifact.csvColumnSeparator);
+            for (int i = 1; i < Constant.metricsCsvTimerColumns; i++){
+                writer.write(Artifact.csvColumnSeparator);
+            }
+            writer.write(Artifact.outCSVeol);
+        }
+    }
+    
+}
@@ -73,6 +73,14 @@ public class ParallelBenchmark {
     private final double[] dutyCyclesVarianceOverSimulationCycles;
     private final double[] dutyCyclesStdDeviationOverSimulationCycles;
     private final double[] populationSizeGainOverSimulationCycles;
+    private final double[] meanSaveCellsOverSimulationCycles;       //ms
+    private final double[] meanLifeTickOverSimulationCycles;        //ms
+    private final double[] meanBarrierWaitOverSimulationCycles;     //ms
+    private final double[] barrierActionOverSimulationCycles;       //ms
+    private final double[] loadBalancingOverSimulationCycles;       //ms
+    private long parallelWorkTime;                                  //summed busy time of all the tasks
+    private long serialTime;                                        //summed barrier actions
+    private long cyclesWallTime;                                    //summed cycle durations (slowest task incl. barrier)
     private Double totalMeanDutyCycle;
     private final long simulationBegin;
     private long simulationDuration;
@@ -108,6 +116,11 @@ public class ParallelBenchmark {
         dutyCyclesVarianceOverSimulationCycles      = new double[maxNeededTableSize]; 
         dutyCyclesStdDeviationOverSimulationCycles  = new double[maxNeededTableSize];
         populationSizeGainOverSimulationCycles      = new double[maxNeededTableSize];
+        meanSaveCellsOverSimulationCycles           = new double[maxNeededTableSize];
+        meanLifeTickOverSimulationCycles            = new double[maxNeededTableSize];
+        meanBarrierWaitOverSimulationCycles         = new double[maxNeededTableSize];
+        barrierActionOverSimulationCycles           = new double[maxNeededTableSize];
+        loadBalancingOverSimulationCycles           = new double[maxNeededTableSize];
     }
     
     public synchronized void addEntry(BenchmarkEntry entry){
@@ -121,6 +134,21 @@ public class ParallelBenchmark {
         }
     }
     
+    /**
+     * Adds the duration of the barrier action, which is executed serially
+     * by the last task reaching the barrier, while the other tasks wait
+     * @param cycle cycle of the benchmark entries of the tasks reaching the barrier
+     * @param actionDuration barrier action duration in nanoseconds
+     * @param balancingDuration load ballancing part of the action in nanoseconds
+     */
+    public synchronized void addBarrierAction(int cycle, long actionDuration, long balancingDuration){
+        serialTime += actionDuration;
+        if (cycle < barrierActionOverSimulationCycles.length){
+            barrierActionOverSimulationCycles[cycle] += actionDuration / Constant.nanosPerMilli;
+            loadBalancingOverSimulationCycles[cycle] += balancingDuration / Constant.nanosPerMilli;
+        }
+    }
+    
     private long getMaxDurationForCycle(Integer cycle){
         long maxDuration = 0;
         ArrayList<BenchmarkEntry> entrySetForCycle = benchmarks.get(cycle);
@@ -147,8 +175,17 @@ public class ParallelBenchmark {
             int previousSimulationCycle = curentAnalyzedSimulationCycle - 1;
             long maxDurationForCycle = getMaxDurationForCycle(curentAnalyzedSimulationCycle);
             double summedDutyCycle = 0;
+            long summedSave = 0;
+            long summedLifeTick = 0;
+            long summedBarrierWait = 0;
+            long maxCycleDuration = 0;
             dutyCyclesForEachThread.clear();
             for (BenchmarkEntry entry : benchmarkEntries.getValue()){
+                summedSave          += entry.getSaveDuration();
+                summedLifeTick      += entry.getLifeTickDuration();
+                summedBarrierWait   += entry.getBarrierWait();
+                parallelWorkTime    += entry.getDuration();
+                maxCycleDuration    = Math.max(maxCycleDuration, entry.getDuration() + entry.getBarrierWait());
                 entry.calculateDutyCycle(maxDurationForCycle);
                 dutyCyclesForEachThread.add(entry.getDutyCycle());
                 summedDutyCycle += entry.getDutyCycle();
@@ -159,6 +196,12 @@ public class ParallelBenchmark {
                     dutyCycleHistogramData.replace(roundedKey, count);
                 }
             }
+            cyclesWallTime += maxCycleDuration;
+            double entriesCount = benchmarkEntries.getValue().size();
+            meanSaveCellsOverSimulationCycles[curentAnalyzedSimulationCycle]    = summedSave / entriesCount / Constant.nanosPerMilli;
+            meanLifeTickOverSimulationCycles[curentAnalyzedSimulationCycle]     = summedLifeTick / entriesCount / Constant.nanosPerMilli;
+            meanBarrierWaitOverSimulationCycles[curentAnalyzedSimulationCycle]  = summedBarrierWait / entriesCount / Constant.nanosPerMilli;
+            
             double calculatedMeanDutyCycle = (double)summedDutyCycle / (double)benchmarkEntries.getValue().size();
             meanDutyCycle.put(curentAnalyzedSimulationCycle, calculatedMeanDutyCycle);
             meanDutyCyclesOverSimulationCycles[curentAnalyzedSimulationCycle] = calculatedMeanDutyCycle;
@@ -198,6 +241,13 @@ public class ParallelBenchmark {
         saveJFreeChartDutyCyclesStdDeviationOverTimeToPNG();
         saveJFreeChartPopulationSizeGainOverTimeToCSV();
         saveJFreeChartPopulationSizeGainOverTimeToPNG();
+        
+        saveCycleBreakdownToCSV(meanSaveCellsOverSimulationCycles, NamePart.snMeanSaveCellsOverTime, Texts.saveCellsTitle);
+        saveCycleBreakdownToCSV(meanLifeTickOverSimulationCycles, NamePart.snMeanLifeTickOverTime, Texts.lifeTickTitle);
+        saveCycleBreakdownToCSV(meanBarrierWaitOverSimulationCycles, NamePart.snMeanBarrierWaitOverTime, Texts.barrierWaitTitle);
+        saveCycleBreakdownToCSV(barrierActionOverSimulationCycles, NamePart.snBarrierActionOverTime, Texts.barrierActionTitle);
+        saveCycleBreakdownToCSV(loadBalancingOverSimulationCycles, NamePart.snLoadBalancingOverTime, Texts.loadBalancingTitle);
+        saveJFreeChartCycleBreakdownOverTimeToPNG();
 
         saveBenchmarkKeyFiguresToTxt();
         
@@ -271,6 +321,28 @@ public class ParallelBenchmark {
             bufferedWriter.write("Shadow population size: " + String.valueOf(simulation.getLiveStats().getShadowSize()));
             bufferedWriter.write(Artifact.outCSVeol);
 
+            //the work of all the tasks and the barrier actions executed one after
+            //another compared to the measured cycles give the parallel speedup,
+            //the serial fraction is the Karp-Flatt metric of that speedup
+            int tasksCount = simModel.getTechParams().getSimTasksCount();
+            double speedup = 1;
+            if (cyclesWallTime > 0){
+                speedup = (double)(parallelWorkTime + serialTime) / (double)cyclesWallTime;
+            }
+            double serialFraction = 1;
+            if (tasksCount > 1){
+                serialFraction = (1.0 / speedup - 1.0 / tasksCount) / (1.0 - 1.0 / tasksCount);
+            }
+            Long serialTimeInSeconds = TimeUnit.SECONDS.convert(serialTime, TimeUnit.NANOSECONDS);
+            bufferedWriter.write("Barrier actions total time in seconds: " + serialTimeInSeconds.toString());
+            bufferedWriter.write(Artifact.outCSVeol);
+            bufferedWriter.write("Parallel speedup (estimate): " + String.valueOf(speedup));
+            bufferedWriter.write(Artifact.outCSVeol);
+            bufferedWriter.write("Parallel efficiency (estimate): " + String.valueOf(speedup / tasksCount));
+            bufferedWriter.write(Artifact.outCSVeol);
+            bufferedWriter.write("Serial fraction (Karp-Flatt estimate): " + String.valueOf(serialFraction));
+            bufferedWriter.write(Artifact.outCSVeol);
+
             if (Files.notExists(Paths.get(fileWithBenchmarkSummary))){
 
                 fileWriter1 = new FileWriter(fileWithBenchmarkSummary);
@@ -385,6 +457,19 @@ public class ParallelBenchmark {
         
     }
    
+    private void saveCycleBreakdownToCSV(double[] values, String namePart, String title){
+        
+        XYSeries serie = getDataSerieOverTime(values, title);
+        String fileName = prepareFileName(namePart, 
+                Extension.dotCsv);
+        PlotterTools.saveDataSerieToCSV(iteration, 
+                serie, 
+                fileName, 
+                Texts.cycleBreakdownXAxis, 
+                Texts.cycleBreakdownYAxis,
+                DO_NOT_ROUND_TO_INTEGER);
+    }
+    
     private void saveJFreeChartPopulationSizeGainOverTimeToCSV(){
        
         XYSeries serie = getDataSeriePopulationSizeGainOverTime();
@@ -473,6 +558,18 @@ public class ParallelBenchmark {
 
     }       
     
+    public void saveJFreeChartCycleBreakdownOverTimeToPNG(){
+       
+        JFreeChart chartToSave = getChartCycleBreakdownOverTime();
+        if (chartToSave != null){
+            PlotterTools.prepareXYChartToSaveToPNGFile(chartToSave);
+            String filename = prepareFileName(NamePart.snCycleBreakdownOverTime, 
+                    Extension.dotPng);
+            PlotterTools.saveChartAsPNG(iteration, new File(filename), chartToSave, Setting.size, Setting.size);
+        }
+
+    }
+    
     public void saveJFreeChartMeanDutyCycleOverTimeToPNG(){
        
         JFreeChart chartToSave = getChartMeanDutyCycleOverTime();
@@ -485,6 +582,29 @@ public class ParallelBenchmark {
 
     }             
 
+    private JFreeChart getChartCycleBreakdownOverTime(){
+        
+        JFreeChart chart;
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        dataset.addSeries(getDataSerieOverTime(meanSaveCellsOverSimulationCycles, Texts.saveCellsTitle));
+        dataset.addSeries(getDataSerieOverTime(meanLifeTickOverSimulationCycles, Texts.lifeTickTitle));
+        dataset.addSeries(getDataSerieOverTime(meanBarrierWaitOverSimulationCycles, Texts.barrierWaitTitle));
+        dataset.addSeries(getDataSerieOverTime(barrierActionOverSimulationCycles, Texts.barrierActionTitle));
+        dataset.addSeries(getDataSerieOverTime(loadBalancingOverSimulationCycles, Texts.loadBalancingTitle));
+
+        chart = ChartFactory.createXYLineChart(Texts.cycleBreakdownTitle, 
+                Texts.cycleBreakdownXAxis, 
+                Texts.cycleBreakdownYAxis, 
+                dataset, 
+                PlotOrientation.VERTICAL, 
+                true, 
+                true, 
+                true);
+        PlotterTools.setXYChartBackgroundProperties(chart,false,true);
+        
+        return chart;
+    }
+    
     private JFreeChart getChartPopulationSizeGainOverTime(){
         
         JFreeChart chart;
@@ -565,6 +685,17 @@ public class ParallelBenchmark {
         return chart;
     }
 
+    private XYSeries getDataSerieOverTime(double[] values, String title){
+        
+        return PlotterTools.getDataSerieFromDoubleTable(values, 
+                NO_GROUPPING, 
+                title,
+                RESOLUTION_NOT_SHRINKED,
+                simulation.getCurrentCycle(),
+                simModel.getModParams().getMaxCycles(),
+                TRASH_LAST_ONE);
+    }
+    
     private XYSeries getDataSeriePopulationSizeGainOverTime(){
         
         return PlotterTools.getDataSerieFromDoubleTable(populationSizeGainOverSimulationCycles, 
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Accumulates the executions of one processing phase (e.g. Memory Copy Cells,
+ * Analyze Survivors, Create Nodes) of the simulation iteration.
+ *
+ * For every execution the wall time is measured with nanosecond timer.
+ * When the phase is started and finished by the same thread also the thread
+ * CPU time and the bytes allocated by the thread are taken. The collections
+ * of the garbage collectors are JVM wide, so the figures of phases executed
+ * at the same time overlap.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class PhaseTimer {
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    
+    private final String        name;               //phase name
+    private final long          firstStart;         //start of the first execution, orders the phases
+    private final Deque<Sample> open;               //started and not yet finished executions
+    private long                count;              //finished executions
+    private long                totalNanos;         //summed wall time
+    private long                minNanos;           //shortest execution
+    private long                maxNanos;           //longest execution
+    private long                cpuNanos;           //summed thread CPU time (same thread executions)
+    private long                allocatedBytes;     //summed thread allocations (same thread executions)
+    private long                gcCount;            //collections during the executions
+    private long                gcTimeMillis;       //collection time during the executions
+
+    /**
+     * Default constructor
+     * @param inName phase name
+     */
+    public PhaseTimer(String inName) {
+        name            = inName;
+        firstStart      = System.nanoTime();
+        open            = new ArrayDeque<>();
+        minNanos        = Long.MAX_VALUE;
+    }
+    
+    /**
+     * Starts an execution of the phase
+     */
+    public synchronized void start(){
+        open.push(new Sample());
+    }
+    
+    /**
+     * Finishes the last started execution of the phase.
+     * Finish without start is ignored
+     */
+    public synchronized void finish(){
+        
+        Sample begin = open.poll();
+        if (begin == null){
+            return;
+        }
+        Sample end = new Sample();
+        
+        long duration   = end.nanos - begin.nanos;
+        count++;
+        totalNanos      += duration;
+        minNanos        = Math.min(minNanos, duration);
+        maxNanos        = Math.max(maxNanos, duration);
+        gcCount         += end.gcCount - begin.gcCount;
+        gcTimeMillis    += end.gcTimeMillis - begin.gcTimeMillis;
+        if (begin.threadId == end.threadId){
+            if (begin.cpuNanos >= 0 && end.cpuNanos >= 0){
+                cpuNanos        += end.cpuNanos - begin.cpuNanos;
+            }
+            if (begin.allocatedBytes >= 0 && end.allocatedBytes >= 0){
+                allocatedBytes  += end.allocatedBytes - begin.allocatedBytes;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getFirstStart() {
+        return firstStart;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public synchronized long getMinNanos() {
+        return count > 0 ? minNanos : 0;
+    }
+
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public synchronized long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public synchronized long getGcCount() {
+        return gcCount;
+    }
+
+    public synchronized long getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+    
+    /**
+     * Returns the count of collections of all garbage collectors
+     * @return collections count
+     */
+    public static long getJvmGcCount(){
+        long sum = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()){
+            sum += Math.max(0, gc.getCollectionCount());
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the collection time of all garbage collectors
+     * @return collection time in milliseconds
+     */
+    public static long getJvmGcTimeMillis(){
+        long sum = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()){
+            sum += Math.max(0, gc.getCollectionTime());
+        }
+        return sum;
+    }
+    
+    /**
+     * Returns the CPU time of the current thread
+     * @return CPU time in nanoseconds, -1 if not supported
+     */
+    private static long getThreadCpuNanos(){
+        if (threadBean.isCurrentThreadCpuTimeSupported()){
+            return threadBean.getCurrentThreadCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread. Available
+     * on HotSpot based JVMs only
+     * @return allocated bytes, -1 if not supported
+     */
+    private static long getThreadAllocatedBytes(){
+        if (threadBean instanceof com.sun.management.ThreadMXBean){
+            com.sun.management.ThreadMXBean hotSpotBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (hotSpotBean.isThreadAllocatedMemorySupported() && hotSpotBean.isThreadAllocatedMemoryEnabled()){
+                return hotSpotBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Timers and JVM figures taken at the start or at the finish of the phase
+     */
+    private static class Sample {
+        
+        private final long nanos            = System.nanoTime();
+        private final long threadId         = Thread.currentThread().getId();
+        private final long cpuNanos         = getThreadCpuNanos();
+        private final long allocatedBytes   = getThreadAllocatedBytes();
+        private final long gcCount          = getJvmGcCount();
+        private final long gcTimeMillis     = getJvmGcTimeMillis();
+        
+    }
+    
+}
@@ -23,8 +23,10 @@ import clostrue.collections.GenomeSynchronizedCollection;
 import clostrue.model.SimModel;
 import clostrue.enumerations.LifeTick;
 import clostrue.toolbox.StaticConsoleLogger;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Random;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implements one Physical cell of a population.
@@ -33,10 +35,6 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class Cell {
 
-    //static components for providing the services for autonummeration
-    //of Clone Group ID's
-    
-    private static AtomicInteger lastId     = new AtomicInteger(0); //last created cell ID. Used for autonummeration purpouse
     private short               modelCycle  = -32767;                    //cell model cycle (shifted with place for "-1")
     private boolean             isAlive     = true;    //is cell alive? dead cells leave till they are saved by writer
     private short               age         = -32768;                    //Cell Age (modell cycles) (shifted)
@@ -111,16 +109,6 @@ public class Cell {
         this.modelCycle = (short)(modelCycle - 32767);
     }
 
-    /**
-     * Autonummeration method
-     * @return unique cell id for Cell constructor
-     */    
-    
-    // todo make this more optimal -> may be using some class to unique ID's
-    public static synchronized int getNewCellID(){
-        return lastId.incrementAndGet();
-    }  
-    
     /**
      * Cell constructor for the initial population.
      * 
@@ -139,7 +127,7 @@ public class Cell {
             Cell motherCell) {
 
         isAlive = true;    
-        id             = getNewCellID();
+        id             = simModel.getIdGenerator().getNewCellID();
 
         //creating cell genome based on the Mutation Advantage Model for the first cell evel
         //next cells from the initial population will share the empty genome with the mother cell
@@ -194,7 +182,7 @@ public class Cell {
                             //so it's age have to be incremented as well
 
         isAlive = true;
-        id                          = Cell.getNewCellID();
+        id                          = simModel.getIdGenerator().getNewCellID();
         _parentCellID               = sourceCell.id;
         _cellCountN                 = cellCountN;
         sourceCell._parentCellID    = sourceCell.id;
@@ -239,6 +227,40 @@ public class Cell {
         
     }        
         
+    /**
+     * Constructor restoring the cell from simulation checkpoint
+     * @param in checkpoint input
+     * @throws IOException
+     */
+    public Cell(DataInput in) throws IOException {
+        modelCycle                  = in.readShort();
+        isAlive                     = in.readBoolean();
+        age                         = in.readShort();
+        id                          = in.readInt();
+        _parentCellID               = in.readInt();
+        genomeIndex                 = in.readInt();
+        _divisionProb               = in.readFloat();
+        _deathProb                  = in.readFloat();
+        _cellCountN                 = in.readInt();
+    }
+
+    /**
+     * Writes the cell to simulation checkpoint
+     * @param out checkpoint output
+     * @throws IOException
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeShort(modelCycle);
+        out.writeBoolean(isAlive);
+        out.writeShort(age);
+        out.writeInt(id);
+        out.writeInt(_parentCellID);
+        out.writeInt(genomeIndex);
+        out.writeFloat(_divisionProb);
+        out.writeFloat(_deathProb);
+        out.writeInt(_cellCountN);
+    }
+        
     /**
      * Fake cell constructor for simulation node artificial cell
      * used for plotting only 
@@ -371,6 +393,15 @@ public class Cell {
         return _parentCellID;
     }
 
+    /**
+     * Returns the index of cell's genome in the genome collection.
+     * This is used by the cell event trace.
+     * @return genome index
+     */
+    public int getGenomeIndex() {
+        return genomeIndex;
+    }
+
     /**
      * Returns the death probability in next simulation cycle.
      * This is used by the cell writer.
@@ -400,12 +431,4 @@ public class Cell {
         return genomes.getByIndex(genomeIndex);
     }    
     
-    /**
-     * Initializes the unique cell id autonummeration value.
-     * Called once at the simulation begin to set zero value.
-     */
-    static public synchronized void clearLastCellID(){
-        lastId.set(0);
-    }
-    
 }
@@ -20,9 +20,23 @@ package clostrue.biology.cell;
 import clostrue.collections.GenomeSynchronizedCollection;
 import clostrue.CalcTask;
 import clostrue.toolbox.StaticConsoleLogger;
+import clostrue.enumerations.CellEventType;
 import clostrue.enumerations.LifeTick;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.Metric;
+import clostrue.hardcodes.file.Extension;
+import clostrue.hardcodes.file.Name;
 import clostrue.model.SimModel;
+import clostrue.biology.genome.Genome;
+import clostrue.postprocessing.visualization.FishplotAccumulator;
+import clostrue.trace.CellEventTrace;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -47,7 +61,7 @@ import java.util.logging.Logger;
 public final class CellPopulation {
 
     private final List<Cell> cells;             //Array List with cells in population
-    private final Random _randomGenerator;      //Random Generator
+    private Random _randomGenerator;            //Random Generator
     private final CalcTask calcTask;            //reference to calculation task.
     private final GenomeSynchronizedCollection genomes;     //genome collection
     private int deltaCellCount = 0;             //population size change over cycle 
@@ -57,6 +71,10 @@ public final class CellPopulation {
     private final double              _noMutationProb;    //Division with no mutation probability in next cycle
     private final double              _drivMutationProb;  //Division with Driver Mutation probability in next cycle
     private final double              _passMutationProb;  //Division with Passenger Mutation probability in next cycle
+    private CellEventTrace            trace = null;       //binary trace of cell events, null -> not traced
+    private int                       traceCycle;         //cycle of the traced events
+    private final FishplotAccumulator.TaskCounts fishplotCounts;  //cells counted for fishplot in the cycle, null -> no fishplot
+    private int                       fishplotCycle;      //cycle of the last record of the cells counted for fishplot
     
     /**
      * Constructor of Cell population.
@@ -77,13 +95,24 @@ public final class CellPopulation {
         
         this.genomes = calcTask.getSim().getGenomes();
         this.calcTask = calcTask;
-        _randomGenerator = new Random();    
+        this.fishplotCounts = calcTask.getSim().isCbFishplot() ? new FishplotAccumulator.TaskCounts() : null;
+        SimModel simModel = calcTask.getSim().getSimModel();
+        
+        //seeded generator gives each iteration and task its own repeatable sequence
+        //(fully repeatable only for one simulation task, as load ballancing depends on timing)
+        long seed = simModel.getTechParams().getRandomSeed();
+        if (seed == 0){
+            _randomGenerator = new Random();
+        } else {
+            _randomGenerator = new Random(seed 
+                    + Constant.seedIterationStride * calcTask.getSim().getIteration() 
+                    + calcTask.getId());
+        }
 
         //Create each cell (the "starting" population according to model)
         //a subset of the initial population will be created (other calculation
         //tasks have their own subsets summing up to population size in total
         cells = Collections.synchronizedList(new ArrayList<> ());
-        SimModel simModel = calcTask.getSim().getSimModel();
         
         //create next cells from the initial population
         for (int i = 0; i < initialCellSubsetSize; i++) {
@@ -148,6 +177,9 @@ public final class CellPopulation {
                 curentHistoryCellCount,
                 _randomGenerator);
         cells.add(newCell01);
+        if (trace != null){
+            trace.write(CellEventType.PassengerMutation, traceCycle, newCell01.getId(), parent.getId(), newCell01.getGenomeIndex(), parent.getGenomeIndex());
+        }
         deltaPassengers++;
         StaticConsoleLogger.consoleLogPassengerDivision(calcTask, parent);
     }
@@ -162,6 +194,9 @@ public final class CellPopulation {
                 curentHistoryCellCount, 
                 _randomGenerator);
         cells.add(newCell10);
+        if (trace != null){
+            trace.write(CellEventType.DriverMutation, traceCycle, newCell10.getId(), parent.getId(), newCell10.getGenomeIndex(), parent.getGenomeIndex());
+        }
         deltaDrivers++;
         StaticConsoleLogger.consoleLogDriverDivision(calcTask, parent);        
     }
@@ -177,6 +212,9 @@ public final class CellPopulation {
                 curentHistoryCellCount,
                 _randomGenerator);
         cells.add(newCell00);
+        if (trace != null){
+            trace.write(CellEventType.CloneDivision, traceCycle, newCell00.getId(), parent.getId(), newCell00.getGenomeIndex(), parent.getGenomeIndex());
+        }
         StaticConsoleLogger.consoleLogClanCloneDivision(calcTask, parent);        
     }
     
@@ -216,6 +254,10 @@ public final class CellPopulation {
         // dead cells will be deleted after the current simulation cycle
         cell.die();
         deltaCellCount--;
+        countForFishplot(cell);
+        if (trace != null){
+            trace.write(CellEventType.Death, traceCycle, cell.getId(), 0, cell.getGenomeIndex(), cell.getGenomeIndex());
+        }
         StaticConsoleLogger.consoleLogCellDied(calcTask, cell);        
     }
     
@@ -241,6 +283,21 @@ public final class CellPopulation {
         deltaDrivers                            = 0;
         deltaPassengers                         = 0;
                
+        //the trunk of the branched run ends at the fork, the branches continue
+        if (calcTask.getSim().isForked()){
+            if (calcTask.getSim().isCbPrepareCells()){
+                calcTask.getWriter().closeFile(true, curentSimulationCycle);
+            }
+            closeTrace();
+            return false;
+        }
+        
+        traceCycle = curentSimulationCycle;
+        fishplotCycle = curentSimulationCycle - 1;
+        if (trace == null && calcTask.getSim().isCbCellTrace()){
+            openTrace(curentSimulationCycle);
+        }
+        
         calcTask.benchmarkStart();
         calcTask.setLastProcCycle(curentSimulationCycle); 
         
@@ -248,16 +305,26 @@ public final class CellPopulation {
 
         if (curentSimulationCycle > 0)
             saveCells(curentSimulationCycle-1);//ok       
+        calcTask.getBenchmarkEntry().saveFinished();
         
         if (calcTask.getSim().getTechnicalLastSaveCycle()){//raczej ok
             if (calcTask.getSim().isCbPrepareCells()){
                 calcTask.getWriter().closeFile(true, curentSimulationCycle);                
             }            
             calcTask.getWriter().transferCellsIntoStatistics(calcTask, curentSimulationCycle);
+            for (Cell cell : cells){
+                if (cell.isAlive()){
+                    countForFishplot(cell);
+                }
+            }
+            addFishplotCounts();
+            closeTrace();
             calcTask.benchmarkStop(deltaCellCount);          
             StaticConsoleLogger.consoleLogTaskFinished(calcTask);
             try {
+                long waitBegin = System.nanoTime();
                 calcTask.getSim().barrier.await();
+                calcTask.getBenchmarkEntry().setBarrierWait(System.nanoTime() - waitBegin);
             } catch (InterruptedException | BrokenBarrierException ex) {
                 Logger.getLogger(CellPopulation.class.getName()).log(Level.SEVERE, null, ex);
             }
@@ -268,6 +335,8 @@ public final class CellPopulation {
         //Simulate what haeppens with each cell from the population
         //in the curent simulation cycle
         int cellsAtTheBeginOfCycle = cells.size();
+        calcTask.getSim().getMetrics().addToCounter(Metric.cellsSimulated, cellsAtTheBeginOfCycle);
+        calcTask.getBenchmarkEntry().lifeTickStarted();
         // have to be indexed loop instead of iteration over all elements
         // becouse the life-tick effect may be adding cells, wchich will cause
         // the alghoritm to fall into endless loop if there will be divisio after division
@@ -284,13 +353,17 @@ public final class CellPopulation {
                     break;
             }
         }
+        calcTask.getBenchmarkEntry().lifeTickFinished();
+        addFishplotCounts();
                 
         //mark the current cycle as processed
         //return true if this as not the last cycle
         calcTask.benchmarkStop(deltaCellCount);
         StaticConsoleLogger.consoleLogTaskFinished(calcTask);
         try {
+            long waitBegin = System.nanoTime();
             calcTask.getSim().barrier.await();
+            calcTask.getBenchmarkEntry().setBarrierWait(System.nanoTime() - waitBegin);
             calcTask.getSim().updateLiveModeVariables(deltaCellCount, deltaDrivers, deltaPassengers);
         } catch (InterruptedException | BrokenBarrierException ex) {
             Logger.getLogger(CellPopulation.class.getName()).log(Level.SEVERE, null, ex);
@@ -298,6 +371,69 @@ public final class CellPopulation {
         return true;
     }
 
+    /**
+     * Counts the cell for fishplot. The cell has it's last record
+     * in the fishplot cycle: it dies in the current cycle or it survives
+     * until the last saved cycle. The cells of the initial population
+     * dying in the first cycle have no record and are not counted
+     * @param cell cell to count
+     */
+    private void countForFishplot(Cell cell){
+        if (fishplotCounts != null && fishplotCycle >= 0){
+            Genome genome   = cell.getGenome(genomes);
+            int cloneGroup  = genome.getDriverCloneGroupID();
+            if (fishplotCounts.contains(cloneGroup)){
+                fishplotCounts.add(cloneGroup, 0);
+            } else {
+                fishplotCounts.add(cloneGroup, genome.getDrivers(genomes).getParentCloneGroupID());
+            }
+        }
+    }
+    
+    /**
+     * Adds the cells counted by the task in the cycle to the fishplot data
+     * (before the barrier, so the checkpoint contains them)
+     */
+    private void addFishplotCounts(){
+        if (fishplotCounts != null && fishplotCycle >= 0){
+            calcTask.getSim().getStatistics().getFishplotAccumulator().add(fishplotCycle, fishplotCounts);
+        }
+    }
+    
+    /**
+     * Opens the binary trace of cell events of the calculation task.
+     * The cells present when a new trace starts (initial population or 
+     * population of the branch) are recorded as created
+     * @param curentSimulationCycle curent simulation cycle
+     */
+    private void openTrace(int curentSimulationCycle){
+        String fileName = calcTask.getModel().getFilePaths().getWorkDirCellTrace() 
+                + java.io.File.separator + Name.cellTraceTaskPrefix + String.valueOf(calcTask.getId()) + Extension.dotTrc;
+        try {
+            trace = new CellEventTrace(fileName, calcTask.getId(), curentSimulationCycle);
+        } catch (IOException ex) {
+            Logger.getLogger(CellPopulation.class.getName()).log(Level.SEVERE, null, ex);
+            return;
+        }
+        if (trace.isCreated()){
+            for (Cell cell : cells){
+                if (!cell.isDead()){
+                    trace.write(CellEventType.Creation, curentSimulationCycle, cell.getId(), 0, cell.getGenomeIndex(), cell.getGenomeIndex());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Closes the binary trace of cell events
+     */
+    private void closeTrace(){
+        if (trace != null){
+            trace.close();
+            trace = null;
+        }
+    }
+    
     /**
      * Returns the cells within population.
      * This is used by the cell writer.
@@ -307,6 +443,61 @@ public final class CellPopulation {
         return cells;
     }  
 
+    /**
+     * Writes the population state to simulation checkpoint: the changes
+     * of the finished cycle not yet added to the statistics, the random
+     * generator state and the cells
+     * @param out checkpoint output
+     * @throws IOException 
+     */
+    public void writeStateTo(DataOutput out) throws IOException {
+        out.writeInt(deltaCellCount);
+        out.writeInt(deltaDrivers);
+        out.writeInt(deltaPassengers);
+        
+        ByteArrayOutputStream randomState = new ByteArrayOutputStream();
+        try (ObjectOutputStream randomOut = new ObjectOutputStream(randomState)) {
+            randomOut.writeObject(_randomGenerator);
+        }
+        out.writeInt(randomState.size());
+        out.write(randomState.toByteArray());
+        
+        out.writeInt(cells.size());
+        for (Cell cell : cells){
+            cell.writeTo(out);
+        }
+    }
+
+    /**
+     * Restores the population state from simulation checkpoint.
+     * The branch of forked simulation keeps the random generator created
+     * for it's own iteration and seed, so the branches diverge
+     * @param in checkpoint input
+     * @param branch state is restored into the branch of forked simulation
+     * @throws IOException 
+     */
+    public void readStateFrom(DataInput in, boolean branch) throws IOException {
+        deltaCellCount  = in.readInt();
+        deltaDrivers    = in.readInt();
+        deltaPassengers = in.readInt();
+        
+        byte[] randomState = new byte[in.readInt()];
+        in.readFully(randomState);
+        if (!branch){
+            try (ObjectInputStream randomIn = new ObjectInputStream(new ByteArrayInputStream(randomState))) {
+                _randomGenerator = (Random) randomIn.readObject();
+            } catch (ClassNotFoundException ex) {
+                throw new IOException(ex);
+            }
+        }
+        
+        cells.clear();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++){
+            cells.add(new Cell(in));
+        }
+    }
+    
     /**
      * Saves cell to file and memory
      * @param curentSimulationCycle curent simulation cycle
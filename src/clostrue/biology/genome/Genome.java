@@ -19,6 +19,9 @@ package clostrue.biology.genome;
 import clostrue.collections.GenomeCollection;
 import clostrue.collections.GenomeSynchronizedCollection;
 import clostrue.model.SimModel;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Random;
 
 /**
@@ -135,6 +138,37 @@ public class Genome {
         passengerMutationCount      = 0;
         
     }
+    /**
+     * Constructor restoring the genome from simulation checkpoint.
+     * The genome parts are restored separately by the genome collection
+     * @param in checkpoint input
+     * @throws IOException
+     */
+    public Genome(DataInput in) throws IOException {
+        driversPartIndex            = in.readInt();
+        passengersPartIndex         = in.readInt();
+        totalDriversAdv             = in.readFloat();
+        totalPassengersAdv          = in.readFloat();
+        driverPassengerRatio        = in.readFloat();
+        driverMutationCount         = in.readInt();
+        passengerMutationCount      = in.readInt();
+    }
+
+    /**
+     * Writes the genome to simulation checkpoint
+     * @param out checkpoint output
+     * @throws IOException
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(driversPartIndex);
+        out.writeInt(passengersPartIndex);
+        out.writeFloat(totalDriversAdv);
+        out.writeFloat(totalPassengersAdv);
+        out.writeFloat(driverPassengerRatio);
+        out.writeInt(driverMutationCount);
+        out.writeInt(passengerMutationCount);
+    }
+    
     /**
      * Calculates the mutation ratio for the heatmap colloring
      * @param driverMutationsCount      //driver mutations count
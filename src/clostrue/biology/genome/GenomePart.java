@@ -20,6 +20,9 @@ package clostrue.biology.genome;
 import clostrue.collections.GenomeCollection;
 import clostrue.collections.GenomeSynchronizedCollection;
 import clostrue.enumerations.MutationType;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -39,7 +42,6 @@ import java.util.HashMap;
  */
 public class GenomePart {
 
-    private static short lastCloneGroupID;                //last created clone Group ID. Used for autonummeration purpouses    
     private static int dummyPartIndex = 0;                    //index of dummy reference used when there is no mutation
     private int mutation;                                 //curently added mutation
     private final int parentPartIndex;                    //reference to the genome part of the parrent
@@ -394,24 +396,31 @@ public class GenomePart {
     }
 
     /**
-     * Returns the acquired mutation
-     * @return acquired mutation
+     * Constructor restoring the genome part from simulation checkpoint
+     * @param in checkpoint input
+     * @throws IOException
      */
-    public int getMutation() {
-        return mutation;
+    public GenomePart(DataInput in) throws IOException {
+        mutation = in.readInt();
+        parentPartIndex = in.readInt();
     }
 
     /**
-     * Initializes the unique cell id autonummeration value.
-     * Called once at the simulation begin to set zero value.
+     * Writes the genome part to simulation checkpoint
+     * @param out checkpoint output
+     * @throws IOException
      */
-    static public synchronized void clearLastCloneGroupID(){
-        lastCloneGroupID = 0;
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(mutation);
+        out.writeInt(parentPartIndex);
     }
 
-    // todo make this more optimal -> may be using some class to unique ID's
-    public static synchronized short getNewCloneGroupID(){
-        return ++lastCloneGroupID;
+    /**
+     * Returns the acquired mutation
+     * @return acquired mutation
+     */
+    public int getMutation() {
+        return mutation;
     }
 
     /**
@@ -443,6 +452,24 @@ public class GenomePart {
         return genomes.getPassPartByIndex(parentPartIndex);            
     }
 
+    /**
+     * Returns parent genome part
+     * @param genomes collection of genomes
+     * @return parent genome part
+     */
+    public GenomePart getParentDrivPart(GenomeCollection genomes) {
+        return genomes.getDrivPartByIndex(parentPartIndex);
+    }
+
+    /**
+     * Returns parent genome part
+     * @param genomes collection of genomes
+     * @return parent genome part
+     */
+    public GenomePart getParentPassPart(GenomeCollection genomes) {
+        return genomes.getPassPartByIndex(parentPartIndex);
+    }
+
     public int getParentCloneGroupID(){
         return parentPartIndex;
     }
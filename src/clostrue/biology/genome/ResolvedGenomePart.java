@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+package clostrue.biology.genome;
+
+/**
+ * Mutations of the genome part with the locus already resolved to the gene
+ * and to the gene tag.
+ *
+ * One object holds one mutation (the locus, gene and gene tag triple) and
+ * refers to the resolved mutations of the parent genome part, so the genome
+ * parts sharing the ancestors share also the resolved objects. The mutations
+ * are visited in the same order as returned by GenomePart.getMutations
+ * (own mutation first, then the parent's one, etc...)
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class ResolvedGenomePart {
+
+    /**
+     * Resolved genome part without any mutation
+     */
+    public static final ResolvedGenomePart empty = new ResolvedGenomePart();
+
+    private final int                   locus;          //locus of the mutation
+    private final int                   gene;           //gene of the locus
+    private final int                   geneTagId;      //tag of the gene
+    private final int                   mutationCount;  //count of mutations including this one
+    private final ResolvedGenomePart    next;           //resolved mutations of the parents
+
+    private ResolvedGenomePart() {
+        locus           = Integer.MIN_VALUE;
+        gene            = Integer.MIN_VALUE;
+        geneTagId       = Integer.MIN_VALUE;
+        mutationCount   = 0;
+        next            = null;
+    }
+
+    /**
+     * Default constructor
+     * @param inLocus       locus of the mutation
+     * @param inGene        gene of the locus
+     * @param inGeneTagId   tag of the gene
+     * @param inNext        resolved mutations of the parents
+     */
+    public ResolvedGenomePart(int inLocus, int inGene, int inGeneTagId, ResolvedGenomePart inNext) {
+        locus           = inLocus;
+        gene            = inGene;
+        geneTagId       = inGeneTagId;
+        next            = inNext;
+        mutationCount   = inNext.mutationCount + 1;
+    }
+
+    /**
+     * Checks if there is no (more) mutation
+     * @return true when there is no mutation
+     */
+    public boolean isEmpty() {
+        return mutationCount == 0;
+    }
+
+    public int getLocus() {
+        return locus;
+    }
+
+    public int getGene() {
+        return gene;
+    }
+
+    public int getGeneTagId() {
+        return geneTagId;
+    }
+
+    public int getMutationCount() {
+        return mutationCount;
+    }
+
+    /**
+     * Returns the rest of the mutations (inherited from the parents)
+     * @return resolved mutations of the parents
+     */
+    public ResolvedGenomePart getNext() {
+        return next;
+    }
+
+}
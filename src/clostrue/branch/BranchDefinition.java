@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.branch;
+
+import clostrue.HeadlessRunner;
+import clostrue.Settings;
+import clostrue.hardcodes.BranchParam;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DirName;
+import clostrue.hardcodes.Param;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Branched run definition, loaded from properties file:
+ * 
+ * baseSettings=path to settings file of the trunk simulation (optional)
+ * branchWorkDir=output directory of the branched run (optional)
+ * forkAtCycle=500                      (optional, half of max cycles by default)
+ * branches=3                           (optional, highest branch number by default)
+ * parallelBranches=2                   (optional, derived from cores)
+ * branch.1.teRandomSeed=11
+ * branch.2.inMutationRate=0.002        (setting changed after the fork)
+ * 
+ * The trunk is simulated once till the fork cycle, each branch continues
+ * from the trunk state with the trunk settings changed by the branch settings.
+ * The branches share the Mutation Advantage Model of the trunk and have to
+ * use the same count of simulation tasks.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class BranchDefinition {
+    
+    private final Settings                              baseSettings;   //settings of the trunk
+    private final String                                branchWorkDir;  //output directory of the branched run
+    private final int                                   forkAtCycle;    //cycle of the fork
+    private final int                                   branches;       //count of branches
+    private final int                                   parallelBranches;//branches executed at once
+    private final Map<Integer, Map<String, String>>     branchValues;   //branch -> changed setting name -> value
+    
+    /**
+     * Loads the branched run definition from file
+     * @param pathToDefinition path to branched run definition file
+     * @throws IOException 
+     */
+    public BranchDefinition(String pathToDefinition) throws IOException {
+        
+        Properties definition = new Properties();
+        try (FileReader reader = new FileReader(new File(pathToDefinition))) {
+            definition.load(reader);
+        }
+
+        baseSettings = HeadlessRunner.loadSettings(definition.getProperty(
+                BranchParam.baseSettings, 
+                Constant.getTeWorkDir() + Constant.settingFileDefaultName));
+        
+        branchWorkDir = definition.getProperty(
+                BranchParam.branchWorkDir, 
+                baseSettings.getStringValue(Param.teWorkDir) + File.separator + DirName.subDirBranch);
+        
+        forkAtCycle = Math.max(1, Integer.valueOf(definition.getProperty(
+                BranchParam.forkAtCycle, 
+                String.valueOf(baseSettings.getIntValue(Param.inMaxCycles) / 2)).trim()));
+        
+        branchValues = new HashMap<>();
+        int highestBranch = 0;
+        for (String key : new TreeSet<>(definition.stringPropertyNames())){
+            if (key.startsWith(BranchParam.branchParamPrefix)){
+                String branchKey    = key.substring(BranchParam.branchParamPrefix.length());
+                int separator       = branchKey.indexOf(BranchParam.branchParamSeparator);
+                int branch          = Integer.valueOf(branchKey.substring(0, separator));
+                branchValues.computeIfAbsent(branch, (k) -> new LinkedHashMap<>())
+                        .put(branchKey.substring(separator + 1), definition.getProperty(key).trim());
+                highestBranch       = Math.max(highestBranch, branch);
+            }
+        }
+        
+        if (highestBranch == 0){
+            highestBranch = Integer.valueOf(BranchParam.defaultBranches);
+        }
+        branches = Math.max(1, Integer.valueOf(definition.getProperty(
+                BranchParam.branches, String.valueOf(highestBranch)).trim()));
+        
+        //by default each branch gets as many cores as it has simulation tasks
+        int coresPerBranch  = Math.max(1, baseSettings.getIntValue(Param.teParallelSimTasksCount));
+        int defaultParallel = Math.max(1, Runtime.getRuntime().availableProcessors() / coresPerBranch);
+        parallelBranches = Math.max(1, Integer.valueOf(definition.getProperty(
+                BranchParam.parallelBranches, String.valueOf(defaultParallel)).trim()));
+    }
+    
+    /**
+     * Creates the settings of the trunk simulation
+     * @return trunk settings
+     */
+    public Settings createTrunkSettings(){
+        Settings settings = new Settings(baseSettings);
+        settings.setValue(Param.teWorkDir, branchWorkDir);
+        settings.setRunWorkDir(branchWorkDir + File.separator + DirName.subDirBranchTrunk);
+        return settings;
+    }
+    
+    /**
+     * Creates the settings of the branch: the trunk settings changed
+     * by the branch settings. All the branches are iterations of one run,
+     * so the cross iteration analysis compares the branches
+     * @param branch branch number (1..branches)
+     * @return branch settings
+     */
+    public Settings createBranchSettings(int branch){
+        Settings settings = new Settings(baseSettings);
+        settings.setValue(Param.teWorkDir, branchWorkDir);
+        settings.setValue(Param.inIterations, String.valueOf(branches));
+        branchValues.getOrDefault(branch, new LinkedHashMap<>()).forEach((name, value) -> {
+            settings.setValue(name, value);
+        });
+        settings.setRunWorkDir(branchWorkDir + File.separator + DirName.subDirBranches);
+        return settings;
+    }
+
+    public String getBranchWorkDir() {
+        return branchWorkDir;
+    }
+
+    public int getForkAtCycle() {
+        return forkAtCycle;
+    }
+
+    public int getBranches() {
+        return branches;
+    }
+
+    public int getParallelBranches() {
+        return parallelBranches;
+    }
+    
+}
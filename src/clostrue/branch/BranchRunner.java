@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.branch;
+
+import clostrue.CalcTask;
+import clostrue.HeadlessRunner;
+import clostrue.IterationPostProcessor;
+import clostrue.IterationScheduler;
+import clostrue.Settings;
+import clostrue.Simulation;
+import clostrue.SimulationFork;
+import clostrue.SimulationLauncher;
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.BranchParam;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DefConf;
+import clostrue.hardcodes.EvtProperty;
+import clostrue.hardcodes.LogText;
+import clostrue.hardcodes.Param;
+import clostrue.hardcodes.file.Artifact;
+import clostrue.hardcodes.file.Extension;
+import clostrue.hardcodes.file.Name;
+import clostrue.model.mam.MutationAdvModel;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless branched run.
+ * 
+ * Simulates the trunk once till the fork cycle, then continues the trunk
+ * state in the branches with changed settings (e.g. other random seed
+ * or mutation rate), a limited number of branches at once. The genomes
+ * created before the fork are shared by all the branches, so studying
+ * the divergence after a common history costs a fraction of full runs.
+ * The trunk cell files (cycles before the fork) are kept in the trunk
+ * directory, the branches are the iterations of one run. Usage:
+ * java -cp CloStruE.jar clostrue.branch.BranchRunner [path to branched run definition]
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class BranchRunner implements PropertyChangeListener {
+    
+    private final BranchDefinition          definition;             //branched run definition
+    private final MutationAdvModel          mutationAdvantageModel; //model shared by trunk and branches
+    private final IterationScheduler        iterationScheduler;     //postprocessing of finished branches
+    private final IterationPostProcessor    postProcessor;          //postprocessing logic
+    private final CountDownLatch            runFinished;            //released after the last postprocessing
+    private SimulationFork                  fork;                   //trunk snapshot
+    private int                             branchesLeft;           //branches not started yet
+    
+    /**
+     * Branched run launcher method.
+     * @param args the command line arguments, first one is the path to branched run definition
+     */
+    public static void main(String[] args) {
+        
+        System.setProperty("java.awt.headless", Constant.techStringTrue);
+        
+        if (args.length == 0){
+            Logger.getLogger(BranchRunner.class.getName()).log(Level.SEVERE, "Path to branched run definition file expected");
+            System.exit(1);
+        }
+        
+        try {
+            BranchRunner runner = new BranchRunner(new BranchDefinition(args[0]));
+            runner.run();
+        } catch (IOException | InterruptedException ex) {
+            Logger.getLogger(BranchRunner.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        StaticConsoleLogger.closeLogFileBuffer();
+        System.exit(0);
+    }
+    
+    /**
+     * Default constructor
+     * @param inDefinition branched run definition
+     */
+    public BranchRunner(BranchDefinition inDefinition) {
+        definition              = inDefinition;
+        Settings trunkSettings  = definition.createTrunkSettings();
+        mutationAdvantageModel  = HeadlessRunner.createMutationAdvModel(trunkSettings);
+        iterationScheduler      = new IterationScheduler(trunkSettings, definition.getBranches());
+        postProcessor           = new IterationPostProcessor(null, null);
+        runFinished             = new CountDownLatch(1);
+        branchesLeft            = definition.getBranches();
+    }
+    
+    /**
+     * Runs the trunk and all the branches and waits till
+     * the last branch is postprocessed
+     * @throws IOException
+     * @throws InterruptedException 
+     */
+    public void run() throws IOException, InterruptedException {
+        
+        Files.createDirectories(Paths.get(definition.getBranchWorkDir()));
+        if (!StaticConsoleLogger.isLogFileOpen()){
+            StaticConsoleLogger.setLogToFile(true);
+            StaticConsoleLogger.createLogFile(definition.getBranchWorkDir() + File.separator + Name.consoleLog + Extension.dotTxt);
+            StaticConsoleLogger.openLogFileBuffer();
+        }
+        StaticConsoleLogger.log(Activity.branchRun + Artifact.space + Activity.started);
+        StaticConsoleLogger.setIterationsCount(definition.getBranches());
+        Settings trunkSettings = definition.createTrunkSettings();
+        StaticConsoleLogger.setLogToConsole(trunkSettings.getBooleanValue(Param.cbTeDebugLog, DefConf.cbTeDebugLog));
+        
+        SimulationLauncher.startForkingSimulation(
+                BranchParam.trunkIteration, 
+                definition.getForkAtCycle(), 
+                mutationAdvantageModel, 
+                this, 
+                trunkSettings);
+        
+        runFinished.await();
+        StaticConsoleLogger.log(Activity.branchRun + Artifact.space + Activity.finished);
+        StaticConsoleLogger.flushLogFileBuffer();
+    }
+    
+    /**
+     * Starts the next branch from the trunk snapshot
+     * @throws IOException 
+     */
+    private synchronized void startBranch() throws IOException {
+        
+        if (branchesLeft <= 0){
+            return;
+        }
+        
+        int branch = definition.getBranches() - branchesLeft + 1;
+        branchesLeft--;
+        SimulationLauncher.startBranchSimulation(
+                fork,
+                branch,
+                mutationAdvantageModel,
+                this,
+                definition.createBranchSettings(branch)
+                );
+    }
+    
+    /**
+     * Starts the next branch if there are not processed branches,
+     * otherwise finishes the run after the last postprocessing
+     * @param sim last finished branch simulation
+     * @param lastIteration it was the last postprocessed branch of the run
+     */
+    private void continueBranches(Simulation sim, boolean lastIteration){
+        if (branchesLeft > 0){
+            try {
+                startBranch();
+            } catch (IOException ex) {
+                Logger.getLogger(BranchRunner.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        } else if (lastIteration) {
+            iterationScheduler.shutdown();
+            runFinished.countDown();
+        }
+    }
+    
+    /**
+     * Event handler for properity change.
+     * The fork of the trunk starts the branches, the finish of
+     * the branch is handled as the finish of the iteration
+     * @param evt 
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        
+        if (EvtProperty.epForkReached.equals(evt.getPropertyName())){
+            Simulation trunk = ((CalcTask) evt.getSource()).getSim();
+            SimulationLauncher.simulationFinished(trunk);
+            fork = trunk.getFork();
+            trunk.saveMetrics();
+            try {
+                for (int i = 0; i < definition.getParallelBranches(); i++){
+                    startBranch();
+                }
+            } catch (IOException ex) {
+                Logger.getLogger(BranchRunner.class.getName()).log(Level.SEVERE, null, ex);
+                runFinished.countDown();
+            }
+            
+        } else if (EvtProperty.epFinishCurrentIteration.equals(evt.getPropertyName())){
+            final Simulation finishedSimulation = ((CalcTask) evt.getSource()).getSim();
+            SimulationLauncher.simulationFinished(finishedSimulation);
+            
+            //trunk population died out or reached the limits before the fork
+            if (finishedSimulation.getIteration() == BranchParam.trunkIteration){
+                StaticConsoleLogger.log(LogText.branchNotForked + String.valueOf(finishedSimulation.getLastCycle()));
+                iterationScheduler.shutdown();
+                runFinished.countDown();
+                return;
+            }
+            StaticConsoleLogger.logActivity(finishedSimulation.getIteration(), Activity.simulation, Activity.finished);
+
+            final boolean overlapNextBranch = branchesLeft > 0 
+                    && iterationScheduler.canOverlapNextIteration(finishedSimulation);
+            iterationScheduler.submitPostProcessing(
+                    (lastIteration) -> postProcessor.postProcess(finishedSimulation, lastIteration),
+                    (lastIteration) -> {
+                        if (!overlapNextBranch){
+                            continueBranches(finishedSimulation, lastIteration);
+                        }
+                    });
+            if (overlapNextBranch){
+                continueBranches(finishedSimulation, false);
+            }
+        }
+    }
+    
+}
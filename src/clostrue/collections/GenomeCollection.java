@@ -22,35 +22,37 @@ import clostrue.biology.genome.GenomePart;
 
 /**
  * Genome collection which allows accessing genomes by index (less memory)
+ * Frozen read only view of the synchronized collection: the genomes and parts
+ * are sealed without copying, there is one additional slot for the genome
+ * added afterwards
  * @author Krzysztof Szymiczek 
  */
 
 
 public class GenomeCollection {
     
-    private final Genome[] genomes;
+    private final SealedSegments<Genome> genomes;   //genomes sealed in synchronized collection
+    private Genome addedGenome;                     //genome added after sealing
 
     private final GenomePartCollection driverGenomeParts;//Collection of parts of genomes
     private final GenomePartCollection passengerGenomeParts;//Collection of parts of genomes    
     
     public GenomeCollection(GenomeSynchronizedCollection sc) {
-        int size = sc.getGenomes().size();
-        this.genomes = new Genome[size+1];
-        for (int i = 0; i < size; i++){
-            genomes[i] = sc.getByIndex(i);
-        }
+        this.genomes = sc.seal();
         this.driverGenomeParts = new GenomePartCollection(sc.getDriverGenomeParts());
         this.passengerGenomeParts = new GenomePartCollection(sc.getPassengerGenomeParts());
     }
 
     public int addAndReturnIndex(Genome genome){
-        int index = genomes.length - 1;
-        this.genomes[index] = genome;
-        return index;
+        this.addedGenome = genome;
+        return genomes.size();
     }    
     
     public Genome getByIndex(int genomeIndex){
-        return genomes[genomeIndex];
+        if (genomeIndex == genomes.size()){
+            return addedGenome;
+        }
+        return genomes.get(genomeIndex);
     }
 
     public GenomePartCollection getDriverGenomeParts() {
@@ -20,35 +20,35 @@ package clostrue.collections;
 import clostrue.biology.genome.GenomePart;
 /**
  * Genome collection which allows accessing genomes by index (less memory)
+ * Read only view of the parts of the synchronized collection, sealed without
+ * copying the parts, with one additional slot for the part added afterwards
  * @author Krzysztof Szymiczek 
  */
 
 
 public class GenomePartCollection {
     
-    private static GenomePart dummy = new GenomePart(); //dummy reference used when there is no mutation
-    
-    private final GenomePart[] genomeParts;
+    private final SealedSegments<GenomePart> genomeParts;  //parts sealed in synchronized collection
+    private GenomePart addedPart;                           //part added after sealing
 
     public GenomePartCollection(GenomePartSynchronizedCollection sc) {
-        int size = sc.size();
-        this.genomeParts = new GenomePart[size+1];
-        for (int i = 0; i < size; i++)
-                genomeParts[i] = sc.getByIndex(i);
+        this.genomeParts = sc.seal();
     }
        
     public GenomePart getByIndex(int genomePartIndex){
-        return genomeParts[genomePartIndex];
+        if (genomePartIndex == genomeParts.size()){
+            return addedPart;
+        }
+        return genomeParts.get(genomePartIndex);
     }
     
     public int size(){
-        return genomeParts.length;
+        return genomeParts.size() + 1;
     }
 
     public int addAndReturnIndex(GenomePart genomePart){
-        int index = genomeParts.length - 1;
-        this.genomeParts[index] = genomePart;
-        return ( index );
+        this.addedPart = genomePart;
+        return ( genomeParts.size() );
     }
     
 }
@@ -18,9 +18,9 @@
 package clostrue.collections;
 
 import clostrue.biology.genome.GenomePart;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Genome collection which allows accessing genomes by index (less memory)
@@ -32,16 +32,24 @@ public class GenomePartSynchronizedCollection {
     
     private static GenomePart dummy = new GenomePart(); //dummy reference used when there is no mutation
     
-    private final List<GenomePart> genomeParts;
+    private final SegmentedStore<GenomePart> genomeParts; //parts (the ones shared with other branches first)
 
     public GenomePartSynchronizedCollection() {
-        this.genomeParts = Collections.synchronizedList(new ArrayList<>());
+        this.genomeParts = new SegmentedStore<>();
         genomeParts.add(dummy);
     }
     
+    /**
+     * Creates the collection of the branch of forked simulation. The parts
+     * created before the fork are shared, without copying and locking
+     * @param inSharedParts parts of the frozen collection
+     */
+    public GenomePartSynchronizedCollection(SealedSegments<GenomePart> inSharedParts) {
+        this.genomeParts = new SegmentedStore<>(inSharedParts);
+    }
+    
     public int addAndReturnIndex(GenomePart genomePart){
-        this.genomeParts.add(genomePart);
-        return ( genomeParts.size() - 1 );
+        return genomeParts.add(genomePart);
     }
     
     public GenomePart getByIndex(int genomePartIndex){
@@ -51,5 +59,41 @@ public class GenomePartSynchronizedCollection {
     public int size(){
         return genomeParts.size();
     }
+
+    /**
+     * Returns read only view of all the parts added so far, without copying
+     * the parts. Used by the branches of forked simulation and by the frozen
+     * genome collection
+     * @return sealed parts
+     */
+    public SealedSegments<GenomePart> seal(){
+        return genomeParts.seal();
+    }
+
+    /**
+     * Writes the genome parts (without the dummy one) to simulation checkpoint
+     * @param out checkpoint output
+     * @throws IOException
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int count = size();
+        out.writeInt(count);
+        for (int i = 1; i < count; i++){
+            getByIndex(i).writeTo(out);
+        }
+    }
+
+    /**
+     * Restores the genome parts from simulation checkpoint, the collection
+     * has to contain only the dummy part, the indexes are restored by the order
+     * @param in checkpoint input
+     * @throws IOException
+     */
+    public void readFrom(DataInput in) throws IOException {
+        int count = in.readInt();
+        for (int i = 1; i < count; i++){
+            genomeParts.add(new GenomePart(in));
+        }
+    }
     
 }
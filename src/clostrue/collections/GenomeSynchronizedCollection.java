@@ -19,9 +19,9 @@ package clostrue.collections;
 
 import clostrue.biology.genome.Genome;
 import clostrue.biology.genome.GenomePart;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Genome collection which allows accessing genomes by index (less memory)
@@ -31,25 +31,68 @@ import java.util.List;
 
 public class GenomeSynchronizedCollection {
     
-    private final List<Genome> genomes;
+    private final SegmentedStore<Genome> genomes;  //genomes (the ones shared with other branches first)
+    private final int sharedSize;                   //count of genomes shared with other branches (forked simulation)
 
     private final GenomePartSynchronizedCollection driverGenomeParts;//Collection of parts of genomes
     private final GenomePartSynchronizedCollection passengerGenomeParts;//Collection of parts of genomes    
     
     public GenomeSynchronizedCollection() {
-        this.genomes = Collections.synchronizedList(new ArrayList<Genome>());
+        this.genomes = new SegmentedStore<>();
+        this.sharedSize = 0;
         this.driverGenomeParts = new GenomePartSynchronizedCollection();
         this.passengerGenomeParts = new GenomePartSynchronizedCollection();
     }
     
+    /**
+     * Creates the collection of the branch of forked simulation.
+     * The genomes and parts of the frozen collection are shared
+     * by all the branches, only the genomes created after the fork
+     * are stored in the branch
+     * @param frozen collection created by freeze()
+     */
+    public GenomeSynchronizedCollection(GenomeSynchronizedCollection frozen) {
+        SealedSegments<Genome> sharedGenomes = frozen.seal();
+        this.genomes = new SegmentedStore<>(sharedGenomes);
+        this.sharedSize = sharedGenomes.size();
+        this.driverGenomeParts = new GenomePartSynchronizedCollection(frozen.driverGenomeParts.seal());
+        this.passengerGenomeParts = new GenomePartSynchronizedCollection(frozen.passengerGenomeParts.seal());
+    }
+    
+    /**
+     * Creates read only copy of the collection (the genomes and parts
+     * are not copied, only referenced), to be used as common prefix
+     * of the branches of forked simulation.
+     * @return frozen collection
+     */
+    public GenomeSynchronizedCollection freeze() {
+        return new GenomeSynchronizedCollection(this);
+    }
+    
+    /**
+     * Returns read only view of all the genomes added so far, without copying
+     * the genomes
+     * @return sealed genomes
+     */
+    public SealedSegments<Genome> seal() {
+        return genomes.seal();
+    }
+    
     public int addAndReturnIndex(Genome genome){
-        this.genomes.add(genome);
-        return ( genomes.size() - 1 );
+        return genomes.add(genome);
     }
     
     public Genome getByIndex(int genomeIndex){
         return genomes.get(genomeIndex);
     }
+    
+    public int size(){
+        return genomes.size();
+    }
+
+    public int sharedSize(){
+        return sharedSize;
+    }
 
     public GenomePartSynchronizedCollection getDriverGenomeParts() {
         return driverGenomeParts;
@@ -75,8 +118,34 @@ public class GenomeSynchronizedCollection {
         return passengerGenomeParts.getByIndex(genomePartIndex);
     }  
 
-    public List<Genome> getGenomes() {
-        return genomes;
+    /**
+     * Writes all the genomes and genome parts to simulation checkpoint
+     * @param out checkpoint output
+     * @throws IOException
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        driverGenomeParts.writeTo(out);
+        passengerGenomeParts.writeTo(out);
+        int count = size();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++){
+            getByIndex(i).writeTo(out);
+        }
+    }
+
+    /**
+     * Restores all the genomes and genome parts from simulation checkpoint.
+     * The collection has to be empty, the indexes are restored by the order
+     * @param in checkpoint input
+     * @throws IOException
+     */
+    public void readFrom(DataInput in) throws IOException {
+        driverGenomeParts.readFrom(in);
+        passengerGenomeParts.readFrom(in);
+        int count = in.readInt();
+        for (int i = 0; i < count; i++){
+            genomes.add(new Genome(in));
+        }
     }
     
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.collections;
+
+import java.util.Arrays;
+
+/**
+ * Hash map of primitive int keys (gene or locus) to sets of cells
+ * sharing the mutation on this key.
+ *
+ * Open addressing with linear probing, no boxing of the keys and no entry
+ * objects. Not synchronized: the map is filled by one thread and
+ * afterwards corrected and read by the analysis tasks.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class IntCellSetMap {
+
+    private static final int    freeKey     = -1;           //marker of the free slot
+    private static final int    minCapacity = 16;
+
+    private int[]               keys;       //keys of the slots
+    private CellIndexHolder[]   values;     //cell sets of the slots
+    private int                 mask;       //capacity - 1 (capacity is power of 2)
+    private int                 size;       //count of the keys
+
+    /**
+     * Default constructor
+     */
+    public IntCellSetMap() {
+        allocate(minCapacity);
+    }
+
+    private void allocate(int capacity){
+        keys    = new int[capacity];
+        values  = new CellIndexHolder[capacity];
+        mask    = capacity - 1;
+        Arrays.fill(keys, freeKey);
+    }
+
+    private int slot(int key){
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Adds the cell to the set of the key, the set is created when missing
+     * @param key       key (not negative)
+     * @param cellIndex index of the cell in the cell collection
+     */
+    public void add(int key, int cellIndex){
+        int i = slot(key);
+        while (keys[i] != freeKey){
+            if (keys[i] == key){
+                values[i].add(cellIndex);
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i]     = key;
+        values[i]   = new CellIndexHolder();
+        values[i].add(cellIndex);
+        size++;
+        if (size * 2 > keys.length){
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Returns the set of cells of the key
+     * @param key key
+     * @return set of cells or null when the key is missing
+     */
+    public CellIndexHolder get(int key){
+        int i = slot(key);
+        while (keys[i] != freeKey){
+            if (keys[i] == key){
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns all the keys of the map (unordered)
+     * @return keys
+     */
+    public int[] getKeys(){
+        int[] result = new int[size];
+        int next = 0;
+        for (int i = 0; i < keys.length; i++){
+            if (keys[i] != freeKey){
+                result[next++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the sets containing only one cell. The table is compacted
+     * in one pass instead of removing the entries one by one.
+     */
+    public void removeSingletons(){
+        int[]               oldKeys     = keys;
+        CellIndexHolder[]   oldValues   = values;
+        int kept = 0;
+        for (int j = 0; j < oldKeys.length; j++){
+            if (oldKeys[j] != freeKey && oldValues[j].size() != 1){
+                kept++;
+            }
+        }
+        int capacity = minCapacity;
+        while (capacity < kept * 2){
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        size = kept;
+        for (int j = 0; j < oldKeys.length; j++){
+            if (oldKeys[j] != freeKey && oldValues[j].size() != 1){
+                insert(oldKeys[j], oldValues[j]);
+            }
+        }
+    }
+
+    /**
+     * Histogram of the set sizes: the count of the sets for every size
+     * @return histogram of the set sizes
+     */
+    public SizeHistogram getSizeHistogram(){
+        int maxSize = 0;
+        for (int i = 0; i < keys.length; i++){
+            if (keys[i] != freeKey){
+                maxSize = Math.max(maxSize, values[i].size());
+            }
+        }
+        int[] counts = new int[maxSize + 1];
+        for (int i = 0; i < keys.length; i++){
+            if (keys[i] != freeKey){
+                counts[values[i].size()]++;
+            }
+        }
+        return new SizeHistogram(counts);
+    }
+
+    /**
+     * Returns the count of cells in all the sets
+     * @return cells count
+     */
+    public long getCellsCount(){
+        long count = 0;
+        for (int i = 0; i < keys.length; i++){
+            if (keys[i] != freeKey){
+                count += values[i].size();
+            }
+        }
+        return count;
+    }
+
+    private void insert(int key, CellIndexHolder value){
+        int i = slot(key);
+        while (keys[i] != freeKey){
+            i = (i + 1) & mask;
+        }
+        keys[i]     = key;
+        values[i]   = value;
+    }
+
+    private void rehash(int capacity){
+        int[]               oldKeys     = keys;
+        CellIndexHolder[]   oldValues   = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++){
+            if (oldKeys[j] != freeKey){
+                insert(oldKeys[j], oldValues[j]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+}
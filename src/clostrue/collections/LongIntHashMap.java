@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.collections;
+
+import java.util.Arrays;
+
+/**
+ * Hash map of primitive long keys to primitive int values.
+ * 
+ * Open addressing with linear probing, no boxing of the keys and values
+ * and no entry objects. Removal is not supported.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class LongIntHashMap {
+
+    private static final int    missing     = -1;           //value returned for missing key
+    private static final long   freeKey     = Long.MIN_VALUE;//marker of the free slot
+    private static final int    minCapacity = 16;
+    
+    private long[]  keys;           //keys of the slots
+    private int[]   values;         //values of the slots
+    private int     mask;           //capacity - 1 (capacity is power of 2)
+    private int     size;           //count of the keys
+    private boolean hasFreeKey;     //the free slot marker is used as key
+    private int     freeKeyValue;   //value of the free slot marker key
+
+    /**
+     * Default constructor
+     * @param expectedSize count of keys expected
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = minCapacity;
+        while (capacity < expectedSize * 2){
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+    
+    private void allocate(int capacity){
+        keys    = new long[capacity];
+        values  = new int[capacity];
+        mask    = capacity - 1;
+        Arrays.fill(keys, freeKey);
+    }
+    
+    private int slot(long key){
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+    
+    /**
+     * Puts the value of the key, replaces the previous one
+     * @param key   key
+     * @param value value (not negative)
+     */
+    public void put(long key, int value){
+        if (key == freeKey){
+            if (!hasFreeKey){
+                size++;
+            }
+            hasFreeKey      = true;
+            freeKeyValue    = value;
+            return;
+        }
+        int i = slot(key);
+        while (keys[i] != freeKey){
+            if (keys[i] == key){
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i]     = key;
+        values[i]   = value;
+        size++;
+        if (size * 2 > keys.length){
+            rehash();
+        }
+    }
+    
+    /**
+     * Returns the value of the key
+     * @param key key
+     * @return value or -1 when the key is missing
+     */
+    public int get(long key){
+        if (key == freeKey){
+            return hasFreeKey ? freeKeyValue : missing;
+        }
+        int i = slot(key);
+        while (keys[i] != freeKey){
+            if (keys[i] == key){
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+    
+    private void rehash(){
+        long[]  oldKeys     = keys;
+        int[]   oldValues   = values;
+        allocate(keys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++){
+            if (oldKeys[j] != freeKey){
+                int i = slot(oldKeys[j]);
+                while (keys[i] != freeKey){
+                    i = (i + 1) & mask;
+                }
+                keys[i]     = oldKeys[j];
+                values[i]   = oldValues[j];
+            }
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.collections;
+
+import clostrue.biology.genome.GenomePart;
+import clostrue.biology.genome.ResolvedGenomePart;
+import clostrue.enumerations.MutationType;
+import clostrue.model.mam.MutationAdvModel;
+import clostrue.model.mam.MutationAdvantageData;
+import clostrue.model.mam.RegionTossMap;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the genome parts with mutations resolved to genes and gene tags.
+ *
+ * Created together with the frozen genome collection used by the analytics.
+ * Every genome part is resolved only once: the locus of its own mutation is
+ * mapped to the gene and gene tag, and the parent's mutations are taken from
+ * the cache, so the cells and groups sharing the genome part (or its ancestors)
+ * don't travel the genealogy and don't toss map the loci again.
+ * Safe to be used by the parallel analysis tasks.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class ResolvedGenomePartCache {
+
+    private final GenomeCollection  genomes;
+    private final RegionTossMap     driverRegions;      //toss to driver gene
+    private final RegionTossMap     passengerRegions;   //toss to passenger gene
+    private final int[]             driverTagIds;       //gene tag id per driver gene
+    private final int[]             passengerTagIds;    //gene tag id per passenger gene
+    private final ConcurrentHashMap<GenomePart, ResolvedGenomePart> drivers;    //resolved driver parts
+    private final ConcurrentHashMap<GenomePart, ResolvedGenomePart> passengers; //resolved passenger parts
+
+    /**
+     * Default constructor
+     * @param inGenomes frozen collection of genomes
+     * @param mam       mutation advantage model
+     */
+    public ResolvedGenomePartCache(GenomeCollection inGenomes, MutationAdvModel mam) {
+        genomes             = inGenomes;
+        driverRegions       = mam.getRegionMapDrivers();
+        passengerRegions    = mam.getRegionMapPassengers();
+        driverTagIds        = getTagIds(mam.getDrivers());
+        passengerTagIds     = getTagIds(mam.getPassengers());
+        drivers             = new ConcurrentHashMap<>();
+        passengers          = new ConcurrentHashMap<>();
+    }
+
+    private static int[] getTagIds(MutationAdvantageData[] genes){
+        int[] tagIds = new int[genes.length];
+        for (int i = 0; i < genes.length; i++){
+            tagIds[i] = genes[i].getGeneTagId();
+        }
+        return tagIds;
+    }
+
+    /**
+     * Returns the resolved mutations of the genome part
+     * @param mT    mutation type
+     * @param part  genome part
+     * @return resolved mutations
+     */
+    public ResolvedGenomePart get(MutationType mT, GenomePart part){
+        if (mT.equals(MutationType.Driver)){
+            return getDrivers(part);
+        }
+        if (mT.equals(MutationType.Passenger)){
+            return getPassengers(part);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the resolved mutations of the driver genome part
+     * @param part driver genome part
+     * @return resolved mutations
+     */
+    public ResolvedGenomePart getDrivers(GenomePart part){
+        ResolvedGenomePart resolved = drivers.get(part);
+        if (resolved == null){
+            resolved = resolve(part, true);
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the resolved mutations of the passenger genome part
+     * @param part passenger genome part
+     * @return resolved mutations
+     */
+    public ResolvedGenomePart getPassengers(GenomePart part){
+        ResolvedGenomePart resolved = passengers.get(part);
+        if (resolved == null){
+            resolved = resolve(part, false);
+        }
+        return resolved;
+    }
+
+    /**
+     * Travels up in the genealogy until the dummy part or already resolved
+     * part is found, then resolves the visited parts from the top one down
+     * @param part      genome part
+     * @param isDriver  true for driver part, false for passenger part
+     * @return resolved mutations
+     */
+    private ResolvedGenomePart resolve(GenomePart part, boolean isDriver){
+
+        ConcurrentHashMap<GenomePart, ResolvedGenomePart> resolvedParts = isDriver ? drivers : passengers;
+        RegionTossMap regions = isDriver ? driverRegions : passengerRegions;
+        int[] tagIds = isDriver ? driverTagIds : passengerTagIds;
+        GenomePart dummy = isDriver ? GenomePart.getDummyDriver(genomes) : GenomePart.getDummyPassenger(genomes);
+
+        ArrayList<GenomePart> unresolved = new ArrayList<>();
+        ResolvedGenomePart resolved = ResolvedGenomePart.empty;
+        GenomePart iterator = part;
+        while (iterator != dummy){
+            ResolvedGenomePart known = resolvedParts.get(iterator);
+            if (known != null){
+                resolved = known;
+                break;
+            }
+            unresolved.add(iterator);
+            GenomePart parent = isDriver ? iterator.getParentDrivPart(genomes) : iterator.getParentPassPart(genomes);
+            if (parent == iterator){
+                break;
+            }
+            iterator = parent;
+        }
+
+        for (int i = unresolved.size() - 1; i >= 0; i--){
+            GenomePart next = unresolved.get(i);
+            int locus = next.getMutation();
+            if (locus != Integer.MIN_VALUE){
+                int gene = regions.getGeneBasedOnToss(locus);
+                resolved = new ResolvedGenomePart(locus, gene, tagIds[gene], resolved);
+            }
+            ResolvedGenomePart known = resolvedParts.putIfAbsent(next, resolved);
+            if (known != null){
+                resolved = known;
+            }
+        }
+        return resolved;
+    }
+
+}
@@ -0,0 +1,52 @@
+/* 
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *
+ */
+package clostrue.collections;
+
+/**
+ * Read only view of the elements of the segmented store, created by sealing
+ * the store. The elements are not copied, the view refers to the segments
+ * of the store. As the store only appends, the elements visible in the view
+ * never change, so the view can be read by many threads without locks.
+ * 
+ * @author Krzysztof Szymiczek 
+ * @param <T> type of the elements
+ */
+public class SealedSegments<T> {
+
+    private final Object[][]    segments;   //segments shared with the store
+    private final int           size;       //count of the sealed elements
+
+    SealedSegments(Object[][] inSegments, int inSize) {
+        segments    = inSegments;
+        size        = inSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index){
+        return (T) segments[index >>> SegmentedStore.segmentShift][index & SegmentedStore.segmentMask];
+    }
+
+    public int size(){
+        return size;
+    }
+
+    Object[][] getSegments(){
+        return segments;
+    }
+
+}
@@ -0,0 +1,118 @@
+/* 
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *
+ */
+package clostrue.collections;
+
+import java.util.Arrays;
+
+/**
+ * Append only store of elements, accessed by index.
+ * 
+ * The elements are held in fixed size segments, so growing the store never
+ * copies the elements (only the small table of segments) and the elements
+ * added before never move. Thanks to that the store can be sealed: the
+ * sealed view shares the segments with the store without copying.
+ * Adding is synchronized, reading is lock free: the element and it's segment
+ * are written before the size is increased, and the table of segments
+ * is replaced only after it is filled, so a reader which sees the index 
+ * below the size sees the element. The sealed view is read without locks too.
+ * 
+ * @author Krzysztof Szymiczek 
+ * @param <T> type of the elements
+ */
+public class SegmentedStore<T> {
+
+    static final int    segmentShift    = 14;                   //2^14 elements in the segment
+    static final int    segmentSize     = 1 << segmentShift;
+    static final int    segmentMask     = segmentSize - 1;
+    private static final int initialSegments = 16;
+
+    private volatile Object[][] segments;   //segments of the elements, replaced when growing
+    private volatile int        size;       //count of the elements, increased after the element is written
+
+    public SegmentedStore() {
+        segments = new Object[initialSegments][];
+        size = 0;
+    }
+
+    /**
+     * Creates the store continuing the sealed one (forked simulation).
+     * The full segments are shared, only the last, partially filled segment
+     * is copied, as the new elements would be added to it
+     * @param prefix sealed elements taken as the beginning of the store
+     */
+    public SegmentedStore(SealedSegments<T> prefix) {
+        int fullSegments = prefix.size() >>> segmentShift;
+        segments = new Object[Math.max(initialSegments, fullSegments + 1)][];
+        System.arraycopy(prefix.getSegments(), 0, segments, 0, fullSegments);
+        if ((prefix.size() & segmentMask) != 0){
+            segments[fullSegments] = Arrays.copyOf(prefix.getSegments()[fullSegments], segmentSize);
+        }
+        size = prefix.size();
+    }
+
+    /**
+     * Adds the element at the end of the store
+     * @param element element to add
+     * @return index of the added element
+     */
+    public synchronized int add(T element){
+        int index = size;
+        int segment = index >>> segmentShift;
+        Object[][] table = segments;
+        if (segment == table.length){
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        if (table[segment] == null){
+            table[segment] = new Object[segmentSize];
+        }
+        table[segment][index & segmentMask] = element;
+        segments = table;
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Returns the element, without locking when the element is already
+     * published (the index is below the size)
+     * @param index index of the element
+     * @return element
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index){
+        if (index < size){
+            return (T) segments[index >>> segmentShift][index & segmentMask];
+        }
+        synchronized (this){
+            return (T) segments[index >>> segmentShift][index & segmentMask];
+        }
+    }
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Returns read only view of the elements added so far. Elements added
+     * later are not visible in the view
+     * @return sealed view sharing the segments with the store
+     */
+    public synchronized SealedSegments<T> seal(){
+        return new SealedSegments<>(segments, size);
+    }
+
+}
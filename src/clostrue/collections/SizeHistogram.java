@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.collections;
+
+/**
+ * Histogram of group sizes held in primitive buckets.
+ *
+ * The bucket index is the size of the group, the bucket value is the count
+ * of groups having this size.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class SizeHistogram {
+
+    private final int[] counts;     //count of groups per size
+
+    /**
+     * Default constructor
+     * @param inCounts count of groups per size (index is the size)
+     */
+    public SizeHistogram(int[] inCounts) {
+        counts = inCounts;
+    }
+
+    /**
+     * Returns the count of groups having the given size
+     * @param size size of the group
+     * @return count of groups
+     */
+    public int getCount(int size){
+        if (size < 0 || size >= counts.length){
+            return 0;
+        }
+        return counts[size];
+    }
+
+    /**
+     * Returns the biggest group size
+     * @return max group size
+     */
+    public int getMaxSize(){
+        return counts.length - 1;
+    }
+
+    /**
+     * Returns the count of non empty buckets
+     * @return non empty buckets count
+     */
+    public int getUsedBucketsCount(){
+        int used = 0;
+        for (int i = 0; i < counts.length; i++){
+            if (counts[i] != 0){
+                used++;
+            }
+        }
+        return used;
+    }
+
+}
@@ -33,10 +33,8 @@ import clostrue.model.FilePaths;
 import clostrue.postprocessing.analysis.Analytics;
 import clostrue.postprocessing.plotter.PlotterTools;
 import clostrue.toolbox.StaticConsoleLogger;
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.FilenameFilter;
 import java.io.IOException;
@@ -45,7 +43,13 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jfree.chart.ChartFactory;
@@ -66,9 +70,9 @@ import org.jfree.data.xy.XYSeriesCollection;
 
 public class CrossIterationAnalysis {
 
-    private final HashMap<Integer, ArrayList<CsvEntryForQuotedClones>>     quotedClones;
-    private final HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>>  quotedDrivers;
-    private final HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>>  quotedPassengers;
+    private final HashMap<Integer, QuotedTable>     quotedClones;       //quoted clones per iteration
+    private final HashMap<Integer, QuotedTable>     quotedDrivers;      //quoted drivers per iteration
+    private final HashMap<Integer, QuotedTable>     quotedPassengers;   //quoted passengers per iteration
     
     private String rootPath;
     private String repeatedDir;
@@ -103,93 +107,182 @@ public class CrossIterationAnalysis {
     }
     
     /**
-     * Creates cross-iteration csv data from all iterations for the curent simulation
+     * Creates cross-iteration csv data from all iterations for the curent simulation.
+     * The files are independent, so they are created in parallel.
      */
     public void createCSVs() {
-                
-        try {
-            if(clones) {
-                for (int quotaId = 0; quotaId < quotasCount; quotaId++){
-                    createCSVFileQuotedClonesPerCycle(quotaId, Name.fileNameClonesPerCycleHavingQuota, quotedClones);                    
-                    saveGluedQuotedClonesDataToFile(quotaId, Constant.fileNameClonesPerPopSizeHavingQuota, quotedClones);
-                }
-            }
-            if(drivers) {
-                for (int quotaId = 0; quotaId < quotasCount; quotaId++){
-                    createCSVFileQuotedMutationsPerCycle(quotaId, Name.fileNameDriverMutationsPerCycleHavingQuota, quotedDrivers);                     
-                    saveGluedQuotedMutationsDataToFile(quotaId, Name.fileNameDriverMutationsPerPopSizeHavingQuota, quotedDrivers);
-                }                              
-            }
-            if(passengers) {
-                for (int quotaId = 0; quotaId < quotasCount; quotaId++){
-                    createCSVFileQuotedMutationsPerCycle(quotaId, Name.fileNamePassengerMutationsPerCycleHavingQuota, quotedPassengers);                     
-                    saveGluedQuotedMutationsDataToFile(quotaId, Name.fileNamePassengerMutationsPerPopSizeHavingQuota, quotedPassengers);
-                }     
-            }
-        } catch (IOException ex) {
-            Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
+        
+        List<Callable<Void>> jobs = new ArrayList<>();
+        if(clones) {
+            addCSVJobs(jobs, 
+                    Name.fileNameClonesPerCycleHavingQuota, 
+                    Constant.fileNameClonesPerPopSizeHavingQuota, 
+                    quotedClones);
+        }
+        if(drivers) {
+            addCSVJobs(jobs, 
+                    Name.fileNameDriverMutationsPerCycleHavingQuota, 
+                    Name.fileNameDriverMutationsPerPopSizeHavingQuota, 
+                    quotedDrivers);
+        }
+        if(passengers) {
+            addCSVJobs(jobs, 
+                    Name.fileNamePassengerMutationsPerCycleHavingQuota, 
+                    Name.fileNamePassengerMutationsPerPopSizeHavingQuota, 
+                    quotedPassengers);
+        }
+        executeInParallel(jobs);
+    }
+    
+    /**
+     * Adds the jobs creating csv files per cycle and per population size
+     * for all the quotas
+     * @param jobs list of jobs to add to
+     * @param perCycleFileName file name of data per cycle
+     * @param perPopSizeFileName file name of data per population size
+     * @param w quoted data
+     */
+    private void addCSVJobs(List<Callable<Void>> jobs, String perCycleFileName, String perPopSizeFileName, HashMap<Integer, QuotedTable> w) {
+        for (int quotaId = 0; quotaId < quotasCount; quotaId++){
+            final int jobQuotaId = quotaId;
+            jobs.add(() -> {
+                createCSVFileQuotedPerCycle(jobQuotaId, perCycleFileName, w);
+                return null;
+            });
+            jobs.add(() -> {
+                saveGluedQuotedDataToFile(jobQuotaId, perPopSizeFileName, w);
+                return null;
+            });
         }
     }
     
     /**
-     * Create charts for the cross-iteration analysis
+     * Create charts for the cross-iteration analysis.
+     * The charts are independent, so they are rendered in parallel.
      */
     public void createCharts() {
+        
+        List<Callable<Void>> jobs = new ArrayList<>();
         if(clones) {
-            for (int quotaId = 0; quotaId < quotasCount; quotaId++){
-                createChartForQuotedClonesPerCycle(quotaId, 
+            addChartJobs(jobs, 
                     quotedClones, 
                     Texts.rsaChartClonesTitle, 
-                    Texts.rsaChartXAxisCycle, 
                     Texts.rsaChartYAxisClon, 
-                    Name.rsaChartFileNameClonesPerCycle);                
-                createChartQuotedClonesPerPopulationSize(quotaId, 
-                    quotedClones, 
-                    Texts.rsaChartClonesTitle, 
-                    Texts.rsaChartXAxisPopSize, 
-                    Texts.rsaChartYAxisClon, 
-                    Name.rsaChartFileNameClonesPerPopSize);                
-            }
+                    Name.rsaChartFileNameClonesPerCycle, 
+                    Name.rsaChartFileNameClonesPerPopSize);
         }
-        
         if(drivers) {
-            for (int quotaId = 0; quotaId < quotasCount; quotaId++){
-                createChartForQuotedMutationsPerCycle(quotaId, 
+            addChartJobs(jobs, 
                     quotedDrivers, 
                     Texts.rsaChartDriversTitle, 
-                    Texts.rsaChartXAxisCycle,
-                    Texts.rsaChartYAxisdriv, 
-                    Name.rsaChartFileNameDriversPerCycle);
-                createChartQuotedMutationsPerPopulationSize(quotaId, 
-                    quotedDrivers, 
-                    Texts.rsaChartDriversTitle, 
-                    Texts.rsaChartXAxisPopSize,
                     Texts.rsaChartYAxisdriv, 
+                    Name.rsaChartFileNameDriversPerCycle, 
                     Name.rsaChartFileNameDriversPerPopSize);
-            }
         }
-        
         if(passengers) {
-            for (int quotaId = 0; quotaId < quotasCount; quotaId++){
-                createChartForQuotedMutationsPerCycle(quotaId, 
+            addChartJobs(jobs, 
                     quotedPassengers, 
                     Texts.rsaChartPassengersTitle, 
-                    Texts.rsaChartXAxisCycle,
-                    Texts.rsaChartYAxispass, 
-                    Name.rsaChartFileNamePassengersPerCycle);
-                createChartQuotedMutationsPerPopulationSize(quotaId, 
-                    quotedPassengers, 
-                    Texts.rsaChartPassengersTitle, 
-                    Texts.rsaChartXAxisPopSize,
                     Texts.rsaChartYAxispass, 
+                    Name.rsaChartFileNamePassengersPerCycle, 
                     Name.rsaChartFileNamePassengersPerPopSize);
+        }
+        executeInParallel(jobs);
+    }
+    
+    /**
+     * Adds the jobs creating charts per cycle and per population size
+     * for all the quotas
+     * @param jobs list of jobs to add to
+     * @param w quoted data
+     * @param title Chart title
+     * @param yAxis yAxis description
+     * @param perCycleFileName file name of chart per cycle
+     * @param perPopSizeFileName file name of chart per population size
+     */
+    private void addChartJobs(List<Callable<Void>> jobs, HashMap<Integer, QuotedTable> w, String title, String yAxis, String perCycleFileName, String perPopSizeFileName) {
+        for (int quotaId = 0; quotaId < quotasCount; quotaId++){
+            final int jobQuotaId = quotaId;
+            jobs.add(() -> {
+                createChartForQuotedPerCycle(jobQuotaId, w, title, Texts.rsaChartXAxisCycle, yAxis, perCycleFileName);
+                return null;
+            });
+            jobs.add(() -> {
+                createChartQuotedPerPopulationSize(jobQuotaId, w, title, Texts.rsaChartXAxisPopSize, yAxis, perPopSizeFileName);
+                return null;
+            });
+        }
+    }
+    
+    /**
+     * Executes the jobs on the pool limited to the count of processing tasks
+     * and waits till all of them are finished. The charts are rendered
+     * off-screen (the headless runners set the AWT headless mode).
+     * @param jobs jobs to execute
+     */
+    private void executeInParallel(List<Callable<Void>> jobs) {
+        
+        if (jobs.isEmpty()){
+            return;
+        }
+        //the output directories are created before the jobs are started
+        getRepeatedDirGraphics();
+        getRepeatedDirGraphicsDataSources();
+        
+        int poolSize = Math.max(1, Math.min(jobs.size(), 
+                analytics.getSim().getSimModel().getTechParams().getProcTasksCount()));
+        ExecutorService threadPool = Executors.newFixedThreadPool(poolSize);
+        try {
+            for (Future<Void> job : threadPool.invokeAll(jobs)){
+                try {
+                    job.get();
+                } catch (ExecutionException ex) {
+                    Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
+                }
             }
-        }       
+        } catch (InterruptedException ex) {
+            Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+    
+    /**
+     * Takes the quoted tables handed over in memory by the iterations
+     * post processed in the current program run. 
+     * @param inQuotedClones        quoted clones per iteration
+     * @param inQuotedDrivers       quoted drivers per iteration
+     * @param inQuotedPassengers    quoted passengers per iteration
+     */
+    public void importQuotedTables(
+            Map<Integer, QuotedTable> inQuotedClones, 
+            Map<Integer, QuotedTable> inQuotedDrivers, 
+            Map<Integer, QuotedTable> inQuotedPassengers) {
+        if (clones)
+            addQuotedTables(quotedClones, inQuotedClones);
+        if (drivers)
+            addQuotedTables(quotedDrivers, inQuotedDrivers);
+        if (passengers)
+            addQuotedTables(quotedPassengers, inQuotedPassengers);
+    }
+
+    /**
+     * Adds the tables, the iterations without any row are skipped
+     * (the same as for the data read from csv files)
+     * @param w quoted data
+     * @param tables tables per iteration
+     */
+    private void addQuotedTables(HashMap<Integer, QuotedTable> w, Map<Integer, QuotedTable> tables) {
+        for (Map.Entry<Integer, QuotedTable> e : tables.entrySet()) {
+            if (e.getValue().getRows() > 0)
+                w.put(e.getKey(), e.getValue());
+        }
     }
     
     /**
      * Reads data from each iteration of the simulation (from Tech Output Folders
-     * of correspondinf iterations)
+     * of correspondinf iterations). The iterations already imported in memory
+     * are not read again.
      * @param inRootPath root path
      */
     public void readTechDataFromIterations(String inRootPath) {
@@ -202,13 +295,14 @@ public class CrossIterationAnalysis {
                         + java.io.File.separator
                         + DirName.subDirTechOutput
                         + java.io.File.separator;
+            int iter = Integer.parseInt(p.substring(p.indexOf("Iteration_") + 10));
             
             if (clones)
-                readQuotedClonesCsvData(quotedClones, path + Name.quotedClones + Extension.dotCsv);
+                readQuotedCsvData(quotedClones, iter, path + Name.quotedClones + Extension.dotCsv);
             if (drivers)
-                readQuotedMutationsCsvData(quotedDrivers, path + Name.quotedDrivers + Extension.dotCsv, true);
+                readQuotedCsvData(quotedDrivers, iter, path + Name.quotedDrivers + Extension.dotCsv);
             if (passengers)
-                readQuotedMutationsCsvData(quotedPassengers, path + Name.quotedPassengers + Extension.dotCsv, false);
+                readQuotedCsvData(quotedPassengers, iter, path + Name.quotedPassengers + Extension.dotCsv);
         }
 
     }
@@ -216,126 +310,54 @@ public class CrossIterationAnalysis {
     /**
      * Creates chars for data per cycle
      * @param quotaId quota index 
-     * @param w Csv data
+     * @param w quoted data
      * @param title Chart title
      * @param xAxis xAxis description
      * @param yAxis yAxis description
      * @param fileName file name to save chart into
      */
-    private void createChartForQuotedClonesPerCycle(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w, String title, String xAxis, String yAxis, String fileName) {
+    private void createChartForQuotedPerCycle(int quotaId, HashMap<Integer, QuotedTable> w, String title, String xAxis, String yAxis, String fileName) {
                
         String quotedFileName = fileName + "_" +  String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
         StaticConsoleLogger.logRSA(Activity.rsaStartChart + quotedFileName);
         
-        XYDataset dataset = createClonesCountQuotaDatasetPerCycle(quotaId, w);
-        String quotedTitle = title + " having quota > " + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
-        JFreeChart chart = ChartFactory.createScatterPlot(quotedTitle, xAxis, yAxis, dataset);
-        
-        XYPlot plot = (XYPlot)chart.getPlot();
-        plot.setBackgroundPaint(java.awt.Color.WHITE);
-        
-        PlotterTools.prepareXYChartToSaveToPNGFile(chart);
-        String filename = getRepeatedDirGraphics()
-                        + java.io.File.separator
-                        + quotedFileName
-                        + Extension.dotPng;
-
-        try {
-            ChartUtilities.saveChartAsPNG(new File(filename), chart,  Setting.size,  Setting.size);
-        } catch (IOException ex) {
-            Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
-        }
+        XYDataset dataset = createCountQuotaDatasetPerCycle(quotaId, w);
+        saveScatterChart(quotaId, dataset, title, xAxis, yAxis, quotedFileName);
         
         StaticConsoleLogger.logRSA(Activity.rsaFinishedChart + quotedFileName);
     }
 
-    /**
-     * Creates chars for data per cycle
-     * @param quotaId quota index 
-     * @param w Csv data
-     * @param title Chart title
-     * @param xAxis xAxis description
-     * @param yAxis yAxis description
-     * @param fileName file name to save chart into
-     */
-    private void createChartForQuotedMutationsPerCycle(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w, String title, String xAxis, String yAxis, String fileName) {
-               
-        String quotedFileName = fileName + "_" +  String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
-        StaticConsoleLogger.logRSA(Activity.rsaStartChart + quotedFileName);
-        
-        XYDataset dataset = createMutationsCountQuotaDatasetPerCycle(quotaId, w);
-        String quotedTitle = title + " having quota > " + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
-        JFreeChart chart = ChartFactory.createScatterPlot(quotedTitle, xAxis, yAxis, dataset);
-        
-        XYPlot plot = (XYPlot)chart.getPlot();
-        plot.setBackgroundPaint(java.awt.Color.WHITE);
-        
-        PlotterTools.prepareXYChartToSaveToPNGFile(chart);
-        String filename = getRepeatedDirGraphics()
-                        + java.io.File.separator
-                        + quotedFileName
-                        + Extension.dotPng;
-
-        try {
-            ChartUtilities.saveChartAsPNG(new File(filename), chart,  Setting.size,  Setting.size);
-        } catch (IOException ex) {
-            Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
-        }
-        
-        StaticConsoleLogger.logRSA(Activity.rsaFinishedChart + quotedFileName);
-    }    
-    
     /**
      * Creates chars for data per population size
      * @param quotaId quota index 
-     * @param w Csv data
+     * @param w quoted data
      * @param title Chart title
      * @param xAxis xAxis description
      * @param yAxis yAxis description
      * @param fileName file name to save chart into
      */
-    private void createChartQuotedClonesPerPopulationSize(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w, String title, String xAxis, String yAxis, String fileName) {
+    private void createChartQuotedPerPopulationSize(int quotaId, HashMap<Integer, QuotedTable> w, String title, String xAxis, String yAxis, String fileName) {
         
         String quotedFileName = fileName + "_" +  String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
         StaticConsoleLogger.logRSA(Activity.rsaStartChart + quotedFileName);
         
-        XYDataset dataset = createClonesCountQuotaDatasetPerPopSize(quotaId, w);
-        String quotedTitle = title + " having quota > " + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
-        JFreeChart chart = ChartFactory.createScatterPlot(quotedTitle, xAxis, yAxis, dataset);
-        
-        XYPlot plot = (XYPlot)chart.getPlot();
-        plot.setBackgroundPaint(java.awt.Color.WHITE);
-        
-        PlotterTools.prepareXYChartToSaveToPNGFile(chart);
-        String filename = getRepeatedDirGraphics()
-                        + java.io.File.separator
-                        + quotedFileName
-                        + Extension.dotPng;
-
-        try {
-            ChartUtilities.saveChartAsPNG(new File(filename), chart,  Setting.size,  Setting.size);
-        } catch (IOException ex) {
-            Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
-        }
+        XYDataset dataset = createCountQuotaDatasetPerPopSize(quotaId, w);
+        saveScatterChart(quotaId, dataset, title, xAxis, yAxis, quotedFileName);
         
         StaticConsoleLogger.logRSA(Activity.rsaFinishedChart + quotedFileName);
     }    
 
     /**
-     * Creates chars for data per population size
+     * Creates scatter chart of the dataset and saves it to PNG file
      * @param quotaId quota index 
-     * @param w Csv data
+     * @param dataset chart data
      * @param title Chart title
      * @param xAxis xAxis description
      * @param yAxis yAxis description
-     * @param fileName file name to save chart into
+     * @param quotedFileName file name to save chart into
      */
-    private void createChartQuotedMutationsPerPopulationSize(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w, String title, String xAxis, String yAxis, String fileName) {
-        
-        String quotedFileName = fileName + "_" +  String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
-        StaticConsoleLogger.logRSA(Activity.rsaStartChart + quotedFileName);
-        
-        XYDataset dataset = createMutationsCountQuotaDatasetPerPopSize(quotaId, w);
+    private void saveScatterChart(int quotaId, XYDataset dataset, String title, String xAxis, String yAxis, String quotedFileName) {
+
         String quotedTitle = title + " having quota > " + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
         JFreeChart chart = ChartFactory.createScatterPlot(quotedTitle, xAxis, yAxis, dataset);
         
@@ -353,23 +375,21 @@ public class CrossIterationAnalysis {
         } catch (IOException ex) {
             Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
         }
-        
-        StaticConsoleLogger.logRSA(Activity.rsaFinishedChart + quotedFileName);
-    }    
+    }
 
     /**
      * Create dataset for charts
      * @param quotaId quota ID
-     * @param w csv entries
+     * @param w quoted data
      * @return dataset
      */
-    private XYDataset createClonesCountQuotaDatasetPerPopSize(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w){
+    private XYDataset createCountQuotaDatasetPerPopSize(int quotaId, HashMap<Integer, QuotedTable> w){
         XYSeriesCollection dataset = new XYSeriesCollection();
         XYSeries series = new XYSeries("");
         
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedClones>> e : w.entrySet()) {            
-            for(CsvEntryForQuotedClones csvE : e.getValue()) {
-                series.add(csvE.getPopSize(), csvE.getClonesPerQuotaId(quotaId));
+        for (QuotedTable table : w.values()) {            
+            for (int row = 0; row < table.getRows(); row++) {
+                series.add(table.getPopSize(row), table.getCount(quotaId, row));
             }
         }
         dataset.addSeries(series); 
@@ -380,93 +400,34 @@ public class CrossIterationAnalysis {
     /**
      * Create dataset for charts
      * @param quotaId quota ID
-     * @param w csv entries
-     * @return dataset
-     */
-    private XYDataset createMutationsCountQuotaDatasetPerPopSize(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w){
-        XYSeriesCollection dataset = new XYSeriesCollection();
-        XYSeries series = new XYSeries("");
-        
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedMutations>> e : w.entrySet()) {            
-            for(CsvEntryForQuotedMutations csvE : e.getValue()) {
-                series.add(csvE.getPopSize(), csvE.getMutationCountPerQuotaId(quotaId));
-            }
-        }
-        dataset.addSeries(series); 
-        
-        return dataset;
-    }    
-    /**
-     * Create dataset for charts
-     * @param quotaId quota ID
-     * @param w csv entries
-     * @return dataset
-     */    
-    private XYDataset createClonesCountQuotaDatasetPerCycle(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w){
-        XYSeriesCollection dataset = new XYSeriesCollection();
-        XYSeries series = new XYSeries("");
-        
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedClones>> e : w.entrySet()) {            
-            for(CsvEntryForQuotedClones csvE : e.getValue()) {
-                series.add(csvE.getCycle(), csvE.getClonesPerQuotaId(quotaId));
-            }
-        }
-        dataset.addSeries(series); 
-        
-        return dataset;
-    } 
-    
-    /**
-     * Create dataset for charts
-     * @param quotaId quota ID
-     * @param w csv entries
+     * @param w quoted data
      * @return dataset
      */    
-    private XYDataset createMutationsCountQuotaDatasetPerCycle(int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w){
+    private XYDataset createCountQuotaDatasetPerCycle(int quotaId, HashMap<Integer, QuotedTable> w){
         XYSeriesCollection dataset = new XYSeriesCollection();
         XYSeries series = new XYSeries("");
         
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedMutations>> e : w.entrySet()) {            
-            for(CsvEntryForQuotedMutations csvE : e.getValue()) {
-                series.add(csvE.getCycle(), csvE.getMutationCountPerQuotaId(quotaId));
+        for (QuotedTable table : w.values()) {            
+            for (int row = 0; row < table.getRows(); row++) {
+                series.add(table.getCycle(row), table.getCount(quotaId, row));
             }
         }
         dataset.addSeries(series); 
         
         return dataset;
     } 
-        
-
-    /**
-     * Find max cycle of all iterations
-     * @param w csv data
-     * @return max cycle
-     */    
-    private int findMaxCycle( int quotaId, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w){
-        int max = 0;
-        
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedClones>> e : w.entrySet()) {
-            if(e.getValue().size() > max) {
-                max = e.getValue().size();
-            }
-        }
-        
-        return max;
-        
-    }
 
     /**
      * Find max cycle of all iterations
-     * @param w csv data
+     * @param w quoted data
      * @return max cycle
-     * Quota Id only for having different signature
      */    
-    private int findMaxCycle( int quotaId, int quotaId2, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w){
+    private int findMaxCycle(HashMap<Integer, QuotedTable> w){
         int max = 0;
         
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedMutations>> e : w.entrySet()) {
-            if(e.getValue().size() > max) {
-                max = e.getValue().size();
+        for (QuotedTable table : w.values()) {
+            if(table.getRows() > max) {
+                max = table.getRows();
             }
         }
         
@@ -478,46 +439,41 @@ public class CrossIterationAnalysis {
      * Create csv data for all interations
      * @param quotaId quota ID
      * @param inFileName file name
-     * @param w csv data
+     * @param w quoted data
      * @throws IOException 
      */    
-    private void createCSVFileQuotedClonesPerCycle(int quotaId, String inFileName, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w) throws IOException {
+    private void createCSVFileQuotedPerCycle(int quotaId, String inFileName, HashMap<Integer, QuotedTable> w) throws IOException {
                 
         String quotaFileName = inFileName + "_" + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));        
         String fileName = getRepeatedDirGraphicsDataSources()
                         + java.io.File.separator 
                         + quotaFileName
                         + Extension.dotCsv;
-         
-        ;
         
         StaticConsoleLogger.logRSA(Activity.rsaStartCSV + fileName);
         
         FileWriter     fileWriter     = new FileWriter(fileName);
         BufferedWriter bufferedWriter = new BufferedWriter(fileWriter, Constant.fileBufferSize);
         
-        createCSVFileHeader(quotaId, bufferedWriter, w);
-        
-        HashMap<Integer, String> lines = new HashMap<>();
-        int               max   = findMaxCycle(quotaId, w);
+        createCSVFileHeader(bufferedWriter, w);
         
+        int max = findMaxCycle(w);
+        StringBuilder[] lines = new StringBuilder[max];
         for(int i = 0; i < max; i++) {
-            lines.put(i, "" + i);
+            lines[i] = new StringBuilder().append(i);
         }
                 
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedClones>> e : w.entrySet()) {
-            ArrayList<CsvEntryForQuotedClones> entries = e.getValue();
+        for (QuotedTable table : w.values()) {
             for(int i = 0; i < max; i++) {
-                if(i < entries.size()) {
-                    lines.replace(i, lines.get(i) + Artifact.csvSeparator + entries.get(i).getClonesPerQuotaId(quotaId));
-                } else {
-                    lines.replace(i, lines.get(i) + Artifact.csvSeparator + "");
+                lines[i].append(Artifact.csvSeparator);
+                if(i < table.getRows()) {
+                    lines[i].append(table.getCount(quotaId, i));
                 }
             }
         }
         
-        for(Map.Entry<Integer, String> l : lines.entrySet()) {
-            bufferedWriter.write(l.getValue());
+        for(StringBuilder line : lines) {
+            bufferedWriter.write(line.toString());
             bufferedWriter.write(Artifact.outCSVeol);
         }
         
@@ -527,91 +483,16 @@ public class CrossIterationAnalysis {
         StaticConsoleLogger.logRSA(Activity.rsaFinishedCSV + fileName);
     }    
 
-    /**
-     * Create csv data for all interations
-     * @param quotaId quota ID
-     * @param inFileName file name
-     * @param w csv data
-     * @throws IOException 
-     */    
-    private void createCSVFileQuotedMutationsPerCycle(int quotaId, String inFileName, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w) throws IOException {
-                
-        String quotaFileName = inFileName + "_" + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));        
-        String fileName = getRepeatedDirGraphicsDataSources()
-                        + java.io.File.separator 
-                        + quotaFileName
-                        + Extension.dotCsv;
-         
-        ;
-        
-        StaticConsoleLogger.logRSA(Activity.rsaStartCSV + fileName);
-        
-        FileWriter     fileWriter     = new FileWriter(fileName);
-        BufferedWriter bufferedWriter = new BufferedWriter(fileWriter, Constant.fileBufferSize);
-        
-        createCSVFileHeader(quotaId, quotaId, bufferedWriter, w);
-        
-        HashMap<Integer, String> lines = new HashMap<>();
-        int               max   = findMaxCycle(quotaId, quotaId, w);
-        
-        for(int i = 0; i < max; i++) {
-            lines.put(i, "" + i);
-        }
-                
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedMutations>> e : w.entrySet()) {
-            ArrayList<CsvEntryForQuotedMutations> entries = e.getValue();
-            for(int i = 0; i < max; i++) {
-                if(i < entries.size()) {
-                    lines.replace(i, lines.get(i) + Artifact.csvSeparator + entries.get(i).getMutationCountPerQuotaId(quotaId));
-                } else {
-                    lines.replace(i, lines.get(i) + Artifact.csvSeparator + "");
-                }
-            }
-        }
-        
-        for(Map.Entry<Integer, String> l : lines.entrySet()) {
-            bufferedWriter.write(l.getValue());
-            bufferedWriter.write(Artifact.outCSVeol);
-        }
-        
-        bufferedWriter.flush();
-        bufferedWriter.close();
-        
-        StaticConsoleLogger.logRSA(Activity.rsaFinishedCSV + fileName);
-    }   
-
-    /**
-     * Create header for CSV data file
-     * @param bufferedWriter
-     * @param w csv data
-     * quotaId only for signature differentiation
-     */    
-    private void createCSVFileHeader(int quotaId, BufferedWriter bufferedWriter, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w) {
-        String header = HeaderPart.headerMulti;
-        
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedClones>> e : w.entrySet()) {
-            header += Artifact.csvSeparator + HeaderPart.headerMultiSeparator + e.getKey();
-        }
-        
-        try {
-            bufferedWriter.write(header);
-            bufferedWriter.write(Artifact.outCSVeol);
-        } catch (IOException ex) {
-            Logger.getLogger(CrossIterationAnalysis.class.getName()).log(Level.SEVERE, null, ex);
-        }
-    }
-
     /**
      * Create header for CSV data file
      * @param bufferedWriter
-     * @param w csv data
-     * quotaId only for signature differentiation
+     * @param w quoted data
      */    
-    private void createCSVFileHeader(int quotaId, int quotaId2, BufferedWriter bufferedWriter, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w) {
+    private void createCSVFileHeader(BufferedWriter bufferedWriter, HashMap<Integer, QuotedTable> w) {
         String header = HeaderPart.headerMulti;
         
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedMutations>> e : w.entrySet()) {
-            header += Artifact.csvSeparator + HeaderPart.headerMultiSeparator + e.getKey();
+        for (Integer iter : w.keySet()) {
+            header += Artifact.csvSeparator + HeaderPart.headerMultiSeparator + iter;
         }
         
         try {
@@ -640,111 +521,24 @@ public class CrossIterationAnalysis {
     }
 
     /**
-     * Reads the quoted csv data for the given path 
-     * @param w csv data
+     * Reads the quoted csv data for the given path, unless the data
+     * of the iteration was already imported in memory
+     * @param w quoted data
+     * @param iter iteration
      * @param path path from which the file is read
      */    
-    private void readQuotedClonesCsvData(HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w, String path) {
-        String  line = "";
-        String  a    = path.substring(path.indexOf("Iteration_") + 10, path.indexOf(File.separatorChar + DirName.subDirTechOutput));
-        int     iter = Integer.parseInt(a);
-        boolean skip = true;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
-            while ((line = br.readLine()) != null) {
-                if(skip) {
-                    skip = false;
-                    continue;
-                }
-                String[] data = line.split(Artifact.csvSeparator);
-                int[] clonesQuota = new int[quotasCount];
-                for (int i = 0; i < quotasCount; i++){
-                    clonesQuota[i] = Integer.parseInt(data[i+4]);   //+4 as the fifth column contains data for the quota id 0...
-                }
-                addToWMap(w, iter, new CsvEntryForQuotedClones(Integer.parseInt(data[0]),
-                                                 clonesQuota,
-                                                 Integer.parseInt(data[2]),
-                                                 Integer.parseInt(data[3])));
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+    private void readQuotedCsvData(HashMap<Integer, QuotedTable> w, int iter, String path) {
+        if (w.containsKey(iter)){
+            return;
         }
-    }    
-
-    /**
-     * Reads the quoted csv data for the given path 
-     * @param w csv data
-     * @param path path from which the file is read
-     */    
-    private void readQuotedMutationsCsvData(HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w, String path, boolean list) {
-        String  line = "";
-        String  a    = path.substring(path.indexOf("Iteration_") + 10, path.indexOf(File.separatorChar + DirName.subDirTechOutput));
-        int     iter = Integer.parseInt(a);
-        boolean skip = true;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
-            while ((line = br.readLine()) != null) {
-                if(skip) {
-                    skip = false;
-                    continue;
-                }
-                String[] data = line.split(Artifact.csvSeparator);
-                int[] quotedMutationsCount = new int[quotasCount];
-                String[] quotedMutationsList = new String[quotasCount];
-                for (int i = 0; i < quotasCount; i++){
-                    quotedMutationsCount[i] = Integer.parseInt(data[i+4]);   //+4 as the fifth column contains data for the quota id 0...
-                    if (list == true){
-                        quotedMutationsList[i] = new String(data[i+4+quotasCount]);
-                        if (quotedMutationsList[i].equals("."))
-                            quotedMutationsList[i] = "";                        
-                    }
-                }
-                addToWMap(w, iter, new CsvEntryForQuotedMutations(Integer.parseInt(data[0]),
-                                                 quotedMutationsCount,
-                                                 quotedMutationsList,
-                                                 Integer.parseInt(data[2]),
-                                                 Integer.parseInt(data[3])));
-            }
+        try {
+            QuotedTable table = QuotedTable.readFromCsv(path, iter, quotasCount);
+            if (table.getRows() > 0)
+                w.put(iter, table);
         } catch (IOException e) {
             e.printStackTrace();
         }
-    }        
-
-    /**
-     * Add entry to map
-     * @param w map
-     * @param iter iteration
-     * @param entry entry
-     */    
-    private void addToWMap(HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w, int iter, CsvEntryForQuotedClones entry) {
-        ArrayList<CsvEntryForQuotedClones> list = w.get(iter);
-        
-        if(list == null) {
-            list = new ArrayList<>();
-            list.add(entry);
-            w.put(iter, list);
-        } else {
-            list.add(entry);
-        }
-    }
-
-    /**
-     * Add entry to map
-     * @param w map
-     * @param iter iteration
-     * @param entry entry
-     */    
-    private void addToWMap(HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w, int iter, CsvEntryForQuotedMutations entry) {
-        ArrayList<CsvEntryForQuotedMutations> list = w.get(iter);
-        
-        if(list == null) {
-            list = new ArrayList<>();
-            list.add(entry);
-            w.put(iter, list);
-        } else {
-            list.add(entry);
-        }
-    }
+    }    
     
     /**
      * saves cross-iteration quoted data 
@@ -753,9 +547,9 @@ public class CrossIterationAnalysis {
      * @param w data
      * @throws IOException 
      */    
-    private void saveGluedQuotedClonesDataToFile(int quotaId, String name, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w) throws IOException {
+    private void saveGluedQuotedDataToFile(int quotaId, String name, HashMap<Integer, QuotedTable> w) throws IOException {
         
-        String quotedName = name + "_" + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));;
+        String quotedName = name + "_" + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));
         
         String fileName = getRepeatedDirGraphicsDataSources()
                         + java.io.File.separator
@@ -767,28 +561,7 @@ public class CrossIterationAnalysis {
         FileWriter fileWriter = new FileWriter(fileName);
         BufferedWriter bufferedWriter = new BufferedWriter(fileWriter, Constant.fileBufferSize);
         
-        putGluedQuotedClonesDataToCreatedFile(quotaId, bufferedWriter, w);        
-        bufferedWriter.flush();
-        bufferedWriter.close(); 
-        
-        StaticConsoleLogger.logRSA(Activity.rsaFinishedCSV + quotedName);
-    }
-    
-    private void saveGluedQuotedMutationsDataToFile(int quotaId, String name, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w) throws IOException {
-        
-        String quotedName = name + "_" + String.format("%.2f", analytics.getQuotaTresholdById(quotaId));;
-        
-        String fileName = getRepeatedDirGraphicsDataSources()
-                        + java.io.File.separator
-                        + quotedName
-                        + Extension.dotCsv;
-        
-        StaticConsoleLogger.logRSA(Activity.rsaStartCSV + quotedName);
-        
-        FileWriter fileWriter = new FileWriter(fileName);
-        BufferedWriter bufferedWriter = new BufferedWriter(fileWriter, Constant.fileBufferSize);
-        
-        putGluedQuotedMutationsDataToCreatedFile(quotaId, bufferedWriter, w);        
+        putGluedQuotedDataToCreatedFile(quotaId, bufferedWriter, w);        
         bufferedWriter.flush();
         bufferedWriter.close(); 
         
@@ -796,43 +569,28 @@ public class CrossIterationAnalysis {
     }
     
     /**
-     * Convers HasMap data to file content
+     * Convers quoted data to file content
      * @param bufferedWriter file to write into
      * @param w data to write
      * @throws IOException 
      */    
-    private void putGluedQuotedClonesDataToCreatedFile(int quotaId, BufferedWriter bufferedWriter, HashMap<Integer, ArrayList<CsvEntryForQuotedClones>> w) throws IOException {
+    private void putGluedQuotedDataToCreatedFile(int quotaId, BufferedWriter bufferedWriter, HashMap<Integer, QuotedTable> w) throws IOException {
         addHeaderToCreatedFile(bufferedWriter);
         
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedClones>> e : w.entrySet()) {
-            ArrayList<CsvEntryForQuotedClones> entries = e.getValue();
-            
-            for(CsvEntryForQuotedClones en : entries) {
-                bufferedWriter.write(String.format("%d;%d;%d;%d", en.getPopSize(), en.getClonesPerQuotaId(quotaId), en.getIteration(), en.getCycle()));
+        for (QuotedTable table : w.values()) {
+            for (int row = 0; row < table.getRows(); row++) {
+                bufferedWriter.write(String.valueOf(table.getPopSize(row)));
+                bufferedWriter.write(Artifact.csvSeparator);
+                bufferedWriter.write(String.valueOf(table.getCount(quotaId, row)));
+                bufferedWriter.write(Artifact.csvSeparator);
+                bufferedWriter.write(String.valueOf(table.getIteration()));
+                bufferedWriter.write(Artifact.csvSeparator);
+                bufferedWriter.write(String.valueOf(table.getCycle(row)));
                 bufferedWriter.write(Artifact.outCSVeol);
             }
         }
     }
     
-    /**
-     * Convers HasMap data to file content
-     * @param bufferedWriter file to write into
-     * @param w data to write
-     * @throws IOException 
-     */    
-    private void putGluedQuotedMutationsDataToCreatedFile(int quotaId, BufferedWriter bufferedWriter, HashMap<Integer, ArrayList<CsvEntryForQuotedMutations>> w) throws IOException {
-        addHeaderToCreatedFile(bufferedWriter);
-        
-        for (Map.Entry<Integer, ArrayList<CsvEntryForQuotedMutations>> e : w.entrySet()) {
-            ArrayList<CsvEntryForQuotedMutations> entries = e.getValue();
-            
-            for(CsvEntryForQuotedMutations en : entries) {
-                bufferedWriter.write(String.format("%d;%d;%d;%d", en.getPopSize(), en.getMutationCountPerQuotaId(quotaId), en.getIteration(), en.getCycle()));
-                bufferedWriter.write(Artifact.outCSVeol);
-            }
-        }
-    }    
-    
     /**
      * Add header to created file
      * @param bufferedWriter file to wrtie into
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+package clostrue.crossIterationAnalysis;
+
+import clostrue.hardcodes.LogText;
+import clostrue.hardcodes.file.Artifact;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Quoted clones or quoted mutations of one iteration, the content
+ * of the quoted csv file from Tech Output folder, held in primitive columns.
+ *
+ * One row per cycle: population size, count of the cell groups, cycle
+ * and the count of clones (or mutations) having the quota, per quota id.
+ * The table is handed over by the iteration to the cross-iteration analysis
+ * in memory, or read from the csv file when the iteration was not
+ * post processed in the current program run (e.g. resumed run).
+ *
+ * @author Krzysztof Szymiczek
+ */
+
+public class QuotedTable {
+
+    private static final int    firstQuotaColumn    = 4;    //the fifth column contains data for the quota id 0
+    private static final int    initialRows         = 64;
+    private static final byte   columnSeparator     = (byte) Artifact.csvColumnSeparator.charAt(0);
+
+    private final int           iteration;
+    private final int           quotasCount;
+    private int                 rows;
+    private int[]               popSize;            //population size per row
+    private int[]               groupsCount;        //count of cell groups per row
+    private int[]               cycle;              //cycle per row
+    private int[][]             countPerQuotaId;    //[quota id][row] count of clones or mutations having the quota
+
+    /**
+     * Default constructor
+     * @param inIteration   iteration of the table
+     * @param inQuotasCount count of quotas
+     */
+    public QuotedTable(int inIteration, int inQuotasCount) {
+        iteration       = inIteration;
+        quotasCount     = inQuotasCount;
+        rows            = 0;
+        popSize         = new int[initialRows];
+        groupsCount     = new int[initialRows];
+        cycle           = new int[initialRows];
+        countPerQuotaId = new int[quotasCount][initialRows];
+    }
+
+    /**
+     * Adds the row, the counts per quota are set to 0
+     * @param inPopSize     population size
+     * @param inGroupsCount count of cell groups
+     * @param inCycle       cycle
+     * @return index of the added row
+     */
+    public int addRow(int inPopSize, int inGroupsCount, int inCycle){
+        if (rows == popSize.length){
+            int capacity = rows * 2;
+            popSize     = Arrays.copyOf(popSize, capacity);
+            groupsCount = Arrays.copyOf(groupsCount, capacity);
+            cycle       = Arrays.copyOf(cycle, capacity);
+            for (int i = 0; i < quotasCount; i++){
+                countPerQuotaId[i] = Arrays.copyOf(countPerQuotaId[i], capacity);
+            }
+        }
+        popSize[rows]       = inPopSize;
+        groupsCount[rows]   = inGroupsCount;
+        cycle[rows]         = inCycle;
+        return rows++;
+    }
+
+    public void setCount(int quotaId, int row, int count){
+        countPerQuotaId[quotaId][row] = count;
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getPopSize(int row) {
+        return popSize[row];
+    }
+
+    public int getGroupsCount(int row) {
+        return groupsCount[row];
+    }
+
+    public int getCycle(int row) {
+        return cycle[row];
+    }
+
+    public int getCount(int quotaId, int row) {
+        return countPerQuotaId[quotaId][row];
+    }
+
+    /**
+     * Reads the table from the quoted csv file. The file is read at once
+     * and the numbers are parsed directly from the bytes, without creating
+     * strings for the lines and the fields. The header line is skipped,
+     * the columns after the counts per quota (mutation lists) are ignored.
+     * @param path          path of the csv file
+     * @param inIteration   iteration of the table
+     * @param inQuotasCount count of quotas
+     * @return table read from the file
+     * @throws IOException when the file can not be read or a line has
+     *                     less columns than the cycle column
+     */
+    public static QuotedTable readFromCsv(String path, int inIteration, int inQuotasCount) throws IOException {
+
+        byte[] content = Files.readAllBytes(Paths.get(path));
+        QuotedTable table = new QuotedTable(inIteration, inQuotasCount);
+        int lastQuotaColumn = firstQuotaColumn + inQuotasCount - 1;
+
+        int pos = skipLine(content, 0);
+        int line = 2;
+        while (pos < content.length){
+            if (content[pos] == '\r' || content[pos] == '\n'){
+                if (content[pos] == '\n'){
+                    line++;
+                }
+                pos++;
+                continue;
+            }
+            int row = -1;
+            int column = 0;
+            int rowPopSize = 0;
+            int rowGroupsCount = 0;
+            while (pos < content.length && content[pos] != '\r' && content[pos] != '\n'){
+                if (column <= lastQuotaColumn){
+                    int value = 0;
+                    boolean negative = (content[pos] == '-');
+                    if (negative){
+                        pos++;
+                    }
+                    while (pos < content.length && content[pos] >= '0' && content[pos] <= '9'){
+                        value = value * 10 + (content[pos] - '0');
+                        pos++;
+                    }
+                    if (negative){
+                        value = -value;
+                    }
+                    if (column == 0){
+                        rowPopSize = value;
+                    } else if (column == 1){
+                        rowGroupsCount = value;
+                    } else if (column == 3){
+                        row = table.addRow(rowPopSize, rowGroupsCount, value);
+                    } else if (column >= firstQuotaColumn){
+                        table.setCount(column - firstQuotaColumn, row, value);
+                    }
+                }
+                while (pos < content.length && content[pos] != columnSeparator
+                        && content[pos] != '\r' && content[pos] != '\n'){
+                    pos++;
+                }
+                if (pos < content.length && content[pos] == columnSeparator){
+                    pos++;
+                    column++;
+                }
+            }
+            if (row < 0){
+                throw new IOException(LogText.quotedTableTooFewColumns + path + LogText.quotedTableLine + line);
+            }
+        }
+        return table;
+    }
+
+    private static int skipLine(byte[] content, int pos){
+        while (pos < content.length && content[pos] != '\n'){
+            pos++;
+        }
+        return pos + 1;
+    }
+
+}
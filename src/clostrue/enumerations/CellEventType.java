@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.enumerations;
+
+/**
+ * Enumerates the cell events recorded in the binary cell event trace.
+ * The code of the event is stored in the trace record, code 0 is reserved
+ * for the unused (not yet written) part of the trace file
+ * @author Krzysztof Szymiczek
+ */
+public enum CellEventType {
+    
+    /**
+     * Cell is present when the trace starts (initial population,
+     * or the population of branch / resumed simulation)
+     */
+    Creation(1),
+    
+    /**
+     * Cell divides with no mutation (identical clone)
+     */
+    CloneDivision(2),
+    
+    /**
+     * Cell divides and the child gets a driver mutation
+     */
+    DriverMutation(3),
+    
+    /**
+     * Cell divides and the child gets a passenger mutation
+     */
+    PassengerMutation(4),
+    
+    /**
+     * Cell dies
+     */
+    Death(5);
+    
+    private final int code;     //code stored in the trace record
+    
+    CellEventType(int code){
+        this.code = code;
+    }
+
+    /**
+     * Returns the code stored in the trace record
+     * @return event code
+     */
+    public int getCode() {
+        return code;
+    }
+    
+    /**
+     * Returns the event type of the code stored in the trace record
+     * @param code event code
+     * @return event type or null for unknown code
+     */
+    public static CellEventType fromCode(int code){
+        for (CellEventType type : values()){
+            if (type.code == code){
+                return type;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Tells if the event creates a new cell from a parent cell
+     * @return true for divisions
+     */
+    public boolean isDivision(){
+        return this == CloneDivision || this == DriverMutation || this == PassengerMutation;
+    }
+    
+}
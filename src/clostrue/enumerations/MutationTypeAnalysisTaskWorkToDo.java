@@ -24,14 +24,6 @@ package clostrue.enumerations;
  */
 public enum MutationTypeAnalysisTaskWorkToDo {
     
-    mtaCclikSurvivorsPassengerLocus,     
-    mtaCclikSurvivorsDriverLocus,     
-    mtaCclikSurvivorsPassengerGene,     
-    mtaCclikSurvivorsDriverGene,     
-    mtaCclikShadowPassengerLocus,     
-    mtaCclikShadowDriverLocus,     
-    mtaCclikShadowPassengerGene,     
-    mtaCclikShadowDriverGene,
     mtaAtaSurvivorsDriverLocus,
     mtaAtaShadowDriverLocus,
     mtaAtaSurvivorsPassengerLocus,
@@ -26,7 +26,6 @@ public class Activity {
     //  steps
     public static final String garbageCollection                 = "GARBAGE COLLECTION";
     public static final String ParallelPlotterFinish             = " - - - - Ammount of Tasks to finish by Parallel Plotter: ";
-    public static final String parallelMtaStep1Finish            = " - - - - Ammount of Tasks to finish Mutation Type Analysis Step1: ";
     public static final String parallelSaFinish                  = " - - - Ammount of Tasks to finish Survivors Analysis: ";
     public static final String parallelMtaStep2Finish            = " - - - - Ammount of Tasks to finish Mutation Type Analysis Step2: ";
     public static final String parallelMtaQuotedDrivers          = " - - - - Ammount of Tasks to finish Quoted Drivers Analaysis: ";
@@ -34,6 +33,13 @@ public class Activity {
     public static final String fileDumpingMtaQuotedDrivers       = " - - - - Saving File for Quoted Drivers Analaysis ";
     public static final String fileDumpingMtaQuotedPassengers    = " - - - - Saving File for Quoted Passengers Analaysis ";
     public static final String programRun                        = "PROGRAM RUN";
+    public static final String sweepRun                          = "PARAMETER SWEEP";
+    public static final String sweepPoint                        = " - Sweep Point: ";
+    public static final String checkpointSave                    = " - - Checkpoint Save in Cycle: ";
+    public static final String checkpointRestore                 = " - Checkpoint Restore of Cycle: ";
+    public static final String branchRun                         = "BRANCHED RUN";
+    public static final String branchFork                        = " - - Fork Snapshot in Cycle: ";
+    public static final String branchStart                       = " - Branch Start from Cycle: ";
     public static final String preparingTasks                    = "PREPARING TASKS";
     public static final String createTaskID                      = " - CREATE TASK ID: ";  
     public static final String createLocalSimModelCopy           = " - - CREATE LOCAL SIMULATION MODEL COPY FOR TASK";
@@ -46,6 +52,8 @@ public class Activity {
     public static final String moveCellsToStatistics             = " - - Move Cells To Statistics";
     public static final String copyMem                           = " - Memory Copy Cells";
     public static final String postProcessing                    = " - Postprocessing";
+    public static final String pipelineOverlap                   = " - Next Iteration Overlapped With Postprocessing";
+    public static final String pipelineSerial                    = " - Next Iteration Waits For Postprocessing";
     public static final String analyzeClones                     = " - Analyze Clones";
     public static final String removeShadowPredecessors          = " - Remove Shadow Predecessors from clones";
     public static final String removeShadowPredecessorsInternal  = " - Remove Shadow Predecessors from internal clones";
@@ -67,18 +75,6 @@ public class Activity {
     public static final String createSubsetsPercent              = " - - - Create subsets: Finished %: ";
     public static final String exportSubsets                     = " - - Export subsets";
     public static final String mutationTypeAnalysis              = " - - Mutation Type Analysis";
- 
-    public static final String mtaCclikSurvivorsPassengerLocus   = " - - - - Correction: Survivors Passenger Locus";     
-    public static final String mtaCclikSurvivorsDriverLocus      = " - - - - Correction: Survivors Driver Locus";     
-    public static final String mtaCclikSurvivorsPassengerGene    = " - - - - Correction: Survivors Passenger Gene";     
-    public static final String mtaCclikSurvivorsDriverGene       = " - - - - Correction: Survivors Driver Gene";     
-    public static final String mtaCclikShadowPassengerLocus      = " - - - - Correction: Shadow Passenger Locus";     
-    public static final String mtaCclikShadowDriverLocus         = " - - - - Correction: Shadow Driver Locus";     
-    public static final String mtaCclikShadowPassengerGene       = " - - - - Correction: Shadow Passenger Gene";     
-    public static final String mtaCclikShadowDriverGene          = " - - - - Correction: Shadow Driver Gene";     
-
-    public static final String saCorEqualSurvivorsDriverPart    = " - - - Correction: Equal Survivor Drivers";
-    public static final String saCorEqualSurvivorsPassengerPart = " - - - Correction: Equal Survivor Passengers";
     
     public static final String saCreateSurvivorsFileForIdenticalDriverGenome    = " - - - Analysis: Equal Survivors Driver Genome";
     public static final String saCreateSurvivorsFileForIdenticalPassengerGenome = " - - - Analysis: Equal Survivors Passenger Genome";
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.hardcodes;
+
+/**
+ * Branched simulation definition file - names of the settings
+ * @author Krzysztof Szymiczek
+ */
+public class BranchParam {
+    
+    public static final String baseSettings         = "baseSettings";   //settings file of the trunk simulation
+    public static final String branchWorkDir        = "branchWorkDir";  //output directory of the branched run
+    public static final String forkAtCycle          = "forkAtCycle";    //cycle at which the trunk is forked
+    public static final String branches             = "branches";       //count of branches
+    public static final String parallelBranches     = "parallelBranches";//branches executed at once
+    public static final String branchParamPrefix    = "branch.";        //prefix of the branch setting, e.g. branch.2.inMutationRate
+    public static final String branchParamSeparator = ".";              //separator of branch number and setting name
+    
+    public static final String defaultBranches      = "2";
+    public static final int    trunkIteration       = 0;                //trunk is simulated as iteration 0
+    
+}
@@ -42,6 +42,14 @@ public class Constant {
     public static final int cFullProgress1                          = 100;
     public static final int c99Progress                             = cFullProgress1 - 1;
     public static final String outDateFormatForFileNames            = "yyyy-MM-dd_HHmmss";
+    public static final double pipelineFootprintFactor              = 2.5;       //finished iteration + its memory copy + next iteration
+    public static final long   bytesPerMByte                        = 1048576;
+    public static final double nanosPerMilli                        = 1000000.0;
+    public static final long   seedIterationStride                  = 1000003;   //prime, separates seeds of iterations
+    public static final int    checkpointMagic                      = 0x434C5354;//"CLST"
+    public static final int    checkpointVersion                    = 2;
+    public static final String argResume                            = "--resume";
+    public static final int    metricsCsvTimerColumns               = 7;         //timer columns after the count column of the metrics CSV
     
 //      settings file related constants    
     public static final String settingFileHeadeLine                 = "TGS Application Settings";
@@ -67,6 +75,22 @@ public class Constant {
     public static final String cycleTaskCellPattern                 = "Cycle: %-6s Task: %-4s Cell: %-6s ";
     public static final String cycleTaskPattern                     = "Cycle: %-6s Task: %-4s            ";
     public static final String cyclePattern                         = "Cycle: %-6s ";        
+    public static final int    messageOrderWidth                    = 8;         //widths of the fields of the patterns above
+    public static final int    cycleWidth                           = 6;
+    public static final int    taskWidth                            = 4;
+    public static final int    cellWidth                            = 6;
+    public static final int    logRingBufferSize                    = 65536;     //log events buffered for the background formatting, power of 2
+    public static final long   logRingBufferParkNanos               = 100000;    //wait of the logging thread when the buffer is full and of the drain
+    public static final int    logRingBufferSpins                   = 100;       //checks of the idle logger thread before it parks
+    public static final String logRingBufferThreadName              = "CloStruE Console Logger";
+    public static final int    traceMagic                           = 0x43455654;//"CEVT" - first int of the cell event trace file
+    public static final int    traceVersion                         = 1;         //version of the cell event trace record layout
+    public static final int    traceHeaderBytes                     = 16;        //magic, version, task, record size
+    public static final int    traceRecordInts                      = 8;         //type, cycle, task, cell, parent, genome, parent genome, reserved
+    public static final int    traceRecordBytes                     = traceRecordInts * Integer.BYTES;
+    public static final int    traceMapChunkBytes                   = 4 * 1024 * 1024; //size of the memory mapped region of the trace file
+    public static final int    graphRasterTileSize                  = 256;       //tile edge (pixels) of the parallel graph rasterizer
+    public static final int    pngIdatChunkBytes                    = 65536;     //max size of the image data chunk of the streamed PNG
     public static final String runPathName                          = "Run_";
         
     public static final String getTeWorkDir(){
@@ -37,6 +37,14 @@ public class DefConf {
     public static final String cbPrepareClones = Constant.techStringTrue;
     public static final String teCloneMinLifespan = "3";
     public static final String teCellListerCutOff = "20";
+    public static final String cbTePipelineIterations = Constant.techStringTrue;
+    public static final String tePipelineMemoryBudgetMB = "0";     //0 -> whole heap available for the JVM
+    public static final String teEnsembleSize = "1";               //iterations simulated in parallel
+    public static final String teRandomSeed = "0";                 //0 -> not seeded, every run differs
+    public static final String teCheckpointEveryCycles = "0";      //0 -> no checkpoints
+    public static final String cbTeCollectMetrics = Constant.techStringTrue;   //phase timers and counters per iteration
+    public static final String cbTeDebugLog = Constant.techStringFalse;        //per cell and per task log (asynchronous)
+    public static final String cbTeCellTrace = Constant.techStringFalse;       //binary trace of cell events for offline replay
 
     //      output files related settings
     public static final String cbPrepareCells = Constant.techStringTrue;
@@ -31,5 +31,12 @@ public class DirName {
     public static final String subDirCellFiles = "Cell Files";
     public static final String subDirTextAnalytics = "Text Analytics";
     public static final String subDirTechOutput = "Tech Output";
+    public static final String subDirSweep = "Sweep";
+    public static final String subDirCheckpoint = "Checkpoint";
+    public static final String subDirSweepPointPrefix = "Point_";
+    public static final String subDirBranch = "Branch";
+    public static final String subDirBranchTrunk = "Trunk";
+    public static final String subDirBranches = "Branches";
+    public static final String subDirCellTrace = "Cell Event Trace";
 
 }
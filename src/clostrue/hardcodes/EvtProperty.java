@@ -34,6 +34,7 @@ public class EvtProperty {
 // controlling application flow    
     public static final String epTriggerCreateGEXF          = "epTriggerCreateGEXF";
     public static final String epFinishCurrentIteration     = "epFinishCurrentIteration";
+    public static final String epForkReached                = "epForkReached";
     
 }
 // Change Tracking Block                                                    //
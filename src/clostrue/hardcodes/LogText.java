@@ -50,7 +50,6 @@ public class LogText {
     public static final String finishedCurrentCycle = "finished current cycle.";
     public static final String diesInAgeOf = "DIES in age of: ";
     public static final String startedCurrentCycle = "started current cycle.";
-    public static final String messageOrder = "MSG-ORDER: %-8s ";
     public static final String hasEmptyPopulation = "has empty population.";
     public static final String nothingToProcess = "has no cells to process.";
     public static final String writtenToCsv = "written to CSV";
@@ -58,5 +57,16 @@ public class LogText {
     public static final String notYetProcessedTasks = "                        Not yet processed tasks amount: ";
     public static final String addedToHistogram = "added to histogram";
     public static final String willWriteToCsv = "will write to CSV";
+    public static final String checkpointNotRecognized = "Not a simulation checkpoint file: ";
+    public static final String checkpointTasksMismatch = "Checkpoint simulation tasks count differs from settings: ";
+    public static final String branchNotForked = "Trunk simulation finished before the fork cycle, no branches started: ";
+    public static final String quotedTableTooFewColumns = "Quoted table line without the cycle column in file: ";
+    public static final String quotedTableLine = ", line: ";
+    public static final String messageOrderLabel = "MSG-ORDER: ";   //message ID prefix, the ID is padded to Constant.messageOrderWidth
+    public static final String cycleLabel = "Cycle: ";              //for the asynchronous logger, which does not use String.format
+    public static final String taskLabel = " Task: ";
+    public static final String cellLabel = " Cell: ";
+    public static final String noCellFill = "            ";
+    public static final String traceInvalidFile = "Not a cell event trace file: ";
     
 }
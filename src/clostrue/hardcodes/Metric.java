@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.hardcodes;
+
+/**
+ * Iteration metrics - names of the counters and of the exported fields
+ * @author Krzysztof Szymiczek
+ */
+public class Metric {
+
+    //counters
+    public static final String cellsSimulated   = "cellsSimulated";     //cells processed by the life-tick, summed over cycles
+    public static final String genomesCreated   = "genomesCreated";     //genomes created by the iteration (shared ones excluded)
+    public static final String bytesWritten     = "bytesWritten";       //bytes written to cell files
+    public static final String cycles           = "cycles";             //simulated cycles
+
+    //phases
+    public static final String phasePreparingTasks  = "Preparing Tasks";    //creation of the calculation tasks
+    public static final String phaseSimulation      = "Simulation";         //simulated cycles, from the tasks start to the last barrier
+    public static final String phaseCopyMemory      = "Memory Copy Cells";  //import of the cells and clones to the analytics
+    public static final String phasePostprocessing  = "Postprocessing";     //whole postprocessing of the iteration
+    public static final String phaseGraph           = "Graph";              //population graph
+    public static final String phaseHistograms      = "Histograms";         //mutation histograms
+    public static final String phaseClones          = "Analyze Clones";     //clones and survivors analysis
+    public static final String phaseFishplot        = "Fishplot";           //fishplot
+    public static final String phasePlots           = "Plots";              //plots and their csv files
+    public static final String phaseCrossIteration  = "Cross Iteration Analysis"; //analysis over all iterations of the run
+
+    //kinds of the exported rows
+    public static final String kindPhase        = "phase";
+    public static final String kindCounter      = "counter";
+    public static final String kindJvm          = "jvm";
+    
+    //jvm figures
+    public static final String wallNanos        = "wallNanos";          //from the simulation creation to the export
+    public static final String gcCount          = "gcCount";            //collections of all collectors
+    public static final String gcTimeMillis     = "gcTimeMillis";       //time of all collectors
+    public static final String heapUsedBytes    = "heapUsedBytes";      //heap used at the export
+    public static final String heapMaxBytes     = "heapMaxBytes";       //max heap of the JVM
+    
+    //json keys
+    public static final String jsonIteration    = "iteration";
+    public static final String jsonPhases       = "phases";
+    public static final String jsonCounters     = "counters";
+    public static final String jsonJvm          = "jvm";
+    public static final String jsonName         = "name";
+    public static final String jsonCount        = "count";
+    public static final String jsonTotalNanos   = "totalNanos";
+    public static final String jsonMinNanos     = "minNanos";
+    public static final String jsonMaxNanos     = "maxNanos";
+    public static final String jsonCpuNanos     = "threadCpuNanos";
+    public static final String jsonAllocated    = "allocatedBytes";
+    
+}
@@ -61,4 +61,12 @@ public class Param {
     public static final String cbDriversSactter                 = "cbDriversSactter";
     public static final String cbPassengersScatter              = "cbPassengersScatter"; 
     public static final String teQuota                          = "teQuota";
+    public static final String cbTePipelineIterations           = "cbTePipelineIterations";
+    public static final String tePipelineMemoryBudgetMB         = "tePipelineMemoryBudgetMB";
+    public static final String teEnsembleSize                   = "teEnsembleSize";
+    public static final String teRandomSeed                     = "teRandomSeed";
+    public static final String teCheckpointEveryCycles          = "teCheckpointEveryCycles";
+    public static final String cbTeCollectMetrics               = "cbTeCollectMetrics";
+    public static final String cbTeDebugLog                     = "cbTeDebugLog";
+    public static final String cbTeCellTrace                    = "cbTeCellTrace";
 } 
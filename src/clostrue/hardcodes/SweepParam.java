@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.hardcodes;
+
+/**
+ * Parameter sweep definition file - names of the settings
+ * @author Krzysztof Szymiczek
+ */
+public class SweepParam {
+    
+    public static final String baseSettings         = "baseSettings";   //settings file used for not swept settings
+    public static final String sweepWorkDir         = "sweepWorkDir";   //output directory of the sweep
+    public static final String parallelRuns         = "parallelRuns";   //runs executed at once
+    public static final String seeds                = "seeds";          //random seeds, each point is run for each seed
+    public static final String sweptParamPrefix     = "param.";         //prefix of the swept setting, e.g. param.inMaxCells
+    public static final String listSeparator        = ",";              //separator of listed values
+    public static final String rangeSeparator       = ":";              //separator of range from:to:step
+    
+    public static final String defaultSeeds         = "1";
+    public static final String hashAlgorithm        = "SHA-256";
+    public static final int    dirKeyLength         = 16;               //key characters used in point directory name
+    
+}
@@ -30,5 +30,9 @@ public class Extension {
     public static final String dotPng   = ".PNG";
     public static final String png      = "PNG";
     public static final String dotLog   = ".LOG";
+    public static final String dotCkpt  = ".CKPT";
+    public static final String dotTmp   = ".TMP";
+    public static final String dotJson  = ".JSON";
+    public static final String dotTrc   = ".TRC";
 
 }
@@ -30,6 +30,7 @@ public class Header {
     public static final String driversPerCycleCSVFileHeader = "cycle;drivers_count";
     public static final String passengersPerCycleCSVFileHeader = "cycle;passanger_count";
     public static final String multiPopSizeCSVFileHeader = "population_size;value;iteration;cycle";
+    public static final String sweepIndexCSVFileHeader = "key;work_dir;swept_settings";
 
 
 
@@ -61,6 +61,16 @@ public class HeaderPart {
     public static final String rsaCsvCHMQClonesHeader = "ClonesHavingMinQuota_";
     public static final String headerMulti                                = "cycle";
     public static final String headerMultiSeparator                       = "iter_";
+    public static final String metricsFileHeadKind                        = "Kind";
+    public static final String metricsFileHeadName                        = "Name";
+    public static final String metricsFileHeadCount                       = "Count";
+    public static final String metricsFileHeadTotalNs                     = "Total ns";
+    public static final String metricsFileHeadMinNs                       = "Min ns";
+    public static final String metricsFileHeadMaxNs                       = "Max ns";
+    public static final String metricsFileHeadCpuNs                       = "Thread CPU ns";
+    public static final String metricsFileHeadAllocatedBytes              = "Allocated Bytes";
+    public static final String metricsFileHeadGcCount                     = "GC Count";
+    public static final String metricsFileHeadGcTimeMs                    = "GC Time ms";
 
 
 
@@ -29,6 +29,9 @@ public class Name {
     public static final String clonesSurvivorsSig = "Survivors Clones (Driver-Analysis) Significant";
     public static final String processingLog = "Processing";
     public static final String consoleLog = "General Console Log";
+    public static final String sweepIndex = "Sweep Index";
+    public static final String checkpoint = "Simulation Checkpoint";
+    public static final String consoleLogResumed = "General Console Log (Resumed)";
     public static final String driversPerPopSize = "Drivers Per Population Size";
     public static final String quotedClones = "Quoted Clones";
     public static final String quotedPassengers = "Quoted Passengers"; 
@@ -66,4 +69,6 @@ public class Name {
     public static final String rsaChartFileNamePassengersPerPopSize = "Passengers Per Pop Size";
     public static final String benchmarkSummaryFileName = "Benchmark Summar.csv";
     public static final String benchmarkKeyFiguresFileName = "Runtime Benchmark Key Figures.txt";
+    public static final String iterationMetrics = "Iteration Metrics";
+    public static final String cellTraceTaskPrefix = "task_";
 }
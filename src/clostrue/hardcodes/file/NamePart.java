@@ -45,5 +45,11 @@ public class NamePart {
     public static final String snPopulationSizeGainOverTime = "Population_Size_Gain_Over_Time";
     public static final String snCumulatedPassenger = "Time Serie - Occured Passenger Mutations";
     public static final String snMeanDutyCycleOverTime = "Mean_Duty_Cycle_Over_Time";
+    public static final String snCycleBreakdownOverTime = "Cycle_Time_Breakdown_Over_Time";
+    public static final String snMeanSaveCellsOverTime = "Mean_Save_Cells_Time_Over_Time";
+    public static final String snMeanLifeTickOverTime = "Mean_Life_Tick_Time_Over_Time";
+    public static final String snMeanBarrierWaitOverTime = "Mean_Barrier_Wait_Time_Over_Time";
+    public static final String snBarrierActionOverTime = "Barrier_Action_Time_Over_Time";
+    public static final String snLoadBalancingOverTime = "Load_Ballancing_Time_Over_Time";
     public static final String snHistogramShadowPassengerMutCount = "Shadow - Histogram of Passenger Mutation Count";
 }
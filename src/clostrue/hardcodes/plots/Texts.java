@@ -91,5 +91,13 @@ public class Texts {
     public static final String rsaChartYAxisClon = "Clones Count";
     public static final String rsaChartYAxispass = "Passenger Mutations";
     public static final String rsaChartPassengersTitle = "Passengers";
+    public static final String cycleBreakdownXAxis = "Simulation Cycles";
+    public static final String cycleBreakdownYAxis = "Time [ms]";
+    public static final String cycleBreakdownTitle = "Simulation Cycle Time Breakdown";
+    public static final String saveCellsTitle = "Calculation Tasks Mean Save Cells Time";
+    public static final String lifeTickTitle = "Calculation Tasks Mean Life-Tick Time";
+    public static final String barrierWaitTitle = "Calculation Tasks Mean Barrier Wait Time";
+    public static final String barrierActionTitle = "Barrier Action Time";
+    public static final String loadBalancingTitle = "Load Ballancing Time";
 
 }
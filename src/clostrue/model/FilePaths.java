@@ -40,7 +40,7 @@ public class FilePaths {
     Technical simulation parameters - file paths
     */
     
-    private static String runWorkDir        = "";
+    private String runWorkDir               = "";
     
     private String workDir                  = ""; 
     private String workDirTextAnalytics     = "";
@@ -49,18 +49,22 @@ public class FilePaths {
     private String workDirBenchmark         = "";
     private String workDirGraphicDataSource = ""; 
     private String workDirTechOutput        = ""; 
+    private String workDirCheckpoint        = ""; 
+    private String workDirCellTrace         = ""; 
        
     public FilePaths(Settings settings, Integer iteration) {
 
         SimpleDateFormat sdfDate    = new SimpleDateFormat(Constant.outDateFormatForFileNames);
         String strDate              = sdfDate.format(new Date());
         
-        if(iteration == 1) {
-            runWorkDir = settings.getStringValue(Param.teWorkDir)
+        //new run directory unless the run is resumed from checkpoint
+        if("".equals(settings.getRunWorkDir())) {
+            settings.setRunWorkDir(settings.getStringValue(Param.teWorkDir)
                           + java.io.File.separator
                           + Constant.runPathName
-                          + strDate;
+                          + strDate);
         }
+        runWorkDir = settings.getRunWorkDir();
         
         workDir 
                 = runWorkDir
@@ -76,6 +80,7 @@ public class FilePaths {
     }
 
     public FilePaths(FilePaths source){
+        runWorkDir                  = source.runWorkDir;
         workDir                     = source.workDir;
         workDirTextAnalytics        = source.workDirTextAnalytics;
         workDirCellFiles            = source.workDirCellFiles;
@@ -83,6 +88,8 @@ public class FilePaths {
         workDirBenchmark            = source.workDirBenchmark;
         workDirGraphicDataSource    = source.workDirGraphicDataSource;
         workDirTechOutput           = source.workDirTechOutput;   
+        workDirCheckpoint           = source.workDirCheckpoint;   
+        workDirCellTrace            = source.workDirCellTrace;   
     }
     
     synchronized public String getWorkDirTextAnalytics() {
@@ -157,11 +164,35 @@ public class FilePaths {
         return workDirGraphicDataSource;
     }
 
+    synchronized public String getWorkDirCheckpoint() {
+        if ("".equals(workDirCheckpoint)){
+            workDirCheckpoint = workDir + java.io.File.separator + DirName.subDirCheckpoint;         
+            try {
+                Files.createDirectories(Paths.get(workDirCheckpoint));
+            } catch (IOException ex) {
+                Logger.getLogger(FilePaths.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+        return workDirCheckpoint;
+    }
+
+    synchronized public String getWorkDirCellTrace() {
+        if ("".equals(workDirCellTrace)){
+            workDirCellTrace = workDir + java.io.File.separator + DirName.subDirCellTrace;         
+            try {
+                Files.createDirectories(Paths.get(workDirCellTrace));
+            } catch (IOException ex) {
+                Logger.getLogger(FilePaths.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+        return workDirCellTrace;
+    }
+
     public String getWorkDir() {
         return workDir;
     }        
 
-    public static String getRunWorkDir() {
+    public String getRunWorkDir() {
         return runWorkDir;
     }
 }
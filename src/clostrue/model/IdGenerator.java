@@ -0,0 +1,87 @@
+/* 
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *
+ */
+
+package clostrue.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Autonummeration services of a single simulation.
+ * 
+ * Each simulation has it's own generator, shared by all the copies
+ * of it's simulation model, so the simulations running in parallel
+ * (ensemble mode) create independent cell and clone group ID's
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class IdGenerator {
+    
+    private final AtomicInteger lastCellID;         //last created cell ID
+    private final AtomicInteger lastCloneGroupID;   //last created clone Group ID
+
+    /**
+     * Default constructor, numeration starts from zero
+     */
+    public IdGenerator() {
+        lastCellID          = new AtomicInteger(0);
+        lastCloneGroupID    = new AtomicInteger(0);
+    }
+    
+    /**
+     * Autonummeration method
+     * @return unique cell id for Cell constructor
+     */    
+    public int getNewCellID(){
+        return lastCellID.incrementAndGet();
+    }
+
+    /**
+     * Autonummeration method
+     * @return unique clone group id
+     */    
+    public short getNewCloneGroupID(){
+        return (short) lastCloneGroupID.incrementAndGet();
+    }
+
+    /**
+     * Returns the last created cell id
+     * @return last created cell id
+     */
+    public int getLastCellID() {
+        return lastCellID.get();
+    }
+
+    /**
+     * Returns the last created clone group id
+     * @return last created clone group id
+     */
+    public int getLastCloneGroupID() {
+        return lastCloneGroupID.get();
+    }
+
+    /**
+     * Continues the numeration from the values of simulation checkpoint
+     * @param inLastCellID last created cell id
+     * @param inLastCloneGroupID last created clone group id
+     */
+    public void restore(int inLastCellID, int inLastCloneGroupID) {
+        lastCellID.set(inLastCellID);
+        lastCloneGroupID.set(inLastCloneGroupID);
+    }
+    
+}
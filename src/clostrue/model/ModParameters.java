@@ -46,7 +46,7 @@ public class ModParameters {
     }
 
     public ModParameters(ModParameters source){
-        MAM                        = new MutationAdvModel(source.MAM);
+        MAM                        = source.MAM;       //read only after creation, shared by all copies
         initCellCountK             = source.initCellCountK;
         mutRate                    = source.mutRate;
         maxCycles                  = source.maxCycles;
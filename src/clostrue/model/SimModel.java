@@ -31,17 +31,20 @@ public class SimModel {
     ModParameters   modParams;
     TechParameters  techParams;
     FilePaths       filePaths;
+    IdGenerator     idGenerator;    //shared by all copies of the model of one simulation
 
     public SimModel(Settings settings, MutationAdvModel mutAdvModel, Integer iteration) {
         modParams   = new ModParameters(settings, mutAdvModel);
         techParams  = new TechParameters(settings);
         filePaths   = new FilePaths(settings, iteration);
+        idGenerator = new IdGenerator();
     }
     
     public SimModel(int iteration, SimModel source){
         modParams   = new ModParameters(source.modParams);
         techParams  = new TechParameters(source.techParams);
         filePaths   = new FilePaths(source.filePaths);
+        idGenerator = source.idGenerator;
     }
 
     public ModParameters getModParams() {
@@ -56,4 +59,8 @@ public class SimModel {
         return filePaths;
     }
 
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
 }
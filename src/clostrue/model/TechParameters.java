@@ -20,6 +20,7 @@ package clostrue.model;
 
 import clostrue.Settings;
 import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DefConf;
 import clostrue.hardcodes.Param;
 
 
@@ -32,13 +33,23 @@ public class TechParameters {
     private final int       simTasksCount;                      //the amount of parallel tasks for simulation
     private final int       procTasksCount;                     //the amount of parallel tasks for processing
     private final int       maxRowsPerFile;                     //Max rows per single file   
+    private final int       ensembleSize;                       //the amount of simulations running in parallel
+    private final long      randomSeed;                         //seed of random generators, 0 -> not seeded
     
     public TechParameters(Settings settings) {
    
         maxRowsPerFile                      = Constant.maxRowsPerCellFile;
+        randomSeed                          = Long.parseLong(settings.getStringValue(Param.teRandomSeed, DefConf.teRandomSeed));
         
+        if (settings.getIntValue(Param.teEnsembleSize, DefConf.teEnsembleSize) > 0) {
+            this.ensembleSize = settings.getIntValue(Param.teEnsembleSize, DefConf.teEnsembleSize);
+        } else {
+            this.ensembleSize = 1;
+        }
+        
+        //in ensemble mode the simulation tasks are split between parallel simulations
         if (settings.getIntValue(Param.teParallelSimTasksCount) > 0) {
-            this.simTasksCount = settings.getIntValue(Param.teParallelSimTasksCount);
+            this.simTasksCount = Math.max(1, settings.getIntValue(Param.teParallelSimTasksCount) / ensembleSize);
         } else {
             this.simTasksCount = 1;
         }
@@ -56,6 +67,8 @@ public class TechParameters {
         simTasksCount                       = source.simTasksCount;
         procTasksCount                      = source.procTasksCount;
         maxRowsPerFile                      = source.maxRowsPerFile;
+        ensembleSize                        = source.ensembleSize;
+        randomSeed                          = source.randomSeed;
                 
     }
 
@@ -71,4 +84,12 @@ public class TechParameters {
         return maxRowsPerFile;
     }
 
+    public int getEnsembleSize() {
+        return ensembleSize;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
 }
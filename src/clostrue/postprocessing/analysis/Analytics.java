@@ -22,35 +22,31 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import clostrue.biology.cell.Cell;
 import clostrue.biology.genome.GenomePart;
+import clostrue.biology.genome.ResolvedGenomePart;
 import clostrue.model.SimModel;
 import clostrue.Simulation;
 import clostrue.collections.CellCollection;
 import clostrue.collections.GenomeSynchronizedCollection;
-import clostrue.enumerations.MutationType;
 import clostrue.hardcodes.Activity;
 import clostrue.hardcodes.Constant;
-import clostrue.hardcodes.ModelParam;
 import clostrue.hardcodes.file.Artifact;
 import clostrue.hardcodes.file.Extension;
 import clostrue.hardcodes.Param;
 import clostrue.hardcodes.file.Name;
-import clostrue.collections.CellCollectionWithHolderData;
 import clostrue.collections.CellIndexHolder;
+import clostrue.collections.IntCellSetMap;
 import clostrue.collections.GenomeCollection;
+import clostrue.collections.ResolvedGenomePartCache;
+import clostrue.crossIterationAnalysis.QuotedTable;
 import clostrue.postprocessing.analysis.mutationtType.MutationTypeAnalysis;
 import clostrue.postprocessing.analysis.genealogy.GenealogyAnalysis;
 import clostrue.toolbox.StaticConsoleLogger;
 import java.io.BufferedWriter;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map.Entry;
-import java.util.Set;
 
 /**
  * Adds various analytic capabilities to the application (Mutation Type Analysis)
@@ -67,8 +63,12 @@ public class Analytics {
     int maxPassengerTagId;
 
     GenomeCollection genomes;
+    ResolvedGenomePartCache resolvedParts;
     CellCollection cellCollection;
     HashMap<GenomePart, CellIndexHolder> internalClones;
+    QuotedTable quotedClones;           //quoted clones handed over to cross-iteration analysis
+    QuotedTable quotedDrivers;          //quoted drivers handed over to cross-iteration analysis
+    QuotedTable quotedPassengers;       //quoted passengers handed over to cross-iteration analysis
 
     private final double[] quotaTreshold;
     private final HashMap<Integer, HashMap<GenomePart, CellIndexHolder>>    equalShadowDriverPart; 
@@ -76,14 +76,14 @@ public class Analytics {
     private final HashMap<Integer, HashMap<GenomePart, CellIndexHolder>>    equalSurvivorsDriverPart;
     private final HashMap<Integer, HashMap<GenomePart, CellIndexHolder>>    equalSurvivorsPassengerPart; 
 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSinglePassengerLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSingleDriverLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSinglePassengerGene; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSingleDriverGene;        
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSinglePassengerLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSingleDriverLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSinglePassengerGene; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSingleDriverGene;   
+    public final IntCellSetMap[]        equalSurvivorsSinglePassengerLocus; 
+    public final IntCellSetMap[]        equalSurvivorsSingleDriverLocus; 
+    public final IntCellSetMap[]        equalSurvivorsSinglePassengerGene; 
+    public final IntCellSetMap[]        equalSurvivorsSingleDriverGene;        
+    public final IntCellSetMap[]        equalShadowSinglePassengerLocus; 
+    public final IntCellSetMap[]        equalShadowSingleDriverLocus; 
+    public final IntCellSetMap[]        equalShadowSinglePassengerGene; 
+    public final IntCellSetMap[]        equalShadowSingleDriverGene;   
 
     public double[] getQuotaTreshold() {
         return quotaTreshold;
@@ -132,10 +132,10 @@ public class Analytics {
         equalSurvivorsDriverPart    = new HashMap<> ();   
         equalSurvivorsPassengerPart = new HashMap<> ();         
 
-        equalSurvivorsSinglePassengerGene   = new ConcurrentHashMap[maxPassengerTagId + 1];
-        equalSurvivorsSingleDriverGene      = new ConcurrentHashMap[maxDriverTagId + 1];
-        equalShadowSinglePassengerGene      = new ConcurrentHashMap[maxPassengerTagId + 1];
-        equalShadowSingleDriverGene         = new ConcurrentHashMap[maxDriverTagId + 1];
+        equalSurvivorsSinglePassengerGene   = new IntCellSetMap[maxPassengerTagId + 1];
+        equalSurvivorsSingleDriverGene      = new IntCellSetMap[maxDriverTagId + 1];
+        equalShadowSinglePassengerGene      = new IntCellSetMap[maxPassengerTagId + 1];
+        equalShadowSingleDriverGene         = new IntCellSetMap[maxDriverTagId + 1];
 
         initializeChmTable(equalSurvivorsSinglePassengerGene); 
         initializeChmTable(equalSurvivorsSingleDriverGene);        
@@ -143,19 +143,19 @@ public class Analytics {
         initializeChmTable(equalShadowSingleDriverGene);         
         
         if (Constant.heavyLocusAnalysis){
-            equalSurvivorsSinglePassengerLocus      = new ConcurrentHashMap[maxPassengerTagId + 1];
-            equalSurvivorsSingleDriverLocus         = new ConcurrentHashMap[maxDriverTagId + 1];   
-            equalShadowSinglePassengerLocus         = new ConcurrentHashMap[maxPassengerTagId + 1];
-            equalShadowSingleDriverLocus            = new ConcurrentHashMap[maxDriverTagId + 1];
+            equalSurvivorsSinglePassengerLocus      = new IntCellSetMap[maxPassengerTagId + 1];
+            equalSurvivorsSingleDriverLocus         = new IntCellSetMap[maxDriverTagId + 1];   
+            equalShadowSinglePassengerLocus         = new IntCellSetMap[maxPassengerTagId + 1];
+            equalShadowSingleDriverLocus            = new IntCellSetMap[maxDriverTagId + 1];
             initializeChmTable(equalSurvivorsSinglePassengerLocus); 
             initializeChmTable(equalSurvivorsSingleDriverLocus); 
             initializeChmTable(equalShadowSinglePassengerLocus); 
             initializeChmTable(equalShadowSingleDriverLocus); 
         } else {
-            equalSurvivorsSinglePassengerLocus      = new ConcurrentHashMap[0];
-            equalSurvivorsSingleDriverLocus         = new ConcurrentHashMap[0];   
-            equalShadowSinglePassengerLocus         = new ConcurrentHashMap[0];
-            equalShadowSingleDriverLocus            = new ConcurrentHashMap[0];            
+            equalSurvivorsSinglePassengerLocus      = new IntCellSetMap[0];
+            equalSurvivorsSingleDriverLocus         = new IntCellSetMap[0];   
+            equalShadowSinglePassengerLocus         = new IntCellSetMap[0];
+            equalShadowSingleDriverLocus            = new IntCellSetMap[0];            
         }
         
         quotaTreshold               = new double[sim.getSettings().getIntValue(Param.teQuota)+1];
@@ -164,9 +164,9 @@ public class Analytics {
         
     }
 
-    private static void initializeChmTable( ConcurrentHashMap[] chmTable){
+    private static void initializeChmTable( IntCellSetMap[] chmTable){
         for (int i = 0; i < chmTable.length; i++){
-            chmTable[i] = new ConcurrentHashMap<Integer, CellIndexHolder>();
+            chmTable[i] = new IntCellSetMap();
         }
     }
     
@@ -176,6 +176,7 @@ public class Analytics {
     
     public void importGenomeCollection(GenomeSynchronizedCollection sc){
         genomes = new GenomeCollection(sc);
+        resolvedParts = new ResolvedGenomePartCache(genomes, model.getModParams().getMAM());
     }
     
     public void importCellCollection(CellCollection cc){
@@ -189,17 +190,37 @@ public class Analytics {
     public GenomeCollection getGenomes() {
         return genomes;
     }
+
+    public ResolvedGenomePartCache getResolvedParts() {
+        return resolvedParts;
+    }
+
+    public synchronized QuotedTable getQuotedClones() {
+        return quotedClones;
+    }
+
+    public synchronized void setQuotedClones(QuotedTable inQuotedClones) {
+        quotedClones = inQuotedClones;
+    }
+
+    public synchronized QuotedTable getQuotedDrivers() {
+        return quotedDrivers;
+    }
+
+    public synchronized void setQuotedDrivers(QuotedTable inQuotedDrivers) {
+        quotedDrivers = inQuotedDrivers;
+    }
+
+    public synchronized QuotedTable getQuotedPassengers() {
+        return quotedPassengers;
+    }
+
+    public synchronized void setQuotedPassengers(QuotedTable inQuotedPassengers) {
+        quotedPassengers = inQuotedPassengers;
+    }
     
     public void generateSurvivorsAnalyticFiles() throws IOException{
 
-        StaticConsoleLogger.logActivity(iteration, Activity.saCorEqualSurvivorsDriverPart, Activity.started);       
-        correctCellListGenomePartKeyed(equalSurvivorsDriverPart);
-        StaticConsoleLogger.logActivity(iteration, Activity.saCorEqualSurvivorsDriverPart, Activity.finished);       
-        
-        StaticConsoleLogger.logActivity(iteration, Activity.saCorEqualSurvivorsPassengerPart, Activity.started);       
-        correctCellListGenomePartKeyed(equalSurvivorsPassengerPart);
-        StaticConsoleLogger.logActivity(iteration, Activity.saCorEqualSurvivorsPassengerPart, Activity.started);       
-
         GenealogyAnalysis sa = new GenealogyAnalysis(this);
         sa.handleStep1Tasks();
         sa.logHMSizes();
@@ -216,134 +237,13 @@ public class Analytics {
      */
     public void analyzeSurvivors(){
         
-        int driversCount = model.getModParams().getMAM().getDrivers().length;
-        Integer[] driverTagIds = new Integer[driversCount];
-        for (int i = 0; i < driversCount; i++){
-            driverTagIds[i] = model.getModParams().getMAM().getDrivers()[i].getGeneTagId();
-        }
-
-
-        int passengersCount = model.getModParams().getMAM().getPassengers().length;
-        Integer[] passengerTagIds = new Integer[passengersCount];
-        for (int i = 0; i < passengersCount; i++){
-            passengerTagIds[i] = model.getModParams().getMAM().getPassengers()[i].getGeneTagId();            
-        }
-        
-        int commonGeneTagId = ModelParam.commonGeneTagId;
-
         StaticConsoleLogger.logActivity(iteration, Activity.analyzeSurvivors, Activity.started);
         
         try {
 
-            int lastCycle = getLastCycleFromInternalClones();
             StaticConsoleLogger.logActivity(iteration, Activity.createSubsets, Activity.started);
-
-            int clonesCount = internalClones.entrySet().size();
-            int currClone = 0;
-            int currPercent = 0;
-            int prevPercent = 0;
-            
-            for( Map.Entry<GenomePart, CellIndexHolder> clone : internalClones.entrySet() ){
-                currClone++;
-                currPercent = (int)((double)100 * (double)currClone / (double)clonesCount);
-                if (currPercent != prevPercent){
-                    prevPercent = currPercent;
-                    StaticConsoleLogger.log(iteration, Activity.createSubsetsPercent + String.valueOf(currPercent));
-                }
-                for (int c = 0; c < clone.getValue().size(); c++){
-                    int cellHolderIndex = clone.getValue().get(c);
-                    Cell cell = cellCollection.getByIndex(cellHolderIndex);
-
-                    combineByCycleAndDriverPart(cellHolderIndex, cell, equalShadowDriverPart);
-                    combineByCycleAndPassengerPart(cellHolderIndex, cell, equalShadowPassengerPart);
-                        
-                    ArrayList<Integer> drivMutations = cell.getGenome(genomes).getDrivers(genomes).getMutations(MutationType.Driver, genomes);
-                    int drivMutationCount = drivMutations.size();
-                    for (int i = 0; i < drivMutationCount; i++){
-                        
-                        int toss = drivMutations.get(i);
-                        int gene = model.getModParams().getMAM().getRegionMapDrivers().getGeneBasedOnToss(toss);
-                        Integer geneTagId = driverTagIds[gene];
-
-                        if (Constant.heavyLocusAnalysis){
-                            combineBy(equalShadowSingleDriverLocus[commonGeneTagId], toss, cellHolderIndex);
-                            combineBy(equalShadowSingleDriverLocus[geneTagId], toss, cellHolderIndex);                            
-                        }
-
-                        combineBy(equalShadowSingleDriverGene[commonGeneTagId], gene, cellHolderIndex);
-                        combineBy(equalShadowSingleDriverGene[geneTagId], gene, cellHolderIndex);
-                        
-                    }
-
-                    if (1 == 2){
-
-                        //switched off due to heavy performance issues (file content not tested as well)                        
-                        ArrayList<Integer> passMutations = cell.getGenome(genomes).getPassengers(genomes).getMutations(MutationType.Passenger, genomes);
-                        int passMutationCount = passMutations.size();
-                        for (int i = 0; i < passMutationCount; i++){
-
-                            int toss = passMutations.get(i);
-                            int gene = model.getModParams().getMAM().getRegionMapPassengers().getGeneBasedOnToss(toss);
-                            Integer geneTagId = passengerTagIds[gene];
-
-                            if (Constant.heavyLocusAnalysis){
-                                combineBy(equalShadowSinglePassengerLocus[commonGeneTagId], toss, cellHolderIndex);
-                                combineBy(equalShadowSinglePassengerLocus[geneTagId], toss, cellHolderIndex);
-                            }
-                            
-                            combineBy(equalShadowSinglePassengerGene[commonGeneTagId], gene, cellHolderIndex);
-                            combineBy(equalShadowSinglePassengerGene[geneTagId], gene, cellHolderIndex);                            
-                           
-
-                        }                        
-                    }
-                    
-
-                    if (cell.getModelCycle() == lastCycle){
-
-                        combineByCycleAndDriverPart(cellHolderIndex, cell, equalSurvivorsDriverPart);
-                        combineByCycleAndDriverPart(cellHolderIndex, cell, equalSurvivorsPassengerPart);
-
-                        drivMutations = cell.getGenome(genomes).getDrivers(genomes).getMutations(MutationType.Driver, genomes);
-                        drivMutationCount = drivMutations.size();
-                    
-                        for (int i = 0; i < drivMutationCount; i++){
-
-                            int toss = drivMutations.get(i);
-                            int gene = model.getModParams().getMAM().getRegionMapDrivers().getGeneBasedOnToss(toss);
-
-                            Integer geneTagId = driverTagIds[gene];
-
-                            if (Constant.heavyLocusAnalysis){
-                                combineBy(equalSurvivorsSingleDriverLocus[commonGeneTagId], toss, cellHolderIndex);
-                                combineBy(equalSurvivorsSingleDriverLocus[geneTagId], toss, cellHolderIndex);
-                            }                            
-                            combineBy(equalSurvivorsSingleDriverGene[commonGeneTagId], gene, cellHolderIndex);
-                            combineBy(equalSurvivorsSingleDriverGene[geneTagId], gene, cellHolderIndex);                            
-                            
-                        }
-                        
-                        ArrayList<Integer>  passMutations = cell.getGenome(genomes).getPassengers(genomes).getMutations(MutationType.Passenger, genomes);
-                        int passMutationCount = passMutations.size();
-                        for (int i = 0; i < passMutationCount; i++){
-
-                            int toss = passMutations.get(i);
-                            int gene = model.getModParams().getMAM().getRegionMapPassengers().getGeneBasedOnToss(toss);
-
-                            Integer geneTagId = passengerTagIds[gene];
-
-                            if (Constant.heavyLocusAnalysis){
-                                combineBy(equalSurvivorsSinglePassengerLocus[commonGeneTagId], toss, cellHolderIndex);
-                                combineBy(equalSurvivorsSinglePassengerLocus[geneTagId], toss, cellHolderIndex);
-                            }
-                            combineBy(equalSurvivorsSinglePassengerGene[commonGeneTagId], gene, cellHolderIndex);
-                            combineBy(equalSurvivorsSinglePassengerGene[geneTagId], gene, cellHolderIndex);                            
-                            
-                        }
-                    }
-                }
-            }
-
+            CellGroupIndexBuilder indexBuilder = new CellGroupIndexBuilder(this);
+            indexBuilder.build();
             StaticConsoleLogger.logActivity(iteration, Activity.createSubsets, Activity.finished);
             mutationTypeAnalysis();
             StaticConsoleLogger.logActivity(iteration, Activity.exportSubsets, Activity.started);
@@ -361,58 +261,6 @@ public class Analytics {
 
     }
 
-    /**
-     * combines mutaion by locus or gene for analys
-     * @param map           Concurrent Hash Map 
-     * @param geneTag       Gene Tag
-     * @param mutationToss  Mutation (toss)
-     * @param cell          Cell with mutation to add to CHM
-     */
-    private static void combineBy(
-            ConcurrentHashMap<Integer, CellIndexHolder> chmForGeneTag,
-            Integer valueToCombineOn,
-            int cellHolderIndex){
-
-        CellIndexHolder currentSet;        
-        
-        if (chmForGeneTag != null){
-            currentSet = chmForGeneTag.get(valueToCombineOn);
-            if (currentSet != null){
-                currentSet.add(cellHolderIndex);
-            } else {
-                currentSet = new CellIndexHolder();
-                currentSet.add(cellHolderIndex);
-                chmForGeneTag.put(valueToCombineOn, currentSet);
-            }                                
-        } else {
-            currentSet = new CellIndexHolder();
-            currentSet.add(cellHolderIndex);
-            chmForGeneTag = new ConcurrentHashMap<>();
-            chmForGeneTag.put(valueToCombineOn, currentSet);                                
-        }        
-    }
-    
-    private void correctCellListGenomePartKeyed(HashMap<Integer, HashMap<GenomePart, CellIndexHolder>> cHM){       
-        for (Entry<Integer,HashMap<GenomePart, CellIndexHolder>> entry :  cHM.entrySet()){
-            ArrayList<GenomePart> toRemove = new ArrayList<>();
-            for (Entry<GenomePart, CellIndexHolder> entryDeep : entry.getValue().entrySet()){
-                Set<Cell> setCells = new HashSet<>();
-                CellCollectionWithHolderData cellsWithHolderData = new CellCollectionWithHolderData(cellCollection, entryDeep.getValue());
-                ArrayList<Cell> cells = cellsWithHolderData.getCells();
-                setCells.addAll(cells);
-                entryDeep.setValue(cellsWithHolderData.getCellIndexHolder(setCells));
-                if (entryDeep.getValue().size() == 1){
-                    toRemove.add(entryDeep.getKey());               
-                }
-            }
-            for (GenomePart gp : toRemove){
-                entry.getValue().remove(gp);
-            }
-            toRemove.clear();
-        }
-    }    
-    
-    
     /**
      * Performs the mutation type Analysis
      * Mutation of type "X" is the mutation which occurs in exact "X" cells
@@ -424,7 +272,6 @@ public class Analytics {
 
         mta.setAnalytics(this);
         StaticConsoleLogger.logActivity(iteration, Activity.mutationTypeAnalysis, Activity.started);
-        mta.handleStep1Tasks();
         mta.handleStep2Tasks();        
         StaticConsoleLogger.logActivity(iteration, Activity.mutationTypeAnalysis, Activity.finished);           
         mta.logHMSizes();
@@ -482,10 +329,9 @@ public class Analytics {
                             bufferedWriter.write(Artifact.outCSVeol);
 
                             mutationsString = "";
-                            for (Integer mutation : clone.getKey().getDrivMutations(genomes)){
-                                int driver = model.getModParams().getMAM().getRegionMapDrivers().getGeneBasedOnToss(mutation);
-                                mutationsString = model.getModParams().getMAM().getDrivers()[driver].getGeneName()
-                                        + "@" + String.valueOf(mutation)
+                            for (ResolvedGenomePart mutation = resolvedParts.getDrivers(clone.getKey()); !mutation.isEmpty(); mutation = mutation.getNext()){
+                                mutationsString = model.getModParams().getMAM().getDrivers()[mutation.getGene()].getGeneName()
+                                        + "@" + String.valueOf(mutation.getLocus())
                                         + Artifact.outCSVMutationSeparator
                                         + mutationsString;
                             }
@@ -565,10 +411,9 @@ public class Analytics {
                             bufferedWriter.write(Artifact.outCSVeol);
 
                             mutationsString = "";
-                            for (Integer mutation : clone.getKey().getDrivMutations(genomes)){
-                                int driver = model.getModParams().getMAM().getRegionMapDrivers().getGeneBasedOnToss(mutation);
-                                mutationsString = model.getModParams().getMAM().getDrivers()[driver].getGeneName()
-                                        + "@" + String.valueOf(mutation)
+                            for (ResolvedGenomePart mutation = resolvedParts.getDrivers(clone.getKey()); !mutation.isEmpty(); mutation = mutation.getNext()){
+                                mutationsString = model.getModParams().getMAM().getDrivers()[mutation.getGene()].getGeneName()
+                                        + "@" + String.valueOf(mutation.getLocus())
                                         + Artifact.outCSVMutationSeparator
                                         + mutationsString;
                             }
@@ -653,10 +498,9 @@ public class Analytics {
                             bufferedWriter.write(Artifact.outCSVeol);
 
                             mutationsString = "";
-                            for (Integer mutation : clone.getKey().getDrivMutations(genomes)){
-                                int driver = model.getModParams().getMAM().getRegionMapDrivers().getGeneBasedOnToss(mutation);
-                                mutationsString = model.getModParams().getMAM().getDrivers()[driver].getGeneName()
-                                        + "@" + String.valueOf(mutation)
+                            for (ResolvedGenomePart mutation = resolvedParts.getDrivers(clone.getKey()); !mutation.isEmpty(); mutation = mutation.getNext()){
+                                mutationsString = model.getModParams().getMAM().getDrivers()[mutation.getGene()].getGeneName()
+                                        + "@" + String.valueOf(mutation.getLocus())
                                         + Artifact.outCSVMutationSeparator
                                         + mutationsString;
                             }
@@ -753,10 +597,9 @@ public class Analytics {
                             bufferedWriter.write(Artifact.outCSVeol);
 
                             mutationsString = "";
-                            for (Integer mutation : clone.getKey().getDrivMutations(genomes)){
-                                int driver = model.getModParams().getMAM().getRegionMapDrivers().getGeneBasedOnToss(mutation);
-                                mutationsString = model.getModParams().getMAM().getDrivers()[driver].getGeneName()
-                                        + "@" + String.valueOf(mutation)
+                            for (ResolvedGenomePart mutation = resolvedParts.getDrivers(clone.getKey()); !mutation.isEmpty(); mutation = mutation.getNext()){
+                                mutationsString = model.getModParams().getMAM().getDrivers()[mutation.getGene()].getGeneName()
+                                        + "@" + String.valueOf(mutation.getLocus())
                                         + Artifact.outCSVMutationSeparator
                                         + mutationsString;
                             }
@@ -804,86 +647,6 @@ public class Analytics {
         return lastCycle;
     }    
     
-    private void combineByCycleAndDriverPart(
-            int cellHolderIndex,
-            Cell cell, 
-            HashMap<Integer, HashMap<GenomePart, CellIndexHolder>> destinationByCycle){
-        
-        HashMap<GenomePart, CellIndexHolder> curentDestination;
-
-        curentDestination = destinationByCycle.get(cell.getModelCycle());
-        if (curentDestination != null){
-            combineByDriverPart(cellHolderIndex, cell, curentDestination);
-        } else {
-            curentDestination = new HashMap<> ();
-            combineByDriverPart(cellHolderIndex, cell, curentDestination);
-            destinationByCycle.put(cell.getModelCycle(), curentDestination);
-        }        
-    }   
-    
-    private void combineByCycleAndPassengerPart(
-            int cellHolderIndex,
-            Cell cell, 
-            HashMap<Integer, HashMap<GenomePart, CellIndexHolder>> destinationByCycle){
-        
-        HashMap<GenomePart, CellIndexHolder> curentDestination;
-
-//        StaticConsoleLogger.log("Cell model cycle:" + cell.getModelCycle());
-        curentDestination = destinationByCycle.get(cell.getModelCycle());
-        if (curentDestination != null){
-            combineByPassengerPart(cellHolderIndex, cell, curentDestination);
-        } else {
-            curentDestination = new HashMap<> ();
-            combineByPassengerPart(cellHolderIndex, cell, curentDestination);
-            destinationByCycle.put(cell.getModelCycle(), curentDestination);
-        }        
-    }    
-    
-    private void combineByDriverPart(int cellHolderIndex, Cell cell, HashMap<GenomePart, CellIndexHolder> destination){
-        
-        CellIndexHolder currentSet;
-        currentSet = destination.get(cell.getGenome(genomes).getDrivers(genomes));
-        if (currentSet != null){
-            currentSet.add(cellHolderIndex);
-        } else {
-            currentSet = new CellIndexHolder();
-            currentSet.add(cellHolderIndex);
-            destination.put(cell.getGenome(genomes).getDrivers(genomes), currentSet);
-        }        
-    }    
-    
-    private void combineByPassengerPart(int cellHolderIndex, Cell cell, HashMap<GenomePart, CellIndexHolder> destination){
-        
-        CellIndexHolder currentSet;
-        currentSet = destination.get(cell.getGenome(genomes).getPassengers(genomes));
-        if (currentSet != null){
-            currentSet.add(cellHolderIndex);
-        } else {
-            currentSet = new CellIndexHolder();
-            currentSet.add(cellHolderIndex);
-            destination.put(cell.getGenome(genomes).getPassengers(genomes), currentSet);
-        }        
-    }    
-    
-    public HashMap<Integer, HashMap<GenomePart, List<Cell>>> prepEqualShadowDriverPart() {
-
-        //TODO May be better to rework flishplot to be able to handle CellIndexHolder...
-        //instead of crating as below
-        HashMap<Integer, HashMap<GenomePart, List<Cell>>> chm_external = new HashMap<>();
-
-        for(Map.Entry<Integer, HashMap<GenomePart, CellIndexHolder>> e : equalShadowDriverPart.entrySet()){
-            HashMap<GenomePart, List<Cell>> chm_internal = new HashMap<>();
-            for(Map.Entry<GenomePart, CellIndexHolder> f : e.getValue().entrySet()){
-                List<Cell> listCells = Collections.synchronizedList(new ArrayList<Cell>());
-                listCells.addAll(cellCollection.getByCellIndexHolder(f.getValue()));
-                chm_internal.put(f.getKey(), listCells);
-            }
-            chm_external.put(e.getKey(), chm_internal);
-        }
-
-        return chm_external;
-    }    
-    
     public Simulation getSim() {
         return sim;
     } 
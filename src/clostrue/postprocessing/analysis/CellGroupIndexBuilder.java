@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+package clostrue.postprocessing.analysis;
+
+import clostrue.biology.cell.Cell;
+import clostrue.biology.genome.GenomePart;
+import clostrue.biology.genome.ResolvedGenomePart;
+import clostrue.collections.CellIndexHolder;
+import clostrue.collections.IntCellSetMap;
+import clostrue.collections.ResolvedGenomePartCache;
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.ModelParam;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Builds all the cell groupings of the survivors analysis in one pass.
+ *
+ * Every clone (cells sharing the driver genome part) is visited once.
+ * The resolved mutations of each distinct genome part are packed to
+ * (gene tag, gene or locus) pairs only once, and the shadow and survivors groupings
+ * (genome part, gene and locus) are filled from the resolved mutations.
+ * One cell is never added twice to the same group, so no duplicate removal
+ * is needed. Groups containing only one cell are pruned at the end
+ * of the pass.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class CellGroupIndexBuilder {
+
+    private final Analytics         analytics;
+    private final int               commonGeneTagId;    //tag of the whole set of genes
+    private final ResolvedGenomePartCache resolvedParts; //genome parts with mutations resolved to genes
+    private final HashMap<GenomePart, ResolvedMutations> passengerParts; //already resolved passenger parts
+
+    /**
+     * Default constructor
+     * @param inAnalytics analytics to fill with the cell groups
+     */
+    public CellGroupIndexBuilder(Analytics inAnalytics) {
+
+        analytics           = inAnalytics;
+        commonGeneTagId     = ModelParam.commonGeneTagId;
+        resolvedParts       = analytics.getResolvedParts();
+        passengerParts      = new HashMap<>();
+
+    }
+
+    /**
+     * Walks all the clones once and fills the cell groups of the analytics
+     */
+    public void build(){
+
+        int iteration = analytics.iteration;
+        int lastCycle = analytics.getLastCycleFromInternalClones();
+        int clonesCount = analytics.internalClones.size();
+        int currClone = 0;
+        int prevPercent = 0;
+
+        for( Map.Entry<GenomePart, CellIndexHolder> clone : analytics.internalClones.entrySet() ){
+            currClone++;
+            int currPercent = (int)((double)100 * (double)currClone / (double)clonesCount);
+            if (currPercent != prevPercent){
+                prevPercent = currPercent;
+                StaticConsoleLogger.log(iteration, Activity.createSubsetsPercent + String.valueOf(currPercent));
+            }
+            addClone(clone.getKey(), clone.getValue(), lastCycle);
+        }
+
+        pruneSingletons();
+
+    }
+
+    private void addClone(GenomePart driverPart, CellIndexHolder cloneCells, int lastCycle){
+
+        //all the cells of the clone share the driver genome part
+        ResolvedMutations drivers = resolve(resolvedParts.getDrivers(driverPart));
+        CellIndexHolder survivors = new CellIndexHolder();
+
+        for (int c = 0; c < cloneCells.size(); c++){
+            int cellHolderIndex = cloneCells.get(c);
+            Cell cell = analytics.cellCollection.getByIndex(cellHolderIndex);
+            int cycle = cell.getModelCycle();
+            GenomePart passengerPart = cell.getGenome(analytics.genomes).getPassengers(analytics.genomes);
+
+            addToPart(analytics.getEqualShadowDriverPart(), cycle, driverPart, cellHolderIndex);
+            addToPart(analytics.getEqualShadowPassengerPart(), cycle, passengerPart, cellHolderIndex);
+            drivers.addTo(analytics.equalShadowSingleDriverGene, analytics.equalShadowSingleDriverLocus, cellHolderIndex);
+            //shadow passenger genes and loci are not collected due to heavy performance issues
+
+            if (cycle == lastCycle){
+                survivors.add(cellHolderIndex);
+                addToPart(analytics.getEqualSurvivorsPassengerPart(), cycle, passengerPart, cellHolderIndex);
+                drivers.addTo(analytics.equalSurvivorsSingleDriverGene, analytics.equalSurvivorsSingleDriverLocus, cellHolderIndex);
+                ResolvedMutations passengers = passengerParts.get(passengerPart);
+                if (passengers == null){
+                    passengers = resolve(resolvedParts.getPassengers(passengerPart));
+                    passengerParts.put(passengerPart, passengers);
+                }
+                passengers.addTo(analytics.equalSurvivorsSinglePassengerGene, analytics.equalSurvivorsSinglePassengerLocus, cellHolderIndex);
+            }
+        }
+
+        //the survivors of the clone are the whole group of the driver genome part
+        if (survivors.size() > 0){
+            HashMap<GenomePart, CellIndexHolder> survivorsByPart = getForCycle(analytics.getEqualSurvivorsDriverPart(), lastCycle);
+            if (survivors.size() > 1){
+                survivorsByPart.put(driverPart, survivors);
+            }
+        }
+
+    }
+
+    private static HashMap<GenomePart, CellIndexHolder> getForCycle(
+            HashMap<Integer, HashMap<GenomePart, CellIndexHolder>> destinationByCycle,
+            int cycle){
+
+        HashMap<GenomePart, CellIndexHolder> curentDestination = destinationByCycle.get(cycle);
+        if (curentDestination == null){
+            curentDestination = new HashMap<> ();
+            destinationByCycle.put(cycle, curentDestination);
+        }
+        return curentDestination;
+    }
+
+    private static void addToPart(
+            HashMap<Integer, HashMap<GenomePart, CellIndexHolder>> destinationByCycle,
+            int cycle,
+            GenomePart part,
+            int cellHolderIndex){
+
+        HashMap<GenomePart, CellIndexHolder> curentDestination = getForCycle(destinationByCycle, cycle);
+        CellIndexHolder currentSet = curentDestination.get(part);
+        if (currentSet == null){
+            currentSet = new CellIndexHolder();
+            curentDestination.put(part, currentSet);
+        }
+        currentSet.add(cellHolderIndex);
+    }
+
+    private ResolvedMutations resolve(ResolvedGenomePart part){
+
+        int mutationCount = part.getMutationCount();
+        long[] genes = new long[2 * mutationCount];
+        long[] loci = new long[Constant.heavyLocusAnalysis ? 2 * mutationCount : 0];
+
+        ResolvedGenomePart mutation = part;
+        for (int i = 0; i < mutationCount; i++, mutation = mutation.getNext()){
+            genes[2 * i]        = ResolvedMutations.pack(commonGeneTagId, mutation.getGene());
+            genes[2 * i + 1]    = ResolvedMutations.pack(mutation.getGeneTagId(), mutation.getGene());
+            if (Constant.heavyLocusAnalysis){
+                loci[2 * i]     = ResolvedMutations.pack(commonGeneTagId, mutation.getLocus());
+                loci[2 * i + 1] = ResolvedMutations.pack(mutation.getGeneTagId(), mutation.getLocus());
+            }
+        }
+
+        return new ResolvedMutations(ResolvedMutations.distinct(genes), ResolvedMutations.distinct(loci));
+    }
+
+    private void pruneSingletons(){
+
+        analytics.getEqualSurvivorsPassengerPart().values().forEach((byPart) -> {
+            byPart.values().removeIf((cells) -> cells.size() == 1);
+        });
+
+        Stream.of(
+                analytics.equalSurvivorsSingleDriverGene,
+                analytics.equalSurvivorsSinglePassengerGene,
+                analytics.equalShadowSingleDriverGene,
+                analytics.equalShadowSinglePassengerGene,
+                analytics.equalSurvivorsSingleDriverLocus,
+                analytics.equalSurvivorsSinglePassengerLocus,
+                analytics.equalShadowSingleDriverLocus,
+                analytics.equalShadowSinglePassengerLocus)
+            .flatMap(Arrays::stream)
+            .parallel()
+            .forEach(IntCellSetMap::removeSingletons);
+    }
+
+    /**
+     * Distinct (gene tag, gene or locus) pairs of one genome part,
+     * each pair packed into one long (tag in the upper half)
+     */
+    private static class ResolvedMutations {
+
+        private final long[] genes;     //distinct (gene tag, gene)
+        private final long[] loci;      //distinct (gene tag, locus)
+
+        ResolvedMutations(long[] inGenes, long[] inLoci){
+            genes   = inGenes;
+            loci    = inLoci;
+        }
+
+        static long pack(int geneTagId, int key){
+            return ((long) geneTagId << 32) | (key & 0xFFFFFFFFL);
+        }
+
+        static long[] distinct(long[] pairs){
+            Arrays.sort(pairs);
+            int used = 0;
+            for (int i = 0; i < pairs.length; i++){
+                if (used == 0 || pairs[used - 1] != pairs[i]){
+                    pairs[used++] = pairs[i];
+                }
+            }
+            return Arrays.copyOf(pairs, used);
+        }
+
+        void addTo(IntCellSetMap[] byGene, IntCellSetMap[] byLocus, int cellHolderIndex){
+            for (int i = 0; i < genes.length; i++){
+                byGene[(int) (genes[i] >>> 32)].add((int) genes[i], cellHolderIndex);
+            }
+            for (int i = 0; i < loci.length; i++){
+                byLocus[(int) (loci[i] >>> 32)].add((int) loci[i], cellHolderIndex);
+            }
+        }
+    }
+
+}
@@ -31,7 +31,11 @@ import clostrue.collections.CellCollectionWithHolderData;
 import clostrue.collections.CellIndexHolder;
 import clostrue.postprocessing.DriverMutationHistogramKey;
 import clostrue.postprocessing.PassengerMutationHistogramKey;
+import clostrue.postprocessing.visualization.FishplotAccumulator;
 import clostrue.toolbox.StaticConsoleLogger;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -62,6 +66,7 @@ public class Statistics {
     private final double[]              historyDriverPassRatio;         //subsequent changes in driver / passenger muatations ratio    
     private ConcurrentHashMap<GenomePart, List<Cell>> clones;
     private final HashMap<GenomePart, CellIndexHolder> internalClones;
+    private final FishplotAccumulator fishplotAccumulator;             //fishplot data filled during simulation
     
     private final int iteration;
     private final GenomeSynchronizedCollection genomes;
@@ -74,6 +79,10 @@ public class Statistics {
     public HashMap<GenomePart, CellIndexHolder> getInternalClones() {
         return internalClones;
     }
+
+    public FishplotAccumulator getFishplotAccumulator() {
+        return fishplotAccumulator;
+    }
     
     /**
  * Default consturctor
@@ -93,6 +102,7 @@ public class Statistics {
         histogramPopulationSize     = new ConcurrentHashMap<> ();
         clones                      = new ConcurrentHashMap<> ();
         internalClones              = new HashMap<>();
+        fishplotAccumulator         = new FishplotAccumulator();
 
         // create table for storring the initial count of cells per tasks (subset)
         initialCellSubsetSize = new AtomicIntegerArray(sim.getSimModel().getTechParams().getSimTasksCount()); 
@@ -424,6 +434,58 @@ public class Statistics {
         historyCellCountN.set(cycle, count);
     }
 
+    /**
+     * Writes the history tables and fishplot data (filled during the simulation)
+     * to simulation checkpoint. The histograms and clones are filled only after
+     * the last simulation cycle, so they are not part of the checkpoint
+     * @param out checkpoint output
+     * @throws IOException
+     */
+    public void writeHistoryTo(DataOutput out) throws IOException {
+        out.writeInt(initialCellSubsetSize.length());
+        for (int i = 0; i < initialCellSubsetSize.length(); i++){
+            out.writeInt(initialCellSubsetSize.get(i));
+        }
+        out.writeInt(historyCellCountN.length());
+        for (int i = 0; i < historyCellCountN.length(); i++){
+            out.writeInt(historyCellCountN.get(i));
+            out.writeInt(historyDriverMutationCount.get(i));
+            out.writeInt(historyPassengerMutationCount.get(i));
+            out.writeDouble(historyDriverPassRatio[i]);
+        }
+        fishplotAccumulator.writeTo(out);
+    }
+
+    /**
+     * Restores the history tables and fishplot data from simulation checkpoint
+     * @param in checkpoint input
+     * @throws IOException
+     */
+    public void readHistoryFrom(DataInput in) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++){
+            int subsetSize = in.readInt();
+            if (i < initialCellSubsetSize.length()){
+                initialCellSubsetSize.set(i, subsetSize);
+            }
+        }
+        //the branch of forked simulation may have other max cycles than the trunk
+        count = in.readInt();
+        for (int i = 0; i < count; i++){
+            int     cellCount       = in.readInt();
+            int     driverCount     = in.readInt();
+            int     passengerCount  = in.readInt();
+            double  ratio           = in.readDouble();
+            if (i < historyCellCountN.length()){
+                historyCellCountN.set(i, cellCount);
+                historyDriverMutationCount.set(i, driverCount);
+                historyPassengerMutationCount.set(i, passengerCount);
+                historyDriverPassRatio[i] = ratio;
+            }
+        }
+        fishplotAccumulator.readFrom(in);
+    }
+    
     public void addCellToClonesCollection(Cell cell){
 
         List<Cell> cloneList = clones.get(cell.getGenome(genomes).getDrivers(genomes));
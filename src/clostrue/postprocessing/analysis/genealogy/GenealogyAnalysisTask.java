@@ -19,12 +19,15 @@ package clostrue.postprocessing.analysis.genealogy;
  
 import clostrue.Simulation;
 import clostrue.biology.genome.GenomePart;
+import clostrue.biology.genome.ResolvedGenomePart;
 import clostrue.collections.CellCollection;
 import clostrue.postprocessing.analysis.mutationtType.MutationTypeAnalysis;
 import clostrue.hardcodes.Activity;
 import clostrue.collections.CellIndexHolder;
 import clostrue.collections.GenomeCollection;
+import clostrue.collections.IntCellSetMap;
 import clostrue.enumerations.MutationType;
+import clostrue.crossIterationAnalysis.QuotedTable;
 import clostrue.enumerations.QuotedGenesTaskWorkToDo;
 import clostrue.enumerations.GenealogyAnalysisTaskWorkToDo;
 import clostrue.hardcodes.Constant;
@@ -79,14 +82,14 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
     private final HashMap<Integer, HashMap<GenomePart, CellIndexHolder>>    equalSurvivorsDriverPart;
     private final HashMap<Integer, HashMap<GenomePart, CellIndexHolder>>    equalSurvivorsPassengerPart;
 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSinglePassengerLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSingleDriverLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSinglePassengerGene; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalSurvivorsSingleDriverGene;        
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSinglePassengerLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSingleDriverLocus; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSinglePassengerGene; 
-    public final ConcurrentHashMap<Integer, CellIndexHolder>[]        equalShadowSingleDriverGene;
+    public final IntCellSetMap[]        equalSurvivorsSinglePassengerLocus; 
+    public final IntCellSetMap[]        equalSurvivorsSingleDriverLocus; 
+    public final IntCellSetMap[]        equalSurvivorsSinglePassengerGene; 
+    public final IntCellSetMap[]        equalSurvivorsSingleDriverGene;        
+    public final IntCellSetMap[]        equalShadowSinglePassengerLocus; 
+    public final IntCellSetMap[]        equalShadowSingleDriverLocus; 
+    public final IntCellSetMap[]        equalShadowSinglePassengerGene; 
+    public final IntCellSetMap[]        equalShadowSingleDriverGene;
         
     private final GenealogyAnalysis                 _sa;               //calling object
     private final GenealogyAnalysisTaskWorkToDo     _workToDo;              //the ID of TaskToDo
@@ -770,7 +773,9 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
         addQuotedPassengersFileHeader(bufferedWriter);
         String recordPattern = getRecordPattern();
 //      String recordPattern = getRecordPattern2();  //to slow / to big
+        QuotedTable quotedTable = new QuotedTable(iteration, quotasCount);
         for( Integer cycle : cycles){          
+            addQuotedTableRow(quotedTable, popSize.get(cycle), equalGenomePart.get(cycle).size(), cycle, mutationsCountHavingMinQuotas);
                         
             try {
                 List<Object> args = new ArrayList<Object>();
@@ -802,6 +807,7 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
                 Logger.getLogger(Analytics.class.getName()).log(Level.SEVERE, null, ex);
             }
         }
+        analytics.setQuotedPassengers(quotedTable);
         StaticConsoleLogger.logActivity(iteration, Activity.fileDumpingMtaQuotedPassengers, Activity.finished);
         
     }   
@@ -859,6 +865,22 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
         bufferedWriter.write(Artifact.outCSVeol);
     }
 
+    /**
+     * Adds the row of quoted mutations for the cross-iteration analysis,
+     * the same values as dumped to the quoted csv file
+     * @param quotedTable                   table of the iteration
+     * @param popSizeInCycle                population size
+     * @param groupsCount                   count of cell groups
+     * @param cycle                         cycle
+     * @param mutationsCountHavingMinQuotas mutation counts per cycle and quota
+     */
+    private void addQuotedTableRow(QuotedTable quotedTable, int popSizeInCycle, int groupsCount, int cycle, List<Integer[]> mutationsCountHavingMinQuotas){
+        int row = quotedTable.addRow(popSizeInCycle, groupsCount, cycle);
+        if (cycle < mutationsCountHavingMinQuotas.size())
+            for (int i = 0; i < mutationsCountHavingMinQuotas.get(cycle).length; i++) 
+                quotedTable.setCount(i, row, mutationsCountHavingMinQuotas.get(cycle)[i]);
+    }
+
     private String getRecordPattern(){
         String recordPatternTmp = "%d;%d;%d;%d";
         int quotasCount = analytics.getQuotasCount();
@@ -954,7 +976,9 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
         //      Dump the data to file
         addQuotedDriversFileHeader(bufferedWriter);
         String recordPattern = getRecordPattern2();
+        QuotedTable quotedTable = new QuotedTable(iteration, quotasCount);
         for( Integer cycle : cycles){
+            addQuotedTableRow(quotedTable, popSize.get(cycle), equalGenomePart.get(cycle).size(), cycle, mutationsCountHavingMinQuotas);
                                    
             try {
                 List<Object> args = new ArrayList<>();
@@ -984,6 +1008,7 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
                 Logger.getLogger(Analytics.class.getName()).log(Level.SEVERE, null, ex);
             }
         }
+        analytics.setQuotedDrivers(quotedTable);
         StaticConsoleLogger.logActivity(iteration, Activity.fileDumpingMtaQuotedDrivers, Activity.finished);
         
     }       
@@ -1005,6 +1030,7 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
         int quotasCount         = analytics.getQuotasCount();
         double[] quotaTreshold = analytics.getQuotaTreshold();
         String recordPattern    = getRecordPattern();
+        QuotedTable quotedTable = new QuotedTable(iteration, quotasCount);
         
         for (Integer cycle : cycles){
             
@@ -1037,7 +1063,12 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
             } catch (IOException ex) {
                 Logger.getLogger(Analytics.class.getName()).log(Level.SEVERE, null, ex);
             }
+            
+            int row = quotedTable.addRow(popSize.get(cycle), equalGenomePart.get(cycle).size(), cycle);
+            for (int i = 0; i < quotasCount; i++) 
+                quotedTable.setCount(i, row, cloneCountHavingMinQuotas[i]);
         }
+        analytics.setQuotedClones(quotedTable);
     }
 
     /**
@@ -1152,14 +1183,14 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
                     cloneGroupID +
                     " share(s) exact same " + groupName + " mutations (including locus): ");                         
             String mutationsString = "";
-            for (Integer mutation : nextKey.getMutations(mT, genomes)){
-                int gene = rtm.getGeneBasedOnToss(mutation);
-                mutationsString = madTable[gene].getGeneName()
-                    + Artifact.geneSeparator + String.valueOf(mutation)
+            ResolvedGenomePart resolved = analytics.getResolvedParts().get(mT, nextKey);
+            for (ResolvedGenomePart mutation = resolved; !mutation.isEmpty(); mutation = mutation.getNext()){
+                mutationsString = madTable[mutation.getGene()].getGeneName()
+                    + Artifact.geneSeparator + String.valueOf(mutation.getLocus())
                     + Artifact.outCSVMutationSeparator
                     + mutationsString;
                 }
-                if (nextKey.getMutations(mT, genomes).isEmpty()){
+                if (resolved.isEmpty()){
                     mutationsString = "<< No " + groupName + " mutations. >>";                                                   
                 }                
                 bufferedWriter.write(mutationsString);
@@ -1187,8 +1218,7 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
             String groupName, 
             MutationAdvantageData madTable[], 
             BufferedWriter bufferedWriter, 
-            ConcurrentHashMap<Integer, 
-            CellIndexHolder> equalGene)
+            IntCellSetMap equalGene)
             throws IOException{
     
         StaticConsoleLogger.logActivity(iteration, Activity.saveLvl2 + fileName, Activity.started, "("+geneTag+") part");
@@ -1205,8 +1235,8 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
         bufferedWriter.write(Artifact.outCSVeol);
         
         AccSeq4HMwithIntKey sequence = new AccSeq4HMwithIntKey();
-        for (Map.Entry<Integer,CellIndexHolder> entry : equalGene.entrySet()){
-            sequence.addNewEntry(entry.getKey(), entry.getValue().size());
+        for (int key : equalGene.getKeys()){
+            sequence.addNewEntry(key, equalGene.get(key).size());
         }
         sequence.sort();
         Integer nextKey;
@@ -1244,8 +1274,7 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
             RegionTossMap rtm, 
             MutationAdvantageData[] madTable, 
             BufferedWriter bufferedWriter, 
-            ConcurrentHashMap<Integer, 
-            CellIndexHolder> equalLocus)
+            IntCellSetMap equalLocus)
             throws IOException{
         
         StaticConsoleLogger.logActivity(iteration, Activity.saveLvl2 + fileName, Activity.started, "("+geneTag+") part");
@@ -1263,8 +1292,8 @@ public class GenealogyAnalysisTask extends SwingWorker<Void,Void> {
         bufferedWriter.write(Artifact.outCSVeol);
         
         AccSeq4HMwithIntKey sequence = new AccSeq4HMwithIntKey();
-        for (Map.Entry<Integer,CellIndexHolder> entry : equalLocus.entrySet()){
-            sequence.addNewEntry(entry.getKey(), entry.getValue().size());
+        for (int key : equalLocus.getKeys()){
+            sequence.addNewEntry(key, equalLocus.get(key).size());
         }
         sequence.sort();
         Integer nextKey;
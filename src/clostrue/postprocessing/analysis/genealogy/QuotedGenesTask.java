@@ -20,8 +20,10 @@ package clostrue.postprocessing.analysis.genealogy;
 import clostrue.collections.CellIndexHolder;
 import clostrue.biology.cell.Cell;
 import clostrue.biology.genome.GenomePart;
+import clostrue.biology.genome.ResolvedGenomePart;
 import clostrue.collections.CellCollection;
 import clostrue.collections.GenomeCollection;
+import clostrue.collections.ResolvedGenomePartCache;
 import clostrue.enumerations.QuotedGenesTaskWorkToDo;
 import clostrue.hardcodes.file.Artifact;
 import clostrue.model.SimModel;
@@ -59,6 +61,7 @@ public class QuotedGenesTask extends SwingWorker<Void,Void> {
     private final int                         _quotasCount;
     private final CellCollection              _cellCollection;
     private final GenomeCollection            _genomes;
+    private final ResolvedGenomePartCache     _resolvedParts;
     private final HashMap<Integer,HashMap<GenomePart, CellIndexHolder>> _equalGenomePart;
     private final double[]                    _quotaTreshold;
     private final List<String[]>              _mutationsListHavingMinQuotas;        
@@ -97,6 +100,7 @@ public class QuotedGenesTask extends SwingWorker<Void,Void> {
         _cellCollection                     = anal.getCellCollection();
         _equalGenomePart                    = inEqualGenomePart;
         _genomes                            = anal.getGenomes();
+        _resolvedParts                      = anal.getResolvedParts();
         _quotaTreshold                      = anal.getQuotaTreshold();
         _model                              = anal.getSim().getSimModel();
         _mutationsListHavingMinQuotas       = inMutationsListHavingMinQuotas;
@@ -167,9 +171,9 @@ public class QuotedGenesTask extends SwingWorker<Void,Void> {
             for(Map.Entry<GenomePart, CellIndexHolder> e : _equalGenomePart.get(cycle).entrySet()) {
                 int cellGroupSize = e.getValue().size();
                 Cell c = _cellCollection.getByIndex(e.getValue().getFirst()); //one cell is enough - all in the same clone will have exact same mutations
-                ArrayList<Integer> mutations = c.getGenome(_genomes).getDrivers(_genomes).getDrivMutations(_genomes);                    
-                for (Integer mutation : mutations){
-                    ammountOfCellsHavingMutation[mutation] += cellGroupSize; 
+                ResolvedGenomePart mutation = _resolvedParts.getDrivers(c.getGenome(_genomes).getDrivers(_genomes));
+                for (; !mutation.isEmpty(); mutation = mutation.getNext()){
+                    ammountOfCellsHavingMutation[mutation.getLocus()] += cellGroupSize; 
                 }
             }
 
@@ -219,9 +223,9 @@ public class QuotedGenesTask extends SwingWorker<Void,Void> {
             for(Map.Entry<GenomePart, CellIndexHolder> e : _equalGenomePart.get(cycle).entrySet()) {
                 int cellGroupSize = e.getValue().size();
                 Cell c = _cellCollection.getByIndex(e.getValue().getFirst()); //one cell is enough - all in the same clone will have exact same mutations
-                ArrayList<Integer> mutations = c.getGenome(_genomes).getPassengers(_genomes).getPassMutations(_genomes);                    
-                for (Integer mutation : mutations){
-                    ammountOfCellsHavingMutation[mutation] += cellGroupSize; 
+                ResolvedGenomePart mutation = _resolvedParts.getPassengers(c.getGenome(_genomes).getPassengers(_genomes));
+                for (; !mutation.isEmpty(); mutation = mutation.getNext()){
+                    ammountOfCellsHavingMutation[mutation.getLocus()] += cellGroupSize; 
                 }
             }
 
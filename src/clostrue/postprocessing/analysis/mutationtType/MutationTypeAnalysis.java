@@ -18,6 +18,7 @@
 package clostrue.postprocessing.analysis.mutationtType;
  
 import clostrue.postprocessing.analysis.Analytics;
+import clostrue.postprocessing.plotter.HistogramData;
 import clostrue.postprocessing.plotter.PlotterTools;
 
 import java.util.ArrayList;
@@ -32,16 +33,16 @@ import clostrue.hardcodes.Activity;
 import clostrue.hardcodes.Constant;
 import clostrue.hardcodes.plots.Setting;
 import clostrue.model.SimModel;
-import clostrue.collections.CellIndexHolder;
+import clostrue.collections.IntCellSetMap;
+import clostrue.collections.SizeHistogram;
 import clostrue.hardcodes.HashmapName;
 import clostrue.toolbox.HashMapSizeTools;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import org.jfree.data.statistics.SimpleHistogramDataset;
+import java.util.stream.IntStream;
 
 /**
  * Handles Mutation Type Analysis
@@ -58,21 +59,18 @@ public class MutationTypeAnalysis {
     private  Analytics     analytics;
     public final int           iteration;
   
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmSurvivorsMutTypeGeneDriver = null;      
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmShadowMutTypeGeneDriver = null;  
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmSurvivorsMutTypeGenePassenger = null;   
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmShadowMutTypeGenePassenger = null;   
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmSurvivorsMutTypeLocusDriver = null;     
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmShadowMutTypeLocusDriver = null;     
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmSurvivorsMutTypeLocusPassenger = null;  
-    private ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>>                       chmShadowMutTypeLocusPassenger = null;          
+    private ConcurrentHashMap<String, SizeHistogram>    chmSurvivorsMutTypeGeneDriver = null;      
+    private ConcurrentHashMap<String, SizeHistogram>    chmShadowMutTypeGeneDriver = null;  
+    private ConcurrentHashMap<String, SizeHistogram>    chmSurvivorsMutTypeGenePassenger = null;   
+    private ConcurrentHashMap<String, SizeHistogram>    chmShadowMutTypeGenePassenger = null;   
+    private ConcurrentHashMap<String, SizeHistogram>    chmSurvivorsMutTypeLocusDriver = null;     
+    private ConcurrentHashMap<String, SizeHistogram>    chmShadowMutTypeLocusDriver = null;     
+    private ConcurrentHashMap<String, SizeHistogram>    chmSurvivorsMutTypeLocusPassenger = null;  
+    private ConcurrentHashMap<String, SizeHistogram>    chmShadowMutTypeLocusPassenger = null;          
     
-    private ExecutorService threadPoolStep1;                 //the pool of all tasks
-    private final List<MutationTypeAnalysisTask> tasksStep1;              //All the tasks to be executed    
     private ExecutorService threadPoolStep2;                 //the pool of all tasks
     private final List<MutationTypeAnalysisTask> tasksStep2;              //All the tasks to be executed    
 
-    public final AtomicInteger tasksToFinishStep1 = new AtomicInteger(0);
     public final AtomicInteger tasksToFinishStep2 = new AtomicInteger(0);
 
     public Analytics getAnalytics() {
@@ -83,35 +81,35 @@ public class MutationTypeAnalysis {
         this.analytics = analytics;
     }
     
-    public void setChmSurvivorsMutTypeGeneDriver(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmSurvivorsMutTypeGeneDriver) {
+    public void setChmSurvivorsMutTypeGeneDriver(ConcurrentHashMap<String, SizeHistogram> chmSurvivorsMutTypeGeneDriver) {
         this.chmSurvivorsMutTypeGeneDriver = chmSurvivorsMutTypeGeneDriver;
     }
 
-    public void setChmShadowMutTypeGeneDriver(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmShadowMutTypeGeneDriver) {
+    public void setChmShadowMutTypeGeneDriver(ConcurrentHashMap<String, SizeHistogram> chmShadowMutTypeGeneDriver) {
         this.chmShadowMutTypeGeneDriver = chmShadowMutTypeGeneDriver;
     }
 
-    public void setChmSurvivorsMutTypeGenePassenger(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmSurvivorsMutTypeGenePassenger) {
+    public void setChmSurvivorsMutTypeGenePassenger(ConcurrentHashMap<String, SizeHistogram> chmSurvivorsMutTypeGenePassenger) {
         this.chmSurvivorsMutTypeGenePassenger = chmSurvivorsMutTypeGenePassenger;
     }
 
-    public void setChmShadowMutTypeGenePassenger(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmShadowMutTypeGenePassenger) {
+    public void setChmShadowMutTypeGenePassenger(ConcurrentHashMap<String, SizeHistogram> chmShadowMutTypeGenePassenger) {
         this.chmShadowMutTypeGenePassenger = chmShadowMutTypeGenePassenger;
     }
 
-    public void setChmSurvivorsMutTypeLocusDriver(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmSurvivorsMutTypeLocusDriver) {
+    public void setChmSurvivorsMutTypeLocusDriver(ConcurrentHashMap<String, SizeHistogram> chmSurvivorsMutTypeLocusDriver) {
         this.chmSurvivorsMutTypeLocusDriver = chmSurvivorsMutTypeLocusDriver;
     }
 
-    public void setChmShadowMutTypeLocusDriver(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmShadowMutTypeLocusDriver) {
+    public void setChmShadowMutTypeLocusDriver(ConcurrentHashMap<String, SizeHistogram> chmShadowMutTypeLocusDriver) {
         this.chmShadowMutTypeLocusDriver = chmShadowMutTypeLocusDriver;
     }
 
-    public void setChmSurvivorsMutTypeLocusPassenger(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmSurvivorsMutTypeLocusPassenger) {
+    public void setChmSurvivorsMutTypeLocusPassenger(ConcurrentHashMap<String, SizeHistogram> chmSurvivorsMutTypeLocusPassenger) {
         this.chmSurvivorsMutTypeLocusPassenger = chmSurvivorsMutTypeLocusPassenger;
     }
 
-    public void setChmShadowMutTypeLocusPassenger(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> chmShadowMutTypeLocusPassenger) {
+    public void setChmShadowMutTypeLocusPassenger(ConcurrentHashMap<String, SizeHistogram> chmShadowMutTypeLocusPassenger) {
         this.chmShadowMutTypeLocusPassenger = chmShadowMutTypeLocusPassenger;
     }
     
@@ -125,7 +123,6 @@ public class MutationTypeAnalysis {
         this.iteration      = simulation.getIteration();
         this.settings       = simulation.getSettings();
         this.analytics      = null;
-        this.tasksStep1          = new ArrayList<>();
         this.tasksStep2          = new ArrayList<>();
         this.simModel       = new SimModel(iteration, simulation.getSimModel());
              
@@ -146,38 +143,6 @@ public class MutationTypeAnalysis {
 
     
     
-    public void handleStep1Tasks(){
-               
-        createStep1Tasks();
-        executeStep1Tasks();
-
-    }           
-
-    private void executeStep1Tasks(){
-        if (!tasksStep1.isEmpty()){
-            threadPoolStep1 = Executors.newFixedThreadPool(tasksStep1.size());
-            tasksStep1.stream().forEach((task) -> {
-                threadPoolStep1.submit(task);
-            });
-            int prevTasksToFinish = 0;
-            do {
-                try {
-                    TimeUnit.SECONDS.sleep(1);
-                } catch (InterruptedException ex) {
-                    Logger.getLogger(MutationTypeAnalysis.class.getName()).log(Level.SEVERE, null, ex);
-                }
-
-                int curTasksToFinish = tasksToFinishStep1.get();
-                if (prevTasksToFinish != curTasksToFinish){
-                    StaticConsoleLogger.logActivity(iteration, Activity.parallelMtaStep1Finish, String.valueOf(curTasksToFinish));                    
-                    prevTasksToFinish = curTasksToFinish;
-                }                
-            } while (tasksToFinishStep1.get() != 0);
-            
-        threadPoolStep1.shutdown();
-        }        
-    }
-    
     public void handleStep2Tasks(){
                
         createStep2Tasks();
@@ -221,22 +186,6 @@ public class MutationTypeAnalysis {
         HashMapSizeTools.logHM3Size(chmShadowMutTypeLocusPassenger, HashmapName.chmShadowMutTypeLocusPassenger);                  
     }
     
-    private void createStep1Tasks(){
-            
-      tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikSurvivorsPassengerGene, tasksToFinishStep1));
-      tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikSurvivorsDriverGene, tasksToFinishStep1));
-      tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikShadowPassengerGene, tasksToFinishStep1));
-      tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikShadowDriverGene, tasksToFinishStep1));
-
-      if (Constant.heavyLocusAnalysis){
-        tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikSurvivorsPassengerLocus, tasksToFinishStep1));
-        tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikSurvivorsDriverLocus, tasksToFinishStep1));
-        tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikShadowPassengerLocus, tasksToFinishStep1));
-        tasksStep1.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaCclikShadowDriverLocus, tasksToFinishStep1));          
-      }
-      
-    }
-
     private void createStep2Tasks(){
         
       tasksStep2.add(new  MutationTypeAnalysisTask(this, MutationTypeAnalysisTaskWorkToDo.mtaAtaSurvivorsDriverGene, tasksToFinishStep2));
@@ -255,267 +204,166 @@ public class MutationTypeAnalysis {
 
 
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Driver Genes
+     * Creates the histogram for plot for Mutation Type Analysis for Driver Genes
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetSurvivorsMutTypeGeneDriver(
+    public HistogramData getHistogramDataSurvivorsMutTypeGeneDriver(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmSurvivorsMutTypeGeneDriver.get(geneTag),
-
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmSurvivorsMutTypeGeneDriver.get(geneTag), useGroupping);
         
     }         
 
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Driver Genes
+     * Creates the histogram for plot for Mutation Type Analysis for Driver Genes
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetShadowMutTypeGeneDriver(
+    public HistogramData getHistogramDataShadowMutTypeGeneDriver(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmShadowMutTypeGeneDriver.get(geneTag),
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmShadowMutTypeGeneDriver.get(geneTag), useGroupping);
         
     }          
     
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Passenger Genes
+     * Creates the histogram for plot for Mutation Type Analysis for Passenger Genes
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetSurvivorsMutTypeGenePassenger(
+    public HistogramData getHistogramDataSurvivorsMutTypeGenePassenger(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmSurvivorsMutTypeGenePassenger.get(geneTag),
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmSurvivorsMutTypeGenePassenger.get(geneTag), useGroupping);
 
     }         
 
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Passenger Genes
+     * Creates the histogram for plot for Mutation Type Analysis for Passenger Genes
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetShadowMutTypeGenePassenger(
+    public HistogramData getHistogramDataShadowMutTypeGenePassenger(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmShadowMutTypeGenePassenger.get(geneTag),
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmShadowMutTypeGenePassenger.get(geneTag), useGroupping);
 
     }       
     
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Driver Locus
+     * Creates the histogram for plot for Mutation Type Analysis for Driver Locus
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetSurvivorsMutTypeLocusDriver(
+    public HistogramData getHistogramDataSurvivorsMutTypeLocusDriver(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmSurvivorsMutTypeLocusDriver.get(geneTag),
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmSurvivorsMutTypeLocusDriver.get(geneTag), useGroupping);
         
     }         
 
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Driver Locus
+     * Creates the histogram for plot for Mutation Type Analysis for Driver Locus
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetShadowMutTypeLocusDriver(
+    public HistogramData getHistogramDataShadowMutTypeLocusDriver(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmShadowMutTypeLocusDriver.get(geneTag),
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmShadowMutTypeLocusDriver.get(geneTag), useGroupping);
         
     }     
     
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Passenger Locus
+     * Creates the histogram for plot for Mutation Type Analysis for Passenger Locus
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetSurvivorsMutTypeLocusPassenger(
+    public HistogramData getHistogramDataSurvivorsMutTypeLocusPassenger(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmSurvivorsMutTypeLocusPassenger.get(geneTag),
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmSurvivorsMutTypeLocusPassenger.get(geneTag), useGroupping);
 
     }             
 
     /**
-     * Creates the DataSerie for plot for Mutation Type Analysis for Passenger Locus
+     * Creates the histogram for plot for Mutation Type Analysis for Passenger Locus
      * @param useGroupping
      * @param geneTag
      * @return 
      */
-    public SimpleHistogramDataset getSimpleHistogramDatasetShadowMutTypeLocusPassenger(
+    public HistogramData getHistogramDataShadowMutTypeLocusPassenger(
             boolean useGroupping,
             String geneTag){
         
-        return PlotterTools.getHistogramDatasetFromXYChartSeriesIntegerInteger(PlotterTools.convertCHMIIAsIntegerSerie(chmShadowMutTypeLocusPassenger.get(geneTag),
-                    useGroupping,
-                    Setting.teResAnalytics,
-                    DO_NOT_INSERT_ZEROS,
-                    settings));
+        return getHistogramData(chmShadowMutTypeLocusPassenger.get(geneTag), useGroupping);
 
     }      
     
     /**
-     * Mutation type analysis for subset (single tag)
-     * @param equalLocus Equal Mutation type hashMap
-     * @return CHM for histogram for Mutation Types 
+     * Creates the histogram points for plot from the histogram of group sizes
+     * @param histogram histogram of group sizes, may be null
+     * @param useGroupping
+     * @return 
      */
-    public ConcurrentHashMap<Long, Long> mutationTypeSingleTagAnalysis(
-            ConcurrentHashMap<Integer, CellIndexHolder> equalLocus){
+    private HistogramData getHistogramData(
+            SizeHistogram histogram,
+            boolean useGroupping){
         
-        ConcurrentHashMap<Long, Long> resultCHM = new ConcurrentHashMap<> ();
+        return PlotterTools.groupHistogram(HistogramData.fromSizeHistogram(histogram),
+                    useGroupping,
+                    Setting.teResAnalytics,
+                    DO_NOT_INSERT_ZEROS);
         
-        //build histogram data
-        int maxType = 0;
-        for( Map.Entry<Integer, CellIndexHolder> entry : equalLocus.entrySet()){
-            int size = entry.getValue().size();
-            Long lSize = new Long(size);
-            maxType = Math.max(maxType, size);
-            Long count = resultCHM.get(lSize);
-            if( count == null ){
-                resultCHM.put(lSize, new Long(1));
-            } else {
-                count++;
-                resultCHM.replace(lSize, count);
-            }
-        }
-
-        return resultCHM;
-            
-    }        
-
+    }
+    
     /**
      * Mutation type analysis for subset (single tag)
      * @param equalLocus Equal Mutation type hashMap
-     * @return CHM for histogram for Mutation Types 
+     * @return histogram for Mutation Types (count of groups per group size)
      */
-    public ConcurrentHashMap<Integer, Integer> mutationTypeSingleTagAnalysisII(
-            ConcurrentHashMap<Integer, CellIndexHolder> equalLocus){
+    public SizeHistogram mutationTypeSingleTagAnalysis(IntCellSetMap equalLocus){
         
-        ConcurrentHashMap<Integer, Integer> resultCHM = new ConcurrentHashMap<> ();
-        
-        //build histogram data
-        int maxType = 0;
-        for( Map.Entry<Integer, CellIndexHolder> entry : equalLocus.entrySet()){
-            int size = entry.getValue().size();
-            Integer lSize = new Integer(size);
-            maxType = Math.max(maxType, size);
-            Integer count = resultCHM.get(lSize);
-            if( count == null ){
-                resultCHM.put(lSize, new Integer(1));
-            } else {
-                count++;
-                resultCHM.replace(lSize, count);
-            }
-        }
-
-        return resultCHM;
+        return equalLocus.getSizeHistogram();
             
     }         
     
     /**
-     * Mutation type analysis
-     * @param equalLocus Equal Mutation type hashMap
-     * @return CHM for histogram for Mutation Types 
-     */
-    public ConcurrentHashMap<String, ConcurrentHashMap<Long, Long>> mutationTypeAllTagsAnalysis(
-            ConcurrentHashMap<Integer, CellIndexHolder>[] equalLocus, String[] geneTags){
-        
-        ConcurrentHashMap<String, ConcurrentHashMap<Long, Long>> resultCHM = new ConcurrentHashMap<> ();
-        
-        for(int i = 0; i < equalLocus.length; i++){
-            ConcurrentHashMap<Long, Long> resultCHMforSingleTag
-                    = mutationTypeSingleTagAnalysis(equalLocus[i]);
-            resultCHM.put(geneTags[i], resultCHMforSingleTag);
-        }
-        
-        return resultCHM;
-            
-    }          
-
-    /**
-     * Mutation type analysis
+     * Mutation type analysis, the gene tags are processed in parallel
      * @param equalLocus Equal Mutation type hashMap
      * @param geneTags
-     * @return CHM for histogram for Mutation Types 
+     * @return histograms for Mutation Types per gene tag
      */
-    public ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> mutationTypeAllTagsAnalysisII(
-            ConcurrentHashMap<Integer, CellIndexHolder>[] equalLocus, String[] geneTags){
+    public ConcurrentHashMap<String, SizeHistogram> mutationTypeAllTagsAnalysis(
+            IntCellSetMap[] equalLocus, String[] geneTags){
         
-        ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> resultCHM = new ConcurrentHashMap<> ();
+        SizeHistogram[] histograms = new SizeHistogram[equalLocus.length];
+        IntStream.range(0, equalLocus.length).parallel().forEach(i -> {
+            histograms[i] = mutationTypeSingleTagAnalysis(equalLocus[i]);
+        });
         
+        ConcurrentHashMap<String, SizeHistogram> resultCHM = new ConcurrentHashMap<> ();
         for(int i = 0; i < equalLocus.length; i++){
-            ConcurrentHashMap<Integer, Integer> resultCHMforSingleTag
-                    = mutationTypeSingleTagAnalysisII(equalLocus[i]);
-            resultCHM.put(geneTags[i], resultCHMforSingleTag);
+            resultCHM.put(geneTags[i], histograms[i]);
         }
         
         return resultCHM;
             
     }        
     
-    /**
-     * Part of the Analyze Survivors functionality. Removing groups containing
-     * only one cell from ConcurrentHashMap (Indexed with Integer)
-     * Duplicate removal also performed
-     * @param cHM ConcurrentHashMap to modify
-     */
-    public void correctCellListsIntegerKeyed(ConcurrentHashMap<Integer, CellIndexHolder>[] cHM){
-
-        for (int i = 0; i < cHM.length; i++){
-            for (Map.Entry<Integer, CellIndexHolder> entryDeep : cHM[i].entrySet()){
-
-                entryDeep.getValue().removeDuplicates();
-                if (entryDeep.getValue().size() == 1){
-                    cHM[i].remove(entryDeep.getKey());                
-                }
-            }
-        }
-
-    }
-    
 }
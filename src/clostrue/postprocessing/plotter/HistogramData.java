@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+package clostrue.postprocessing.plotter;
+
+import clostrue.collections.SizeHistogram;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Histogram points (key and count) held in primitive arrays,
+ * ordered by the key.
+ *
+ * Used by the plotter for the csv export and for the creation of the chart
+ * datasets, without the conversion to the JavaFX data series.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class HistogramData {
+
+    private static final int    initialPoints   = 16;
+
+    private int[]               keys;       //keys of the points (ascending)
+    private int[]               counts;     //counts of the points
+    private int                 size;       //count of the points
+
+    /**
+     * Default constructor
+     */
+    public HistogramData() {
+        keys    = new int[initialPoints];
+        counts  = new int[initialPoints];
+        size    = 0;
+    }
+
+    /**
+     * Creates the histogram from the map of key to count
+     * @param cHM map of key to count, may be null
+     * @return histogram, null when the map is null
+     */
+    public static HistogramData fromMap(ConcurrentHashMap<Integer, Integer> cHM){
+        if (cHM == null){
+            return null;
+        }
+        int[] sortedKeys = new int[cHM.size()];
+        int used = 0;
+        for (Integer key : cHM.keySet()){
+            if (used == sortedKeys.length){
+                sortedKeys = Arrays.copyOf(sortedKeys, used * 2 + 1);
+            }
+            sortedKeys[used++] = key;
+        }
+        Arrays.sort(sortedKeys, 0, used);
+        HistogramData histogram = new HistogramData();
+        for (int i = 0; i < used; i++){
+            Integer count = cHM.get(sortedKeys[i]);
+            if (count != null){
+                histogram.add(sortedKeys[i], count);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Creates the histogram from the non empty buckets of the size histogram
+     * @param sizeHistogram histogram of group sizes, may be null
+     * @return histogram, null when the size histogram is null
+     */
+    public static HistogramData fromSizeHistogram(SizeHistogram sizeHistogram){
+        if (sizeHistogram == null){
+            return null;
+        }
+        HistogramData histogram = new HistogramData();
+        for (int i = 0; i <= sizeHistogram.getMaxSize(); i++){
+            int count = sizeHistogram.getCount(i);
+            if (count != 0){
+                histogram.add(i, count);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Adds the point, the key must be greater than the keys already added
+     * @param key   key
+     * @param count count
+     */
+    public void add(int key, int count){
+        if (size == keys.length){
+            keys    = Arrays.copyOf(keys, size * 2);
+            counts  = Arrays.copyOf(counts, size * 2);
+        }
+        keys[size]      = key;
+        counts[size]    = count;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getKey(int i) {
+        return keys[i];
+    }
+
+    public int getCount(int i) {
+        return counts[i];
+    }
+
+    public int getMinKey() {
+        return keys[0];
+    }
+
+    public int getMaxKey() {
+        return keys[size - 1];
+    }
+
+}
@@ -48,11 +48,14 @@ import clostrue.hardcodes.plots.Texts;
 import clostrue.model.SimModel;
 import clostrue.postprocessing.analysis.Analytics;
 import clostrue.postprocessing.analysis.mutationtType.MutationTypeAnalysis;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import javafx.application.Platform;
 
 /**
@@ -66,6 +69,7 @@ public class Plotter {
     private final static boolean   OMMIT_ZEROES         = true;
     private final static boolean   Y_ROUND_TRUE         = true;
     private final static boolean   Y_ROUND_FALSE        = false;
+    private final static boolean   DO_NOT_INSERT_ZEROS  = false;
     
     private final GuiController guiController;
     private final Simulation    simulation;
@@ -78,19 +82,31 @@ public class Plotter {
     
     private ExecutorService threadPool;                 //the pool of all tasks
     private final List<PlotterTask> tasks;              //All the tasks to be executed
+    private final PlotterDatasetCache datasets;         //datasets shared by the PNG and CSV export
     
     /**
      * Default constructor
          * @param guiController GUI Controller (contains simulation)
      */    
     public Plotter(GuiController guiController) {       
+        this(guiController, guiController.getSimulation());
+    }
+
+    /**
+     * Constructor for plotting a given simulation. Used when the simulation
+     * is postprocessed while the next one is already running
+     * @param guiController GUI Controller
+     * @param inSimulation simulation to plot
+     */    
+    public Plotter(GuiController guiController, Simulation inSimulation) {       
         this.guiController  = guiController;
-        this.simulation     = guiController.getSimulation();
+        this.simulation     = inSimulation;
         this.iteration      = simulation.getIteration();
         this.settings       = simulation.getSettings();
         this.analytics      = simulation.getAnalytics();
         this.mta            = analytics.getMta();
         this.tasks          = new ArrayList<>();
+        this.datasets       = new PlotterDatasetCache();
         this.simModel       = new SimModel(iteration, simulation.getSimModel());
     }
     
@@ -110,28 +126,37 @@ public class Plotter {
         simulation.getBenchmark().doTheBenchmark();
         
         if (!tasks.isEmpty()){
-            threadPool = Executors.newFixedThreadPool(tasks.size());
-            tasks.stream().forEach((task) -> {
-                threadPool.submit(task);
-            });  
-            int prevTasksToFinish = 0;
-            do {
-                try {
-                    TimeUnit.SECONDS.sleep(1);
-                } catch (InterruptedException ex) {
-                    Logger.getLogger(Plotter.class.getName()).log(Level.SEVERE, null, ex);
-                }
-                int curTasksToFinish = tasksToFinish.get();
-                if (prevTasksToFinish != curTasksToFinish){
-                    StaticConsoleLogger.logActivity(iteration, Activity.ParallelPlotterFinish, String.valueOf(curTasksToFinish));                    
-                    prevTasksToFinish = curTasksToFinish;
-                }
-            } while (tasksToFinish.get() != 0);
-            
-        threadPool.shutdown();
+            tasksToFinish.set(tasks.size());
+            threadPool = Executors.newFixedThreadPool(Math.max(1,
+                    Math.min(tasks.size(), simModel.getTechParams().getProcTasksCount())));
+            CompletableFuture<?>[] plots = tasks.stream()
+                    .map((task) -> CompletableFuture.runAsync(() -> executeTask(task), threadPool))
+                    .toArray(CompletableFuture[]::new);
+            try {
+                CompletableFuture.allOf(plots).join();
+            } finally {
+                threadPool.shutdown();
+            }
         }
 
     }
+    
+    /**
+     * Executes one plotter task. The failure of the task is logged,
+     * so the other plots are finished anyway.
+     * @param task plotter task
+     */
+    private void executeTask(PlotterTask task){
+        
+        try {
+            task.executeToDo();
+        } catch (IOException | InterruptedException | ExecutionException | RuntimeException ex) {
+            Logger.getLogger(Plotter.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            StaticConsoleLogger.logActivity(iteration, Activity.ParallelPlotterFinish, String.valueOf(tasksToFinish.decrementAndGet()));
+        }
+        
+    }
            
     /**
      * Displays all the plots on the program GUI
@@ -160,25 +185,21 @@ public class Plotter {
             StaticConsoleLogger.logActivity(iteration, Activity.saveGuiSimulationPlotsToPNG, Activity.started);
 
             PlotterTask task;
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartPopulationSizeToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartCumulatedDriverToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
             
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartCumulatedPassengerToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
             
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartDrivPassRatioToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
             
             StaticConsoleLogger.logActivity(iteration, Activity.saveGuiSimulationPlotsToPNG, Activity.scheduled);
             
@@ -195,80 +216,67 @@ public class Plotter {
             
             PlotterTask task;
             
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramShadowDriverMutationCountToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
             
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramShadowPassengerMutationCountToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramSurvivorsDriverMutationCountToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramSurvivorsPassengerMutationCountToPNG, null);
             tasks.add(task);            
-            tasksToFinish.incrementAndGet();
             
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramPopulationSizeToPNG, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
             
             for ( String geneTag : simModel.getModParams().getMAM().getDriverTags()){
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeGeneDriverToPNGgeneTag, geneTag);
                 tasks.add(task); 
-                tasksToFinish.incrementAndGet();
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeLocusDriverToPNGgeneTag, geneTag);
                 tasks.add(task);            
-                tasksToFinish.incrementAndGet();
 
                     
-//                task = new  PlotterTask(tasksToFinish);
+//                task = new  PlotterTask();
 //                task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeGeneDriverToPNGgeneTag, geneTag);
 //                tasks.add(task); 
-//                tasksToFinish.incrementAndGet();
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeLocusDriverToPNGgeneTag, geneTag);
                 tasks.add(task);       
-                tasksToFinish.incrementAndGet();          
                 
             }
             
             for ( String geneTag : simModel.getModParams().getMAM().getPassengerTags()){
                 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeGenePassengerToPNGgeneTag, geneTag);
                 tasks.add(task); 
-                tasksToFinish.incrementAndGet();
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeLocusPassengerToPNGgeneTag, geneTag);
                 tasks.add(task);                     
-                tasksToFinish.incrementAndGet();
 
                 //switched off due to heavy performance issues (file content not tested as well)
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeGenePassengerToPNGgeneTag, geneTag);
                 tasks.add(task); 
-                tasksToFinish.incrementAndGet();                
                 
                 if (1 == 2){
 
-                    task = new  PlotterTask(tasksToFinish);
+                    task = new  PlotterTask();
                     task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeLocusPassengerToPNGgeneTag, geneTag);
                     tasks.add(task);    
-                    tasksToFinish.incrementAndGet();
                     
                 }             
                 
@@ -314,25 +322,21 @@ public class Plotter {
             StaticConsoleLogger.logActivity(iteration, Activity.saveGuiSimulationDataToCSV, Activity.started);
 
             PlotterTask task;
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartPopulationSizeToCSV, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartCumulatedDriverToCSV, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartCumulatedPassengerToCSV, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartDrivPassRatioToCSV, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
             StaticConsoleLogger.logActivity(iteration, Activity.saveGuiSimulationDataToCSV, Activity.scheduled);
             
@@ -352,84 +356,70 @@ public class Plotter {
             StaticConsoleLogger.logActivity(iteration, Activity.saveGuiAnalyticsDataToCSV, Activity.started);
 
             PlotterTask task;
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramShadowDriverMutationCountToCSV, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramShadowPassengerMutationCountToCSV, null);
             tasks.add(task);                
-            tasksToFinish.incrementAndGet();
             
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramSurvivorsDriverMutationCountToCSV, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
 
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramSurvivorsPassengerMutationToCSV, null);
             tasks.add(task);            
-            tasksToFinish.incrementAndGet();
             
-            task = new  PlotterTask(tasksToFinish);
+            task = new  PlotterTask();
             task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartHistogramPopulationSizeToCSV, null);
             tasks.add(task);
-            tasksToFinish.incrementAndGet();
             
             for ( String geneTag : simModel.getModParams().getMAM().getDriverTags()){
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeGeneDriverToCSVgeneTag, geneTag);
                 tasks.add(task);
-                tasksToFinish.incrementAndGet();
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeLocusDriverToCSVgeneTag, geneTag);
                 tasks.add(task);
-                tasksToFinish.incrementAndGet();
 
-//                task = new  PlotterTask(tasksToFinish);
+//                task = new  PlotterTask();
 //                task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeGeneDriverToCSVgeneTag, geneTag);
 //                tasks.add(task);
-//                tasksToFinish.incrementAndGet();
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeLocusDriverToCSVgeneTag, geneTag);
                 tasks.add(task);   
-                tasksToFinish.incrementAndGet();
                                              
             }
 
             for ( String geneTag : simModel.getModParams().getMAM().getPassengerTags()){
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeGenePassengerToCSVgeneTag, geneTag);
                 tasks.add(task);
-                tasksToFinish.incrementAndGet();
 
-                task = new  PlotterTask(tasksToFinish);
+                task = new  PlotterTask();
                 task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartSurvivorsMutTypeLocusPassengerToCSVgeneTag, geneTag);
                 tasks.add(task);
-                tasksToFinish.incrementAndGet();
 
-                    task = new  PlotterTask(tasksToFinish);
+                    task = new  PlotterTask();
                     task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeGenePassengerToCSVgeneTag, geneTag);
                     tasks.add(task);
-                    tasksToFinish.incrementAndGet();                
                 
                 if (1 == 2 ){
 
 //                    //switched off due to heavy performance issues (file content not tested as well)
-//                    task = new  PlotterTask(tasksToFinish);
+//                    task = new  PlotterTask();
 //                    task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeGenePassengerToCSVgeneTag, geneTag);
 //                    tasks.add(task);
-//                    tasksToFinish.incrementAndGet();
 
-                    task = new  PlotterTask(tasksToFinish);
+                    task = new  PlotterTask();
                     task.passParameters(this, PlotterTaskWorkToDo.saveJFreeChartShadowMutTypeLocusPassengerToCSVgeneTag, geneTag);
                     tasks.add(task);  
-                    tasksToFinish.incrementAndGet();
                     
                 }              
                 
@@ -938,16 +928,15 @@ public class Plotter {
      */
     public void saveJFreeChartHistogramShadowDriverMutationCountToCSV(){
        
-        SimpleHistogramDataset dataset = getHistogramDatasetShadowDriverMutations(NO_GROUPPING);
-        if (dataset != null){
+        HistogramData histogram = getHistogramShadowDriverMutations(NO_GROUPPING);
+        if (histogram != null){
             String fileName = prepareFileName(NamePart.snHistogramShadowDriverMutCount, 
                     Extension.dotCsv);
-            PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                    dataset, 
+            PlotterTools.saveHistogramToCSV(iteration, 
+                    histogram, 
                     fileName, 
                     Texts.shadowDriverHistogramXAxis, 
-                    Texts.shadowDriverHistogramYAxis,
-                    Y_ROUND_TRUE);            
+                    Texts.shadowDriverHistogramYAxis);            
         }
 
     }        
@@ -957,16 +946,15 @@ public class Plotter {
      */
     public void saveJFreeChartHistogramSurvivorsDriverMutationCountToCSV(){
        
-        SimpleHistogramDataset dataset = getHistogramDatasetSurvivorsDriverMutationsCount(NO_GROUPPING);
-        if (dataset != null){
+        HistogramData histogram = getHistogramSurvivorsDriverMutationsCount(NO_GROUPPING);
+        if (histogram != null){
             String fileName = prepareFileName(NamePart.snHistogramSurvivorsDriverMutCount, 
                     Extension.dotCsv);
-            PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                    dataset, 
+            PlotterTools.saveHistogramToCSV(iteration, 
+                    histogram, 
                     fileName, 
                     Texts.survivorsDriverHistogramXAxis, 
-                    Texts.survivorsDriverHistogramYAxis,
-                    Y_ROUND_TRUE);            
+                    Texts.survivorsDriverHistogramYAxis);            
         }
 
     }        
@@ -976,15 +964,14 @@ public class Plotter {
      */
     public void saveJFreeChartHistogramShadowPassengerMutationCountToCSV(){
        
-        SimpleHistogramDataset dataset = getHistogramDatasetShadowPassengerMutations(NO_GROUPPING);
+        HistogramData histogram = getHistogramShadowPassengerMutations(NO_GROUPPING);
         String fileName = prepareFileName(NamePart.snHistogramShadowPassengerMutCount, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.shadowPassengerHistogramXAxis, 
-                Texts.shadowPassengerHistogramYAxis,
-                Y_ROUND_TRUE);
+                Texts.shadowPassengerHistogramYAxis);
 
     }      
 
@@ -993,15 +980,14 @@ public class Plotter {
      */
     public void saveJFreeChartHistogramSurvivorsPassengerMutationToCSV(){
        
-        SimpleHistogramDataset dataset = getHistogramDatasetSurvivorsPassengerMutations(NO_GROUPPING);
+        HistogramData histogram = getHistogramSurvivorsPassengerMutations(NO_GROUPPING);
         String fileName = prepareFileName(NamePart.snHistogramSurvivorsPassengerMutCount, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.survivorsPassengerHistogramXAxis, 
-                Texts.survivorsPassengerHistogramYAxis,
-                Y_ROUND_TRUE);
+                Texts.survivorsPassengerHistogramYAxis);
 
     }          
     
@@ -1010,15 +996,14 @@ public class Plotter {
      */
     public void saveJFreeChartHistogramPopulationSizeToCSV(){
        
-        SimpleHistogramDataset dataset = getHistogramDatasetPopulationSize(NO_GROUPPING);
+        HistogramData histogram = getHistogramPopulationSize(NO_GROUPPING);
         String fileName = prepareFileName(NamePart.snHistogramPopulationSize, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.popSizeHistogramXAxis, 
-                Texts.popSizeHistogramYAxis,
-                Y_ROUND_TRUE);
+                Texts.popSizeHistogramYAxis);
 
     }       
 
@@ -1028,17 +1013,16 @@ public class Plotter {
      */
     public void saveJFreeChartSurvivorsMutTypeGeneDriverToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeGeneDriver(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeGeneDriver, NO_GROUPPING, geneTag, mta::getHistogramDataSurvivorsMutTypeGeneDriver);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snSurvivorsHistogramMutTypeGeneDriver, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeGeneDriverXAxis, 
-                Texts.snHistogramMutTypeGeneDriverYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeGeneDriverYAxis);
 
     }       
 
@@ -1048,17 +1032,16 @@ public class Plotter {
      */
     public void saveJFreeChartShadowMutTypeGeneDriverToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeGeneDriver(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snShadowHistogramMutTypeGeneDriver, NO_GROUPPING, geneTag, mta::getHistogramDataShadowMutTypeGeneDriver);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snShadowHistogramMutTypeGeneDriver, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeGeneDriverXAxis, 
-                Texts.snHistogramMutTypeGeneDriverYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeGeneDriverYAxis);
 
     }      
     
@@ -1068,17 +1051,16 @@ public class Plotter {
      */
     public void saveJFreeChartSurvivorsMutTypeGenePassengerToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeGenePassenger(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeGenePassenger, NO_GROUPPING, geneTag, mta::getHistogramDataSurvivorsMutTypeGenePassenger);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snSurvivorsHistogramMutTypeGenePassenger, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeGenePassengerXAxis, 
-                Texts.snHistogramMutTypeGenePassengerYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeGenePassengerYAxis);
 
     }      
 
@@ -1088,17 +1070,16 @@ public class Plotter {
      */
     public void saveJFreeChartShadowMutTypeGenePassengerToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeGenePassenger(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snShadowHistogramMutTypeGenePassenger, NO_GROUPPING, geneTag, mta::getHistogramDataShadowMutTypeGenePassenger);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snShadowHistogramMutTypeGenePassenger, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeGenePassengerXAxis, 
-                Texts.snHistogramMutTypeGenePassengerYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeGenePassengerYAxis);
 
     }         
     
@@ -1108,17 +1089,16 @@ public class Plotter {
      */
     public void saveJFreeChartSurvivorsMutTypeLocusDriverToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeLocusDriver(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeLocusDriver, NO_GROUPPING, geneTag, mta::getHistogramDataSurvivorsMutTypeLocusDriver);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snSurvivorsHistogramMutTypeLocusDriver, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeLocusDriverXAxis, 
-                Texts.snHistogramMutTypeLocusDriverYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeLocusDriverYAxis);
 
     }       
 
@@ -1128,17 +1108,16 @@ public class Plotter {
      */
     public void saveJFreeChartShadowMutTypeLocusDriverToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeLocusDriver(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snShadowHistogramMutTypeLocusDriver, NO_GROUPPING, geneTag, mta::getHistogramDataShadowMutTypeLocusDriver);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snShadowHistogramMutTypeLocusDriver, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeLocusDriverXAxis, 
-                Texts.snHistogramMutTypeLocusDriverYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeLocusDriverYAxis);
 
     }       
     
@@ -1148,17 +1127,16 @@ public class Plotter {
      */
     public void saveJFreeChartSurvivorsMutTypeLocusPassengerToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeLocusPassenger(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeLocusPassenger, NO_GROUPPING, geneTag, mta::getHistogramDataSurvivorsMutTypeLocusPassenger);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snSurvivorsHistogramMutTypeLocusPassenger, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeLocusPassengerXAxis, 
-                Texts.snHistogramMutTypeLocusPassengerYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeLocusPassengerYAxis);
 
     }      
 
@@ -1168,17 +1146,16 @@ public class Plotter {
      */
     public void saveJFreeChartShadowMutTypeLocusPassengerToCSV(String geneTag){
        
-        SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeLocusPassenger(NO_GROUPPING, geneTag);
+        HistogramData histogram 
+                = getMutTypeHistogram(Name.snShadowHistogramMutTypeLocusPassenger, NO_GROUPPING, geneTag, mta::getHistogramDataShadowMutTypeLocusPassenger);
         String fileName = prepareFileNameWithTag(geneTag,
                 Name.snShadowHistogramMutTypeLocusPassenger, 
                 Extension.dotCsv);
-        PlotterTools.saveSimpleHistogramDataSetToCSV(iteration, 
-                dataset, 
+        PlotterTools.saveHistogramToCSV(iteration, 
+                histogram, 
                 fileName, 
                 Texts.snHistogramMutTypeLocusPassengerXAxis, 
-                Texts.snHistogramMutTypeLocusPassengerYAxis,
-                Y_ROUND_TRUE);
+                Texts.snHistogramMutTypeLocusPassengerYAxis);
 
     }          
     
@@ -1307,96 +1284,82 @@ public class Plotter {
         return dataset;
     }                                         
 
-    /**
-     * Creates the DataSerie for plot based on a XYChart Serie of Integer - Long
-     * Used for histograms
-     */
-    private SimpleHistogramDataset getHistogramDatasetFromXYChartSeriesIntegerInteger(XYChart.Series<Integer, Integer> inSerie){
-        
-        if (inSerie.getData().isEmpty()){
-            return null;
-        }        
-        
-        SimpleHistogramDataset dataset = new SimpleHistogramDataset(1);
-        
-        inSerie.getData().stream().map((entry) -> {
-            dataset.addBin(new SimpleHistogramBin(entry.getXValue()-0.5, entry.getXValue()+0.4999999,true,true));
-            return entry;
-        }).forEachOrdered((entry) -> {
-            // do not forget to divide by the bin width if the bin width will change in the future (now it is more or less one)
-            for (Integer repetitions = new Integer(0); repetitions < entry.getYValue(); repetitions++){
-                dataset.addObservation(entry.getXValue());
-            }
-        });
-
-        return dataset;
-    }       
-    
     /**
      * Creates the DataSerie for plot for Population Size
      */
     private XYSeries getDataSeriePopulationSize(boolean useGroupping){
         
-        return PlotterTools.getDataSerieFromIntTable(PlotterTools.convertAtomicIntegerArrayToIntArray(simulation.getStatistics().getHistoryCellCountN()), 
-                useGroupping, 
-                Texts.populationSizeTitle,
-                Setting.teResPopulationSize,
-                simulation.getCurrentCycle(),
-                simModel.getModParams().getMaxCycles());
+        return datasets.get(NamePart.snPopulationSize, null, useGroupping, () ->
+                PlotterTools.getDataSerieFromIntTable(PlotterTools.convertAtomicIntegerArrayToIntArray(simulation.getStatistics().getHistoryCellCountN()), 
+                    useGroupping, 
+                    Texts.populationSizeTitle,
+                    Setting.teResPopulationSize,
+                    simulation.getCurrentCycle(),
+                    simModel.getModParams().getMaxCycles()));
     }
     
     /**
-     * Creates the DataSerie for plot for Histogram of Driver Mutations
+     * Creates the histogram points for plot for Histogram of Driver Mutations
      */
-    private SimpleHistogramDataset getHistogramDatasetShadowDriverMutations(boolean useGroupping){
+    private HistogramData getHistogramShadowDriverMutations(boolean useGroupping){
         
-        return getHistogramDatasetFromXYChartSeriesIntegerInteger(convertCHMIIAsIntegerSerie(simulation.getStatistics().getHistogramShadowDriverMutations(),
-                    useGroupping,
-                    Setting.teResAnalytics));
+        return datasets.get(NamePart.snHistogramShadowDriverMutCount, null, useGroupping, () ->
+                PlotterTools.groupHistogram(HistogramData.fromMap(simulation.getStatistics().getHistogramShadowDriverMutations()),
+                        useGroupping,
+                        Setting.teResAnalytics,
+                        DO_NOT_INSERT_ZEROS));
         
     }    
 
     /**
-     * Creates the DataSerie for plot for Histogram of Driver Mutations
+     * Creates the histogram points for plot for Histogram of Driver Mutations
      */
-    private SimpleHistogramDataset getHistogramDatasetSurvivorsDriverMutationsCount(boolean useGroupping){
+    private HistogramData getHistogramSurvivorsDriverMutationsCount(boolean useGroupping){
         
-        return getHistogramDatasetFromXYChartSeriesIntegerInteger(convertCHMIIAsIntegerSerie(simulation.getStatistics().getHistogramSurvivorsDriverMutationsCount(),
-                    useGroupping,
-                    Setting.teResAnalytics));
+        return datasets.get(NamePart.snHistogramSurvivorsDriverMutCount, null, useGroupping, () ->
+                PlotterTools.groupHistogram(HistogramData.fromMap(simulation.getStatistics().getHistogramSurvivorsDriverMutationsCount()),
+                        useGroupping,
+                        Setting.teResAnalytics,
+                        DO_NOT_INSERT_ZEROS));
         
     }    
     
     /**
-     * Creates the DataSerie for plot for Histogram of Passenger Mutations
+     * Creates the histogram points for plot for Histogram of Passenger Mutations
      */
-    private SimpleHistogramDataset getHistogramDatasetShadowPassengerMutations(boolean useGroupping){
+    private HistogramData getHistogramShadowPassengerMutations(boolean useGroupping){
         
-        return getHistogramDatasetFromXYChartSeriesIntegerInteger(convertCHMIIAsIntegerSerie(simulation.getStatistics().getHistogramShadowPassengerMutations(),
-                    useGroupping,
-                    Setting.teResAnalytics));
+        return datasets.get(NamePart.snHistogramShadowPassengerMutCount, null, useGroupping, () ->
+                PlotterTools.groupHistogram(HistogramData.fromMap(simulation.getStatistics().getHistogramShadowPassengerMutations()),
+                        useGroupping,
+                        Setting.teResAnalytics,
+                        DO_NOT_INSERT_ZEROS));
         
     }        
 
     /**
-     * Creates the DataSerie for plot for Histogram of Passenger Mutations
+     * Creates the histogram points for plot for Histogram of Passenger Mutations
      */
-    private SimpleHistogramDataset getHistogramDatasetSurvivorsPassengerMutations(boolean useGroupping){
+    private HistogramData getHistogramSurvivorsPassengerMutations(boolean useGroupping){
         
-        return getHistogramDatasetFromXYChartSeriesIntegerInteger(convertCHMIIAsIntegerSerie(simulation.getStatistics().getHistogramSurvivorsPassengerMutations(),
-                    useGroupping,
-                    Setting.teResAnalytics));
+        return datasets.get(NamePart.snHistogramSurvivorsPassengerMutCount, null, useGroupping, () ->
+                PlotterTools.groupHistogram(HistogramData.fromMap(simulation.getStatistics().getHistogramSurvivorsPassengerMutations()),
+                        useGroupping,
+                        Setting.teResAnalytics,
+                        DO_NOT_INSERT_ZEROS));
         
     }        
     
     /**
-     * Creates the DataSerie for plot for Histogram of Population Size
+     * Creates the histogram points for plot for Histogram of Population Size
      */
-    private SimpleHistogramDataset getHistogramDatasetPopulationSize(boolean useGroupping){
+    private HistogramData getHistogramPopulationSize(boolean useGroupping){
         
-        return getHistogramDatasetFromXYChartSeriesIntegerInteger(convertCHMIIAsIntegerSerie(simulation.getStatistics().getHistogramPopulationSize(),
-                    useGroupping,
-                    Setting.teResAnalytics));
+        return datasets.get(NamePart.snHistogramPopulationSize, null, useGroupping, () ->
+                PlotterTools.groupHistogram(HistogramData.fromMap(simulation.getStatistics().getHistogramPopulationSize()),
+                        useGroupping,
+                        Setting.teResAnalytics,
+                        DO_NOT_INSERT_ZEROS));
         
     }     
    
@@ -1408,11 +1371,12 @@ public class Plotter {
      */
     private XYSeries getDataSerieDrivPassRatio(boolean useGroupping){
         
-        return getDataSerieFromDoubleTable(OMMIT_ZEROES,
-                simulation.getStatistics().getHistoryDriverPassRatio(), 
-                useGroupping, 
-                Texts.historyDriverPassRatioTitle,
-                Setting.teResSimulation);
+        return datasets.get(NamePart.snDrivPassRatio, null, useGroupping, () ->
+                getDataSerieFromDoubleTable(OMMIT_ZEROES,
+                    simulation.getStatistics().getHistoryDriverPassRatio(), 
+                    useGroupping, 
+                    Texts.historyDriverPassRatioTitle,
+                    Setting.teResSimulation));
     }    
     
     /**
@@ -1420,12 +1384,13 @@ public class Plotter {
      */
     private XYSeries getDataSerieCumulatedDriver(boolean useGroupping){
 
-        return PlotterTools.getDataSerieFromIntTable(PlotterTools.convertAtomicIntegerArrayToIntArray(simulation.getStatistics().getHistoryDriverMutationCount()), 
-            useGroupping, 
-            Texts.historyDriveMutationTitle,
-            Setting.teResSimulation,
-            simulation.getCurrentCycle(),
-            simModel.getModParams().getMaxCycles());
+        return datasets.get(NamePart.snShadowCumulatedDriver, null, useGroupping, () ->
+                PlotterTools.getDataSerieFromIntTable(PlotterTools.convertAtomicIntegerArrayToIntArray(simulation.getStatistics().getHistoryDriverMutationCount()), 
+                useGroupping, 
+                Texts.historyDriveMutationTitle,
+                Setting.teResSimulation,
+                simulation.getCurrentCycle(),
+                simModel.getModParams().getMaxCycles()));
     }    
     
     /**
@@ -1433,14 +1398,33 @@ public class Plotter {
      */
     private XYSeries getDataSerieCumulatedPassenger(boolean useGroupping){
 
-        return PlotterTools.getDataSerieFromIntTable(PlotterTools.convertAtomicIntegerArrayToIntArray(simulation.getStatistics().getHistoryPassengerMutationCount()), 
-            useGroupping, 
-            Texts.historyPassengerMutationTitle,
-            Setting.teResSimulation,
-            simulation.getCurrentCycle(),
-            simModel.getModParams().getMaxCycles());
+        return datasets.get(NamePart.snCumulatedPassenger, null, useGroupping, () ->
+                PlotterTools.getDataSerieFromIntTable(PlotterTools.convertAtomicIntegerArrayToIntArray(simulation.getStatistics().getHistoryPassengerMutationCount()), 
+                useGroupping, 
+                Texts.historyPassengerMutationTitle,
+                Setting.teResSimulation,
+                simulation.getCurrentCycle(),
+                simModel.getModParams().getMaxCycles()));
     }       
     
+    /**
+     * Returns the (cached) histogram of the Mutation Type Analysis
+     * @param name          plot distinctive name
+     * @param useGroupping  groupping
+     * @param geneTag       gene tag
+     * @param creator       mutation type analysis histogram creator
+     * @return histogram for the Mutation Type Analysis
+     */
+    private HistogramData getMutTypeHistogram(
+            String name,
+            boolean useGroupping,
+            String geneTag,
+            BiFunction<Boolean, String, HistogramData> creator){
+        
+        return datasets.get(name, geneTag, useGroupping, () -> creator.apply(useGroupping, geneTag));
+        
+    }
+    
     /**
      * Creates the JFreeChart for Population Size
      * @return chart for population size
@@ -1472,7 +1456,7 @@ public class Plotter {
     private JFreeChart getChartHistogramShadowDriverMutations(boolean useGroupping){
         
         JFreeChart chart;
-        SimpleHistogramDataset dataset = getHistogramDatasetShadowDriverMutations(useGroupping);
+        SimpleHistogramDataset dataset = PlotterTools.getHistogramDataset(getHistogramShadowDriverMutations(useGroupping));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.shadowDriverCountHistogramTitle, 
                     Texts.shadowDriverHistogramXAxis, 
@@ -1497,7 +1481,7 @@ public class Plotter {
     private JFreeChart getChartHistogramSurvivorsDriverMutations(boolean useGroupping){
         
         JFreeChart chart;
-        SimpleHistogramDataset dataset = getHistogramDatasetSurvivorsDriverMutationsCount(useGroupping);
+        SimpleHistogramDataset dataset = PlotterTools.getHistogramDataset(getHistogramSurvivorsDriverMutationsCount(useGroupping));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.survivorsDriverCountHistogramTitle, 
                     Texts.survivorsDriverHistogramXAxis, 
@@ -1522,7 +1506,7 @@ public class Plotter {
     private JFreeChart getChartHistogramShadowPassengerMutations(boolean useGroupping){
         
         JFreeChart chart;
-        SimpleHistogramDataset dataset = getHistogramDatasetShadowPassengerMutations(useGroupping);
+        SimpleHistogramDataset dataset = PlotterTools.getHistogramDataset(getHistogramShadowPassengerMutations(useGroupping));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.shadowPassengerCountHistogramTitle, 
                     Texts.shadowPassengerHistogramXAxis, 
@@ -1547,7 +1531,7 @@ public class Plotter {
     private JFreeChart getChartHistogramSurvivorsPassengerMutations(boolean useGroupping){
         
         JFreeChart chart;
-        SimpleHistogramDataset dataset = getHistogramDatasetSurvivorsPassengerMutations(useGroupping);
+        SimpleHistogramDataset dataset = PlotterTools.getHistogramDataset(getHistogramSurvivorsPassengerMutations(useGroupping));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.survivorsPassengerCountHistogramTitle, 
                     Texts.survivorsPassengerHistogramXAxis, 
@@ -1572,7 +1556,7 @@ public class Plotter {
     private JFreeChart getChartHistogramPopulationSize(boolean useGroupping){
         
         JFreeChart chart;
-        SimpleHistogramDataset dataset = getHistogramDatasetPopulationSize(useGroupping);
+        SimpleHistogramDataset dataset = PlotterTools.getHistogramDataset(getHistogramPopulationSize(useGroupping));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.popSizeHistogramTitle, 
                     Texts.popSizeHistogramXAxis, 
@@ -1600,7 +1584,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeGeneDriver(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeGeneDriver, useGroupping, geneTag, mta::getHistogramDataSurvivorsMutTypeGeneDriver));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramSurvivorsMutTypeGeneDriverTitle, 
                     Texts.snHistogramMutTypeGeneDriverXAxis, 
@@ -1628,7 +1612,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeGeneDriver(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snShadowHistogramMutTypeGeneDriver, useGroupping, geneTag, mta::getHistogramDataShadowMutTypeGeneDriver));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramShadowMutTypeGeneDriverTitle, 
                     Texts.snHistogramMutTypeGeneDriverXAxis, 
@@ -1656,7 +1640,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeGenePassenger(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeGenePassenger, useGroupping, geneTag, mta::getHistogramDataSurvivorsMutTypeGenePassenger));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramMutTypeGenePassengerTitle, 
                     Texts.snHistogramMutTypeGenePassengerXAxis, 
@@ -1684,7 +1668,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeGenePassenger(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snShadowHistogramMutTypeGenePassenger, useGroupping, geneTag, mta::getHistogramDataShadowMutTypeGenePassenger));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramMutTypeGenePassengerTitle, 
                     Texts.snHistogramMutTypeGenePassengerXAxis, 
@@ -1712,7 +1696,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeLocusDriver(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeLocusDriver, useGroupping, geneTag, mta::getHistogramDataSurvivorsMutTypeLocusDriver));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramSurvivorsMutTypeLocusDriverTitle, 
                     Texts.snHistogramMutTypeLocusDriverXAxis, 
@@ -1740,7 +1724,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeLocusDriver(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snShadowHistogramMutTypeLocusDriver, useGroupping, geneTag, mta::getHistogramDataShadowMutTypeLocusDriver));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramShadowMutTypeLocusDriverTitle, 
                     Texts.snHistogramMutTypeLocusDriverXAxis, 
@@ -1768,7 +1752,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetSurvivorsMutTypeLocusPassenger(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snSurvivorsHistogramMutTypeLocusPassenger, useGroupping, geneTag, mta::getHistogramDataSurvivorsMutTypeLocusPassenger));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramMutTypeLocusPassengerTitle, 
                     Texts.snHistogramMutTypeLocusPassengerXAxis, 
@@ -1796,7 +1780,7 @@ public class Plotter {
         
         JFreeChart chart;
         SimpleHistogramDataset dataset 
-                = mta.getSimpleHistogramDatasetShadowMutTypeLocusPassenger(useGroupping, geneTag);
+                = PlotterTools.getHistogramDataset(getMutTypeHistogram(Name.snShadowHistogramMutTypeLocusPassenger, useGroupping, geneTag, mta::getHistogramDataShadowMutTypeLocusPassenger));
         if (dataset != null){
             chart = ChartFactory.createHistogram(Texts.snHistogramMutTypeLocusPassengerTitle, 
                     Texts.snHistogramMutTypeLocusPassengerXAxis, 
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+package clostrue.postprocessing.plotter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache of the plot datasets of one plotter.
+ *
+ * The PNG and the CSV export of the same plot are scheduled as separate
+ * plotter tasks; the dataset is created by the first of them and the other
+ * one waits for it and reuses it. The datasets are not changed after
+ * creation, so they are shared by the parallel plotter tasks.
+ *
+ * @author Krzysztof Szymiczek
+ */
+public class PlotterDatasetCache {
+
+    private final ConcurrentHashMap<String, FutureTask<Object>> datasets;  //datasets per plot name, gene tag and groupping
+
+    /**
+     * Default constructor
+     */
+    public PlotterDatasetCache() {
+        datasets = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the dataset of the plot, the dataset is created when missing
+     * @param <T>           type of the dataset
+     * @param name          plot distinctive name
+     * @param geneTag       gene tag (null when the plot is not per gene tag)
+     * @param useGroupping  groupping
+     * @param creator       creates the dataset (may return null)
+     * @return dataset of the plot
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name, String geneTag, boolean useGroupping, Supplier<T> creator){
+
+        String key = name + '|' + geneTag + '|' + useGroupping;
+        FutureTask<Object> dataset = datasets.get(key);
+        if (dataset == null){
+            FutureTask<Object> created = new FutureTask<>(creator::get);
+            dataset = datasets.putIfAbsent(key, created);
+            if (dataset == null){
+                dataset = created;
+                created.run();
+            }
+        }
+        try {
+            return (T) dataset.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            Logger.getLogger(PlotterDatasetCache.class.getName()).log(Level.SEVERE, null, ex);
+        } catch (ExecutionException ex) {
+            Logger.getLogger(PlotterDatasetCache.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        return null;
+    }
+
+}
@@ -20,7 +20,6 @@ package clostrue.postprocessing.plotter;
 import clostrue.enumerations.PlotterTaskWorkToDo;
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.SwingWorker;
 
 /**
@@ -38,13 +37,11 @@ public class PlotterTask extends SwingWorker<Void,Void> {
     private Plotter                 _plotter;               //plotter object
     private PlotterTaskWorkToDo     _workToDo;              //the ID of PlotterTaskWorkToDO
     private String                  _geneTag;               //gene Tag
-    private final AtomicInteger     _notProcessedCounter;
     
     /**
      * Default (empty) constructor
      */
-    public PlotterTask(AtomicInteger notProcessedCounter) {
-        _notProcessedCounter = notProcessedCounter;
+    public PlotterTask() {
     }
         
     /**
@@ -99,147 +96,111 @@ public class PlotterTask extends SwingWorker<Void,Void> {
         switch(_workToDo){
             case saveJFreeChartPopulationSizeToPNG:
                 _plotter.saveJFreeChartPopulationSizeToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartCumulatedDriverToPNG:
                 _plotter.saveJFreeChartCumulatedDriverToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartCumulatedPassengerToPNG:
                 _plotter.saveJFreeChartCumulatedPassengerToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartDrivPassRatioToPNG:
                 _plotter.saveJFreeChartDrivPassRatioToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramShadowDriverMutationCountToPNG:
                 _plotter.saveJFreeChartHistogramShadowDriverMutationCountToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramShadowPassengerMutationCountToPNG:
                 _plotter.saveJFreeChartHistogramShadowPassengerMutationCountToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramSurvivorsDriverMutationCountToPNG:
                 _plotter.saveJFreeChartHistogramSurvivorsDriverMutationCountToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramSurvivorsPassengerMutationCountToPNG:
                 _plotter.saveJFreeChartHistogramSurvivorsPassengerMutationCountToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
 //            case saveJFreeChartHistogramDrivPassRatioToPNG:
 //                _plotter.saveJFreeChartHistogramShadowDrivPassRatioToPNG();
-//                _notProcessedCounter.decrementAndGet();
 //                break;
             case saveJFreeChartHistogramPopulationSizeToPNG:
                 _plotter.saveJFreeChartHistogramPopulationSizeToPNG();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeGeneDriverToPNGgeneTag:
                 _plotter.saveJFreeChartSurvivorsMutTypeGeneDriverToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeGeneDriverToPNGgeneTag:
                 _plotter.saveJFreeChartShadowMutTypeGeneDriverToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeLocusDriverToPNGgeneTag:  
                 _plotter.saveJFreeChartSurvivorsMutTypeLocusDriverToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeLocusDriverToPNGgeneTag:  
                 _plotter.saveJFreeChartShadowMutTypeLocusDriverToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeGenePassengerToPNGgeneTag:
                 _plotter.saveJFreeChartSurvivorsMutTypeGenePassengerToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeGenePassengerToPNGgeneTag:
                 _plotter.saveJFreeChartShadowMutTypeGenePassengerToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeLocusPassengerToPNGgeneTag: 
                 _plotter.saveJFreeChartSurvivorsMutTypeLocusPassengerToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeLocusPassengerToPNGgeneTag: 
                 _plotter.saveJFreeChartShadowMutTypeLocusPassengerToPNG(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartPopulationSizeToCSV:
                 _plotter.saveJFreeChartPopulationSizeToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartCumulatedDriverToCSV:
                 _plotter.saveJFreeChartCumulatedDriverToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartCumulatedPassengerToCSV:
                 _plotter.saveJFreeChartCumulatedPassengerToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartDrivPassRatioToCSV:
                 _plotter.saveJFreeChartDrivPassRatioToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramShadowDriverMutationCountToCSV:
                 _plotter.saveJFreeChartHistogramShadowDriverMutationCountToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramShadowPassengerMutationCountToCSV:
                 _plotter.saveJFreeChartHistogramShadowPassengerMutationCountToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramSurvivorsDriverMutationCountToCSV:
                 _plotter.saveJFreeChartHistogramSurvivorsDriverMutationCountToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartHistogramSurvivorsPassengerMutationToCSV:
                 _plotter.saveJFreeChartHistogramSurvivorsPassengerMutationToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
 //            case saveJFreeChartHistogramDrivPassRatioToCSV:
 //                _plotter.saveJFreeChartHistogramShadowDrivPassRatioToCSV();
-//                _notProcessedCounter.decrementAndGet();
 //                break;
             case saveJFreeChartHistogramPopulationSizeToCSV:
                 _plotter.saveJFreeChartHistogramPopulationSizeToCSV();
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeGeneDriverToCSVgeneTag:
                 _plotter.saveJFreeChartSurvivorsMutTypeGeneDriverToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeGeneDriverToCSVgeneTag:
                 _plotter.saveJFreeChartShadowMutTypeGeneDriverToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeLocusDriverToCSVgeneTag:  
                 _plotter.saveJFreeChartSurvivorsMutTypeLocusDriverToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeLocusDriverToCSVgeneTag:  
                 _plotter.saveJFreeChartShadowMutTypeLocusDriverToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeGenePassengerToCSVgeneTag:
                 _plotter.saveJFreeChartSurvivorsMutTypeGenePassengerToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeGenePassengerToCSVgeneTag:
                 _plotter.saveJFreeChartShadowMutTypeGenePassengerToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartSurvivorsMutTypeLocusPassengerToCSVgeneTag:
                 _plotter.saveJFreeChartSurvivorsMutTypeLocusPassengerToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
             case saveJFreeChartShadowMutTypeLocusPassengerToCSVgeneTag:
                 _plotter.saveJFreeChartShadowMutTypeLocusPassengerToCSV(_geneTag);
-                _notProcessedCounter.decrementAndGet();
                 break;
 
         }
@@ -793,4 +793,129 @@ public class PlotterTools {
         return dataset;
     }   
     
+    /**
+     * Groups the histogram points on the primitive arrays, the same way
+     * as the conversion to the data serie (convertCHMIIAsIntegerSerie) does
+     * @param histogram     histogram points, may be null
+     * @param useGroupping  groupping
+     * @param resolution    groupping resolution
+     * @param insertZeroes  should zeros be explicitly inserted to data?
+     * @return              grouped histogram points, null when the histogram is null
+     */
+    public static HistogramData groupHistogram(HistogramData histogram, boolean useGroupping, int resolution, boolean insertZeroes){
+        
+        if (histogram == null || histogram.isEmpty()){
+            return histogram;
+        }
+        
+        int minKey = histogram.getMinKey();
+        int maxKey = histogram.getMaxKey();
+        HistogramData result = new HistogramData();
+        
+        if (useGroupping && ( 2 * (maxKey - minKey) ) >= resolution){
+            int pointDistance = (maxKey - minKey) / resolution;
+            if (pointDistance < 1){
+                pointDistance = 1;
+            }
+            int point = pointDistance;
+            int value = 0;
+            int next = 0;
+            for (int key = minKey ; key <= maxKey ; key++){
+                int valueTmp = 0;
+                if (histogram.getKey(next) == key){
+                    valueTmp = histogram.getCount(next);
+                    next++;
+                }
+                if (point == 0){
+                    if ( value != 0 ){
+                        result.add(key, value);
+                    } else {
+                        if (insertZeroes){
+                            result.add(key, 0);
+                        }
+                    }
+                    value = valueTmp;
+                    point = pointDistance - 1;
+                } else {
+                    value += valueTmp;
+                    point--;
+                }
+            }
+        } else {
+            int next = 0;
+            for (int key = minKey ; key <= maxKey ; key++){
+                if (histogram.getKey(next) == key){
+                    result.add(key, histogram.getCount(next));
+                    next++;
+                } else {
+                    if (insertZeroes){
+                        result.add(key, 0);
+                    } else {
+                        //skip directly to the next existing key
+                        key = histogram.getKey(next) - 1;
+                    }
+                }
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Creates the histogram dataset directly from the histogram points,
+     * one bin per point, the bin item count is set to the point count
+     * @param histogram histogram points, may be null
+     * @return histogram dataset, null when there is no point
+     */
+    public static SimpleHistogramDataset getHistogramDataset(HistogramData histogram){
+        
+        if (histogram == null || histogram.isEmpty()){
+            return null;
+        }
+        
+        SimpleHistogramDataset dataset = new SimpleHistogramDataset(1);
+        for (int i = 0; i < histogram.size(); i++){
+            int key = histogram.getKey(i);
+            SimpleHistogramBin bin = new SimpleHistogramBin(key-0.5, key+0.4999999,true,true);
+            bin.setItemCount(histogram.getCount(i));
+            dataset.addBin(bin);
+        }
+        
+        return dataset;
+    }
+    
+    /**
+     * Saves the histogram points directly to csv file
+     * @param iteration     iteration
+     * @param histogram     histogram points, may be null
+     * @param fullFileName  filename to save the histogram
+     * @param xDescription
+     * @param yDescription
+     */
+    public static void saveHistogramToCSV(int iteration, HistogramData histogram, String fullFileName, String xDescription, String yDescription){
+        
+        if (histogram == null || histogram.isEmpty()){
+            return;
+        }
+        
+        StaticConsoleLogger.logActivity(iteration, Activity.saveLvl2 + fullFileName, Activity.started);
+        
+        try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(fullFileName), Constant.fileBufferSize)) {
+            bufferedWriter.write(xDescription + Artifact.csvColumnSeparator);
+            bufferedWriter.write(yDescription + Artifact.csvColumnSeparator);
+            bufferedWriter.write(Artifact.outCSVeol);
+            for (int i = 0; i < histogram.size(); i++){
+                bufferedWriter.write(String.valueOf(histogram.getKey(i)));
+                bufferedWriter.write(Artifact.csvColumnSeparator);
+                bufferedWriter.write(String.valueOf(histogram.getCount(i)));
+                bufferedWriter.write(Artifact.outCSVeol);
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(Plotter.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        
+        StaticConsoleLogger.logActivity(iteration, Activity.saveLvl2 + fullFileName, Activity.finished);
+        
+    }
+    
 }
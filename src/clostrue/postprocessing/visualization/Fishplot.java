@@ -17,9 +17,6 @@
  */
 package clostrue.postprocessing.visualization;
  
-import clostrue.biology.cell.Cell;
-import clostrue.collections.GenomeSynchronizedCollection;
-import clostrue.biology.genome.GenomePart;
 import clostrue.toolbox.MathTools;
 import clostrue.hardcodes.Activity;
 import clostrue.hardcodes.Constant;
@@ -27,15 +24,10 @@ import clostrue.hardcodes.file.Extension;
 import clostrue.hardcodes.FishPlot;
 import clostrue.hardcodes.file.Artifact;
 import clostrue.hardcodes.file.Name;
-import clostrue.sequencers.AccSeq4HMwithGenomePartKey;
 import clostrue.postprocessing.analysis.Analytics;
 import clostrue.toolbox.StaticConsoleLogger;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Map.Entry;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.awt.Color;
@@ -43,8 +35,6 @@ import java.text.DecimalFormatSymbols;
 import java.text.DecimalFormat;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
-import java.util.Set;
 
 /**
  * This class provides the creation of script for R environment
@@ -60,14 +50,12 @@ public class Fishplot {
     private ArrayList<Integer> verticalLines = null;                            //vertical lines locations
     private ArrayList<String>  verticalLinesLabels = null;                      //vertical lines labels
     private ArrayList<int[]> fractionsInCycles;                                 //population fractions
-    private HashMap<Integer,
-            HashMap<GenomePart, List<Cell>>> equalGenomePart;    //input data from analytics
+    private FishplotAccumulator accumulator;                                    //input data accumulated during simulation
     HashMap<Integer, ArrayList<Integer>> cloneInclusions;             //clone inclusions
     private int cloneGroupParents[];                                            //group id of parent clones
     private int maxCycle;                                                       //max simulation cycle
     private int maxCloneGroupIndex;                                             //max clone group (fraction) index
     private int maxPopulationSize;                                              //max clone group (fraction) size
-    private String script;                                                      //R script to write to file
     private final Analytics analytics;                                          //input analytics data
     private final int decimals;                                                 //the number of decimals in accuracy
     private final int multiplier;                                               //the multiplier for cell-to-fracion calc
@@ -77,7 +65,6 @@ public class Fishplot {
     private int inclusionKeys[];                                                //keys of the inclusion list
     int maxStackedCellsPerSimulation;                                           //max stacked cell count per simulation
     private final int iteration;
-    private final GenomeSynchronizedCollection genomes;
     
     /*
     Constructor. Requires analytics object (can be empty inside)
@@ -86,7 +73,6 @@ public class Fishplot {
     public Fishplot(Analytics inAnalytics, int inDecimals) {
         analytics = inAnalytics;
         iteration = analytics.getSim().getIteration();
-        genomes = analytics.getSim().getGenomes();
         decimals = inDecimals;
         multiplier = MathTools.intPower(10,2+decimals);
         divider = MathTools.intPower(10,decimals);
@@ -147,12 +133,12 @@ public class Fishplot {
     public void prepareFishplot(){
 
         StaticConsoleLogger.logActivity(iteration, Activity.prepareFishplot, Activity.started);
-        equalGenomePart = analytics.prepEqualShadowDriverPart();
+        accumulator = analytics.getSim().getStatistics().getFishplotAccumulator();
         calculateStatistics();
         calculateCloneGroupParents();
         calculateCloneInclusions();
         calcFractionsInCycles();
-        createScript();        
+        calcTimePoints();        
         StaticConsoleLogger.logActivity(iteration, Activity.prepareFishplot, Activity.finished);
 
     }
@@ -162,16 +148,12 @@ public class Fishplot {
     */
     public void saveToFile(){
 
-        try {
-            String fileName = analytics.getSim().getSimModel().getFilePaths().getWorkDirGraphicDataSource()
-                    + java.io.File.separator
-                    + Name.snFishplotScriptForREnvironment + Extension.dotR;
-            FileWriter fileWriter = new FileWriter(fileName);
-            BufferedWriter bufferedWriter = new BufferedWriter(fileWriter, Constant.fileBufferSize);
+        String fileName = analytics.getSim().getSimModel().getFilePaths().getWorkDirGraphicDataSource()
+                + java.io.File.separator
+                + Name.snFishplotScriptForREnvironment + Extension.dotR;
+        try (RScriptWriter out = new RScriptWriter(fileName)) {
             StaticConsoleLogger.logActivity(iteration, Activity.saveLvl2 + fileName, Activity.started); 
-            bufferedWriter.write(script);
-            bufferedWriter.flush();
-            bufferedWriter.close();
+            writeScript(out);
             StaticConsoleLogger.logActivity(iteration, Activity.saveLvl2 + fileName, Activity.finished); 
             
         } catch (IOException ex) {
@@ -238,56 +220,39 @@ public class Fishplot {
         maxCloneGroupIndex       = 0;
         maxPopulationSize   = 0;
        
-        int populationSizeInCycle;
-        
         cycles = new ArrayList<> ();        
-        for (Entry entry: equalGenomePart.entrySet()){
-            populationSizeInCycle = 0;
-            cycles.add((Integer) entry.getKey());   
-            for (Entry cycleData : equalGenomePart.get((Integer)entry.getKey()).entrySet()){
-                GenomePart gpr = (GenomePart)cycleData.getKey();
-                List<Cell> cells = (List<Cell>)cycleData.getValue();
-                maxCloneGroupIndex = Math.max(maxCloneGroupIndex, cells.get(0).getGenome(genomes).getDriverCloneGroupID());
-                populationSizeInCycle += cells.size();
-            }
-            maxPopulationSize = Math.max(maxPopulationSize,populationSizeInCycle);
+        for (int cycle : accumulator.getCycles()){
+            cycles.add(cycle);   
+            maxPopulationSize = Math.max(maxPopulationSize, accumulator.getCount(cycle));
         }
+        maxCloneGroupIndex = Math.max(0, accumulator.getMaxCloneGroup());
         
         if (!cycles.isEmpty()){
-            Collections.sort(cycles);        
             maxCycle = cycles.get(cycles.size()-1);            
         }
         
     }
 
     /*
-    Creates the R script content for drawing fishplot
+    Streams the R script content for drawing fishplot
     */    
-    private void createScript(){
+    private void writeScript(RScriptWriter out) throws IOException {
        
-        String generatedBy      = getScriptGeneratedByString();
-        String library          = getScriptLibraryString();
-        String colorsVector     = getColorsVector();
-        String parentSequence   = getScriptParentsSequenceString();
-        String fractions        = getScriptFractionsString();
-        String fishplotCall     = getScriptFishplotCallString();
-        String timePointsStr    = getScriptTimePointsString();
-        
-        script = generatedBy
-               + library
-               + timePointsStr
-               + parentSequence
-               + colorsVector
-               + fractions
-               + fishplotCall;
+        writeScriptGeneratedBy(out);
+        writeScriptLibrary(out);
+        writeScriptTimePoints(out);
+        writeScriptParentsSequence(out);
+        writeColorsVector(out);
+        writeScriptFractions(out);
+        writeScriptFishplotCall(out);
                
     }
 
     /*
-    Formats the clone fractions data to a string
-    which will be used as a part of the generated R script
+    Writes the clone fractions data
+    as a part of the generated R script
     */
-    private String getScriptFractionsString(){
+    private void writeScriptFractions(RScriptWriter out) throws IOException {
 
 //    #provide a matrix with the fraction of each population
 //    #present at each timepoint
@@ -298,84 +263,79 @@ public class Fishplot {
 //         98, 00, 95, 40),
 //      ncol=length(timepoints))        
 
-        String fractions = Artifact.outCSVeol
-                
-            + "#provide a matrix with the fraction of each population"
-            + Artifact.outCSVeol
-            + "#present at each timepoint"
-            + Artifact.outCSVeol
-            + "frac.table = matrix("
-            + Artifact.outCSVeol
-            + "c("
-            + Artifact.outCSVeol
-            + getFractionsSequence()
-            + "),"
-            + Artifact.outCSVeol
-            + "ncol=length(timepoints))"        
-            + Artifact.outCSVeol;
+        out.eol();
+        out.write("#provide a matrix with the fraction of each population");
+        out.eol();
+        out.write("#present at each timepoint");
+        out.eol();
+        out.write("frac.table = matrix(");
+        out.eol();
+        out.write("c(");
+        out.eol();
+        writeFractionsSequence(out);
+        out.write("),");
+        out.eol();
+        out.write("ncol=length(timepoints))");
+        out.eol();
 
-        return fractions;
     }
 
     /*
-    Convers colors to String RGB representation
+    Writes the color in RGB representation
     */
-    private String convColorToFormatForR(Color color){
+    private void writeColorInFormatForR(RScriptWriter out, Color color) throws IOException {
         
-        String colStr 
-            = "rgb("        
-            + new DecimalFormat("000").format(color.getRed())   + ","
-            + new DecimalFormat("000").format(color.getGreen()) + ","
-            + new DecimalFormat("000").format(color.getBlue())  + ","
-            + "maxColorValue=255)";
+        out.write("rgb(");
+        out.writePadded(color.getRed(), 3);
+        out.write(",");
+        out.writePadded(color.getGreen(), 3);
+        out.write(",");
+        out.writePadded(color.getBlue(), 3);
+        out.write(",");
+        out.write("maxColorValue=255)");
         
-        return colStr;
     }
     
     /*
-    Prepares the string containing colors for subsequent fractions
-    which will be used as a part of the generated R script
+    Writes the colors for subsequent fractions
+    as a part of the generated R script
     */
-    private String getScriptColorsSequenceString(){
+    private void writeScriptColorsSequence(RScriptWriter out) throws IOException {
        
         int colorIndex;
-        String colorsSeq = "";
         for (int i = 0; i <maxCloneGroupIndex; i++){
             colorIndex = i % (GraphGenerator.colorsTable.size());
-            colorsSeq   = colorsSeq.concat(convColorToFormatForR(GraphGenerator.colorsTable.get(colorIndex)) 
-                        + ",# Color for clone group: " 
-                        + new DecimalFormat("00000").format(i+1)
-                        + Artifact.outCSVeol);
+            writeColorInFormatForR(out, GraphGenerator.colorsTable.get(colorIndex));
+            out.write(",# Color for clone group: ");
+            out.writePadded(i+1, 5);
+            out.eol();
         }
         if (maxCloneGroupIndex > 0){
             colorIndex = maxCloneGroupIndex % (GraphGenerator.colorsTable.size());            
-            colorsSeq   = colorsSeq.concat(
-                        convColorToFormatForR(GraphGenerator.colorsTable.get(colorIndex)) 
-                        + " # Color for clone group: " 
-                        + new DecimalFormat("00000").format(maxCloneGroupIndex+1));
+            writeColorInFormatForR(out, GraphGenerator.colorsTable.get(colorIndex));
+            out.write(" # Color for clone group: ");
+            out.writePadded(maxCloneGroupIndex+1, 5);
         }
                 
-        return colorsSeq;        
     }
     
 
     /*
-    Formats the fractions color data to a string
-    which will be used as a part of the generated R script
+    Writes the fractions color data
+    as a part of the generated R script
     */    
-    private String getColorsVector(){ 
+    private void writeColorsVector(RScriptWriter out) throws IOException { 
+
+        out.eol();
+        out.write("#provide a vector containing colors for each clone");
+        out.eol();
+        out.write("color.vector = c(");
+        out.eol();
+        writeScriptColorsSequence(out);
+        out.eol();
+        out.write(")");
+        out.eol();
 
-        String colors = Artifact.outCSVeol
-            + "#provide a vector containing colors for each clone"
-            + Artifact.outCSVeol
-            + "color.vector = c("
-            + Artifact.outCSVeol
-            + getScriptColorsSequenceString()
-            + Artifact.outCSVeol
-            + ")"
-            + Artifact.outCSVeol;
-
-        return colors;
     }
     
     /*
@@ -457,61 +417,64 @@ public class Fishplot {
     }
     
     /*
-    Formats the clone fractions data to a string
-    which will be used as a part of the generated R script
+    Collects the timepoints of the script, the cycles with
+    a fraction greater than 100 are commented out in the script
     */
-    private String getFractionsSequence(){
+    private void calcTimePoints(){
        
         timePoints = new ArrayList<>();
         timePoints.add(1);
-        String fractionsSeq = "";
-        
-        DecimalFormatSymbols decimalSymbols = DecimalFormatSymbols.getInstance();
-        decimalSymbols.setDecimalSeparator('.');     
+        for (int cycle = 0; cycle < stackedCellsInCycles.size(); cycle++){
+            if (!hasFractionGreaterThan100(fractionsInCycles.get(cycle))){
+                timePoints.add(cycle + 2);
+            }
+        }
         
+    }
+    
+    /*
+    Writes the clone fractions data
+    as a part of the generated R script
+    */
+    private void writeFractionsSequence(RScriptWriter out) throws IOException {
+       
         String fractionsSeqDummyNext = ", " + decFormatString;
         
         //dummy fraction for introduction
-        fractionsSeq = fractionsSeq.concat("0.");
+        out.write("0.");
         for (int i = 0; i < decFormatString.length() -2 ; i++){
-            fractionsSeq = fractionsSeq.concat("0");
+            out.write("0");
         }        
-        fractionsSeq = fractionsSeq.concat("1");
+        out.write("1");
         for( int i = 0; i < cloneGroupParents.length -1 ; i++ ){
-            fractionsSeq = fractionsSeq.concat(fractionsSeqDummyNext); 
+            out.write(fractionsSeqDummyNext); 
         }
-        fractionsSeq = fractionsSeq.concat(", # dummy fraction not to have the initial spread from 0 to initial population size"
-                + Artifact.outCSVeol);
+        out.write(", # dummy fraction not to have the initial spread from 0 to initial population size");
+        out.eol();
         
-        //calculate fractions
+        //write fractions
         for (int cycle = 0; cycle < stackedCellsInCycles.size(); cycle++){
             
             int[] cloneFractions = fractionsInCycles.get(cycle);
-            int timepoint = cycle + 2;
             
             if (hasFractionGreaterThan100(cloneFractions))
-                fractionsSeq = fractionsSeq.concat("#");
+                out.write("#");
             else{
-                fractionsSeq = fractionsSeq.concat(" ");
-                timePoints.add(timepoint);
+                out.write(" ");
             }           
             
             for (int j = 0; j < cloneFractions.length; j++){                
-                if ( (cycle == maxCycle) && ( j == ( cloneFractions.length - 1) ) ){
-                    fractionsSeq = fractionsSeq.concat(
-                        new DecimalFormat(decFormatString, decimalSymbols).format((double)cloneFractions[j]/(double)divider));
-                } else {
-                    fractionsSeq = fractionsSeq.concat(
-                        new DecimalFormat(decFormatString, decimalSymbols).format((double)cloneFractions[j]/(double)divider) + ", ");
+                out.writeFixed(cloneFractions[j], 3, decimals);
+                if ( (cycle != maxCycle) || ( j != ( cloneFractions.length - 1) ) ){
+                    out.write(", ");
                 }
             }
-            if (cycle < maxCycle)
-                fractionsSeq = fractionsSeq.concat("# Timepoint: " + String.valueOf(cycle+2) 
-                       + " cycle: " + String.valueOf(cycle) 
-                       + Artifact.outCSVeol);            
+            if (cycle < maxCycle){
+                out.write("# Timepoint: " + String.valueOf(cycle+2) 
+                       + " cycle: " + String.valueOf(cycle));
+                out.eol();            
+            }
         }
-
-        return fractionsSeq;
         
     }    
     
@@ -679,35 +642,32 @@ public class Fishplot {
     }
 
     /*
-    Formats the timepoints data into string
-    which will be used as a part of the generated R script
+    Writes the timepoints data
+    as a part of the generated R script
     */      
-    private String getScriptTimePointsString(){  
+    private void writeScriptTimePoints(RScriptWriter out) throws IOException {  
                 
-        String timePointsStr = ""
-            + Artifact.outCSVeol
-            + "#provide a list of timepoints to plot"
-            + Artifact.outCSVeol
-            + "timepoints=c("
-            + Artifact.outCSVeol;    
+        out.eol();
+        out.write("#provide a list of timepoints to plot");
+        out.eol();
+        out.write("timepoints=c(");
+        out.eol();    
         for ( int i = 0; i < timePoints.size(); i++){
-            timePointsStr += new DecimalFormat("00000").format(timePoints.get(i));
+            out.writePadded(timePoints.get(i), 5);
             if (i != (timePoints.size() - 1)){
-                timePointsStr += ",";
+                out.write(",");
             }
             if ( i > 0 && (i+1)%10 == 0){
-                timePointsStr = timePointsStr.concat("# Timepoints: " 
-                    + new DecimalFormat("00000").format(timePoints.get(i-9)) 
-                    + " - " 
-                    + new DecimalFormat("00000").format(timePoints.get(i))
-                    + Artifact.outCSVeol);
+                out.write("# Timepoints: ");
+                out.writePadded(timePoints.get(i-9), 5);
+                out.write(" - ");
+                out.writePadded(timePoints.get(i), 5);
+                out.eol();
             }
         }
-        timePointsStr = timePointsStr.concat(Artifact.outCSVeol
-            + ")"
-            + Artifact.outCSVeol);
-
-        return timePointsStr;
+        out.eol();
+        out.write(")");
+        out.eol();
                
     }
 
@@ -718,10 +678,8 @@ public class Fishplot {
         
         int fractions[] = new int[maxCloneGroupIndex+1];
         
-        Set<Entry<GenomePart, List<Cell>>> cycleDataEntries = equalGenomePart.get(cycle).entrySet();
-        for( Entry<GenomePart, List<Cell>> entry : cycleDataEntries ){
-            int groupID = entry.getValue().get(0).getGenome(genomes).getDriverCloneGroupID();
-            fractions[groupID] = entry.getValue().size();
+        for (int groupID = 0; groupID <= maxCloneGroupIndex; groupID++){
+            fractions[groupID] = accumulator.getCount(cycle, groupID);
         }   
         return fractions;
     }
@@ -738,27 +696,9 @@ public class Fishplot {
         
         cloneGroupParents   = new int[maxCloneGroupIndex+1];
         
-        cycles = new ArrayList<> ();
-        equalGenomePart.entrySet().forEach((entry) -> {
-            cycles.add(entry.getKey());
-        });
-        Collections.sort(cycles);
-
-        for(Integer cycle : cycles){
-
-            AccSeq4HMwithGenomePartKey sequence = new AccSeq4HMwithGenomePartKey();
-            equalGenomePart.get(cycle).entrySet().forEach((entry) -> {
-                sequence.addNewEntry(entry.getKey(), entry.getValue().size(), entry.getValue().get(0));
-            });
-            sequence.sort();
-            GenomePart nextKey;
-            while((nextKey = sequence.getNextKey()) != null){
-                int cloneGroupID = sequence.getSampleCell().getGenome(genomes).getDriverCloneGroupID();
-                int parentCloneGroupID = nextKey.getParentCloneGroupID();
-                cloneGroupParents[cloneGroupID] = parentCloneGroupID;
-            }
-
-        };
+        for (int cloneGroupID = 0; cloneGroupID <= maxCloneGroupIndex; cloneGroupID++){
+            cloneGroupParents[cloneGroupID] = accumulator.getParentCloneGroup(cloneGroupID);
+        }
         //shift by one due to R notation
         //first clone has no parents
         for (int i = 1; i < cloneGroupParents.length ; i++){
@@ -767,71 +707,68 @@ public class Fishplot {
     }
     
     /*
-    Formats the clone group parents data into string
-    which will be used as a part of the generated R script
+    Writes the clone group parents data
+    as a part of the generated R script
     */    
-    private String getScriptParentsSequenceString(){
+    private void writeScriptParentsSequence(RScriptWriter out) throws IOException {
        
-        String parentSequence = Artifact.outCSVeol
-            + "#provide a vector listing each clone's parent"
-            + Artifact.outCSVeol
-            + "#(0 indicates no parent)"
-            + Artifact.outCSVeol
-            + "parents = c("
-            + Artifact.outCSVeol;
+        out.eol();
+        out.write("#provide a vector listing each clone's parent");
+        out.eol();
+        out.write("#(0 indicates no parent)");
+        out.eol();
+        out.write("parents = c(");
+        out.eol();
         
         for ( int i = 0; i < cloneGroupParents.length; i++){
-            parentSequence += new DecimalFormat("00000").format(cloneGroupParents[i]);
+            out.writePadded(cloneGroupParents[i], 5);
             if (i != (cloneGroupParents.length - 1)){
-                parentSequence = parentSequence.concat(",");
+                out.write(",");
             }
             if ( i > 0 && (i+1)%10 == 0){
-                parentSequence = parentSequence.concat("# Parents for clones: " 
-                     + new DecimalFormat("00000").format(i-8) 
-                     + " - " 
-                     + new DecimalFormat("00000").format(i+1)
-                     + Artifact.outCSVeol);
+                out.write("# Parents for clones: ");
+                out.writePadded(i-8, 5);
+                out.write(" - ");
+                out.writePadded(i+1, 5);
+                out.eol();
             }
         }
 
-        parentSequence  = parentSequence.concat(Artifact.outCSVeol
-            + ")"
-            + Artifact.outCSVeol);
+        out.eol();
+        out.write(")");
+        out.eol();
         
-        return parentSequence;
     }
 
     /*
-    Generates the "created by" comment part into string
-    which will be used as a part of the generated R script
+    Writes the "created by" comment part
+    as a part of the generated R script
     */      
-    private String getScriptGeneratedByString(){
-        String generatedBy = "";
+    private void writeScriptGeneratedBy(RScriptWriter out) throws IOException {
 
-        generatedBy = "# Generated by: "
-                    + Constant.appN + " " + Constant.appV
-                    + Artifact.outCSVeol
-                    + "# Experiment: "
-                    + analytics.getSim().getSimModel().getFilePaths().getWorkDir()
-                    + Artifact.outCSVeol
-                    + Artifact.outCSVeol;
+        out.write("# Generated by: " + Constant.appN + " " + Constant.appV);
+        out.eol();
+        out.write("# Experiment: " + analytics.getSim().getSimModel().getFilePaths().getWorkDir());
+        out.eol();
+        out.eol();
         
-        return generatedBy;
     }
 
     /*
-    Generates the fishplot librbay inclusion into string
-    which will be used as a part of the generated R script
+    Writes the fishplot librbay inclusion
+    as a part of the generated R script
     */          
-    private String getScriptLibraryString(){
-        return Artifact.outCSVeol + "library(fishplot)" + Artifact.outCSVeol;
+    private void writeScriptLibrary(RScriptWriter out) throws IOException {
+        out.eol();
+        out.write("library(fishplot)");
+        out.eol();
     }
     
     /*
-    Generates the fishplot call to create plot into string
-    which will be used as a part of the generated R script
+    Writes the fishplot call to create plot
+    as a part of the generated R script
     */       
-    private String getScriptFishplotCallString(){
+    private void writeScriptFishplotCall(RScriptWriter out) throws IOException {
 
         DecimalFormatSymbols decimalSymbols = DecimalFormatSymbols.getInstance();
         decimalSymbols.setDecimalSeparator('.');   
@@ -871,7 +808,7 @@ public class Fishplot {
         fishPlotCall = fishPlotCall.concat(Artifact.outCSVeol
             + ")" 
             + Artifact.outCSVeol);
-        return fishPlotCall;
+        out.write(fishPlotCall);
     }
     
 }
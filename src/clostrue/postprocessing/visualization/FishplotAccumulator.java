@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.postprocessing.visualization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Accumulates the fishplot data while the simulation runs.
+ * 
+ * The fishplot counts the cells of each driver clone group by the cycle
+ * of the last record of the cell (the shadow predecessors are not counted).
+ * A cell has it's last record in the cycle before it dies or in the 
+ * last saved cycle, so it is enough to count the dying cells and the 
+ * survivors. The calculation tasks count them locally (TaskCounts) and add
+ * the counts at the end of each cycle, before the barrier. No cells
+ * are kept for the fishplot after the simulation.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class FishplotAccumulator {
+
+    private int[][] counts          = new int[0][];     //cell count by cycle and clone group, null -> no cells
+    private int[]   parents         = new int[0];       //parent clone group by clone group
+    private int     maxCloneGroup   = -1;               //max clone group with cells
+    
+    /**
+     * Cell counts of one calculation task in the current cycle
+     * (not synchronized, used by one task only)
+     */
+    public static class TaskCounts {
+
+        private int[]   counts  = new int[16];          //cell count by clone group
+        private int[]   parents = new int[16];          //parent clone group by clone group
+        private int[]   touched = new int[16];          //clone groups with non zero count
+        private int     touchedCount = 0;               //count of the touched clone groups
+        
+        /**
+         * Checks if the clone group has already a cell counted
+         * @param cloneGroup clone group
+         * @return true if already counted
+         */
+        public boolean contains(int cloneGroup){
+            return cloneGroup < counts.length && counts[cloneGroup] > 0;
+        }
+        
+        /**
+         * Counts the cell of the clone group
+         * @param cloneGroup        clone group of the cell
+         * @param parentCloneGroup  parent clone group
+         */
+        public void add(int cloneGroup, int parentCloneGroup){
+            if (cloneGroup >= counts.length){
+                int capacity = Math.max(cloneGroup + 1, counts.length * 2);
+                counts  = Arrays.copyOf(counts, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+            }
+            if (counts[cloneGroup] == 0){
+                if (touchedCount == touched.length){
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = cloneGroup;
+                parents[cloneGroup]     = parentCloneGroup;
+            }
+            counts[cloneGroup]++;
+        }
+        
+        private void clear(){
+            for (int i = 0; i < touchedCount; i++){
+                counts[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+    
+    /**
+     * Adds the cell counts of the task to the cycle and clears the task counts
+     * @param cycle         cycle of the last record of the counted cells
+     * @param taskCounts    cell counts of the task
+     */
+    public synchronized void add(int cycle, TaskCounts taskCounts){
+
+        if (taskCounts.touchedCount == 0){
+            return;
+        }
+        if (cycle >= counts.length){
+            counts = Arrays.copyOf(counts, Math.max(cycle + 1, counts.length * 2));
+        }
+        for (int i = 0; i < taskCounts.touchedCount; i++){
+            maxCloneGroup = Math.max(maxCloneGroup, taskCounts.touched[i]);
+        }
+        if (maxCloneGroup >= parents.length){
+            parents = Arrays.copyOf(parents, Math.max(maxCloneGroup + 1, parents.length * 2));
+        }
+        int[] row = counts[cycle];
+        if (row == null || row.length <= maxCloneGroup){
+            row = (row == null) ? new int[maxCloneGroup + 1] : Arrays.copyOf(row, maxCloneGroup + 1);
+            counts[cycle] = row;
+        }
+        for (int i = 0; i < taskCounts.touchedCount; i++){
+            int cloneGroup = taskCounts.touched[i];
+            row[cloneGroup]     += taskCounts.counts[cloneGroup];
+            parents[cloneGroup] = taskCounts.parents[cloneGroup];
+        }
+        taskCounts.clear();
+    }
+    
+    /**
+     * Returns the cycles having counted cells, in ascending order
+     * @return cycles
+     */
+    public synchronized int[] getCycles(){
+        int[] cycles = new int[counts.length];
+        int cyclesCount = 0;
+        for (int cycle = 0; cycle < counts.length; cycle++){
+            if (counts[cycle] != null){
+                cycles[cyclesCount++] = cycle;
+            }
+        }
+        return Arrays.copyOf(cycles, cyclesCount);
+    }
+    
+    /**
+     * Returns the cell count of the clone group in the cycle
+     * @param cycle         cycle
+     * @param cloneGroup    clone group
+     * @return cell count
+     */
+    public synchronized int getCount(int cycle, int cloneGroup){
+        if (cycle >= counts.length || counts[cycle] == null || cloneGroup >= counts[cycle].length){
+            return 0;
+        }
+        return counts[cycle][cloneGroup];
+    }
+    
+    /**
+     * Returns the cell count of the cycle
+     * @param cycle cycle
+     * @return cell count
+     */
+    public synchronized int getCount(int cycle){
+        int count = 0;
+        if (cycle < counts.length && counts[cycle] != null){
+            for (int cloneGroupCount : counts[cycle]){
+                count += cloneGroupCount;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Returns the parent clone group of the clone group
+     * @param cloneGroup clone group
+     * @return parent clone group or 0 if the clone group has no cells
+     */
+    public synchronized int getParentCloneGroup(int cloneGroup){
+        return cloneGroup < parents.length ? parents[cloneGroup] : 0;
+    }
+    
+    public synchronized int getMaxCloneGroup() {
+        return maxCloneGroup;
+    }
+    
+    /**
+     * Writes the accumulated counts to simulation checkpoint
+     * @param out checkpoint output
+     * @throws IOException 
+     */
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(maxCloneGroup);
+        for (int cloneGroup = 0; cloneGroup <= maxCloneGroup; cloneGroup++){
+            out.writeInt(parents[cloneGroup]);
+        }
+        int[] cycles = getCycles();
+        out.writeInt(cycles.length);
+        for (int cycle : cycles){
+            out.writeInt(cycle);
+            out.writeInt(counts[cycle].length);
+            for (int count : counts[cycle]){
+                out.writeInt(count);
+            }
+        }
+    }
+    
+    /**
+     * Restores the accumulated counts from simulation checkpoint
+     * @param in checkpoint input
+     * @throws IOException 
+     */
+    public synchronized void readFrom(DataInput in) throws IOException {
+        maxCloneGroup   = in.readInt();
+        parents         = new int[maxCloneGroup + 1];
+        for (int cloneGroup = 0; cloneGroup <= maxCloneGroup; cloneGroup++){
+            parents[cloneGroup] = in.readInt();
+        }
+        int cyclesCount = in.readInt();
+        counts = new int[0][];
+        for (int i = 0; i < cyclesCount; i++){
+            int cycle = in.readInt();
+            int[] row = new int[in.readInt()];
+            for (int cloneGroup = 0; cloneGroup < row.length; cloneGroup++){
+                row[cloneGroup] = in.readInt();
+            }
+            if (cycle >= counts.length){
+                counts = Arrays.copyOf(counts, cycle + 1);
+            }
+            counts[cycle] = row;
+        }
+    }
+    
+}
@@ -19,11 +19,8 @@ package clostrue.postprocessing.visualization;
  
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import javafx.scene.control.ProgressBar;
 import clostrue.biology.cell.Cell;
 import clostrue.biology.genome.Genome;
@@ -43,7 +40,6 @@ import clostrue.hardcodes.Param;
 import clostrue.hardcodes.file.Extension;
 import clostrue.model.SimModel;
 import clostrue.toolbox.StaticConsoleLogger;
-import java.util.Comparator;
 import java.util.HashMap;
 
 /**
@@ -77,9 +73,9 @@ public class GraphGenerator {
     protected NodeCollection nodes;
 
     /**
-     * map of Node lists group by levels
+     * nodes grouped by levels
      */
-    protected Map<Integer, List<Node>>  nodesByLevel;
+    protected int[][] nodesByLevel;
     
     /**
      * space between nodes in x 
@@ -87,16 +83,6 @@ public class GraphGenerator {
     protected static float progress = 0;
     protected static float oldProgress = 0;
 
-    /**
-     * space between nodes in x 
-     */
-    protected static long nodeSpace = 500;
-
-    /**
-     * max graph width
-     */
-    protected static long maxWidth = 1000000;
-
     /**
      * space between nodes in y
      */
@@ -162,7 +148,7 @@ public class GraphGenerator {
         
         this.currentIteration = simulation.getIteration();
         this.simulation = simulation;
-        this.nodes = new NodeCollection(genomes,cells);
+        this.nodes = new NodeCollection(genomes, cells, getExpectedNodesCount());
         this.simModel = new SimModel(simulation.getIteration(), simulation.getSimModel());
         
         maxDriverMutationsPerOneCell            = 0;
@@ -191,6 +177,15 @@ public class GraphGenerator {
 //        }
     }
         
+    //all cells of the clones and the simulation node
+    private int getExpectedNodesCount(){
+        long expected = 1;
+        for (CellIndexHolder clone : clones.values()){
+            expected += clone.size();
+        }
+        return (int) Math.min(expected, Integer.MAX_VALUE - 8);
+    }
+        
     //logger
     private void log(String log)
     {
@@ -206,7 +201,10 @@ public class GraphGenerator {
         }
         if ((progress/oldProgress) > 1){
             GraphGenerator.progress = progress;
-            GraphGenerator.graphProgressBar.setProgress(GraphGenerator.getProgress()/(float)100.0);    
+            if (GraphGenerator.graphProgressBar != null){
+                //no progress bar in headless mode
+                GraphGenerator.graphProgressBar.setProgress(GraphGenerator.getProgress()/(float)100.0);    
+            }
             oldProgress = progress;
         }
     }
@@ -243,8 +241,8 @@ public class GraphGenerator {
 
         this.log(LogText.numberOfNodes + this.nodes.size());
   
-        nodes.setCloneMarkerColor(cells);
-        nodes.setHeatMapColorDrivers(cells,maxDriverMutationsPerOneCell);      
+        nodes.setCloneMarkerColor(colorsTable);
+        nodes.setHeatMapColorDrivers(maxDriverMutationsPerOneCell);      
         this.saveToPngFile(NamePart.cloneMarker, false, true);
         this.saveToPngFile(NamePart.cloneIlandsHeatmap, true, false);
 
@@ -259,24 +257,24 @@ public class GraphGenerator {
     private int getWidestLevelWidth(){
         int widestLevelSize = 0;
         boolean error = false;
-        for(int level = 0; level < this.nodesByLevel.size(); level++) {
-            if (this.nodesByLevel.get(level) == null){
+        for(int level = 0; level < this.nodesByLevel.length; level++) {
+            if (this.nodesByLevel[level] == null){
                 StaticConsoleLogger.log(Message.nodeByLeveNull + String.valueOf(level));
                 error = true;
             } else {
-                if(widestLevelSize < this.nodesByLevel.get(level).size()) {
-                    widestLevelSize = this.nodesByLevel.get(level).size();
+                if(widestLevelSize < this.nodesByLevel[level].length) {
+                    widestLevelSize = this.nodesByLevel[level].length;
                 }
             }
         }
 
         if (error){
-            for(int level = 0; level < this.nodesByLevel.size(); level++) {
+            for(int level = 0; level < this.nodesByLevel.length; level++) {
                 String size;
-                if (this.nodesByLevel.get(level) == null){
+                if (this.nodesByLevel[level] == null){
                     size = "Null";
                 } else {
-                    size = String.valueOf(this.nodesByLevel.get(level).size());
+                    size = String.valueOf(this.nodesByLevel[level].length);
                 }
                 System.out.println(LogText.level + String.valueOf(level) + LogText.size + size );
             }            
@@ -289,13 +287,13 @@ public class GraphGenerator {
     private void modeCorrection(Integer maxPosition, boolean center, boolean justify, boolean rectangeCorrection){
        
         int maxPosX;
-        int locLevels = this.nodesByLevel.size();
+        int locLevels = this.nodesByLevel.length;
         for(int level = 0 ; level < locLevels; level++) {
-            List <Node> nodesOnLevel = nodesByLevel.get(level);           
+            int[] nodesOnLevel = nodesByLevel[level];           
             if(this.simModel.getTechParams().getSimTasksCount() == 1){
-                Collections.sort(nodesOnLevel);                
+                sortByCordX(nodesOnLevel);                
             }
-            int curMaxPosX = nodesOnLevel.size();
+            int curMaxPosX = nodesOnLevel.length;
             if ( maxPosition != 0) {
                 maxPosX = maxPosition;
             } else {
@@ -322,11 +320,11 @@ public class GraphGenerator {
             }
 
             int xPosition = 1;            
-            for(int nodeIndex = 0; nodeIndex < nodesOnLevel.size(); nodeIndex++) {
-                nodesOnLevel.get(nodeIndex).forceSetCords(
+            for(int nodeIndex = 0; nodeIndex < nodesOnLevel.length; nodeIndex++) {
+                nodes.setCords(nodesOnLevel[nodeIndex],
                     (((double) xPosition + (double) xShift) * (double) nodeXSpace * (double)xMultiplicator),
                      ((double) level )                      * (double) nodeYSpace * (double)yMultiplicator);
-                nodesOnLevel.get(nodeIndex).setOrder(xPosition++ + xShift);
+                nodes.setOrder(nodesOnLevel[nodeIndex], xPosition++ + xShift);
             }
         }
         canvasYSize = 10 + locLevels;
@@ -350,11 +348,8 @@ public class GraphGenerator {
         Cell fakeSimulationCell = new Cell(genomes, true);
         int fakeCellIndex = cells.addAndReturnIndex(fakeSimulationCell);
         
-        Node.setCells(cells);
-        
         //adding simulation node
-        Node nodeZero = new Node(fakeSimulationCell,fakeCellIndex,cells);
-        nodes.put(nodeZero);
+        nodes.put(fakeCellIndex);
        
         if (clones.entrySet().isEmpty()){
             StaticConsoleLogger.log(Message.emptyClonesEntrySet);
@@ -375,17 +370,16 @@ public class GraphGenerator {
                     if (logMemoryCells){
                         System.out.println(LogText.importingCell + cell);
                     }
-                    Node node = new Node(cell,cellIndex,cells);
+                    int node = nodes.put(cellIndex);
 
-                    maxDriverMutationsPerOneCell = Math.max(maxDriverMutationsPerOneCell, node.getDrivers(genomes, cells));
+                    maxDriverMutationsPerOneCell = Math.max(maxDriverMutationsPerOneCell, nodes.getDrivers(node));
 
+                    Genome genome = cell.getGenome(genomes);
                     double driverPassengerRatio 
                             = Genome.staticCalculateDriverPassengerRatio(
-                                    (int)node.getDrivers(genomes,cells), 
-                                    (int)node.getPassangers(genomes,cells));
+                                    nodes.getDrivers(node), 
+                                    genome != null ? (int) genome.getPassengerMutationCount() : -1);
                     maxDriverDivByPassengerPerOneCell = Math.max(maxDriverDivByPassengerPerOneCell,driverPassengerRatio);
-
-                    nodes.put(node);    
                 }                
             }
             clonesProcessed++;
@@ -417,402 +411,73 @@ public class GraphGenerator {
         this.log("Filling nodesByLevel Map");
         StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.prepareNodesByLevel, Activity.started);
 
-        this.nodesByLevel = nodes.getNodesByLevel(cells);
+        this.nodesByLevel = nodes.getNodesByLevel();
         
         if(this.simModel.getTechParams().getSimTasksCount() > 1) {
-            Comparator<? super Node> c = new Comparator<Node>() {
-                    @Override
-                    public int compare(Node o1, Node o2) {
-                        return new Integer(o1.getDriverCloneGroupID(cells, genomes)).compareTo( o2.getDriverCloneGroupID(cells, genomes));
-                    }
-
-                };
-
             //sorting nodes on levels
-            for( Map.Entry<Integer, List<Node>> level : this.nodesByLevel.entrySet()) {
-                level.getValue().sort(c);
+            for (int[] nodesOnLevel : this.nodesByLevel) {
+                sortByDriverCloneGroup(nodesOnLevel);
             }
         }
         StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.prepareNodesByLevel, Activity.finished);
     }
     
     /**
-     * counting max numbeer of nodes for each node from first level
-     * @param nodesForProcess - node hook
-     * @return                - sum of max number of nodes from each level
+     * Sorts the nodes by driver clone group (stable). The clone group is read
+     * once per node and sorted together with the node position as primitive key
+     * @param nodesOnLevel nodes to sort
      */
-    private int getToDiv(List<Node> nodesForProcess){
-        int toDiv = 0;
-
-        if (nodesForProcess == null){
-                StaticConsoleLogger.log(Message.getToDivNodesForProcessIsNull);            
-        } else {
-            for (Node n : nodesForProcess){
-                if (n == null){
-                    StaticConsoleLogger.log(Message.getToDivNodeIsNull); 
-                } else {
-                    toDiv += n.getNodeMaxPosterityNumber();                
-                }
-            }
+    private void sortByDriverCloneGroup(int[] nodesOnLevel){
+        long[] keys = new long[nodesOnLevel.length];
+        for (int i = 0; i < keys.length; i++){
+            keys[i] = ((long) nodes.getDriverCloneGroupID(nodesOnLevel[i]) << 32) | i;
         }
-
-        return toDiv;
+        sortByKeys(nodesOnLevel, keys);
     }
     
-    //finding widest levels in graph and seting it coordinates, LayOutTheNodesOnPlane whole tree
-    private void LayOutTheNodesOnPlane()
-    {
-        this.log("start laying out the nodes");
-        StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.layoutNodesOnPlane, Activity.started);
-        //centering simulation node
-        Node nodeSimulation = this.nodes.get(-1,0);
-        
-        nodeSimulation.setCords(GraphGenerator.maxWidth / 2, nodeYSpace * (-1));
-        
-        //geting nodes from first level
-        List <Node> nodesForProcess = nodesByLevel.get(1);
-        
-        //counting max numbeer of nodes for each node from first level
-        int toDiv = getToDiv(nodesForProcess);
-               
-        this.log("max nodes in row from all levels = " + toDiv);
-        
-        if (toDiv == 0)
-            return;
-        
-        //seting new space between nodes
-        GraphGenerator.nodeSpace = GraphGenerator.maxWidth / toDiv;            
-
-        float startFrom = 0;
-        float endOn;
-        
-        //looping through all nodes from first level
-        for(Node nodeToProcess : nodesForProcess) {
-            this.log("drowing for node  " + nodeToProcess + " from first level");
-            
-            //geting max number of posterity for currently processing node
-            int x = nodeToProcess.getNodeMaxPosterityNumber();
-            
-            //calculate end cooridnate
-            endOn = startFrom + ((maxWidth / toDiv) * x);
-            
-            //geting nodes from level with max posterity number
-            ArrayList <Node> maxLvlNodes = nodeToProcess.getNodesOnMaxPosterity(cells);
-            
-            int count = maxLvlNodes.size();
-            
-            //if node haven't children skip
-            if(count == 0) {
-                continue;
-            }
-            
-            //calculate space beetwen nodes in max posterity
-            double xForNode = ((endOn - startFrom) / count);
-            
-            int nodeInRowNumber = 0;
-            
-            //setting position for nodes in max posterity
-            for(Node maxNode : maxLvlNodes) {
-                maxNode.setCords((nodeInRowNumber * xForNode) + startFrom, maxNode.getLevel() * (nodeYSpace));
-                maxNode.fixPosition();
-               
-                nodeInRowNumber++;
-                
-                this.log("widest set " + maxNode + " " + maxNode.cord_x + " " + maxNode.cord_y);
-            }
-            
-            //get root from c0_ix to end
-            ArrayList <Node> nodesInRoot = nodeToProcess.returnAllNodesToEndStartFromThisNode();
-            
-            Map<Integer, List<Node>> nodesInRootByLevel;
-            
-            //grouping nodes form nodesInRoot by level
-            nodesInRootByLevel =
-                nodesInRoot
-                .stream()
-                .collect(Collectors.groupingBy(Node::getLevel));
-            
-            Comparator<? super Node> c = new Comparator<Node>() {
-                @Override
-                public int compare(Node o1, Node o2) {
-                    return new Integer(o1.getDriverCloneGroupID(cells, genomes)).compareTo( o2.getDriverCloneGroupID(cells, genomes));
-                }
-                
-            };
-        
-            //sorting nodes on levels
-            if(this.simModel.getTechParams().getSimTasksCount() > 1) {
-                for( Map.Entry<Integer, List<Node>> level : nodesInRootByLevel.entrySet()) {
-                    level.getValue().sort(c);
-                }
-            }
-            
-            //looping by levels up start form max posterity levle end on first
-            for(int i = maxLvlNodes.get(0).getLevel(); i >= 0; i--) {
-                int j = i;
-                
-                //geting nodes from nodesInRootByLevel and current level
-                List <Node> nodesInRootOnILvl = nodesInRootByLevel.get(j);
-                
-                int devByNumberOfNodes = 1;
-                
-                //if nodesInRootOnILvl is not empty counting number of nodes
-                if(nodesInRootOnILvl != null) {
-                    if(this.simModel.getTechParams().getSimTasksCount() > 1) {
-                        nodesInRootOnILvl.sort(c);
-                    }
-                    
-                    if(!nodesInRootOnILvl.isEmpty()) {
-                        devByNumberOfNodes = nodesInRootOnILvl.size();
-                    }
-                }
-                
-                //countig space between nodes for current level
-                double gap = (endOn - startFrom) / devByNumberOfNodes;
-                
-                int counterInRow = 0;
-                
-                //seting position for nodes from current level
-                if(nodesInRootOnILvl != null) {
-                    for(Node nodeInRootOnILvl : nodesInRootOnILvl) {
-                        nodeInRootOnILvl.setCords(startFrom + (gap * counterInRow), nodeInRootOnILvl.getLevel() * (nodeYSpace));
-                        counterInRow++;
-                    }
-                }
-            }
-
-            //seting position of next nodes
-            this.loopDown(maxLvlNodes, startFrom, endOn, maxLvlNodes.get(maxLvlNodes.size() -1).getLevel());
-
-            startFrom = endOn;
+    /**
+     * Sorts the nodes by x coordinate (stable). The float bits are mapped
+     * to the order preserving int and sorted together with the node position
+     * @param nodesOnLevel nodes to sort
+     */
+    private void sortByCordX(int[] nodesOnLevel){
+        long[] keys = new long[nodesOnLevel.length];
+        for (int i = 0; i < keys.length; i++){
+            int bits = Float.floatToIntBits(nodes.getCordX(nodesOnLevel[i]));
+            bits ^= (bits >> 31) & 0x7FFFFFFF;
+            keys[i] = ((long) bits << 32) | i;
         }
-        
-        //centering parrents
-        nodesForProcess.forEach((nodeToProcess) -> {
-            ArrayList <Node> maxLvlNodes = nodeToProcess.getNodesOnMaxPosterity(cells);
-            ArrayList <Node> nodesInRoot = nodeToProcess.returnAllNodesToEndStartFromThisNode();
-            //centering parents up
-            if(this.simModel.getTechParams().getSimTasksCount() == 1) {
-                this.centerUp(maxLvlNodes, nodesInRoot, 1);
-            }
-        }); 
-        StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.layoutNodesOnPlane, Activity.finished);
-
+        sortByKeys(nodesOnLevel, keys);
     }
     
-    //finding next widest level in root and seting coordinates
-    private void loopDown(ArrayList <Node> startFromNodes, double boxStart, double boxEnd, int stopOnLvl)
-    {
-        ArrayList<Node> nodesForProcess = startFromNodes;
-        
-        int toDiv = 0;
-        
-        //counting max nodes number for ech node from nodesForProcess
-        toDiv = nodesForProcess.stream().map((nodeToProcess) -> nodeToProcess.getNodeMaxPosterityNumber()).map((x) -> x).reduce(toDiv, Integer::sum);
-        
-        //if toDiv exit
-        if(toDiv == 0) {
-            this.log("DEBUGGING to div is 0");
-            return;
-        }
-        
-        //calculate distance between nodes
-        double localNodeSpace = (boxEnd - boxStart) / toDiv;
-        
-        //boxStart
-        double spaceStartToThisSpecRoot = boxStart;
-
-        int nodeInRowNumber = 0;
-        
-        //seting nodes from max width
-        for(Node nodeToProcess : nodesForProcess) {            
-            ArrayList <Node> maxLvlNodes = nodeToProcess.getNodesOnMaxPosterity(cells);
-            
-            //counting nodes
-            int count = maxLvlNodes.size();
-            
-            if(count != 0) {
-                //set nodes form widest level
-                for(Node maxNode : maxLvlNodes) {
-                    maxNode.setCords((nodeInRowNumber * localNodeSpace) + spaceStartToThisSpecRoot, maxNode.getLevel() * (nodeYSpace));
-                    maxNode.fixPosition();
-
-                    nodeInRowNumber++;
-
-                    this.log("Node on the widest level " + maxNode + " " + maxNode.cord_x + " " + maxNode.cord_y);
-                }
-                
-                //getting all nodes to end start from curent processing nodes
-                ArrayList <Node> nodesInRoot = nodeToProcess.returnAllNodesToEndStartFromThisNode();
-                
-                Map<Integer, List<Node>> nodesInRootByLevel;
-                
-                //grouping nodesInRoot by level
-                nodesInRootByLevel =
-                    nodesInRoot
-                    .stream()
-                    .collect(Collectors.groupingBy(Node::getLevel));
-                                
-                //seting nodes in eq distance from end of nodesInRootByLevel to current processing nodes
-                for(int i = maxLvlNodes.get(0).getLevel(); i >= stopOnLvl; i--) {
-                    int j = i;
-
-                    //geting ondes on current processing level
-                    List <Node> nodesInRootOnILvl = nodesInRootByLevel.get(j);
-
-                    int devByNumberOfNodes = 1;
-
-                    //copunting number of nodes for process
-                    if(!nodesInRootOnILvl.isEmpty()) {
-                        devByNumberOfNodes = nodesInRootOnILvl.size();
-                    }
-
-                    //calcualting new space between nodes
-                    double gap = (maxLvlNodes.get(maxLvlNodes.size() -1).cord_x - maxLvlNodes.get(0).cord_x) / devByNumberOfNodes;
-
-                    int counterInRow = 0;
-
-                    //seting nodes in new position
-                    for(Node nodeInRootOnILvl : nodesInRootOnILvl) {
-                        nodeInRootOnILvl.setCords(maxLvlNodes.get(0).cord_x + ((double)gap * counterInRow), nodeInRootOnILvl.getLevel() * (nodeYSpace));
-                        counterInRow++;
-                    }
-                }
-                
-                //centering parents if necessary
-                if(this.simModel.getTechParams().getSimTasksCount() == 1) {
-                    this.centerUp(maxLvlNodes, nodesInRoot, stopOnLvl);
-                }
-            }
-            
-            //cal this function with new parameters until array is not empty
-            if(maxLvlNodes.size() > 0)
-                this.loopDown(maxLvlNodes, (int)maxLvlNodes.get(0).cord_x, (int)maxLvlNodes.get(maxLvlNodes.size() -1).cord_x, maxLvlNodes.get(maxLvlNodes.size() - 1).getLevel());
+    //sorts keys (value << 32 | position) and reorders the nodes accordingly
+    private static void sortByKeys(int[] nodesOnLevel, long[] keys){
+        Arrays.sort(keys);
+        int[] sorted = new int[keys.length];
+        for (int i = 0; i < keys.length; i++){
+            sorted[i] = nodesOnLevel[(int) (keys[i] & 0xFFFFFFFFL)];
         }
+        System.arraycopy(sorted, 0, nodesOnLevel, 0, sorted.length);
     }
     
-    //center nodes from down to up by calculating average from children
-    private void centerUp(ArrayList <Node> startFromNodes, ArrayList <Node> root, int end)
+    //finding the coordinates of the whole tree (tidy tree layout)
+    private void LayOutTheNodesOnPlane()
     {
-        Map<Integer, List<Node>> rootByLevel;
-
-        //grouping nodes from root by level
-        rootByLevel =
-            root
-            .stream()
-            .collect(Collectors.groupingBy(Node::getLevel));
+        this.log("start laying out the nodes");
+        StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.layoutNodesOnPlane, Activity.started);
         
-        if (startFromNodes.isEmpty()){
-            return;
-        }
+        int nodeSimulation = this.nodes.get(-1,0);
         
-        ArrayList <Node> nodesForProcerss = new ArrayList<> (); 
-        ArrayList <Node> curentProcessing = new ArrayList<> ();
+        //geting nodes from first level
+        int[] nodesForProcess = nodesByLevel.length > 1 ? nodesByLevel[1] : new int[0];
         
-        nodesForProcerss.addAll(startFromNodes);
+        TreeLayout layout = new TreeLayout();
+        layout.layout(nodes, nodeSimulation, nodesForProcess);
+        layout.setCords(nodeXSpace, nodeYSpace);
         
-        //looping through all nodes from root start from first node and continue by geting they parnts
-        while (nodesForProcerss.get(0).getLevel() > end) {
-            //geting pareents for first node
-//            StaticConsoleLogger.log("A1 " + (nodesForProcerss.get(0).getLevel() - 1));
-            List <Node> parrents = rootByLevel.get(nodesForProcerss.get(0).getLevel() - 1);
+        this.log("nodes laid out = " + layout.getCount());
+        StaticConsoleLogger.logActivity(simulation.getIteration(), Activity.layoutNodesOnPlane, Activity.finished);
 
-            //get nodes from curent level from root
-            List <Node> get = rootByLevel.get(nodesForProcerss.get(0).getLevel());
-            
-            Map<Integer, List<Node>> getByHasChild;
-            
-            //grouping nodes by if they have children
-            getByHasChild =
-                get
-                .stream()
-                .collect(Collectors.groupingBy(Node::gethasChild));
-            
-            //adding nodes to append only if they have children
-            List <Node> nodesToAppend = getByHasChild.get(true);
-            
-            //appending if nodesToAppend is not empty
-            if(nodesToAppend != null)
-                nodesForProcerss.addAll(nodesToAppend);
-            
-            ArrayList<Node> parentsLvl = new ArrayList<> ();
-            
-            parentsLvl.addAll(parrents);
-            
-            //loping through nodes for process
-            nodesForProcerss.stream().map((Node nodeForProcess) -> {
-                GraphGenerator.this.log("processing node " + nodeForProcess + " in centerUp");
-                return nodeForProcess;
-            }).forEachOrdered((Node nodeForProcess) -> {
-                //geting node siblings
-                ArrayList <Node> siblings = nodeForProcess.getNodeSiblings(cells, nodes);
-                int siblingsNumber = 0;
-                //counting siblings
-                if(siblings != null) {
-                    siblingsNumber = siblings.stream().map((_item) -> 1).reduce(siblingsNumber, Integer::sum);
-                }   
-                if (siblingsNumber == 0) {
-                    Node parent = nodeForProcess.getNodeParent(cells, nodes);
-                    double oldX = parent.cord_x;
-                    double newX = nodeForProcess.cord_x;
-                    //move left
-                    if (oldX - newX > 0) {
-                        //checking if parent can be moved
-                        if (parent.canBeMoveLeft(parentsLvl, nodeForProcess.cord_x)) {
-                            parent.setCords(nodeForProcess.cord_x, parent.getLevel() * (nodeYSpace));
-                            parent.fixPosition();
-                            GraphGenerator.this.log("centering node" + parent);
-                        }
-                    }
-                    //move right
-                    if (oldX - newX < 0) {
-                        //checking if parent can be moved
-                        if (parent.canBeMoveRight(parentsLvl, nodeForProcess.cord_x)) {
-                            parent.setCords(nodeForProcess.cord_x, parent.getLevel() * (nodeYSpace));
-                            parent.fixPosition();
-                            GraphGenerator.this.log("centering node" + parent);
-                        }
-                    }
-                    //if curentProcessing not contains parent append it
-                    if(!curentProcessing.contains(parent)) {
-                        curentProcessing.add(parent);
-                    }
-                }
-                if (siblingsNumber == 1) {
-                    Node parent = nodeForProcess.getNodeParent(cells, nodes);
-                    Node sibling = siblings.get(0);
-                    double oldX = parent.cord_x;
-                    //calculate new x (average from children x)
-                    double cordX = (((double)nodeForProcess.cord_x + (double)sibling.cord_x) / (double)2.0);
-                    //move left
-                    if (oldX - cordX > 0) {
-                        //checking if parent can be moved
-                        if (parent.canBeMoveLeft(parentsLvl, cordX)) {
-                            parent.setCords(cordX, parent.getLevel() * (nodeYSpace));
-                            parent.fixPosition();
-                            log("centering node" + parent);
-                        }
-                    }
-                    //move right
-                    if (oldX - cordX < 0) {
-                        //checking if parent can be moved
-                        if (parent.canBeMoveRight(parentsLvl, cordX)) {
-                            parent.setCords(cordX, parent.getLevel() * (nodeYSpace));
-                            parent.fixPosition();
-                            log("centering node" + parent);
-                        } 
-                    }
-                    if (!curentProcessing.contains(parent)) {
-                        curentProcessing.add(parent);
-                    }
-                }
-            });
-            
-            //seting next nodes for process
-            nodesForProcerss.clear();
-            nodesForProcerss.addAll(parrents);
-            curentProcessing.clear();
-        }
     }
     
     /**
@@ -825,18 +490,17 @@ public class GraphGenerator {
     //removing node c-1_i0 and related edges
     private void removeSimulationNode()
     {
-        Node nodeSimulation = this.nodes.get(-1,0);       
-        this.nodes.remove(nodeSimulation);
+        this.nodes.remove(this.nodes.get(-1,0));
     }
     
     private void saveToPngFile(String fileNamePart, boolean drawBorders, boolean useColorMap) throws IOException
     {
         this.log("saving to png file");
         
-        outputFilePathPng = GraphToFile.saveGraphToPngFile(cells, genomes, canvasXSize, canvasYSize, workDir, nodes.values(), simulation.getSettings(), fileNamePart, drawBorders, useColorMap);
+        outputFilePathPng = GraphToFile.saveGraphToPngFile(cells, genomes, canvasXSize, canvasYSize, workDir, nodes, simulation.getSettings(), fileNamePart, drawBorders, useColorMap);
         
         //cell indexes
-//        GraphToFile.saveGraphToPngFileIdexes(cells, genomes, canvasXSize, canvasYSize, workDir, nodes.values(), simulation.getSettings(), fileNamePart, drawBorders, useColorMap);
+//        GraphToFile.saveGraphToPngFileIdexes(cells, genomes, canvasXSize, canvasYSize, workDir, nodes, simulation.getSettings(), fileNamePart, drawBorders, useColorMap);
         
         
         this.log(outputFilePathPng);
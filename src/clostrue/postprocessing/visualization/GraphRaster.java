@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.postprocessing.visualization;
+
+import clostrue.hardcodes.Constant;
+import java.awt.Color;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel tiled rasterizer of the graph nodes.
+ * 
+ * The canvas is divided into square tiles. The nodes are binned to the tiles
+ * they cover (keeping the order of the node collection) and the tiles are
+ * rendered in parallel in the fork-join pool, so a pixel covered by more
+ * nodes gets the color of the last one, as with rendering one node after
+ * another. 
+ * 
+ * The image is rendered and written in bands of one tile row, so only 
+ * the band is kept in memory, not the whole canvas. The clone borders are
+ * detected within the band; as the vertical borders need the state of the 
+ * previous column, the bands are rendered twice when borders are drawn.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class GraphRaster {
+
+    private final int   width;          //canvas width
+    private final int   height;         //canvas height
+    private final int   ratio;          //down scaling ratio
+    private final int   scaleX;         //horizontal scaling of the node
+    private final int   scaleY;         //vertical scaling of the node
+    private final int   tileSize;       //tile edge in pixels
+    private final int   tilesX;         //tile columns
+    private final int   tilesY;         //tile rows (bands)
+    private int[]       left;           //pixel rectangles of the nodes
+    private int[]       right;
+    private int[]       top;
+    private int[]       bottom;
+    private int[]       rgbs;           //colors of the nodes
+    private int[]       clones;         //driver clone groups of the nodes
+    private int[]       tileStart;      //first entry of the tile in tileNodes
+    private int[]       tileNodes;      //nodes binned to the tiles
+
+    /**
+     * Default constructor
+     * @param width     canvas width
+     * @param height    canvas height
+     * @param ratio     down scaling ratio
+     * @param scaleX    horizontal scaling of the node
+     * @param scaleY    vertical scaling of the node
+     */
+    public GraphRaster(int width, int height, int ratio, int scaleX, int scaleY) {
+        this.width      = width;
+        this.height     = height;
+        this.ratio      = ratio;
+        this.scaleX     = scaleX;
+        this.scaleY     = scaleY;
+        tileSize        = Constant.graphRasterTileSize;
+        tilesX          = (width + tileSize - 1) / tileSize;
+        tilesY          = (height + tileSize - 1) / tileSize;
+    }
+
+    /**
+     * Prepares the nodes for rendering: finds the pixel rectangles
+     * and bins the nodes to the tiles
+     * @param nodes         nodes in order of rendering
+     * @param orderOf       order (horizontal position) of the node
+     * @param levelOf       level (vertical position) of the node
+     * @param rgbOf         color of the node
+     * @param cloneIDOf     driver clone group of the node
+     */
+    public void rasterize(
+            int[]               nodes, 
+            IntUnaryOperator    orderOf, 
+            IntUnaryOperator    levelOf, 
+            IntUnaryOperator    rgbOf, 
+            IntUnaryOperator    cloneIDOf){
+        
+        int nodesCount = nodes.length;
+        left    = new int[nodesCount];
+        right   = new int[nodesCount];
+        top     = new int[nodesCount];
+        bottom  = new int[nodesCount];
+        rgbs    = new int[nodesCount];
+        clones  = new int[nodesCount];
+        
+        //the scaled node covers a rectangle of pixels
+        IntStream.range(0, nodesCount).parallel().forEach(i -> {
+            int order   = orderOf.applyAsInt(nodes[i]);
+            int level   = levelOf.applyAsInt(nodes[i]);
+            left[i]     = Math.min(( order * scaleX ) / ratio, width - 1);
+            right[i]    = Math.min(( order * scaleX + scaleX - 1 ) / ratio, width - 1);
+            top[i]      = Math.min(( level * scaleY ) / ratio, height - 1);
+            bottom[i]   = Math.min(( level * scaleY + scaleY - 1 ) / ratio, height - 1);
+            rgbs[i]     = rgbOf.applyAsInt(nodes[i]);
+            clones[i]   = cloneIDOf.applyAsInt(nodes[i]);
+        });
+        
+        //binning of the nodes to the tiles (counting sort keeps the node order)
+        tileStart = new int[tilesX * tilesY + 1];
+        for (int i = 0; i < nodesCount; i++){
+            for (int ty = top[i] / tileSize; ty <= bottom[i] / tileSize; ty++){
+                for (int tx = left[i] / tileSize; tx <= right[i] / tileSize; tx++){
+                    tileStart[ty * tilesX + tx + 1]++;
+                }
+            }
+        }
+        for (int t = 0; t < tilesX * tilesY; t++){
+            tileStart[t + 1] += tileStart[t];
+        }
+        int[] tileFill  = Arrays.copyOf(tileStart, tilesX * tilesY);
+        tileNodes       = new int[tileStart[tilesX * tilesY]];
+        for (int i = 0; i < nodesCount; i++){
+            for (int ty = top[i] / tileSize; ty <= bottom[i] / tileSize; ty++){
+                for (int tx = left[i] / tileSize; tx <= right[i] / tileSize; tx++){
+                    tileNodes[tileFill[ty * tilesX + tx]++] = i;
+                }
+            }
+        }
+        
+    }
+    
+    /**
+     * Renders one band (tile row) of the canvas. The tiles do not overlap,
+     * so they are rendered in parallel
+     * @param band      band index
+     * @param pixels    rgb of the band pixels, filled from the row given
+     * @param firstRow  row of pixels to place the band at
+     * @param cloneIDs  driver clone group of the band pixels
+     */
+    private void renderBand(int band, int[] pixels, int firstRow, int[] cloneIDs){
+        
+        int bandTop     = band * tileSize;
+        int bandHeight  = Math.min(tileSize, height - bandTop);
+        Arrays.fill(pixels, firstRow * width, (firstRow + bandHeight) * width, Color.WHITE.getRGB());
+        Arrays.fill(cloneIDs, 0, bandHeight * width, 0);
+        
+        IntStream.range(0, tilesX).parallel().forEach(tx -> {
+            int tile        = band * tilesX + tx;
+            int tileLeft    = tx * tileSize;
+            int tileRight   = Math.min(tileLeft + tileSize, width) - 1;
+            int tileBottom  = bandTop + bandHeight - 1;
+            for (int n = tileStart[tile]; n < tileStart[tile + 1]; n++){
+                int i = tileNodes[n];
+                for (int y = Math.max(top[i], bandTop); y <= Math.min(bottom[i], tileBottom); y++){
+                    int row = y - bandTop;
+                    for (int x = Math.max(left[i], tileLeft); x <= Math.min(right[i], tileRight); x++){
+                        pixels[(firstRow + row) * width + x]    = rgbs[i];
+                        cloneIDs[row * width + x]               = clones[i];
+                    }
+                }
+            }
+        });
+        
+    }
+    
+    /**
+     * Draws the horizontal borders between the driver clone groups within 
+     * the band. The rows are processed left to right, the clone group of 
+     * the last pixel which is not black is carried over to the next row
+     * (found first, so the rows can be processed in parallel)
+     * @param pixels        rgb of the band pixels
+     * @param firstRow      row of pixels the band is placed at
+     * @param cloneIDs      driver clone group of the band pixels
+     * @param bandHeight    rows in band
+     * @param thickness     border thickness
+     * @param carry         clone group carried from the previous row
+     * @return clone group carried to the next row
+     */
+    private int drawRowBorders(int[] pixels, int firstRow, int[] cloneIDs, int bandHeight, int thickness, int carry){
+        
+        final int black = Color.BLACK.getRGB();
+        
+        int[]       rowLast     = new int[bandHeight];
+        boolean[]   rowHasLast  = new boolean[bandHeight];
+        IntStream.range(0, bandHeight).parallel().forEach(row -> {
+            for (int x = width - 1; x >= 0; x--){
+                if (pixels[(firstRow + row) * width + x] != black){
+                    rowLast[row]      = cloneIDs[row * width + x];
+                    rowHasLast[row]   = true;
+                    break;
+                }
+            }
+        });
+        int[] rowCarry = new int[bandHeight];
+        for (int row = 0; row < bandHeight; row++){
+            rowCarry[row] = carry;
+            if (rowHasLast[row]){
+                carry = rowLast[row];
+            }
+        }
+        
+        IntStream.range(0, bandHeight).parallel().forEach(row -> {
+            int prevCloneID = rowCarry[row];
+            int offset = (firstRow + row) * width;
+            for (int x = 0; x < width; x++) {
+                int currCloneID = cloneIDs[row * width + x];
+                if (pixels[offset + x] != black){
+                    if (x > (thickness + 1) && prevCloneID != currCloneID){
+                        for (int w = 0; w < thickness; w++){
+                            pixels[offset + (x-1-w)] = black;
+                        }
+                    } 
+                    prevCloneID = currCloneID;
+                }                  
+            }
+        });
+        
+        return carry;
+    }
+    
+    /**
+     * Renders the image and writes it row by row. 
+     * 
+     * The borders are detected row by row (left to right) and then column 
+     * by column (top to bottom), the clone group of the last pixel which 
+     * is not black is carried over to the next row (column). The first pass
+     * over the bands finds the clone groups carried between the columns,
+     * the second one draws the vertical borders and writes the rows. 
+     * The vertical border blackens the rows above the pixel, so the last 
+     * rows of the band are written with the next band.
+     * @param png           image writer
+     * @param drawBorders   draw borders between the driver clone groups
+     * @param thickness     border thickness
+     * @throws IOException 
+     */
+    public void write(PngStreamWriter png, boolean drawBorders, int thickness) throws IOException {
+        
+        final int black     = Color.BLACK.getRGB();
+        int held            = drawBorders ? thickness : 0;      //rows held back for the next band
+        int[] pixels        = new int[(held + tileSize) * width];
+        int[] cloneIDs      = new int[tileSize * width];
+        int[] prevCloneIDs  = new int[width];
+        int carry           = 0;
+        
+        if (drawBorders){
+            //first pass: clone groups carried between the columns
+            int[]       columnLast      = new int[width];
+            boolean[]   columnHasLast   = new boolean[width];
+            for (int band = 0; band < tilesY; band++){
+                int bandHeight = Math.min(tileSize, height - band * tileSize);
+                renderBand(band, pixels, held, cloneIDs);
+                carry = drawRowBorders(pixels, held, cloneIDs, bandHeight, thickness, carry);
+                IntStream.range(0, tilesX).parallel().forEach(tx -> {
+                    for (int row = 0; row < bandHeight; row++){
+                        for (int x = tx * tileSize; x < Math.min((tx + 1) * tileSize, width); x++){
+                            if (pixels[(held + row) * width + x] != black){
+                                columnLast[x]       = cloneIDs[row * width + x];
+                                columnHasLast[x]    = true;
+                            }
+                        }
+                    }
+                });
+            }
+            for (int x = 0; x < width; x++){
+                prevCloneIDs[x] = carry;
+                if (columnHasLast[x]){
+                    carry = columnLast[x];
+                }
+            }
+            carry = 0;
+        }
+        
+        //second pass: vertical borders and output
+        int written = 0;
+        for (int band = 0; band < tilesY; band++){
+            int bandTop     = band * tileSize;
+            int bandHeight  = Math.min(tileSize, height - bandTop);
+            renderBand(band, pixels, held, cloneIDs);
+            
+            if (drawBorders){
+                carry = drawRowBorders(pixels, held, cloneIDs, bandHeight, thickness, carry);
+                IntStream.range(0, tilesX).parallel().forEach(tx -> {
+                    for (int row = 0; row < bandHeight; row++){
+                        int y = bandTop + row;
+                        for (int x = tx * tileSize; x < Math.min((tx + 1) * tileSize, width); x++){
+                            int currCloneID = cloneIDs[row * width + x];
+                            if (pixels[(held + row) * width + x] != black){                
+                                if ((y > thickness + 1) && prevCloneIDs[x] != currCloneID){
+                                    for (int w = 0; w < thickness; w++){
+                                        pixels[(held + row - 1 - w) * width + x] = black;
+                                    } 
+                                }
+                                prevCloneIDs[x] = currCloneID;
+                            }
+                        }
+                    }
+                });
+            }
+            
+            //rows held back from the previous band and the band without its last rows
+            int writeTo = (band == tilesY - 1) ? height : bandTop + bandHeight - held;
+            for (; written < writeTo; written++){
+                png.writeRow(pixels, (held + written - bandTop) * width);
+            }
+            System.arraycopy(pixels, bandHeight * width, pixels, 0, held * width);
+        }
+        
+    }
+    
+}
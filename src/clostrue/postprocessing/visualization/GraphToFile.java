@@ -17,20 +17,15 @@
  */
 package clostrue.postprocessing.visualization;
  
-import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import javax.imageio.ImageIO;
-import java.awt.Color;
 import clostrue.Settings;
 import clostrue.collections.CellCollection;
 import clostrue.collections.GenomeCollection;
 import clostrue.hardcodes.Param;
 import clostrue.hardcodes.file.Extension;
 import clostrue.hardcodes.file.NamePart;
-import java.awt.image.WritableRaster;
-import java.util.Arrays;
-import java.util.Collection;
 
 /**
  * This class is for saving graph to file
@@ -39,11 +34,7 @@ import java.util.Collection;
  */
 public class GraphToFile {
 
-    private static int intColor(byte color){
-        return (int)color + (int)128;
-    }
-    
-    public static String saveGraphToPngFile(CellCollection cells, GenomeCollection genomes, int canvasXSize, int canvasYSize, String inWorkDir, Collection <Node> nodes, Settings settings, String fileNamePart, boolean drawBorders, boolean useColorMap) throws IOException
+    public static String saveGraphToPngFile(CellCollection cells, GenomeCollection genomes, int canvasXSize, int canvasYSize, String inWorkDir, NodeCollection nodes, Settings settings, String fileNamePart, boolean drawBorders, boolean useColorMap) throws IOException
     {     
         float progressByNode = (float) 25.0;       
         int localCanvasXSize;
@@ -77,8 +68,6 @@ public class GraphToFile {
         final int xSize = localCanvasXSize;
         final int ySize = localCanvasYSize;
         
-        int nodesCount = (int) nodes.size() ;
-        float progressStepNode = (progressByNode / nodesCount);       
         
         String path = inWorkDir 
                 + java.io.File.separator 
@@ -87,64 +76,37 @@ public class GraphToFile {
                 + NamePart.scale
                 + String.valueOf(ratio)
                 + Extension.dotPng;
-        BufferedImage bImage = new BufferedImage( localCanvasXSize, localCanvasYSize, BufferedImage.TYPE_INT_RGB );
-        
         final int fScaleX = scaleX;
         final int fScaleY = scaleY;
         
-        WritableRaster rast = bImage.getRaster();
-        int[] pixels    = new int[bImage.getWidth() * bImage.getHeight()];
-        int[] cloneIDs  = new int[bImage.getWidth() * bImage.getHeight()]; 
-        Arrays.fill(pixels, Color.WHITE.getRGB());
-        Arrays.fill(cloneIDs, 0);
-        final int width = bImage.getWidth();
-        final int height = bImage.getHeight();
-        nodes.stream().forEach((Node node) -> {
-            GraphGenerator.setProgress(GraphGenerator.getProgress() + progressStepNode);     
-
-            if (useColorMap){
-                Color nodeColor = GraphGenerator.colorsTable.get(node.colorIndex);
-                for (int moveScaleX = 0; moveScaleX < fScaleX; moveScaleX++){
-                        for (int moveScaleY = 0; moveScaleY < fScaleY; moveScaleY++){
-                            int xCoord = Math.min((( node.getOrder() * fScaleX + moveScaleX ) / ratio), xSize-1);
-                            int yCoord = Math.min((( node.getLevel(cells) * fScaleY + moveScaleY ) / ratio), ySize-1);
-                            pixels[yCoord * width + xCoord ] = nodeColor.getRGB();
-                            cloneIDs[yCoord * width + xCoord ] = node.getDriverCloneGroupID(cells, genomes);
-                        }                        
-
-                }
-            } else {       
-                for (int moveScaleX = 0; moveScaleX < fScaleX; moveScaleX++){
-                        for (int moveScaleY = 0; moveScaleY < fScaleY; moveScaleY++){
-                            int xCoord = Math.min((( node.getOrder() * fScaleX + moveScaleX ) / ratio), xSize-1);
-                            int yCoord = Math.min((( node.getLevel(cells) * fScaleY + moveScaleY ) / ratio), ySize-1);
-                            pixels[yCoord * width + xCoord ] 
-                                    = new Color(
-                                            intColor(node.color_r),
-                                            intColor(node.color_g),
-                                            intColor(node.color_b)).getRGB();
-                            cloneIDs[yCoord * width + xCoord ] = node.getDriverCloneGroupID(cells, genomes);
-
-                        }                        
-                }
-            }
-            });
-        
-        if (drawBorders){
-            drawBorders(pixels,cloneIDs,3,width,height);
+        final int width = localCanvasXSize;
+        final int height = localCanvasYSize;
+        int[] nodesArray = nodes.getNodes();
+        GraphRaster raster = new GraphRaster(width, height, ratio, fScaleX, fScaleY);
+        if (useColorMap){
+            raster.rasterize(nodesArray, 
+                    nodes::getOrder, 
+                    nodes::getLevel, 
+                    (int node) -> GraphGenerator.colorsTable.get(nodes.getColorIndex(node)).getRGB(), 
+                    nodes::getDriverCloneGroupID);
+        } else {
+            raster.rasterize(nodesArray, 
+                    nodes::getOrder, 
+                    nodes::getLevel, 
+                    nodes::getHeatMapRGB, 
+                    nodes::getDriverCloneGroupID);
         }
+        GraphGenerator.setProgress(GraphGenerator.getProgress() + progressByNode);     
         
-        try {
-            rast.setDataElements(0, 0, width, height, pixels);
-            bImage.setData(rast);
-            ImageIO.write(bImage, Extension.png, new File(path));
+        try (PngStreamWriter png = new PngStreamWriter(new BufferedOutputStream(new FileOutputStream(path)), width, height)) {
+            raster.write(png, drawBorders, 3);
         } catch ( IOException e) {
         }
 
         return path;
     }
     
-     public static String saveGraphToPngFileIdexes(CellCollection cells, GenomeCollection genomes, int canvasXSize, int canvasYSize, String inWorkDir, Collection <Node> nodes, Settings settings, String fileNamePart, boolean drawBorders, boolean useColorMap) throws IOException
+     public static String saveGraphToPngFileIdexes(CellCollection cells, GenomeCollection genomes, int canvasXSize, int canvasYSize, String inWorkDir, NodeCollection nodes, Settings settings, String fileNamePart, boolean drawBorders, boolean useColorMap) throws IOException
     {     
         float progressByNode = (float) 25.0;       
         int localCanvasXSize;
@@ -178,8 +140,6 @@ public class GraphToFile {
         final int xSize = localCanvasXSize;
         final int ySize = localCanvasYSize;
         
-        int nodesCount = (int) nodes.size() ;
-        float progressStepNode = (progressByNode / nodesCount);       
         
         String path = inWorkDir 
                 + java.io.File.separator 
@@ -188,41 +148,22 @@ public class GraphToFile {
                 + NamePart.scale
                 + String.valueOf(ratio)
                 + Extension.dotPng;
-        BufferedImage bImage = new BufferedImage( localCanvasXSize, localCanvasYSize, BufferedImage.TYPE_INT_RGB );
-        
         final int fScaleX = scaleX;
         final int fScaleY = scaleY;
         
-        WritableRaster rast = bImage.getRaster();
-        int[] pixels    = new int[bImage.getWidth() * bImage.getHeight()];
-        int[] cloneIDs  = new int[bImage.getWidth() * bImage.getHeight()]; 
-        Arrays.fill(pixels, Color.WHITE.getRGB());
-        Arrays.fill(cloneIDs, 0);
-        final int width = bImage.getWidth();
-        final int height = bImage.getHeight();
-        nodes.stream().forEach((Node node) -> {
-            GraphGenerator.setProgress(GraphGenerator.getProgress() + progressStepNode);     
-
-            Color nodeColor = new Color(node.cellIndex);//GraphGenerator.colorsTable.get(node.colorIndex);
-                for (int moveScaleX = 0; moveScaleX < fScaleX; moveScaleX++){
-                        for (int moveScaleY = 0; moveScaleY < fScaleY; moveScaleY++){
-                            int xCoord = Math.min((( node.getOrder() * fScaleX + moveScaleX ) / ratio), xSize-1);
-                            int yCoord = Math.min((( node.getLevel(cells) * fScaleY + moveScaleY ) / ratio), ySize-1);
-                            
-                            cloneIDs[yCoord * width + xCoord ] = node.getDriverCloneGroupID(cells, genomes);
-                            pixels[yCoord * width + xCoord ] = cloneIDs[yCoord * width + xCoord];
-                        }
-                }
-            });
-        
-        if (drawBorders){
-            drawBorders(pixels,cloneIDs,3,width,height);
-        }
+        final int width = localCanvasXSize;
+        final int height = localCanvasYSize;
+        int[] nodesArray = nodes.getNodes();
+        GraphRaster raster = new GraphRaster(width, height, ratio, fScaleX, fScaleY);
+        raster.rasterize(nodesArray, 
+                nodes::getOrder, 
+                nodes::getLevel, 
+                nodes::getDriverCloneGroupID, 
+                nodes::getDriverCloneGroupID);
+        GraphGenerator.setProgress(GraphGenerator.getProgress() + progressByNode);     
         
-        try {
-            rast.setDataElements(0, 0, width, height, pixels);
-            bImage.setData(rast);
-            ImageIO.write(bImage, Extension.png, new File(path));
+        try (PngStreamWriter png = new PngStreamWriter(new BufferedOutputStream(new FileOutputStream(path)), width, height)) {
+            raster.write(png, drawBorders, 3);
         } catch ( IOException e) {
             //
         }
@@ -230,40 +171,4 @@ public class GraphToFile {
         return path;
     }
 
-   private static void drawBorders(int[] pixels, int[] cloneIDs, int thickness, int width, int height){
-        
-        int currRGB;
-        int prevCloneID = 0;
-        int currCloneID;
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                currRGB = pixels[y * width + x ];
-                currCloneID = cloneIDs[y * width + x ];
-                if (currRGB != Color.BLACK.getRGB()){
-                    if (x > (thickness + 1) &&  prevCloneID != currCloneID ){
-                        for (int w = 0; w < thickness; w++){
-                            pixels[y * width + (x-1-w) ] = Color.BLACK.getRGB();
-                        }
-                    } 
-                    prevCloneID = currCloneID;
-                }                  
-            }
-        }
-
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                currRGB = pixels[y * width + x];
-                currCloneID = cloneIDs[y * width + x];
-                if (currRGB != Color.BLACK.getRGB()){                
-                    if ( (y > thickness + 1) && prevCloneID != currCloneID ){
-                        for (int w = 0; w < thickness; w++){
-                            pixels[(y-1-w) * width + x ] = Color.BLACK.getRGB();
-                        } 
-                    }
-                    prevCloneID = currCloneID;
-                }
-            }
-        } 
-    }    
-    
 }
@@ -1,104 +1,344 @@
-/* 
- * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
- * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
- * Affiliation: Department of Informatics
- *
- * This program is intended to be solely used for reaserch purpouses
- * by the Students and Employees of the
- * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
- * and for other research and development non-commercial activities
- * by researchers world-wide interrested in the area of simulations
- * of cancer clonal evolution.
- *
- * This program is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
- *
- */
-
-package clostrue.postprocessing.visualization;
- 
-import clostrue.collections.CellCollection;
-import clostrue.collections.GenomeCollection;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-/**
- *
- * Wrapper for node collection
- * 
- * @author Krzysztof Szymiczek
- */
-
-
-public class NodeCollection {
-    
-    protected HashMap <Long, Node> nodes_ht;
-    GenomeCollection genomes;
-    CellCollection cells;
-
-    public NodeCollection(GenomeCollection inGenomes, CellCollection inCells) {
-        this.nodes_ht = new HashMap<>();
-        this.genomes = inGenomes;
-        this.cells = inCells;
-    }   
-
-    public int size(){
-        return nodes_ht.size();
-    }
-   
-    public void setCloneMarkerColor(CellCollection cells){
-        for (Map.Entry<Long, Node> e : nodes_ht.entrySet()){
-            e.getValue().setCloneMarkerColor(cells, genomes,GraphGenerator.colorsTable);
-        };         
-    }
-    
-    public void setHeatMapColorDrivers(CellCollection cells, int maxValue){
-        for (Map.Entry<Long, Node> e : nodes_ht.entrySet()){
-            e.getValue().setHeatMapColorDrivers(genomes, cells, maxValue);
-        };                      
-    }
-    
-    public void put(Node node){
-        Long key = node.getuIDLong();
-        nodes_ht.put(key, node);
-    }
-    
-    public void linkNodes(){
-        for (Map.Entry<Long, Node> e : nodes_ht.entrySet()){
-            Node child = e.getValue();
-            Node parent = nodes_ht.get(e.getValue().getpIDLong());
-            if (parent != null){
-                parent.addChildren(child);                
-            }
-        }        
-    }
-    
-    public Map<Integer, List<Node>> getNodesByLevel(CellCollection cells){
-        return
-            this.nodes_ht.values()
-            .stream()
-            .collect(Collectors.groupingBy(Node::getLevel));       
-    }
-
-    public Node get(int cycle, int id){
-        Long key = Node.buildLongID(cycle, id);
-        return nodes_ht.get(key);
-    }
-    
-    public Node get(long key){
-        return nodes_ht.get(key);
-    }
-    
-    public void remove(Node n){
-        Long key = n.getuIDLong();
-        nodes_ht.remove(key); //strange
-    }
-
-    public Collection<Node> values(){
-        return nodes_ht.values();
-    }
-}
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.postprocessing.visualization;
+ 
+import clostrue.biology.cell.Cell;
+import clostrue.biology.genome.Genome;
+import clostrue.collections.CellCollection;
+import clostrue.collections.GenomeCollection;
+import clostrue.collections.LongIntHashMap;
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collection of the graph nodes stored as struct of arrays.
+ * 
+ * The node is a dense number, it's properties are kept in primitive arrays
+ * indexed by the number: the cell, the links to parent and children, 
+ * the level, the coordinates, the order and the colors. The level, 
+ * the driver clone group and the driver count are read from the cell 
+ * and genome once, when the node is added. The nodes are found by unique 
+ * cell id (cycle and cell id) in primitive long to int map.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class NodeCollection {
+    
+    public static final int none = -1;  //no node
+    
+    private final GenomeCollection  genomes;        //genomes of the cells
+    private final CellCollection    cells;          //cells of the nodes
+    private final LongIntHashMap    index;          //unique cell id -> node
+    private int         count       = 0;            //count of the nodes added
+    private int         removed     = 0;            //count of the nodes removed
+    private int[]       cellIndex;                  //cell of the node
+    private int[]       parent;                     //parent node
+    private int[]       child1;                     //first child node
+    private int[]       child2;                     //second child node
+    private int[]       level;                      //level (model cycle + 1)
+    private int[]       order;                      //horizontal position on the level
+    private int[]       cloneGroup;                 //driver clone group
+    private int[]       drivers;                    //driver mutation count
+    private float[]     cordX;                      //x coordinate
+    private float[]     cordY;                      //y coordinate
+    private byte[]      colorIndex;                 //clone marker color (index of the color table)
+    private byte[]      colorR;                     //heat map color (shifted by -128)
+    private byte[]      colorG;
+    private byte[]      colorB;
+    private boolean[]   isRemoved;                  //node removed from the graph
+
+    /**
+     * Default constructor
+     * @param inGenomes         genomes of the cells
+     * @param inCells           cells of the nodes
+     * @param expectedSize      count of the nodes expected
+     */
+    public NodeCollection(GenomeCollection inGenomes, CellCollection inCells, int expectedSize) {
+        this.genomes    = inGenomes;
+        this.cells      = inCells;
+        this.index      = new LongIntHashMap(expectedSize);
+        allocate(Math.max(expectedSize, 16));
+    }   
+    
+    private void allocate(int capacity){
+        cellIndex   = grow(cellIndex, capacity);
+        parent      = grow(parent, capacity);
+        child1      = grow(child1, capacity);
+        child2      = grow(child2, capacity);
+        level       = grow(level, capacity);
+        order       = grow(order, capacity);
+        cloneGroup  = grow(cloneGroup, capacity);
+        drivers     = grow(drivers, capacity);
+        cordX       = cordX == null ? new float[capacity] : Arrays.copyOf(cordX, capacity);
+        cordY       = cordY == null ? new float[capacity] : Arrays.copyOf(cordY, capacity);
+        colorIndex  = colorIndex == null ? new byte[capacity] : Arrays.copyOf(colorIndex, capacity);
+        colorR      = colorR == null ? new byte[capacity] : Arrays.copyOf(colorR, capacity);
+        colorG      = colorG == null ? new byte[capacity] : Arrays.copyOf(colorG, capacity);
+        colorB      = colorB == null ? new byte[capacity] : Arrays.copyOf(colorB, capacity);
+        isRemoved   = isRemoved == null ? new boolean[capacity] : Arrays.copyOf(isRemoved, capacity);
+    }
+    
+    private static int[] grow(int[] array, int capacity){
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+    
+    /**
+     * Builds the unique id of the cell in the cycle
+     * @param cycle model cycle
+     * @param id    cell id
+     * @return unique id
+     */
+    public static long buildLongID(int cycle, int id){
+        return 100000000000l * cycle + id;
+    }
+    
+    /**
+     * Returns the count of nodes in graph
+     * @return node count
+     */
+    public int size(){
+        return count - removed;
+    }
+    
+    /**
+     * Adds the node of the cell
+     * @param inCellIndex index of the cell
+     * @return node
+     */
+    public int put(int inCellIndex){
+        
+        if (count == cellIndex.length){
+            allocate(count * 2);
+        }
+        
+        Cell cell       = cells.getByIndex(inCellIndex);
+        Genome genome   = cell.getGenome(genomes);
+        int node        = count++;
+        cellIndex[node] = inCellIndex;
+        parent[node]    = none;
+        child1[node]    = none;
+        child2[node]    = none;
+        level[node]     = cell.getModelCycle() + 1;
+        if (genome != null){
+            cloneGroup[node]    = genome.getDriverCloneGroupID();
+            drivers[node]       = genome.getDriverMutationCount();
+        } else {
+            drivers[node]       = -1;
+        }
+        index.put(buildLongID(cell.getModelCycle(), cell.getId()), node);
+        
+        return node;
+    }
+    
+    /**
+     * Links the nodes to their parents. The parent keeps two children,
+     * the later ones replace the second child
+     */
+    public void linkNodes(){
+        for (int node = 0; node < count; node++){
+            Cell cell = cells.getByIndex(cellIndex[node]);
+            if (cell.getModelCycle() < 0){
+                continue;   //simulation node has no parent
+            }
+            int parentNode = index.get(buildLongID(cell.getModelCycle() - 1, cell.getParentCellID()));
+            if (parentNode != none){
+                parent[node] = parentNode;
+                if (child1[parentNode] == none){
+                    child1[parentNode] = node;
+                } else {
+                    child2[parentNode] = node;
+                }
+            }
+        }        
+    }
+    
+    /**
+     * Groups the nodes by level (counting sort, the order of adding is kept)
+     * @return nodes of each level
+     */
+    public int[][] getNodesByLevel(){
+        
+        int maxLevel = 0;
+        for (int node = 0; node < count; node++){
+            if (!isRemoved[node]){
+                maxLevel = Math.max(maxLevel, level[node]);
+            }
+        }
+        int[] levelSize = new int[maxLevel + 1];
+        for (int node = 0; node < count; node++){
+            if (!isRemoved[node]){
+                levelSize[level[node]]++;
+            }
+        }
+        int[][] nodesByLevel = new int[maxLevel + 1][];
+        for (int l = 0; l <= maxLevel; l++){
+            nodesByLevel[l] = new int[levelSize[l]];
+            levelSize[l]    = 0;
+        }
+        for (int node = 0; node < count; node++){
+            if (!isRemoved[node]){
+                nodesByLevel[level[node]][levelSize[level[node]]++] = node;
+            }
+        }
+        return nodesByLevel;
+    }
+
+    /**
+     * Returns the node of the cell
+     * @param cycle model cycle
+     * @param id    cell id
+     * @return node or none
+     */
+    public int get(int cycle, int id){
+        return index.get(buildLongID(cycle, id));
+    }
+    
+    /**
+     * Removes the node from the graph
+     * @param node node
+     */
+    public void remove(int node){
+        if (node != none && !isRemoved[node]){
+            isRemoved[node] = true;
+            removed++;
+        }
+    }
+
+    /**
+     * Returns the nodes of the graph in order of adding
+     * @return nodes
+     */
+    public int[] getNodes(){
+        int[] nodes = new int[size()];
+        int next = 0;
+        for (int node = 0; node < count; node++){
+            if (!isRemoved[node]){
+                nodes[next++] = node;
+            }
+        }
+        return nodes;
+    }
+    
+    public void setCloneMarkerColor(List<Color> colors){
+        for (int node = 0; node < count; node++){
+            colorIndex[node] = (byte) (cloneGroup[node] % colors.size());
+        }
+    }
+    
+    //in the blue channel we will temporary encode the index of color of clone group
+    //it cannot be to big becouse it would influence the heatmap color but this will be enough
+    //for painting vertical borders bewtween cells with the same amount of driver mutations
+    //but from different clonal groups
+    public void setHeatMapColorDrivers(int maxValue){
+        if (maxValue > 0){
+            for (int node = 0; node < count; node++){
+                double percent = (double)100 * (double)drivers[node] / (double)maxValue;
+                setHeatMapColorByPercent(node, percent);
+            }
+        }
+    }
+    
+    private void setHeatMapColorByPercent(int node, double percent){
+        if (100 < percent){
+            percent = (double)99;
+        }
+        if (0 > percent){
+            percent = (double)0;
+        }
+        if (percent < (double)50){
+            setColor(node, (int)(((double)255 * (percent / (double)50))), 255, 0);
+        }
+        else{
+            setColor(node, 255,(int)(((double)255 * (double)(((double)100 - percent) / (double)50))), 0);
+        }        
+    }
+    
+    private void setColor(int node, int R, int G, int B){
+        colorR[node] = (byte)(R - 128);
+        colorG[node] = (byte)(G - 128);
+        colorB[node] = (byte)(B - 128);
+    }
+    
+    /**
+     * Returns the heat map color of the node
+     * @param node node
+     * @return rgb
+     */
+    public int getHeatMapRGB(int node){
+        return new Color(
+                (int) colorR[node] + 128, 
+                (int) colorG[node] + 128, 
+                (int) colorB[node] + 128).getRGB();
+    }
+    
+    public int getColorIndex(int node){
+        return colorIndex[node];
+    }
+    
+    public int getCellIndex(int node){
+        return cellIndex[node];
+    }
+    
+    public int getParent(int node){
+        return parent[node];
+    }
+    
+    public int getChild1(int node){
+        return child1[node];
+    }
+    
+    public int getChild2(int node){
+        return child2[node];
+    }
+    
+    public int getLevel(int node){
+        return level[node];
+    }
+    
+    public int getOrder(int node){
+        return order[node];
+    }
+    
+    public void setOrder(int node, int inOrder){
+        order[node] = inOrder;
+    }
+    
+    public float getCordX(int node){
+        return cordX[node];
+    }
+    
+    public float getCordY(int node){
+        return cordY[node];
+    }
+    
+    public void setCords(int node, double x, double y){
+        cordX[node] = (float) x;
+        cordY[node] = (float) y;
+    }
+    
+    public int getDriverCloneGroupID(int node){
+        return cloneGroup[node];
+    }
+    
+    public int getDrivers(int node){
+        return drivers[node];
+    }
+    
+}
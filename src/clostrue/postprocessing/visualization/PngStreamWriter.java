@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.postprocessing.visualization;
+
+import clostrue.hardcodes.Constant;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes 8 bit RGB PNG image row by row.
+ * 
+ * The rows are filtered (Sub filter) and deflated as they come, the 
+ * compressed data is written in image data chunks of limited size, so 
+ * the memory needed does not depend on the image height.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class PngStreamWriter implements Closeable {
+
+    private static final byte[] signature   = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int    bitDepth    = 8;
+    private static final int    colorTypeRGB= 2;
+    private static final int    filterSub   = 1;
+    private static final int    headerBytes = 13;
+    
+    private final DataOutputStream      out;            //output file
+    private final int                   width;          //image width
+    private final byte[]                scanline;       //filtered row
+    private final Deflater              deflater;       //image data compression
+    private final DeflaterOutputStream  imageData;      //compressed rows -> image data chunks
+    
+    /**
+     * Default constructor, writes the PNG header
+     * @param out       output stream of the image
+     * @param width     image width
+     * @param height    image height
+     * @throws IOException 
+     */
+    public PngStreamWriter(OutputStream out, int width, int height) throws IOException {
+        
+        this.out    = new DataOutputStream(out);
+        this.width  = width;
+        scanline    = new byte[1 + 3 * width];
+        deflater    = new Deflater();
+        imageData   = new DeflaterOutputStream(new ChunkOutputStream(), deflater, Constant.pngIdatChunkBytes);
+        
+        this.out.write(signature);
+        ByteBuffer header = ByteBuffer.allocate(headerBytes);
+        header.putInt(width);
+        header.putInt(height);
+        header.put((byte) bitDepth);
+        header.put((byte) colorTypeRGB);
+        header.put((byte) 0);   //compression: deflate
+        header.put((byte) 0);   //filter method: adaptive
+        header.put((byte) 0);   //no interlace
+        writeChunk("IHDR", header.array(), headerBytes);
+        
+    }
+    
+    /**
+     * Writes next row of the image
+     * @param rgb       pixels (rgb in the lower 24 bits)
+     * @param offset    index of the first pixel of the row
+     * @throws IOException 
+     */
+    public void writeRow(int[] rgb, int offset) throws IOException {
+        
+        scanline[0] = (byte) filterSub;
+        int prevR = 0;
+        int prevG = 0;
+        int prevB = 0;
+        for (int x = 0; x < width; x++){
+            int pixel   = rgb[offset + x];
+            int r       = (pixel >> 16) & 0xFF;
+            int g       = (pixel >> 8) & 0xFF;
+            int b       = pixel & 0xFF;
+            scanline[1 + 3 * x]     = (byte) (r - prevR);
+            scanline[2 + 3 * x]     = (byte) (g - prevG);
+            scanline[3 + 3 * x]     = (byte) (b - prevB);
+            prevR = r;
+            prevG = g;
+            prevB = b;
+        }
+        imageData.write(scanline);
+        
+    }
+    
+    /**
+     * Writes the rest of the image data and the end of the image
+     * @throws IOException 
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            imageData.close();
+            writeChunk("IEND", new byte[0], 0);
+            out.close();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    /**
+     * Writes PNG chunk: length, type, data, CRC of type and data
+     * @param type      chunk type
+     * @param data      chunk data
+     * @param length    length of data
+     * @throws IOException 
+     */
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+    
+    /**
+     * Collects the compressed image data and writes it as image data chunks
+     */
+    private class ChunkOutputStream extends OutputStream {
+        
+        private final byte[]    chunk = new byte[Constant.pngIdatChunkBytes];
+        private int             count = 0;
+        
+        @Override
+        public void write(int b) throws IOException {
+            if (count == chunk.length){
+                flushChunk();
+            }
+            chunk[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0){
+                if (count == chunk.length){
+                    flushChunk();
+                }
+                int part = Math.min(len, chunk.length - count);
+                System.arraycopy(b, off, chunk, count, part);
+                count   += part;
+                off     += part;
+                len     -= part;
+            }
+        }
+        
+        private void flushChunk() throws IOException {
+            if (count > 0){
+                writeChunk("IDAT", chunk, count);
+                count = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushChunk();
+        }
+        
+    }
+    
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.postprocessing.visualization;
+
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.file.Artifact;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Streams the R script directly to the buffered file.
+ * The zero padded integers and fixed decimal numbers are formatted
+ * into one reused char buffer instead of creating a DecimalFormat
+ * and a String for each written value
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class RScriptWriter implements Closeable {
+
+    private final BufferedWriter    writer;                 //buffered output file
+    private final char[]            digits = new char[24];  //formatting buffer (fits any int with padding)
+    
+    /**
+     * Opens the script file for writing
+     * @param fileName path of the script file
+     * @throws IOException IOException
+     */
+    public RScriptWriter(String fileName) throws IOException {
+        writer = new BufferedWriter(new FileWriter(fileName), Constant.fileBufferSize);
+    }
+    
+    /**
+     * Writes the text
+     * @param text text
+     * @throws IOException IOException
+     */
+    public void write(String text) throws IOException {
+        writer.write(text);
+    }
+    
+    /**
+     * Writes the end of line
+     * @throws IOException IOException
+     */
+    public void eol() throws IOException {
+        writer.write(Artifact.outCSVeol);
+    }
+    
+    /**
+     * Writes the integer padded with leading zeros,
+     * the same as DecimalFormat with pattern of minDigits zeros
+     * @param value     value to write
+     * @param minDigits minimum count of digits
+     * @throws IOException IOException
+     */
+    public void writePadded(int value, int minDigits) throws IOException {
+        if (value < 0){
+            writer.write('-');
+        }
+        writeDigits(Math.abs((long) value), minDigits);
+    }
+    
+    /**
+     * Writes the fixed decimal number scaledValue / 10^decimals,
+     * the same as DecimalFormat with pattern "000.00" (intDigits zeros,
+     * decimals zeros after the dot). The scaled value is exact,
+     * so no rounding is required
+     * @param scaledValue   value multiplied by 10^decimals
+     * @param intDigits     minimum count of integer digits
+     * @param decimals      count of decimal digits
+     * @throws IOException IOException
+     */
+    public void writeFixed(int scaledValue, int intDigits, int decimals) throws IOException {
+        long value = Math.abs((long) scaledValue);
+        if (scaledValue < 0){
+            writer.write('-');
+        }
+        if (decimals == 0){
+            writeDigits(value, intDigits);
+        } else {
+            long divider = 1;
+            for (int i = 0; i < decimals; i++){
+                divider *= 10;
+            }
+            writeDigits(value / divider, intDigits);
+            writer.write('.');
+            writeDigits(value % divider, decimals);
+        }
+    }
+    
+    //writes the non negative value with leading zeros
+    private void writeDigits(long value, int minDigits) throws IOException {
+        int position = digits.length;
+        do {
+            digits[--position] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        int start = Math.max(0, digits.length - Math.min(minDigits, digits.length));
+        while (position > start){
+            digits[--position] = '0';
+        }
+        writer.write(digits, position, digits.length - position);
+    }
+    
+    /**
+     * Flushes and closes the script file
+     * @throws IOException IOException
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+    
+}
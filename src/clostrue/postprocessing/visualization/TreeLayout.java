@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.postprocessing.visualization;
+
+import java.util.Arrays;
+
+/**
+ * Tidy tree layout of the graph nodes in linear time.
+ * 
+ * Implements the layout of Walker improved by Buchheim, Juenger and Leipert:
+ * the subtrees are placed as close as possible, but never overlap, the 
+ * parents are centered over their children and the order of the children
+ * is kept, so on each level the nodes come in the order of the tree.
+ * 
+ * The nodes are numbered in breadth-first order, so the children of a node
+ * get consecutive numbers and every node has a higher number than it's
+ * parent. The first walk goes through the numbers backwards (children 
+ * before parents), the second one forwards, no recursion is needed for
+ * deep trees. All the state is kept in primitive arrays, the nodes are
+ * the numbers of the node collection.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class TreeLayout {
+
+    private static final int    none        = -1;   //no node
+    private static final double distance    = 1.0;  //minimal distance of neighbour nodes
+    
+    private NodeCollection nodes;       //laid out nodes
+    private int[]       nodeOf;         //node of the number
+    private int[]       parent;         //parent number
+    private int[]       firstChild;     //number of the first child
+    private int[]       childCount;     //count of the children
+    private int[]       thread;         //contour thread
+    private int[]       ancestor;       //ancestor used to find the subtrees to move
+    private double[]    prelim;         //preliminary x relative to parent
+    private double[]    mod;            //modifier of the subtree
+    private double[]    shift;          //shift of the subtree (executed with the parent)
+    private double[]    change;         //change of the shift between the siblings
+    private double[]    x;              //final x
+    private int         count;          //count of the numbered nodes
+    
+    /**
+     * Lays out the tree starting with the root, the first level under
+     * the root is given explicitly
+     * @param inNodes       node collection
+     * @param root          root of the tree (simulation node)
+     * @param firstLevel    nodes under the root, in order from left to right
+     */
+    public void layout(NodeCollection inNodes, int root, int[] firstLevel){
+        
+        nodes = inNodes;
+        number(root, firstLevel, nodes.size());
+        
+        //first walk: children before parents
+        for (int v = count - 1; v >= 0; v--){
+            if (childCount[v] > 0){
+                int defaultAncestor = firstChild[v];
+                for (int w = firstChild[v]; w < firstChild[v] + childCount[v]; w++){
+                    place(w);
+                    defaultAncestor = apportion(w, defaultAncestor);
+                }
+                executeShifts(v);
+            }
+        }
+        place(0);
+        
+        //second walk: parents before children
+        double[] modSum = new double[count];
+        for (int v = 0; v < count; v++){
+            x[v] = prelim[v] + modSum[v];
+            for (int w = firstChild[v]; w < firstChild[v] + childCount[v]; w++){
+                modSum[w] = modSum[v] + mod[v];
+            }
+        }
+        
+    }
+    
+    /**
+     * Numbers the nodes in breadth-first order
+     * @param root          root of the tree
+     * @param firstLevel    nodes under the root
+     * @param capacity      upper bound of the tree size
+     */
+    private void number(int root, int[] firstLevel, int capacity){
+        
+        int size    = Math.max(capacity, firstLevel.length + 1);
+        nodeOf      = new int[size];
+        parent      = new int[size];
+        firstChild  = new int[size];
+        childCount  = new int[size];
+        
+        nodeOf[0]   = root;
+        parent[0]   = none;
+        count       = 1;
+        
+        //the root links are not used, the first level is given
+        firstChild[0] = count;
+        for (int node : firstLevel){
+            parent[count]   = 0;
+            nodeOf[count++] = node;
+        }
+        childCount[0] = firstLevel.length;
+        
+        for (int v = 1; v < count; v++){
+            firstChild[v] = count;
+            int children1 = nodes.getChild1(nodeOf[v]);
+            int children2 = nodes.getChild2(nodeOf[v]);
+            if (children1 != NodeCollection.none && count < size){
+                parent[count]   = v;
+                nodeOf[count++] = children1;
+            }
+            if (children2 != NodeCollection.none && count < size){
+                parent[count]   = v;
+                nodeOf[count++] = children2;
+            }
+            childCount[v] = count - firstChild[v];
+        }
+        
+        thread      = new int[count];
+        ancestor    = new int[count];
+        prelim      = new double[count];
+        mod         = new double[count];
+        shift       = new double[count];
+        change      = new double[count];
+        x           = new double[count];
+        Arrays.fill(thread, none);
+        for (int v = 0; v < count; v++){
+            ancestor[v] = v;
+        }
+        
+    }
+    
+    /**
+     * Places the node relative to it's left sibling, the children
+     * of the node are already placed
+     * @param v node
+     */
+    private void place(int v){
+        
+        boolean hasLeftSibling = v > 0 && v > firstChild[parent[v]];
+        if (childCount[v] == 0){
+            prelim[v] = hasLeftSibling ? prelim[v - 1] + distance : 0;
+        } else {
+            double midpoint = (prelim[firstChild[v]] + prelim[firstChild[v] + childCount[v] - 1]) / 2;
+            if (hasLeftSibling){
+                prelim[v]   = prelim[v - 1] + distance;
+                mod[v]      = prelim[v] - midpoint;
+            } else {
+                prelim[v]   = midpoint;
+            }
+        }
+        
+    }
+    
+    private int nextLeft(int v){
+        return childCount[v] > 0 ? firstChild[v] : thread[v];
+    }
+    
+    private int nextRight(int v){
+        return childCount[v] > 0 ? firstChild[v] + childCount[v] - 1 : thread[v];
+    }
+    
+    /**
+     * Moves the subtree of the node right to avoid the overlap 
+     * with the subtrees of it's left siblings
+     * @param v                 node
+     * @param defaultAncestor   default ancestor
+     * @return new default ancestor
+     */
+    private int apportion(int v, int defaultAncestor){
+        
+        if (v == firstChild[parent[v]]){
+            return defaultAncestor;
+        }
+        
+        int vInnerRight = v;
+        int vOuterRight = v;
+        int vInnerLeft  = v - 1;
+        int vOuterLeft  = firstChild[parent[v]];
+        double sInnerRight  = mod[vInnerRight];
+        double sOuterRight  = mod[vOuterRight];
+        double sInnerLeft   = mod[vInnerLeft];
+        double sOuterLeft   = mod[vOuterLeft];
+        
+        while (nextRight(vInnerLeft) != none && nextLeft(vInnerRight) != none){
+            vInnerLeft  = nextRight(vInnerLeft);
+            vInnerRight = nextLeft(vInnerRight);
+            vOuterLeft  = nextLeft(vOuterLeft);
+            vOuterRight = nextRight(vOuterRight);
+            ancestor[vOuterRight] = v;
+            double gap = (prelim[vInnerLeft] + sInnerLeft) - (prelim[vInnerRight] + sInnerRight) + distance;
+            if (gap > 0){
+                int leftAncestor = parent[ancestor[vInnerLeft]] == parent[v] ? ancestor[vInnerLeft] : defaultAncestor;
+                moveSubtree(leftAncestor, v, gap);
+                sInnerRight += gap;
+                sOuterRight += gap;
+            }
+            sInnerLeft  += mod[vInnerLeft];
+            sInnerRight += mod[vInnerRight];
+            sOuterLeft  += mod[vOuterLeft];
+            sOuterRight += mod[vOuterRight];
+        }
+        
+        if (nextRight(vInnerLeft) != none && nextRight(vOuterRight) == none){
+            thread[vOuterRight] = nextRight(vInnerLeft);
+            mod[vOuterRight]   += sInnerLeft - sOuterRight;
+        }
+        if (nextLeft(vInnerRight) != none && nextLeft(vOuterLeft) == none){
+            thread[vOuterLeft]  = nextLeft(vInnerRight);
+            mod[vOuterLeft]    += sInnerRight - sOuterLeft;
+            defaultAncestor     = v;
+        }
+        
+        return defaultAncestor;
+    }
+    
+    /**
+     * Moves the subtree right, the siblings between are spread 
+     * by the shifts executed with the parent
+     * @param left      left sibling subtree
+     * @param right     right sibling subtree (moved)
+     * @param gap       distance to move
+     */
+    private void moveSubtree(int left, int right, double gap){
+        double subtrees = right - left;
+        change[right]   -= gap / subtrees;
+        shift[right]    += gap;
+        change[left]    += gap / subtrees;
+        prelim[right]   += gap;
+        mod[right]      += gap;
+    }
+    
+    /**
+     * Executes the shifts of the children of the node
+     * @param v node
+     */
+    private void executeShifts(int v){
+        double totalShift  = 0;
+        double totalChange = 0;
+        for (int w = firstChild[v] + childCount[v] - 1; w >= firstChild[v]; w--){
+            prelim[w]   += totalShift;
+            mod[w]      += totalShift;
+            totalChange += change[w];
+            totalShift  += shift[w] + totalChange;
+        }
+    }
+    
+    /**
+     * Sets the coordinates of the laid out nodes, the leftmost
+     * node is placed at 0
+     * @param xSpace    horizontal distance of the neighbour nodes
+     * @param ySpace    vertical distance of the levels
+     */
+    public void setCords(double xSpace, double ySpace){
+        double minX = 0;
+        for (int v = 0; v < count; v++){
+            minX = Math.min(minX, x[v]);
+        }
+        for (int v = 0; v < count; v++){
+            nodes.setCords(nodeOf[v], (x[v] - minX) * xSpace, nodes.getLevel(nodeOf[v]) * ySpace);
+        }
+    }
+    
+    /**
+     * Returns the count of laid out nodes
+     * @return node count
+     */
+    public int getCount() {
+        return count;
+    }
+    
+}
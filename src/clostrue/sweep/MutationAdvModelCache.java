@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.sweep;
+
+import clostrue.HeadlessRunner;
+import clostrue.Settings;
+import clostrue.hardcodes.Param;
+import clostrue.hardcodes.SweepParam;
+import clostrue.model.mam.MutationAdvModel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of Mutation Advantage Models shared by the sweep runs.
+ * 
+ * The model (with its region toss maps) is read only once created, so the runs
+ * with the same model settings use one instance instead of parsing the model
+ * file and building the toss maps for each run again.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class MutationAdvModelCache {
+    
+    private static final String[] modelParams = {   //settings the model is created from
+        Param.mamPath,
+        Param.inDriverFitAdvantageTda,
+        Param.inDriverGenesTdg,
+        Param.inDmSize,
+        Param.inPassengerFitAdvantageTpa,
+        Param.inPassengerGenesTpg,
+        Param.inPmSize
+    };
+    
+    private final Map<String, MutationAdvModel> models = new ConcurrentHashMap<>();  //model settings -> model
+    
+    /**
+     * Returns the model for the settings, the model is created
+     * only if there is no model for the same model settings yet
+     * @param settings settings of the run
+     * @return mutation advantage model
+     */
+    public MutationAdvModel get(Settings settings){
+        
+        StringBuilder key = new StringBuilder();
+        for (String name : modelParams){
+            key.append(settings.getStringValue(name)).append(SweepParam.listSeparator);
+        }
+        
+        return models.computeIfAbsent(key.toString(), (k) -> HeadlessRunner.createMutationAdvModel(settings));
+    }
+    
+    public int size(){
+        return models.size();
+    }
+    
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.sweep;
+
+import clostrue.HeadlessRunner;
+import clostrue.Settings;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DirName;
+import clostrue.hardcodes.Param;
+import clostrue.hardcodes.SweepParam;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Parameter sweep definition, loaded from properties file:
+ * 
+ * baseSettings=path to settings file with not swept settings (optional)
+ * sweepWorkDir=output directory of the sweep (optional)
+ * parallelRuns=runs executed at once (optional, derived from cores)
+ * seeds=1,2,3 (optional)
+ * param.inMutationRate=0.001,0.002,0.005    (list of values)
+ * param.inMaxCells=10000:50000:10000        (range from:to:step)
+ * 
+ * All combinations of the swept values and seeds are the points of the sweep.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SweepDefinition {
+    
+    private final Settings                      baseSettings;   //settings of not swept parameters
+    private final String                        sweepWorkDir;   //output directory of the sweep
+    private final int                           parallelRuns;   //runs executed at once
+    private final List<Long>                    seeds;          //random seeds
+    private final Map<String, List<String>>     sweptValues;    //swept setting name -> values
+    
+    /**
+     * Loads the sweep definition from file
+     * @param pathToDefinition path to sweep definition file
+     * @throws IOException 
+     */
+    public SweepDefinition(String pathToDefinition) throws IOException {
+        
+        Properties definition = new Properties();
+        try (FileReader reader = new FileReader(new File(pathToDefinition))) {
+            definition.load(reader);
+        }
+
+        baseSettings = HeadlessRunner.loadSettings(definition.getProperty(
+                SweepParam.baseSettings, 
+                Constant.getTeWorkDir() + Constant.settingFileDefaultName));
+        
+        sweepWorkDir = definition.getProperty(
+                SweepParam.sweepWorkDir, 
+                baseSettings.getStringValue(Param.teWorkDir) + File.separator + DirName.subDirSweep);
+        
+        //by default each run gets as many cores as it has simulation tasks
+        int coresPerRun = Math.max(1, baseSettings.getIntValue(Param.teParallelSimTasksCount));
+        int defaultRuns = Math.max(1, Runtime.getRuntime().availableProcessors() / coresPerRun);
+        parallelRuns = Math.max(1, Integer.valueOf(definition.getProperty(
+                SweepParam.parallelRuns, String.valueOf(defaultRuns)).trim()));
+        
+        seeds = new ArrayList<>();
+        for (String seed : definition.getProperty(SweepParam.seeds, SweepParam.defaultSeeds).split(SweepParam.listSeparator)){
+            seeds.add(Long.valueOf(seed.trim()));
+        }
+        
+        sweptValues = new LinkedHashMap<>();
+        for (String key : new TreeSet<>(definition.stringPropertyNames())){
+            if (key.startsWith(SweepParam.sweptParamPrefix)){
+                sweptValues.put(
+                        key.substring(SweepParam.sweptParamPrefix.length()), 
+                        parseValues(definition.getProperty(key)));
+            }
+        }
+    }
+    
+    /**
+     * Parses the values of the swept setting, given as list
+     * of values or as range from:to:step
+     * @param definition values definition
+     * @return values of the setting
+     */
+    private static List<String> parseValues(String definition){
+        
+        List<String> values = new ArrayList<>();
+        
+        if (definition.contains(SweepParam.rangeSeparator)){
+            String[] range  = definition.split(SweepParam.rangeSeparator);
+            BigDecimal from = new BigDecimal(range[0].trim());
+            BigDecimal to   = new BigDecimal(range[1].trim());
+            BigDecimal step = new BigDecimal(range[2].trim());
+            if (step.signum() <= 0){
+                throw new IllegalArgumentException(definition);
+            }
+            for (BigDecimal value = from; value.compareTo(to) <= 0; value = value.add(step)){
+                values.add(value.stripTrailingZeros().toPlainString());
+            }
+        } else {
+            for (String value : definition.split(SweepParam.listSeparator)){
+                values.add(value.trim());
+            }
+        }
+        
+        return values;
+    }
+    
+    /**
+     * Creates all the points of the sweep (cartesian product
+     * of all the swept values and the seeds)
+     * @return sweep points
+     */
+    public List<SweepPoint> createPoints(){
+        
+        List<Map<String, String>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        
+        sweptValues.forEach((name, values) -> {
+            List<Map<String, String>> extended = new ArrayList<>();
+            combinations.forEach((combination) -> {
+                values.forEach((value) -> {
+                    Map<String, String> newCombination = new LinkedHashMap<>(combination);
+                    newCombination.put(name, value);
+                    extended.add(newCombination);
+                });
+            });
+            combinations.clear();
+            combinations.addAll(extended);
+        });
+        
+        List<SweepPoint> points = new ArrayList<>();
+        combinations.forEach((combination) -> {
+            seeds.forEach((seed) -> {
+                points.add(new SweepPoint(combination, seed));
+            });
+        });
+        
+        return points;
+    }
+
+    public Settings getBaseSettings() {
+        return baseSettings;
+    }
+
+    public String getSweepWorkDir() {
+        return sweepWorkDir;
+    }
+
+    public int getParallelRuns() {
+        return parallelRuns;
+    }
+    
+}
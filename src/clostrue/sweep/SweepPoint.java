@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.sweep;
+
+import clostrue.Settings;
+import clostrue.hardcodes.Param;
+import clostrue.hardcodes.SweepParam;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single point of the parameter sweep - the swept settings with their
+ * values for this point and the random seed
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SweepPoint {
+    
+    private final Map<String, String>   sweptValues;    //swept setting name -> value for this point
+    private final long                  seed;           //random seed of the run
+    
+    /**
+     * Default constructor
+     * @param inSweptValues swept setting name -> value for this point
+     * @param inSeed random seed of the run
+     */
+    public SweepPoint(Map<String, String> inSweptValues, long inSeed) {
+        sweptValues = new LinkedHashMap<>(inSweptValues);
+        seed        = inSeed;
+    }
+    
+    /**
+     * Creates the settings of the run, the not swept settings
+     * are taken from the base settings
+     * @param baseSettings base settings of the sweep
+     * @return settings of this point
+     */
+    public Settings createSettings(Settings baseSettings){
+        Settings pointSettings = new Settings(baseSettings);
+        sweptValues.forEach((name, value) -> {
+            pointSettings.setValue(name, value);
+        });
+        pointSettings.setValue(Param.teRandomSeed, String.valueOf(seed));
+        return pointSettings;
+    }
+    
+    /**
+     * Calculates the key of the point, this is the hash of all the settings
+     * influencing the result (including the seed). The work directory is not
+     * taken into account, as it is derived from the key
+     * @param pointSettings settings of this point
+     * @return key of the point as hex string
+     */
+    public static String calculateKey(Settings pointSettings){
+        
+        List<String> names = new ArrayList<>(pointSettings.getNames());
+        Collections.sort(names);
+        
+        StringBuilder content = new StringBuilder();
+        names.stream().filter((name) -> (!name.equals(Param.teWorkDir))).forEachOrdered((name) -> {
+            content.append(name)
+                   .append("=")
+                   .append(pointSettings.getStringValue(name))
+                   .append("\n");
+        });
+        
+        try {
+            MessageDigest digest = MessageDigest.getInstance(SweepParam.hashAlgorithm);
+            byte[] hash = digest.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (byte b : hash){
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the description of the point, used in the result index and log
+     * @return swept settings and seed as name=value list
+     */
+    public String getDescription(){
+        StringBuilder description = new StringBuilder();
+        sweptValues.forEach((name, value) -> {
+            description.append(name).append("=").append(value).append(SweepParam.listSeparator);
+        });
+        description.append(Param.teRandomSeed).append("=").append(seed);
+        return description.toString();
+    }
+    
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.sweep;
+
+import clostrue.hardcodes.file.Artifact;
+import clostrue.hardcodes.file.Extension;
+import clostrue.hardcodes.file.Header;
+import clostrue.hardcodes.file.Name;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Index of the already computed sweep points, stored as CSV file
+ * in the sweep output directory. A point is registered only after
+ * its run has finished, so interrupted runs are repeated when the
+ * sweep is started again.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SweepResultIndex {
+    
+    private final String                indexFilePath;  //path to index file
+    private final Map<String, String>   computed;       //key of the point -> its work directory
+    
+    /**
+     * Default constructor, loads the index if it exists
+     * @param sweepWorkDir output directory of the sweep
+     */
+    public SweepResultIndex(String sweepWorkDir) {
+        
+        indexFilePath   = sweepWorkDir + File.separator + Name.sweepIndex + Extension.dotCsv;
+        computed        = new HashMap<>();
+        
+        File indexFile = new File(indexFilePath);
+        if (!indexFile.exists()){
+            return;
+        }
+        
+        try (BufferedReader reader = new BufferedReader(new FileReader(indexFile))) {
+            String line = reader.readLine();    //header
+            while ((line = reader.readLine()) != null){
+                String[] columns = line.split(Artifact.csvColumnSeparator);
+                if (columns.length > 1){
+                    computed.put(columns[0], columns[1]);
+                }
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(SweepResultIndex.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+    
+    /**
+     * Checks if the point was already computed
+     * @param key key of the point
+     * @return point is computed
+     */
+    public synchronized boolean isComputed(String key){
+        return computed.containsKey(key);
+    }
+    
+    /**
+     * Registers the computed point and appends it to the index file
+     * @param key key of the point
+     * @param workDir output directory of the point
+     * @param description swept settings of the point
+     */
+    public synchronized void register(String key, String workDir, String description){
+        
+        boolean newFile = !new File(indexFilePath).exists();
+        
+        try (FileWriter writer = new FileWriter(indexFilePath, true)) {
+            if (newFile){
+                writer.write(Header.sweepIndexCSVFileHeader + Artifact.outCSVeol);
+            }
+            writer.write(key 
+                    + Artifact.csvColumnSeparator 
+                    + workDir 
+                    + Artifact.csvColumnSeparator 
+                    + description 
+                    + Artifact.outCSVeol);
+            computed.put(key, workDir);
+        } catch (IOException ex) {
+            Logger.getLogger(SweepResultIndex.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+    
+}
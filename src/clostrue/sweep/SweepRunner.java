@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.sweep;
+
+import clostrue.HeadlessRunner;
+import clostrue.Settings;
+import clostrue.hardcodes.Activity;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.DirName;
+import clostrue.hardcodes.Param;
+import clostrue.hardcodes.SweepParam;
+import clostrue.hardcodes.file.Artifact;
+import clostrue.hardcodes.file.Extension;
+import clostrue.hardcodes.file.Name;
+import clostrue.toolbox.StaticConsoleLogger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless parameter sweep.
+ * 
+ * Runs the headless simulation for each point of the sweep definition,
+ * a limited number of runs at once. The Mutation Advantage Models are shared
+ * between the runs with the same model settings. Points found in the result
+ * index of the sweep output directory are skipped, so a broken or extended
+ * sweep can be restarted with the same definition. Usage:
+ * java -cp CloStruE.jar clostrue.sweep.SweepRunner [path to sweep definition]
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class SweepRunner {
+    
+    private final SweepDefinition       definition;     //sweep definition
+    private final SweepResultIndex      resultIndex;    //already computed points
+    private final MutationAdvModelCache modelCache;     //models shared by the runs
+    
+    /**
+     * Sweep launcher method.
+     * @param args the command line arguments, first one is the path to sweep definition
+     */
+    public static void main(String[] args) {
+        
+        System.setProperty("java.awt.headless", Constant.techStringTrue);
+        
+        if (args.length == 0){
+            Logger.getLogger(SweepRunner.class.getName()).log(Level.SEVERE, "Path to sweep definition file expected");
+            System.exit(1);
+        }
+        
+        try {
+            SweepRunner runner = new SweepRunner(new SweepDefinition(args[0]));
+            runner.run();
+        } catch (IOException | InterruptedException ex) {
+            Logger.getLogger(SweepRunner.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        StaticConsoleLogger.closeLogFileBuffer();
+        System.exit(0);
+    }
+    
+    /**
+     * Default constructor
+     * @param inDefinition sweep definition
+     * @throws IOException 
+     */
+    public SweepRunner(SweepDefinition inDefinition) throws IOException {
+        definition  = inDefinition;
+        Files.createDirectories(Paths.get(definition.getSweepWorkDir()));
+        resultIndex = new SweepResultIndex(definition.getSweepWorkDir());
+        modelCache  = new MutationAdvModelCache();
+    }
+    
+    /**
+     * Runs all the not computed points of the sweep and waits till
+     * all of them are finished
+     * @throws InterruptedException 
+     */
+    public void run() throws InterruptedException {
+        
+        //one log file for the whole sweep
+        if (!StaticConsoleLogger.isLogFileOpen()){
+            StaticConsoleLogger.setLogToFile(true);
+            StaticConsoleLogger.createLogFile(definition.getSweepWorkDir() + File.separator + Name.consoleLog + Extension.dotTxt);
+            StaticConsoleLogger.openLogFileBuffer();
+        }
+        StaticConsoleLogger.log(Activity.sweepRun + Artifact.space + Activity.started);
+        
+        ExecutorService runPool = Executors.newFixedThreadPool(definition.getParallelRuns());
+        
+        List<SweepPoint> points = definition.createPoints();
+        points.forEach((point) -> {
+            Settings pointSettings  = point.createSettings(definition.getBaseSettings());
+            String key              = SweepPoint.calculateKey(pointSettings);
+            if (resultIndex.isComputed(key)){
+                StaticConsoleLogger.log(Activity.sweepPoint + point.getDescription() + Artifact.space + Activity.skipped);
+            } else {
+                runPool.submit(() -> runPoint(point, pointSettings, key));
+            }
+        });
+        
+        runPool.shutdown();
+        runPool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        
+        StaticConsoleLogger.log(Activity.sweepRun + Artifact.space + Activity.finished);
+    }
+    
+    /**
+     * Runs all the iterations of the sweep point and registers
+     * the point in the result index
+     * @param point sweep point
+     * @param pointSettings settings of the point
+     * @param key key of the point
+     */
+    private void runPoint(SweepPoint point, Settings pointSettings, String key){
+        
+        String pointWorkDir = definition.getSweepWorkDir() 
+                + File.separator 
+                + DirName.subDirSweepPointPrefix 
+                + key.substring(0, SweepParam.dirKeyLength);
+        pointSettings.setValue(Param.teWorkDir, pointWorkDir);
+        
+        StaticConsoleLogger.log(Activity.sweepPoint + point.getDescription() + Artifact.space + Activity.started);
+        try {
+            Files.createDirectories(Paths.get(pointWorkDir));
+            pointSettings.saveUnderLocation(pointWorkDir + File.separator + Constant.settingFileDefaultName);
+            
+            HeadlessRunner runner = new HeadlessRunner(pointSettings, modelCache.get(pointSettings));
+            runner.run();
+            
+            resultIndex.register(key, pointWorkDir, point.getDescription());
+            StaticConsoleLogger.log(Activity.sweepPoint + point.getDescription() + Artifact.space + Activity.finished);
+        } catch (InterruptedException | ExecutionException | IOException ex) {
+            Logger.getLogger(SweepRunner.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+    
+}
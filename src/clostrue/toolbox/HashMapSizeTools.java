@@ -19,6 +19,8 @@ package clostrue.toolbox;
 
 import clostrue.biology.genome.GenomePart;
 import clostrue.collections.CellIndexHolder;
+import clostrue.collections.IntCellSetMap;
+import clostrue.collections.SizeHistogram;
 import clostrue.hardcodes.Constant;
 import clostrue.hardcodes.HashmapName;
 import java.util.HashMap;
@@ -54,35 +56,33 @@ public class HashMapSizeTools {
         }
     }
     
-    private static long getHM2Size(ConcurrentHashMap<Integer, CellIndexHolder>[] hm){
+    private static long getHM2Size(IntCellSetMap[] hm){
         long size = 0; //in bytes
         int tabSize = hm.length;
         for (int i = 0; i < tabSize; i++){
-            for (Map.Entry<Integer, CellIndexHolder> entry : hm[i].entrySet()){
-                size += integerReference;
-                size += ( entry.getValue().size() * intSize );
-            }
+            size += ( hm[i].size() * intSize );
+            size += ( hm[i].getCellsCount() * intSize );
         }
         return size;
     }
 
-    public static void logHM2Size(ConcurrentHashMap<Integer, CellIndexHolder>[] hm, String hmName){
+    public static void logHM2Size(IntCellSetMap[] hm, String hmName){
         if (Constant.logHmSize){
             long size = getHM2Size(hm);
             StaticConsoleLogger.log(HashmapName.hashMapSize + hmName + HashmapName.isEqual + String.valueOf(size));            
         }
     }
     
-    private static long getHM3Size(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> hm){
+    private static long getHM3Size(ConcurrentHashMap<String, SizeHistogram> hm){
         long size = 0;
-         for (Map.Entry<String, ConcurrentHashMap<Integer, Integer>> entry : hm.entrySet()){
+         for (Map.Entry<String, SizeHistogram> entry : hm.entrySet()){
              size += entry.getKey().length();
-             size += ( 2 * integerReference * entry.getValue().size());
+             size += ( intSize * (entry.getValue().getMaxSize() + 1));
     }
         return size;
     }
     
-    public static void logHM3Size(ConcurrentHashMap<String, ConcurrentHashMap<Integer, Integer>> hm, String hmName){
+    public static void logHM3Size(ConcurrentHashMap<String, SizeHistogram> hm, String hmName){
         if (Constant.logHmSize){
             long size = getHM3Size(hm);
             StaticConsoleLogger.log(HashmapName.hashMapSize + hmName + HashmapName.isEqual + String.valueOf(size));            
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.toolbox;
+
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.LogText;
+import clostrue.hardcodes.file.Artifact;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous backend of the per cell and per task console log.
+ * 
+ * The logging threads (calculation tasks) store the log events in 
+ * a preallocated ring buffer: cycle, task, cell, a constant text and
+ * optional value and second text. No strings are built by the logging
+ * threads. A background thread takes the events in the order of their
+ * sequence numbers, formats them into one reused buffer and passes
+ * the lines to the console logger. When there are no events the background
+ * thread spins briefly and then parks till the next event is published.
+ * When the ring buffer is full the logging thread waits, so no events 
+ * are lost.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class LogEventRingBuffer {
+    
+    public static final int     NO_CELL     = Integer.MIN_VALUE;    //event without cell
+    public static final long    NO_VALUE    = Long.MIN_VALUE;       //event without value
+    
+    private final int               mask;           //capacity - 1, capacity is power of 2
+    private final int[]             cycles;         //simulation cycle
+    private final int[]             tasks;          //calculation task ID
+    private final int[]             cells;          //cell ID
+    private final long[]            values;         //value appended to the text
+    private final String[]          texts;          //constant text
+    private final String[]          states;         //constant text appended after space
+    private final AtomicLongArray   published;      //sequence stored in the slot, written after the event
+    private final AtomicLong        head;           //next sequence to claim by the logging threads
+    private volatile long           tail;           //next sequence to format by the logger thread
+    private volatile boolean        idle;           //logger thread parked or about to park
+    private final StringBuilder     line;           //reused by the logger thread
+    private final Thread            loggerThread;   //background formatting
+
+    /**
+     * Creates the ring buffer and starts the logger thread
+     * @param capacity count of buffered events, rounded up to power of 2
+     */
+    public LogEventRingBuffer(int capacity) {
+        int size        = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask            = size - 1;
+        cycles          = new int[size];
+        tasks           = new int[size];
+        cells           = new int[size];
+        values          = new long[size];
+        texts           = new String[size];
+        states          = new String[size];
+        published       = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++){
+            published.set(i, -1);
+        }
+        head            = new AtomicLong(0);
+        tail            = 0;
+        idle            = false;
+        line            = new StringBuilder();
+        loggerThread    = new Thread(this::formatEvents, Constant.logRingBufferThreadName);
+        loggerThread.setDaemon(true);
+        loggerThread.start();
+    }
+    
+    /**
+     * Stores the log event
+     * @param cycle simulation cycle
+     * @param task calculation task ID
+     * @param cell cell ID or NO_CELL
+     * @param text constant text
+     * @param value value appended to the text or NO_VALUE
+     * @param state text appended after space or null
+     */
+    public void publish(int cycle, int task, int cell, String text, long value, String state){
+        
+        long sequence = head.getAndIncrement();
+        while (sequence - tail > mask){
+            LockSupport.parkNanos(Constant.logRingBufferParkNanos);
+        }
+        
+        int slot        = (int) (sequence & mask);
+        cycles[slot]    = cycle;
+        tasks[slot]     = task;
+        cells[slot]     = cell;
+        values[slot]    = value;
+        texts[slot]     = text;
+        states[slot]    = state;
+        published.set(slot, sequence);
+        if (idle){
+            LockSupport.unpark(loggerThread);
+        }
+    }
+    
+    /**
+     * Waits till all the events published so far are formatted
+     */
+    public void drain(){
+        long published = head.get();
+        while (tail < published){
+            LockSupport.parkNanos(Constant.logRingBufferParkNanos);
+        }
+    }
+    
+    /**
+     * Logger thread loop: formats the events in the sequence order
+     */
+    private void formatEvents(){
+        
+        int spins = 0;
+        while (true){
+            long sequence   = tail;
+            int slot        = (int) (sequence & mask);
+            if (published.get(slot) != sequence){
+                if (spins < Constant.logRingBufferSpins){
+                    spins++;
+                    Thread.yield();
+                } else {
+                    waitForEvent(slot, sequence);
+                }
+                continue;
+            }
+            spins = 0;
+            
+            line.setLength(0);
+            appendPadded(line.append(LogText.cycleLabel), cycles[slot], Constant.cycleWidth);
+            appendPadded(line.append(LogText.taskLabel), tasks[slot], Constant.taskWidth);
+            if (cells[slot] != NO_CELL){
+                appendPadded(line.append(LogText.cellLabel), cells[slot], Constant.cellWidth);
+                line.append(Artifact.space);
+            } else {
+                line.append(LogText.noCellFill);
+            }
+            line.append(texts[slot]);
+            if (values[slot] != NO_VALUE){
+                line.append(values[slot]);
+            }
+            if (states[slot] != null){
+                line.append(Artifact.space).append(states[slot]);
+            }
+            texts[slot]     = null;
+            states[slot]    = null;
+            
+            StaticConsoleLogger.log(line.toString());
+            tail = sequence + 1;
+        }
+        
+    }
+    
+    /**
+     * Parks the logger thread till the event of the sequence is published.
+     * The idle flag is set before the last check of the slot and read by
+     * the logging threads after the publishing, so either the event is 
+     * seen here or the logging thread unparks the logger thread
+     * @param slot slot of the awaited event
+     * @param sequence sequence of the awaited event
+     */
+    private void waitForEvent(int slot, long sequence){
+        idle = true;
+        if (published.get(slot) != sequence){
+            LockSupport.park(this);
+        }
+        idle = false;
+    }
+    
+    /**
+     * Appends the value left justified in the field of the given width
+     * (as the "%-Ns" format pattern)
+     * @param builder target
+     * @param value value
+     * @param width field width
+     */
+    static void appendPadded(StringBuilder builder, long value, int width){
+        int begin = builder.length();
+        builder.append(value);
+        for (int i = builder.length() - begin; i < width; i++){
+            builder.append(' ');
+        }
+    }
+    
+}
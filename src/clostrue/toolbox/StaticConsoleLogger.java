@@ -18,12 +18,10 @@
 package clostrue.toolbox;
 
 import clostrue.CalcTask;
-import clostrue.GuiController;
 import clostrue.Simulation;
 import clostrue.biology.cell.Cell;
 import clostrue.hardcodes.Constant;
 import clostrue.hardcodes.LogText;
-import clostrue.hardcodes.Param;
 import clostrue.hardcodes.file.Artifact;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
@@ -35,6 +33,9 @@ import java.util.logging.Logger;
  
 /**
  * Implements various console and file logging options with formatting
+ * 
+ * The per cell and per task messages (consoleLog...) are logged only when
+ * switched on, asynchronously through the LogEventRingBuffer.
  * @author Krzysztof Szymiczek
  */
 public class StaticConsoleLogger {
@@ -44,6 +45,9 @@ public class StaticConsoleLogger {
     static String         logFilePath;            //path to log file
     static FileWriter     logFile;                //log file
     static BufferedWriter fileBuffer;             //log file buffer
+    static int            iterationsCount = 0;    //all iterations of the run (for iteration steps log)
+    static final Object   fileLock = new Object();//guards the log file buffer
+    static volatile LogEventRingBuffer events;    //asynchronous per cell and per task log, created when switched on
     
     /**
      * Create log file
@@ -68,7 +72,9 @@ public class StaticConsoleLogger {
             return;
         }
         
-        StaticConsoleLogger.fileBuffer = new BufferedWriter(StaticConsoleLogger.logFile, Constant.fileBufferSize);
+        synchronized (fileLock){
+            StaticConsoleLogger.fileBuffer = new BufferedWriter(StaticConsoleLogger.logFile, Constant.fileBufferSize);
+        }
     }
     
     public static void closeLogFileBuffer() {
@@ -76,11 +82,18 @@ public class StaticConsoleLogger {
             return;
         }
         
-        try {
-            StaticConsoleLogger.fileBuffer.close();
-            StaticConsoleLogger.fileBuffer = null;
-        } catch (IOException ex) {
-            Logger.getLogger(StaticConsoleLogger.class.getName()).log(Level.SEVERE, null, ex);
+        drainEvents();
+        synchronized (fileLock){
+            if(StaticConsoleLogger.fileBuffer == null) {
+                return;
+            }
+
+            try {
+                StaticConsoleLogger.fileBuffer.close();
+                StaticConsoleLogger.fileBuffer = null;
+            } catch (IOException ex) {
+                Logger.getLogger(StaticConsoleLogger.class.getName()).log(Level.SEVERE, null, ex);
+            }
         }
     }
     
@@ -89,21 +102,70 @@ public class StaticConsoleLogger {
             return;
         }
         
-        try {
-            StaticConsoleLogger.fileBuffer.flush();
-        } catch (IOException ex) {
-            Logger.getLogger(StaticConsoleLogger.class.getName()).log(Level.SEVERE, null, ex);
+        drainEvents();
+        synchronized (fileLock){
+            if(StaticConsoleLogger.fileBuffer == null) {
+                return;
+            }
+
+            try {
+                StaticConsoleLogger.fileBuffer.flush();
+            } catch (IOException ex) {
+                Logger.getLogger(StaticConsoleLogger.class.getName()).log(Level.SEVERE, null, ex);
+            }
         }
     }
     
+    /**
+     * Checks if the log file is already opened, e.g. by a parameter sweep
+     * which keeps one log for all its runs
+     * @return log file buffer is open
+     */
+    public static boolean isLogFileOpen() {
+        return StaticConsoleLogger.fileBuffer != null;
+    }
+    
     /**
      * Sets the flag if console logging should be switched ON or OFF
      * @param inLogToConsole 
      */
     public static void setLogToConsole(boolean inLogToConsole){
+        if (inLogToConsole && events == null){
+            synchronized (fileLock){
+                if (events == null){
+                    events = new LogEventRingBuffer(Constant.logRingBufferSize);
+                }
+            }
+        }
         logToConsole = inLogToConsole;
     }
     
+    /**
+     * Waits till the asynchronously logged events are written
+     */
+    public static void drainEvents(){
+        if (events != null){
+            events.drain();
+        }
+    }
+    
+    /**
+     * Passes the per cell or per task event to the asynchronous log
+     * @param calcTask calculation task
+     * @param cell cell or null
+     * @param text constant text
+     * @param value value appended to the text or LogEventRingBuffer.NO_VALUE
+     * @param state text appended after space or null
+     */
+    private static void publishEvent(CalcTask calcTask, Cell cell, String text, long value, String state){
+        events.publish(calcTask.getSim().getCurrentCycle(), 
+                calcTask.getId(), 
+                cell != null ? cell.getId() : LogEventRingBuffer.NO_CELL, 
+                text, 
+                value, 
+                state);
+    }
+    
     /**
      * Sets the flag if file logging should be switched ON or OFF 
      * @param inLogToFile file logging (boolean)
@@ -111,6 +173,15 @@ public class StaticConsoleLogger {
     public static void setLogToFile(boolean inLogToFile){
         logToFile = inLogToFile;
     }
+
+    /**
+     * Sets the count of all iterations of the run, displayed in the
+     * iteration steps log. Set by the GUI or by the headless runner
+     * @param inIterationsCount count of all iterations
+     */
+    public static void setIterationsCount(int inIterationsCount){
+        iterationsCount = inIterationsCount;
+    }
     
     /**
      * Returns the Cycle/Task/Cell String for console logging
@@ -156,13 +227,9 @@ public class StaticConsoleLogger {
     public static void consoleLogCellCount(CalcTask calcTask){
         if (logToConsole){
             if ( calcTask.getCellPopulationSize() > 0 ){
-                log(getCycleTaskCellString(calcTask, null) +                        
-                    LogText.hasCellPopulationSize + String.valueOf(calcTask.getCellPopulationSize())
-                );        
+                publishEvent(calcTask, null, LogText.hasCellPopulationSize, calcTask.getCellPopulationSize(), null);
             } else {
-                log(getCycleTaskCellString(calcTask, null) +                        
-                    LogText.hasEmptyPopulation 
-                );                        
+                publishEvent(calcTask, null, LogText.hasEmptyPopulation, LogEventRingBuffer.NO_VALUE, null);
             }
         }       
     }
@@ -173,9 +240,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogSavedState(CalcTask calcTask){
         if (logToConsole){
-            StaticConsoleLogger.log(getCycleTaskCellString(calcTask, null) +                        
-                LogText.savedCells
-            );                   
+            publishEvent(calcTask, null, LogText.savedCells, LogEventRingBuffer.NO_VALUE, null);
         }        
     }
 
@@ -185,9 +250,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogWillSaveState(CalcTask calcTask){
         if (logToConsole){
-            StaticConsoleLogger.log(getCycleTaskCellString(calcTask, null) +                        
-                LogText.willSaveCells
-            );                   
+            publishEvent(calcTask, null, LogText.willSaveCells, LogEventRingBuffer.NO_VALUE, null);
         }        
     }
     
@@ -197,9 +260,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogNothingToSave(CalcTask calcTask){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, null) +                        
-                LogText.nothingToSave
-            );                   
+            publishEvent(calcTask, null, LogText.nothingToSave, LogEventRingBuffer.NO_VALUE, null);
         }           
     }
 
@@ -209,9 +270,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogNoCellsToProcess(CalcTask calcTask){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, null) +                        
-                LogText.nothingToProcess
-            );                   
+            publishEvent(calcTask, null, LogText.nothingToProcess, LogEventRingBuffer.NO_VALUE, null);
         }           
     }
 
@@ -223,9 +282,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogActivity(CalcTask calcTask, String activity, String state){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, null) +                        
-                activity + Artifact.space + state
-            );                   
+            publishEvent(calcTask, null, activity, LogEventRingBuffer.NO_VALUE, state);
         }
     }           
 
@@ -238,9 +295,7 @@ public class StaticConsoleLogger {
      */    
     public static void consoleLogActivity(int cycle, int taskID, String activity, String state){
         if (logToConsole){
-            log(getCycleTaskCellString(cycle, taskID, null) +                        
-                activity + Artifact.space + state
-            );                   
+            events.publish(cycle, taskID, LogEventRingBuffer.NO_CELL, activity, LogEventRingBuffer.NO_VALUE, state);
         }           
     }
     
@@ -251,9 +306,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogPassengerDivision(CalcTask calcTask, Cell cell){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, cell) +  
-                LogText.divisionTypePassenger
-            );
+            publishEvent(calcTask, cell, LogText.divisionTypePassenger, LogEventRingBuffer.NO_VALUE, null);
         }        
     }
 
@@ -265,9 +318,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogWillWriteToCSV(CalcTask calcTask, Cell cell){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, cell) +  
-                LogText.willWriteToCsv
-            );
+            publishEvent(calcTask, cell, LogText.willWriteToCsv, LogEventRingBuffer.NO_VALUE, null);
         }        
     }            
    
@@ -279,9 +330,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogWrittenToCSV(CalcTask calcTask, Cell cell){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, cell) +  
-                LogText.writtenToCsv
-            );
+            publishEvent(calcTask, cell, LogText.writtenToCsv, LogEventRingBuffer.NO_VALUE, null);
         }        
     }    
     
@@ -292,9 +341,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogDriverDivision(CalcTask calcTask, Cell cell){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, cell) +  
-                LogText.divisionTypeDriver
-            );
+            publishEvent(calcTask, cell, LogText.divisionTypeDriver, LogEventRingBuffer.NO_VALUE, null);
         }        
     }
 
@@ -305,9 +352,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogClanCloneDivision(CalcTask calcTask, Cell cell){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, cell) +  
-                LogText.divisionTypeCleanClone
-            );
+            publishEvent(calcTask, cell, LogText.divisionTypeCleanClone, LogEventRingBuffer.NO_VALUE, null);
         }        
     }
 
@@ -318,9 +363,7 @@ public class StaticConsoleLogger {
      */
     public static void consoleLogCellDied(CalcTask calcTask, Cell cell){
         if (logToConsole){
-            log(getCycleTaskCellString(calcTask, cell) + 
-                LogText.diesInAgeOf + cell.getAge()
-            );
+            publishEvent(calcTask, cell, LogText.diesInAgeOf, cell.getAge(), null);
         }        
     }    
 
@@ -328,22 +371,18 @@ public class StaticConsoleLogger {
      * Logs task finished current cycle
      * @param calcTask calculation task
      */
-    synchronized public static void consoleLogTaskFinished(CalcTask calcTask){
+    public static void consoleLogTaskFinished(CalcTask calcTask){
         if (logToConsole){
-            StaticConsoleLogger.log(StaticConsoleLogger.getCycleTaskCellString(calcTask, null) +                        
-                LogText.finishedCurrentCycle
-            );                   
+            publishEvent(calcTask, null, LogText.finishedCurrentCycle, LogEventRingBuffer.NO_VALUE, null);
         }        
     }    
     /**
      * Logs task started current cycle
      * @param calcTask calculation task
      */
-    synchronized public static void consoleLogTaskStarted(CalcTask calcTask){
+    public static void consoleLogTaskStarted(CalcTask calcTask){
         if (logToConsole){
-            StaticConsoleLogger.log(StaticConsoleLogger.getCycleTaskCellString(calcTask, null) +                        
-                LogText.startedCurrentCycle
-            );                   
+            publishEvent(calcTask, null, LogText.startedCurrentCycle, LogEventRingBuffer.NO_VALUE, null);
         }        
     }     
     
@@ -374,9 +413,18 @@ public class StaticConsoleLogger {
     
     //synchronized System.Out.Println for messages in chronologic order
     public static void systemOutPrintln(String str) {
-        sSystemOutPrintln(String.format(LogText.messageOrder,
-                String.valueOf(id.incrementAndGet())
-                ) + str);
+        sSystemOutPrintln(nextMessageOrder() + str);
+    }
+    
+    /**
+     * Returns the prefix of the next message: the label and the message ID
+     * padded to the fixed width
+     * @return message order prefix
+     */
+    private static String nextMessageOrder() {
+        StringBuilder order = new StringBuilder(LogText.messageOrderLabel);
+        LogEventRingBuffer.appendPadded(order, id.incrementAndGet(), Constant.messageOrderWidth);
+        return order.append(Artifact.space).toString();
     }
     
     public static void logToFile(String msg) {
@@ -384,17 +432,17 @@ public class StaticConsoleLogger {
             return;
         }
                 
-        if(StaticConsoleLogger.fileBuffer == null) {
-            return;
-        }
-               
-        try {
-            StaticConsoleLogger.fileBuffer.write(String.format(LogText.messageOrder,
-                                                 String.valueOf(id.incrementAndGet())
-                                                 ) + msg);
-            StaticConsoleLogger.fileBuffer.write("\n");
-        } catch (IOException ex) {
-            Logger.getLogger(StaticConsoleLogger.class.getName()).log(Level.SEVERE, null, ex);
+        synchronized (fileLock){
+            if(StaticConsoleLogger.fileBuffer == null) {
+                return;
+            }
+
+            try {
+                StaticConsoleLogger.fileBuffer.write(nextMessageOrder() + msg);
+                StaticConsoleLogger.fileBuffer.write("\n");
+            } catch (IOException ex) {
+                Logger.getLogger(StaticConsoleLogger.class.getName()).log(Level.SEVERE, null, ex);
+            }
         }
     }
 
@@ -430,7 +478,7 @@ public class StaticConsoleLogger {
      */
     public static void logActivity(int iteration, String activity, String state) {
         StaticConsoleLogger.systemOutPrintlnIterationStep(iteration, 
-                GuiController.getSettings().getIntValue(Param.inIterations), 
+                iterationsCount, 
                 activity + Artifact.space + state);
     }
 
@@ -441,7 +489,7 @@ public class StaticConsoleLogger {
      */
     public static void log(int iteration, String text) {
         StaticConsoleLogger.systemOutPrintlnIterationStep(iteration, 
-                GuiController.getSettings().getIntValue(Param.inIterations), 
+                iterationsCount, 
                 text);
     }    
     
@@ -454,7 +502,7 @@ public class StaticConsoleLogger {
      */
     public static void logActivity(int iteration, String activity, String state, String part) {
         StaticConsoleLogger.systemOutPrintlnIterationStep(iteration, 
-                GuiController.getSettings().getIntValue(Param.inIterations), 
+                iterationsCount, 
                 activity + Artifact.space + part + Artifact.space + state);
     }
     
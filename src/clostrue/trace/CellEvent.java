@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.trace;
+
+import clostrue.enumerations.CellEventType;
+
+/**
+ * One cell event read from the binary cell event trace
+ * @author Krzysztof Szymiczek
+ */
+public final class CellEvent {
+
+    private final CellEventType type;           //event type
+    private final int           cycle;          //simulation cycle of the event
+    private final int           taskID;         //calculation task which simulated the cell
+    private final int           cellID;         //cell id (child cell for divisions)
+    private final int           parentCellID;   //parent cell id for divisions, 0 otherwise
+    private final int           genomeIndex;    //genome of the cell
+    private final int           parentGenomeIndex;  //genome of the parent cell for divisions
+
+    /**
+     * Default constructor
+     * @param type              event type
+     * @param cycle             simulation cycle
+     * @param taskID            calculation task
+     * @param cellID            cell id
+     * @param parentCellID      parent cell id
+     * @param genomeIndex       genome of the cell
+     * @param parentGenomeIndex genome of the parent cell
+     */
+    public CellEvent(
+            CellEventType   type, 
+            int             cycle, 
+            int             taskID, 
+            int             cellID, 
+            int             parentCellID, 
+            int             genomeIndex, 
+            int             parentGenomeIndex) {
+        this.type               = type;
+        this.cycle              = cycle;
+        this.taskID             = taskID;
+        this.cellID             = cellID;
+        this.parentCellID       = parentCellID;
+        this.genomeIndex        = genomeIndex;
+        this.parentGenomeIndex  = parentGenomeIndex;
+    }
+
+    public CellEventType getType() {
+        return type;
+    }
+
+    public int getCycle() {
+        return cycle;
+    }
+
+    public int getTaskID() {
+        return taskID;
+    }
+
+    public int getCellID() {
+        return cellID;
+    }
+
+    public int getParentCellID() {
+        return parentCellID;
+    }
+
+    public int getGenomeIndex() {
+        return genomeIndex;
+    }
+
+    public int getParentGenomeIndex() {
+        return parentGenomeIndex;
+    }
+    
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconstructs the cell lineage (the tree of cell divisions) from the cell
+ * events read from the binary cell event trace
+ * @author Krzysztof Szymiczek
+ */
+public class CellEventLineage {
+    
+    private final Map<Integer, Integer>         parents     = new HashMap<>();  //cell id -> parent cell id
+    private final Map<Integer, List<Integer>>   children    = new HashMap<>();  //cell id -> child cell ids
+    private final Map<Integer, Integer>         birthCycles = new HashMap<>();  //cell id -> cycle of creation
+    private final Map<Integer, Integer>         deathCycles = new HashMap<>();  //cell id -> cycle of death
+    private final Map<Integer, Integer>         genomes     = new HashMap<>();  //cell id -> genome index
+    private final List<Integer>                 roots       = new ArrayList<>();//cells present when the trace starts
+    
+    /**
+     * Builds the lineage from the events
+     * @param events cell events ordered by cycle
+     */
+    public CellEventLineage(List<CellEvent> events) {
+        for (CellEvent event : events){
+            add(event);
+        }
+    }
+    
+    /**
+     * Adds one event to the lineage
+     * @param event cell event
+     */
+    private void add(CellEvent event){
+        
+        int cellID = event.getCellID();
+        switch (event.getType()){
+            case Creation:
+                roots.add(cellID);
+                birthCycles.put(cellID, event.getCycle());
+                genomes.put(cellID, event.getGenomeIndex());
+                break;
+            case CloneDivision:
+            case DriverMutation:
+            case PassengerMutation:
+                parents.put(cellID, event.getParentCellID());
+                children.computeIfAbsent(event.getParentCellID(), id -> new ArrayList<>()).add(cellID);
+                birthCycles.put(cellID, event.getCycle());
+                genomes.put(cellID, event.getGenomeIndex());
+                genomes.putIfAbsent(event.getParentCellID(), event.getParentGenomeIndex());
+                break;
+            case Death:
+                deathCycles.put(cellID, event.getCycle());
+                break;
+        }
+        
+    }
+    
+    /**
+     * Returns the parent of the cell
+     * @param cellID cell id
+     * @return parent cell id or 0 for the root cells and unknown cells
+     */
+    public int getParent(int cellID){
+        return parents.getOrDefault(cellID, 0);
+    }
+    
+    /**
+     * Returns the children of the cell in order of division
+     * @param cellID cell id
+     * @return child cell ids
+     */
+    public List<Integer> getChildren(int cellID){
+        return children.getOrDefault(cellID, Collections.emptyList());
+    }
+    
+    /**
+     * Returns the lineage of the cell: the cell, it's parent, grandparent
+     * and so on up to the root cell of the trace
+     * @param cellID cell id
+     * @return cell ids from the cell to the root
+     */
+    public List<Integer> getLineage(int cellID){
+        List<Integer> lineage = new ArrayList<>();
+        int current = cellID;
+        while (current != 0){
+            lineage.add(current);
+            current = getParent(current);
+        }
+        return lineage;
+    }
+    
+    /**
+     * Returns the cells present when the trace starts
+     * @return root cell ids
+     */
+    public List<Integer> getRoots() {
+        return roots;
+    }
+    
+    /**
+     * Returns the cycle in which the cell was created
+     * @param cellID cell id
+     * @return cycle or -1 for unknown cell
+     */
+    public int getBirthCycle(int cellID){
+        return birthCycles.getOrDefault(cellID, -1);
+    }
+
+    /**
+     * Returns the cycle in which the cell died
+     * @param cellID cell id
+     * @return cycle or -1 if the cell did not die
+     */
+    public int getDeathCycle(int cellID){
+        return deathCycles.getOrDefault(cellID, -1);
+    }
+    
+    /**
+     * Returns the genome of the cell
+     * @param cellID cell id
+     * @return genome index or -1 for unknown cell
+     */
+    public int getGenomeIndex(int cellID){
+        return genomes.getOrDefault(cellID, -1);
+    }
+    
+    /**
+     * Returns the cells alive at the end of the cycle
+     * @param cycle simulation cycle
+     * @return cell ids
+     */
+    public List<Integer> getCellsAliveAt(int cycle){
+        List<Integer> alive = new ArrayList<>();
+        birthCycles.forEach((cellID, birth) -> {
+            int death = getDeathCycle(cellID);
+            if (birth <= cycle && (death < 0 || death > cycle)){
+                alive.add(cellID);
+            }
+        });
+        return alive;
+    }
+    
+}
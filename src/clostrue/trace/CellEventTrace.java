@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.trace;
+
+import clostrue.enumerations.CellEventType;
+import clostrue.hardcodes.Constant;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the binary trace of cell events of one calculation task.
+ * 
+ * Each calculation task owns its own trace file, so no synchronization
+ * is needed. The events are written as fixed-size records of ints
+ * (type, cycle, task, cell, parent cell, genome, parent genome, reserved)
+ * directly into the memory mapped region of the file, which is moved
+ * forward in chunks while the file grows. The file starts with a header
+ * (magic, version, task, record size). The part of the file not yet
+ * written contains zeros, so the reader stops at the first record
+ * with event code 0.
+ * 
+ * When the file already exists (simulation resumed from checkpoint) the
+ * records of the cycles to be simulated again are dropped and the trace
+ * is continued.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class CellEventTrace {
+
+    private final int               taskID;         //calculation task of the trace
+    private final RandomAccessFile  file;           //trace file
+    private final FileChannel       channel;        //channel of trace file
+    private MappedByteBuffer        buffer;         //currently mapped region of the file
+    private long                    bufferStart;    //file position of the mapped region
+    private final boolean           created;        //trace file was created (not continued)
+    
+    /**
+     * Opens the trace file of the calculation task. Existing file is
+     * continued with the records of the given cycle
+     * @param fileName      name of the trace file
+     * @param taskID        id of the calculation task
+     * @param fromCycle     first cycle to be written
+     * @throws IOException 
+     */
+    public CellEventTrace(String fileName, int taskID, int fromCycle) throws IOException {
+        
+        this.taskID = taskID;
+        file        = new RandomAccessFile(fileName, "rw");
+        channel     = file.getChannel();
+        
+        long writePosition;
+        if (channel.size() >= Constant.traceHeaderBytes && CellEventTraceReader.isTraceHeader(channel)){
+            created         = false;
+            writePosition   = findWritePosition(fromCycle);
+        } else {
+            created         = true;
+            writePosition   = 0;
+        }
+        //records of the cycles to be simulated again are dropped
+        channel.truncate(writePosition);
+        
+        bufferStart = writePosition;
+        buffer      = channel.map(FileChannel.MapMode.READ_WRITE, bufferStart, Constant.traceMapChunkBytes);
+        
+        if (created){
+            buffer.putInt(Constant.traceMagic);
+            buffer.putInt(Constant.traceVersion);
+            buffer.putInt(taskID);
+            buffer.putInt(Constant.traceRecordBytes);
+        }
+        
+    }
+
+    /**
+     * Finds the position of the first record of the cycle given (or the 
+     * first unused record). The records are written in cycle order, 
+     * so binary search is used
+     * @param fromCycle first cycle to be written
+     * @return file position
+     * @throws IOException 
+     */
+    private long findWritePosition(int fromCycle) throws IOException {
+        
+        long low    = 0;
+        long high   = (channel.size() - Constant.traceHeaderBytes) / Constant.traceRecordBytes;
+        ByteBuffer record = ByteBuffer.allocate(2 * Integer.BYTES);
+        
+        while (low < high){
+            long middle = (low + high) >>> 1;
+            record.clear();
+            channel.read(record, Constant.traceHeaderBytes + middle * Constant.traceRecordBytes);
+            int code    = record.getInt(0);
+            int cycle   = record.getInt(Integer.BYTES);
+            if (code == 0 || cycle >= fromCycle){
+                high    = middle;
+            } else {
+                low     = middle + 1;
+            }
+        }
+        
+        return Constant.traceHeaderBytes + low * Constant.traceRecordBytes;
+    }
+    
+    /**
+     * Tells if the trace file was created (and not continued after resume)
+     * @return true for new trace file
+     */
+    public boolean isCreated() {
+        return created;
+    }
+    
+    /**
+     * Writes one cell event
+     * @param type              event type
+     * @param cycle             simulation cycle
+     * @param cellID            cell id (child cell for divisions)
+     * @param parentCellID      parent cell id for divisions, 0 otherwise
+     * @param genomeIndex       genome of the cell
+     * @param parentGenomeIndex genome of the parent cell for divisions, genome of the cell otherwise
+     */
+    public void write(
+            CellEventType   type, 
+            int             cycle, 
+            int             cellID, 
+            int             parentCellID, 
+            int             genomeIndex, 
+            int             parentGenomeIndex){
+        
+        if (buffer == null){
+            return;
+        }
+        
+        if (buffer.remaining() < Constant.traceRecordBytes){
+            try {
+                bufferStart += buffer.position();
+                buffer.force();
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, bufferStart, Constant.traceMapChunkBytes);
+            } catch (IOException ex) {
+                buffer = null;
+                Logger.getLogger(CellEventTrace.class.getName()).log(Level.SEVERE, null, ex);
+                return;
+            }
+        }
+        
+        buffer.putInt(type.getCode());
+        buffer.putInt(cycle);
+        buffer.putInt(taskID);
+        buffer.putInt(cellID);
+        buffer.putInt(parentCellID);
+        buffer.putInt(genomeIndex);
+        buffer.putInt(parentGenomeIndex);
+        buffer.putInt(0);
+        
+    }
+    
+    /**
+     * Flushes the trace and closes the file. The unused rest of the last
+     * mapped region is cut off.
+     */
+    public void close(){
+        
+        try {
+            if (buffer != null){
+                long end = bufferStart + buffer.position();
+                buffer.force();
+                buffer = null;
+                try {
+                    channel.truncate(end);
+                } catch (IOException ex) {
+                    //some platforms refuse to truncate a file still mapped,
+                    //the reader stops at the first empty record anyway
+                    Logger.getLogger(CellEventTrace.class.getName()).log(Level.WARNING, null, ex);
+                }
+            }
+            channel.close();
+            file.close();
+        } catch (IOException ex) {
+            Logger.getLogger(CellEventTrace.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2019 Silesian Technical University, Gliwice, Poland
+ * Authors / Contributors: Krzysztof Szymiczek and Andrzej Polański
+ * Affiliation: Department of Informatics
+ *
+ * This program is intended to be solely used for reaserch purpouses
+ * by the Students and Employees of the
+ * Silesian Technical University in Gliwice, Poland (Politechnika Śląska)
+ * and for other research and development non-commercial activities
+ * by researchers world-wide interrested in the area of simulations
+ * of cancer clonal evolution.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ */
+
+package clostrue.trace;
+
+import clostrue.enumerations.CellEventType;
+import clostrue.hardcodes.Constant;
+import clostrue.hardcodes.LogText;
+import clostrue.hardcodes.file.Extension;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the binary cell event trace written by the calculation tasks
+ * for the offline replay of the simulation (lineage, tree reconstruction).
+ * 
+ * The events of one file come in the order they were simulated, the events
+ * of the whole trace directory are ordered by cycle.
+ * 
+ * @author Krzysztof Szymiczek
+ */
+public class CellEventTraceReader {
+    
+    /**
+     * Checks the header of the trace file
+     * @param channel channel of the trace file
+     * @return true if the file is a trace file of the supported version
+     * @throws IOException 
+     */
+    static boolean isTraceHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Constant.traceHeaderBytes);
+        channel.read(header, 0);
+        return header.getInt(0) == Constant.traceMagic
+            && header.getInt(Integer.BYTES) == Constant.traceVersion
+            && header.getInt(3 * Integer.BYTES) == Constant.traceRecordBytes;
+    }
+    
+    /**
+     * Reads the trace file passing each event to the consumer
+     * @param fileName  name of the trace file
+     * @param consumer  consumer of the events
+     * @return count of events read
+     * @throws IOException when the file is not a trace file
+     */
+    public static int read(String fileName, Consumer<CellEvent> consumer) throws IOException {
+        
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            
+            if (in.readInt() != Constant.traceMagic 
+                    || in.readInt() != Constant.traceVersion){
+                throw new IOException(LogText.traceInvalidFile + fileName);
+            }
+            in.readInt();   //task
+            if (in.readInt() != Constant.traceRecordBytes){
+                throw new IOException(LogText.traceInvalidFile + fileName);
+            }
+            
+            int[] record = new int[Constant.traceRecordInts];
+            while (true){
+                try {
+                    for (int i = 0; i < record.length; i++){
+                        record[i] = in.readInt();
+                    }
+                } catch (EOFException ex) {
+                    break;
+                }
+                CellEventType type = CellEventType.fromCode(record[0]);
+                if (type == null){
+                    break;  //unused part of the file
+                }
+                consumer.accept(new CellEvent(type, record[1], record[2], record[3], record[4], record[5], record[6]));
+                count++;
+            }
+            
+        } catch (EOFException ex) {
+            throw new IOException(LogText.traceInvalidFile + fileName, ex);
+        }
+        return count;
+    }
+    
+    /**
+     * Reads all events of the trace file
+     * @param fileName name of the trace file
+     * @return events in the order of simulation
+     * @throws IOException 
+     */
+    public static List<CellEvent> readFile(String fileName) throws IOException {
+        List<CellEvent> events = new ArrayList<>();
+        read(fileName, events::add);
+        return events;
+    }
+    
+    /**
+     * Reads all trace files (all calculation tasks) of the trace directory
+     * @param dirName trace directory of the iteration
+     * @return events ordered by cycle
+     * @throws IOException 
+     */
+    public static List<CellEvent> readDirectory(String dirName) throws IOException {
+        
+        List<CellEvent> events = new ArrayList<>();
+        File[] files = new File(dirName).listFiles((dir, name) -> name.endsWith(Extension.dotTrc));
+        if (files != null){
+            Arrays.sort(files);
+            for (File file : files){
+                read(file.getPath(), events::add);
+            }
+        }
+        //stable sort -> the order within the cycle of one task is kept
+        events.sort(Comparator.comparingInt(CellEvent::getCycle));
+        return events;
+    }
+    
+}